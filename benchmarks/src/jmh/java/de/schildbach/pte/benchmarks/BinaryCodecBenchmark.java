@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import de.schildbach.pte.AbstractHafasProvider;
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.dto.BinaryCodec;
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.Point;
+import de.schildbach.pte.dto.Position;
+import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.QueryTripsResult;
+import de.schildbach.pte.dto.ResultHeader;
+import de.schildbach.pte.dto.Stop;
+import de.schildbach.pte.dto.Trip;
+
+/**
+ * Encoding and decoding a trip result with {@link BinaryCodec}, against Java serialization. The encoded sizes are
+ * printed during setup. By default, the result is synthetic: 10 trips of a footpath and 3 public legs with 15
+ * intermediate stops and a path of 50 points each. With {@code -p source=recorded}, it is the result of the recorded
+ * trip request.
+ * 
+ * @author Andreas Schildbach
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BinaryCodecBenchmark {
+    private static final int SYNTHETIC_TRIPS = 10;
+    private static final int SYNTHETIC_PUBLIC_LEGS = 3;
+    private static final int SYNTHETIC_INTERMEDIATE_STOPS = 15;
+    private static final int SYNTHETIC_PATH_POINTS = 50;
+
+    @Param("synthetic")
+    public String source;
+
+    private QueryTripsResult result;
+    private byte[] binary;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        if ("synthetic".equals(source))
+            result = syntheticResult();
+        else
+            result = (QueryTripsResult) Replay.load("VvoProvider", Operation.TRIPS).execute();
+        binary = BinaryCodec.encode(result);
+        serialized = serialize(result);
+        System.out.println("encoded size: binary " + binary.length + " bytes, serialized " + serialized.length
+                + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return BinaryCodec.encode(result);
+    }
+
+    @Benchmark
+    public QueryTripsResult decodeBinary() throws IOException {
+        return BinaryCodec.decodeQueryTripsResult(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeSerialized() throws IOException {
+        return serialize(result);
+    }
+
+    @Benchmark
+    public Object decodeSerialized() throws IOException, ClassNotFoundException {
+        final ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(serialized));
+        try {
+            return is.readObject();
+        } finally {
+            is.close();
+        }
+    }
+
+    private static QueryTripsResult syntheticResult() {
+        final long start = 1460000000000L;
+        final List<Trip> trips = new ArrayList<Trip>(SYNTHETIC_TRIPS);
+        Location from = null, to = null;
+        for (int t = 0; t < SYNTHETIC_TRIPS; t++) {
+            long time = start + t * 600000L;
+            final List<Trip.Leg> legs = new ArrayList<Trip.Leg>();
+            Location location = station(0);
+            final Location entry = station(1);
+            legs.add(new Trip.Individual(Trip.Individual.Type.WALK, location, new Date(time), entry,
+                    new Date(time + 300000), path(0), 350));
+            location = entry;
+            time += 300000;
+            for (int l = 0; l < SYNTHETIC_PUBLIC_LEGS; l++) {
+                final int first = (l + 1) * (SYNTHETIC_INTERMEDIATE_STOPS + 1);
+                final Stop departure = new Stop(location, null, null, new Date(time), new Position("1"));
+                final List<Stop> intermediateStops = new ArrayList<Stop>(SYNTHETIC_INTERMEDIATE_STOPS);
+                for (int s = 1; s <= SYNTHETIC_INTERMEDIATE_STOPS; s++) {
+                    time += 120000;
+                    intermediateStops.add(new Stop(station(first + s), new Date(time), null,
+                            new Date(time + 30000), null));
+                }
+                time += 120000;
+                final Location exit = station(first + SYNTHETIC_INTERMEDIATE_STOPS + 1);
+                final Stop arrival = new Stop(exit, new Date(time), new Position("2"), null, null);
+                final Line line = new Line("line" + l, "vvo", Product.TRAM, Integer.toString(l + 1));
+                legs.add(new Trip.Public(line, exit, departure, arrival, intermediateStops, path(first), null));
+                location = exit;
+                time += 240000;
+            }
+            from = legs.get(0).departure;
+            to = location;
+            trips.add(new Trip("trip" + t, from, to, legs, null, null, SYNTHETIC_PUBLIC_LEGS - 1));
+        }
+        final AbstractHafasProvider.JsonContext context = new AbstractHafasProvider.JsonContext(from, to,
+                new Date(start), true, EnumSet.allOf(Product.class), "later", "earlier");
+        return new QueryTripsResult(new ResultHeader(NetworkId.VVO, "synthetic"), null, from, null, to, context,
+                trips);
+    }
+
+    private static Location station(final int i) {
+        return new Location(LocationType.STATION, Integer.toString(1000 + i), 51040520 + i * 1000, 13737420 + i * 700,
+                "Dresden", "Station " + i, EnumSet.of(Product.TRAM, Product.BUS));
+    }
+
+    private static List<Point> path(final int i) {
+        final List<Point> path = new ArrayList<Point>(SYNTHETIC_PATH_POINTS);
+        for (int p = 0; p < SYNTHETIC_PATH_POINTS; p++)
+            path.add(new Point(51040520 + i * 1000 + p * 20, 13737420 + i * 700 + p * 14));
+        return path;
+    }
+
+    private static byte[] serialize(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream os = new ObjectOutputStream(bytes);
+        os.writeObject(object);
+        os.close();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import de.schildbach.pte.DepartureDiff;
+import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.Position;
+import de.schildbach.pte.dto.Product;
+
+/**
+ * Diffing two consecutive polls of a 500-entry departure board, with a few delays, platform changes, insertions and
+ * removals between them.
+ * 
+ * @author Andreas Schildbach
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DepartureDiffBenchmark {
+    private static final int BOARD_SIZE = 500;
+    private static final long MINUTE = 60 * 1000;
+
+    private final Departure[] previous = new Departure[BOARD_SIZE];
+    private final Departure[] current = new Departure[BOARD_SIZE];
+
+    public DepartureDiffBenchmark() {
+        final Random random = new Random(0);
+        final Line[] lines = new Line[40];
+        for (int i = 0; i < lines.length; i++)
+            lines[i] = new Line(Integer.toString(i), "net", Product.BUS, Integer.toString(100 + i));
+        final Location[] destinations = new Location[20];
+        for (int i = 0; i < destinations.length; i++)
+            destinations[i] = new Location(LocationType.STATION, Integer.toString(i), null, "Destination " + i);
+
+        final long now = 1500000000000L;
+        final Departure[] all = new Departure[BOARD_SIZE + 5];
+        for (int i = 0; i < all.length; i++) {
+            final Date planned = new Date(now + i * MINUTE / 2);
+            all[i] = new Departure(planned, planned, lines[random.nextInt(lines.length)],
+                    new Position(Integer.toString(1 + random.nextInt(8))),
+                    destinations[random.nextInt(destinations.length)], null, null);
+        }
+
+        // the current poll has moved on by five departures
+        System.arraycopy(all, 0, previous, 0, BOARD_SIZE);
+        System.arraycopy(all, 5, current, 0, BOARD_SIZE);
+        for (int i = 0; i < 25; i++) {
+            final int index = random.nextInt(BOARD_SIZE);
+            final Departure departure = current[index];
+            final boolean delay = random.nextBoolean();
+            current[index] = new Departure(departure.plannedTime,
+                    delay ? new Date(departure.plannedTime.getTime() + random.nextInt(10) * MINUTE)
+                            : departure.predictedTime,
+                    departure.line, delay ? departure.position : new Position("9"), departure.destination, null,
+                    null);
+        }
+    }
+
+    @Benchmark
+    public Object diff() {
+        return DepartureDiff.diff(previous, current);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * EFA parsers: XSLT trip request and departure monitor, and the mobile formats.
+ * 
+ * @author Andreas Schildbach
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EfaBenchmark {
+    private Replay xsltTripRequest;
+    private Replay xsltDepartureMonitor;
+    private Replay mobileTripRequest;
+    private Replay mobileDepartureMonitor;
+
+    @Setup
+    public void setup() throws IOException {
+        xsltTripRequest = Replay.load("VvoProvider", Operation.TRIPS);
+        xsltDepartureMonitor = Replay.load("VvoProvider", Operation.DEPARTURES);
+        mobileTripRequest = Replay.load("BayernProvider", Operation.TRIPS);
+        mobileDepartureMonitor = Replay.load("BayernProvider", Operation.DEPARTURES);
+    }
+
+    @Benchmark
+    public Object xsltTripRequest() throws IOException {
+        return xsltTripRequest.execute();
+    }
+
+    @Benchmark
+    public Object xsltDepartureMonitor() throws IOException {
+        return xsltDepartureMonitor.execute();
+    }
+
+    @Benchmark
+    public Object mobileTripRequest() throws IOException {
+        return mobileTripRequest.execute();
+    }
+
+    @Benchmark
+    public Object mobileDepartureMonitor() throws IOException {
+        return mobileDepartureMonitor.execute();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.base.Charsets;
+
+import de.schildbach.pte.dto.Polyline;
+import de.schildbach.pte.util.ParserUtils;
+
+/**
+ * EFA coordinate strings: the scanner against the former split-based parsing. By default, the strings are 20
+ * synthetic legs of 300 vertices each; with {@code -p source=recorded}, they are taken from the recorded trip request
+ * with paths.
+ * 
+ * @author Andreas Schildbach
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EfaCoordinatesBenchmark {
+    private static final Pattern P_COORDINATE_STRING = Pattern
+            .compile("<(itdCoordinateString|pt)\\b[^>]*>([^<]*)</\\1>");
+
+    private static final int SYNTHETIC_LEGS = 20;
+    private static final int SYNTHETIC_VERTICES = 300;
+
+    @Param("synthetic")
+    public String source;
+
+    private List<String> coordinateStrings;
+
+    @Setup
+    public void setup() throws IOException {
+        coordinateStrings = new ArrayList<String>();
+        if ("synthetic".equals(source)) {
+            final Random random = new Random(0);
+            for (int leg = 0; leg < SYNTHETIC_LEGS; leg++) {
+                final StringBuilder coordinateString = new StringBuilder();
+                int lat = 51040520;
+                int lon = 13737420;
+                for (int i = 0; i < SYNTHETIC_VERTICES; i++) {
+                    lat += random.nextInt(201) - 100;
+                    lon += random.nextInt(201) - 100;
+                    if (i > 0)
+                        coordinateString.append(' ');
+                    coordinateString.append(lon).append(".00000,").append(lat).append(".00000");
+                }
+                coordinateStrings.add(coordinateString.toString());
+            }
+            return;
+        }
+
+        for (final Fixture.Response response : Fixture.load("VvoProvider", Operation.TRIPS).responses) {
+            final Matcher m = P_COORDINATE_STRING.matcher(new String(response.body, Charsets.UTF_8));
+            while (m.find())
+                coordinateStrings.add(m.group(2));
+        }
+        if (coordinateStrings.isEmpty())
+            throw new IllegalStateException("fixture has no coordinate strings, record it with paths enabled");
+    }
+
+    @Benchmark
+    public void scan(final Blackhole blackhole) {
+        for (final String coordinateString : coordinateStrings)
+            blackhole.consume(ParserUtils.parseCoordinateList(coordinateString));
+    }
+
+    @Benchmark
+    public void split(final Blackhole blackhole) {
+        for (final String coordinateString : coordinateStrings) {
+            final String[] coordStrs = coordinateString.split(" +");
+            final Polyline path = new Polyline(coordStrs.length);
+            for (final String coordStr : coordStrs) {
+                final String[] parts = coordStr.split(",");
+                final int lat = (int) Math.round(Double.parseDouble(parts[1]));
+                final int lon = (int) Math.round(Double.parseDouble(parts[0]));
+                path.add(lat, lon);
+            }
+            blackhole.consume(path);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package de.schildbach.pte.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.schildbach.pte.IvbProvider;
+import de.schildbach.pte.VbbProvider;
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.Product;
+
+/**
+ * Classification of train lines into products and labels, as done for every line of a departure or trip result.
+ * The samples include lines that are classified early and late in the rule order.
+ * 
+ * @author Andreas Schildbach
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LineClassificationBenchmark {
+    // trainType, trainName, trainNum, symbol
+    private static final String[][] EFA_TRAINS = { { "ICE", "ICE", "578", null }, { "EC", "EuroCity", "115", null },
+            { "RE", "Regional-Express", "4711", "RE5" }, { "RB", "Regionalbahn", "13", "RB26" },
+            { null, "S-Bahn", "5", "S5" }, { "BRB", "Bayerische Regiobahn", "79", null },
+            { "SEV", "Schienenersatzverkehr", null, "SEV" }, { "ZUG", "Zug", "123", "7" },
+            { null, "Sonderfahrt", null, null }, { "BR", "Bus replacement", null, null } };
+    private static final String[] HAFAS_TYPES = { "ICE", "EC", "IC", "RE", "RB", "IR", "S", "S1", "STR", "STR5",
+            "BUS", "BUS13", "U", "TRAM", "SCHIFF", "AST" };
+
+    private final ExposedEfaProvider efaProvider = new ExposedEfaProvider();
+    private final ExposedHafasProvider hafasProvider = new ExposedHafasProvider();
+
+    @Benchmark
+    public void efaParseLine(final Blackhole blackhole) {
+        for (final String[] train : EFA_TRAINS)
+            blackhole.consume(efaProvider.parseTrain(train[0], train[1], train[2], train[3]));
+    }
+
+    @Benchmark
+    public void hafasNormalizeType(final Blackhole blackhole) {
+        for (final String type : HAFAS_TYPES)
+            blackhole.consume(hafasProvider.normalize(type));
+    }
+
+    private static class ExposedEfaProvider extends IvbProvider {
+        public Line parseTrain(final String trainType, final String trainName, final String trainNum,
+                final String symbol) {
+            return parseLine("id", "net", "0", symbol, null, null, trainType, trainNum, trainName);
+        }
+    }
+
+    private static class ExposedHafasProvider extends VbbProvider {
+        public Product normalize(final String type) {
+            return normalizeType(type);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.schildbach.pte.NetworkProvider;
+import de.schildbach.pte.VrrProvider;
+import de.schildbach.pte.dto.Product;
+
+/**
+ * Line style lookups, as done for every line of a departure or trip result.
+ * 
+ * @author Andreas Schildbach
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LineStyleBenchmark {
+    private static final String[] NETWORKS = { "vrr", "vrr", "vrr", "vrr", "vrr", "vrr", null, "unknown" };
+    private static final Product[] PRODUCTS = { Product.SUBWAY, Product.TRAM, Product.BUS, Product.BUS,
+            Product.REGIONAL_TRAIN, Product.SUBURBAN_TRAIN, Product.BUS, Product.TRAM };
+    private static final String[] LABELS = { "U79", "901", "SB16", "NE2", "RE1", "S1", "725", null };
+
+    private NetworkProvider provider;
+
+    @Setup
+    public void setup() {
+        provider = new VrrProvider();
+        provider.lineStyle(null, Product.BUS, null);
+    }
+
+    @Benchmark
+    public void lineStyle(final Blackhole blackhole) {
+        for (int i = 0; i < LABELS.length; i++)
+            blackhole.consume(provider.lineStyle(NETWORKS[i], PRODUCTS[i], LABELS[i]));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.schildbach.pte.LocationUtils;
+
+/**
+ * Distances from one point to a few hundred nearby candidates, as needed for sorting nearby stations.
+ * 
+ * @author Andreas Schildbach
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LocationUtilsBenchmark {
+    private static final int LAT = 52525592;
+    private static final int LON = 13369545;
+    private static final int NUM_POINTS = 500;
+
+    private final int[] coords = new int[NUM_POINTS * 2];
+    private final float[] distances = new float[NUM_POINTS];
+
+    public LocationUtilsBenchmark() {
+        final Random random = new Random(0);
+        for (int i = 0; i < NUM_POINTS; i++) {
+            coords[i * 2] = LAT + random.nextInt(90000) - 45000;
+            coords[i * 2 + 1] = LON + random.nextInt(150000) - 75000;
+        }
+    }
+
+    @Benchmark
+    public void exact(final Blackhole blackhole) {
+        for (int i = 0; i < NUM_POINTS; i++)
+            blackhole.consume(
+                    LocationUtils.computeDistance(LAT / 1E6, LON / 1E6, coords[i * 2] / 1E6, coords[i * 2 + 1] / 1E6));
+    }
+
+    @Benchmark
+    public void approximate(final Blackhole blackhole) {
+        for (int i = 0; i < NUM_POINTS; i++)
+            blackhole.consume(LocationUtils.computeApproximateDistance(LAT / 1E6, LON / 1E6, coords[i * 2] / 1E6,
+                    coords[i * 2 + 1] / 1E6));
+    }
+
+    @Benchmark
+    public float[] approximateBatch() {
+        LocationUtils.computeApproximateDistances(LAT, LON, coords, distances);
+        return distances;
+    }
+}
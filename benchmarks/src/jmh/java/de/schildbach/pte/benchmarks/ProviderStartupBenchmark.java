@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Closeables;
+
+/**
+ * Cold start: loading and instantiating all providers, and the first line style lookup. Every invocation gets a
+ * fresh class loader for the library, so class initialization is part of the measurement.
+ * 
+ * @author Andreas Schildbach
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 50)
+public class ProviderStartupBenchmark {
+    private List<String> classNames;
+    private ClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void listProviders() {
+        classNames = Providers.all();
+    }
+
+    @Setup(Level.Invocation)
+    public void newClassLoader() {
+        classLoader = new IsolatingClassLoader(ProviderStartupBenchmark.class.getClassLoader());
+    }
+
+    @Benchmark
+    public Object instantiateAll() throws ClassNotFoundException {
+        final Object[] providers = new Object[classNames.size()];
+        for (int i = 0; i < providers.length; i++)
+            providers[i] = Providers.forReplay(Class.forName(classNames.get(i), true, classLoader));
+        return providers;
+    }
+
+    @Benchmark
+    public Object firstLineStyle() throws ReflectiveOperationException {
+        final Class<?> productClass = Class.forName("de.schildbach.pte.dto.Product", true, classLoader);
+        final Class<?> providerClass = Class.forName("de.schildbach.pte.VrrProvider", true, classLoader);
+        final Object provider = Providers.forReplay(providerClass);
+        final Method lineStyle = providerClass.getMethod("lineStyle", String.class, productClass, String.class);
+        final Object bus = productClass.getField("BUS").get(null);
+        return lineStyle.invoke(provider, "vrr", bus, "SB16");
+    }
+
+    /**
+     * Defines the library classes itself rather than delegating to its parent, so they are loaded and initialized
+     * again for each instance.
+     */
+    private static final class IsolatingClassLoader extends ClassLoader {
+        private static final String PACKAGE = "de.schildbach.pte.";
+        private static final String EXCLUDED_PACKAGE = "de.schildbach.pte.benchmarks.";
+
+        public IsolatingClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PACKAGE) || name.startsWith(EXCLUDED_PACKAGE))
+                return super.loadClass(name, resolve);
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> clazz = findLoadedClass(name);
+                if (clazz == null)
+                    clazz = findClass(name);
+                if (resolve)
+                    resolveClass(clazz);
+                return clazz;
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            final InputStream is = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+            if (is == null)
+                throw new ClassNotFoundException(name);
+            try {
+                final byte[] bytes = ByteStreams.toByteArray(is);
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (final IOException x) {
+                throw new ClassNotFoundException(name, x);
+            } finally {
+                Closeables.closeQuietly(is);
+            }
+        }
+    }
+}
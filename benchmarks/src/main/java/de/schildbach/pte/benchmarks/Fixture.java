@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import javax.annotation.Nullable;
+
+import com.google.common.io.Files;
+
+/**
+ * Upstream responses recorded for one operation of one provider, along with the arguments that produced them.
+ * Fixtures live in a directory per provider below {@link #root()}: a {@code <operation>.properties} file
+ * describing the call and one {@code <operation>.<n>} file per response body, in request order.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class Fixture {
+    public final String providerClassName;
+    public final Operation operation;
+    public final String[] args;
+    public final List<Response> responses;
+
+    public static final class Response {
+        public final @Nullable String contentType;
+        public final byte[] body;
+
+        public Response(final @Nullable String contentType, final byte[] body) {
+            this.contentType = contentType;
+            this.body = checkNotNull(body);
+        }
+    }
+
+    public Fixture(final String providerClassName, final Operation operation, final String[] args,
+            final List<Response> responses) {
+        this.providerClassName = checkNotNull(providerClassName);
+        this.operation = checkNotNull(operation);
+        this.args = checkNotNull(args);
+        this.responses = Collections.unmodifiableList(responses);
+    }
+
+    public static File root() {
+        return new File(System.getProperty("pte.fixtures", "fixtures"));
+    }
+
+    public static Fixture load(final String providerName, final Operation operation) throws IOException {
+        final File dir = new File(root(), providerName);
+        final File index = new File(dir, operation.key() + ".properties");
+        if (!index.exists())
+            throw new FileNotFoundException("no fixture recorded at " + index + "; record one with "
+                    + Recorder.class.getName() + " first");
+
+        final Properties properties = new Properties();
+        final InputStream is = new FileInputStream(index);
+        try {
+            properties.load(is);
+        } finally {
+            is.close();
+        }
+
+        final String providerClassName = properties.getProperty("provider");
+        final String[] args = new String[Integer.parseInt(properties.getProperty("args"))];
+        for (int i = 0; i < args.length; i++)
+            args[i] = properties.getProperty("arg." + i);
+        final int numResponses = Integer.parseInt(properties.getProperty("responses"));
+        final List<Response> responses = new ArrayList<Response>(numResponses);
+        for (int i = 0; i < numResponses; i++) {
+            final byte[] body = Files.toByteArray(new File(dir, operation.key() + "." + i));
+            responses.add(new Response(properties.getProperty("response." + i + ".contentType"), body));
+        }
+
+        return new Fixture(providerClassName, operation, args, responses);
+    }
+
+    public void save() throws IOException {
+        final String providerName = providerClassName.substring(providerClassName.lastIndexOf('.') + 1);
+        final File dir = new File(root(), providerName);
+        if (!dir.isDirectory() && !dir.mkdirs())
+            throw new IOException("cannot create " + dir);
+
+        final Properties properties = new Properties();
+        properties.setProperty("provider", providerClassName);
+        properties.setProperty("args", Integer.toString(args.length));
+        for (int i = 0; i < args.length; i++)
+            properties.setProperty("arg." + i, args[i]);
+        properties.setProperty("responses", Integer.toString(responses.size()));
+        for (int i = 0; i < responses.size(); i++) {
+            final Response response = responses.get(i);
+            if (response.contentType != null)
+                properties.setProperty("response." + i + ".contentType", response.contentType);
+            Files.write(response.body, new File(dir, operation.key() + "." + i));
+        }
+
+        final OutputStream os = new FileOutputStream(new File(dir, operation.key() + ".properties"));
+        try {
+            properties.store(os, null);
+        } finally {
+            os.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of latencies in microseconds. Buckets are log-linear with 32 sub-buckets per power of
+ * two, so quantiles are accurate to about 3% while memory stays constant however many values are recorded.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NUM_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+
+    public void record(final long micros) {
+        counts.incrementAndGet(index(Math.max(micros, 0)));
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++)
+            count += counts.get(i);
+        return count;
+    }
+
+    /**
+     * @param quantile
+     *            between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return upper bound of the bucket containing the quantile, in microseconds, or 0 if nothing was recorded
+     */
+    public long quantile(final double quantile) {
+        final long total = count();
+        if (total == 0)
+            return 0;
+        final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return upperBound(i);
+        }
+        return upperBound(NUM_BUCKETS - 1);
+    }
+
+    public long max() {
+        for (int i = NUM_BUCKETS - 1; i >= 0; i--)
+            if (counts.get(i) > 0)
+                return upperBound(i);
+        return 0;
+    }
+
+    static int index(final long value) {
+        if (value < 2 * SUB_BUCKETS)
+            return (int) value;
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long upperBound(final int index) {
+        if (index < 2 * SUB_BUCKETS)
+            return index;
+        final int shift = index / SUB_BUCKETS - 1;
+        final long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import de.schildbach.pte.AbstractNetworkProvider;
+
+/**
+ * Drives a mix of provider calls against a {@link MockUpstream} serving recorded fixtures, to find the saturation
+ * point of the {@code HttpClient} and parser stack. Usage:
+ * 
+ * <pre>
+ * LoadTest --provider VbbProvider [--mix trips=1,departures=4,suggest=2,nearby=1]
+ *          [--threads 16 | --rate 200 [--max-threads 256]]
+ *          [--warmup 10] [--duration 60] [--latency 100] [--jitter 20]
+ * </pre>
+ * 
+ * With {@code --threads}, that many closed-loop workers issue calls back to back (fixed concurrency). With
+ * {@code --rate}, calls are issued at a fixed arrival rate and latency is measured from the intended start
+ * time, so queueing in front of a saturated stack shows up in the percentiles. Durations are in seconds,
+ * latencies of the mock upstream in milliseconds.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class LoadTest {
+    private final AbstractNetworkProvider provider;
+    private final UpstreamRedirectInterceptor redirect;
+    private final Map<Operation, Fixture> fixtures;
+    private final Operation[] weightedOperations;
+    private final Map<Operation, Stats> stats = new EnumMap<Operation, Stats>(Operation.class);
+    private final AtomicLong rejected = new AtomicLong();
+    private final LatencyHistogram gcPauses = new LatencyHistogram();
+    private final AtomicLong maxHeapUsed = new AtomicLong();
+    private volatile boolean measuring = false;
+
+    private static final class Stats {
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+        final ConcurrentMap<String, AtomicLong> errorTypes = new ConcurrentHashMap<String, AtomicLong>();
+
+        void error(final Throwable x) {
+            errors.incrementAndGet();
+            final String type = x.getClass().getName();
+            AtomicLong count = errorTypes.get(type);
+            if (count == null) {
+                final AtomicLong newCount = new AtomicLong();
+                count = errorTypes.putIfAbsent(type, newCount);
+                if (count == null)
+                    count = newCount;
+            }
+            count.incrementAndGet();
+        }
+    }
+
+    private LoadTest(final AbstractNetworkProvider provider, final UpstreamRedirectInterceptor redirect,
+            final Map<Operation, Fixture> fixtures, final Map<Operation, Integer> mix) {
+        this.provider = provider;
+        this.redirect = redirect;
+        this.fixtures = fixtures;
+
+        final List<Operation> weighted = new ArrayList<Operation>();
+        for (final Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++)
+                weighted.add(entry.getKey());
+            stats.put(entry.getKey(), new Stats());
+        }
+        this.weightedOperations = weighted.toArray(new Operation[weighted.size()]);
+    }
+
+    private void call(final long intendedStartNanos) {
+        final Operation operation = weightedOperations[ThreadLocalRandom.current()
+                .nextInt(weightedOperations.length)];
+        final Stats stats = this.stats.get(operation);
+        redirect.begin(operation);
+        try {
+            operation.execute(provider, fixtures.get(operation).args);
+            if (measuring)
+                stats.latencies.record((System.nanoTime() - intendedStartNanos) / 1000);
+        } catch (final Exception x) {
+            if (measuring)
+                stats.error(x);
+        }
+    }
+
+    private void runFixedConcurrency(final int threads, final long endNanos) throws InterruptedException {
+        final List<Thread> workers = new ArrayList<Thread>(threads);
+        for (int i = 0; i < threads; i++) {
+            final Thread worker = new Thread("load-" + i) {
+                @Override
+                public void run() {
+                    while (System.nanoTime() < endNanos)
+                        call(System.nanoTime());
+                }
+            };
+            worker.start();
+            workers.add(worker);
+        }
+        for (final Thread worker : workers)
+            worker.join();
+    }
+
+    private void runFixedRate(final double rate, final int maxThreads, final long endNanos)
+            throws InterruptedException {
+        final ExecutorService executor = new ThreadPoolExecutor(maxThreads, maxThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(maxThreads * 4));
+        final long intervalNanos = (long) (1e9 / rate);
+        long next = System.nanoTime();
+        while (next < endNanos) {
+            final long intendedStartNanos = next;
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        call(intendedStartNanos);
+                    }
+                });
+            } catch (final RejectedExecutionException x) {
+                if (measuring)
+                    rejected.incrementAndGet();
+            }
+            next += intervalNanos;
+            final long sleepNanos = next - System.nanoTime();
+            if (sleepNanos > 0)
+                LockSupport.parkNanos(sleepNanos);
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private void monitorGc() {
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(gc instanceof NotificationEmitter))
+                continue;
+            ((NotificationEmitter) gc).addNotificationListener(new NotificationListener() {
+                @Override
+                public void handleNotification(final Notification notification, final Object handback) {
+                    if (!measuring || !notification.getType()
+                            .equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION))
+                        return;
+                    final GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+                            .from((CompositeData) notification.getUserData());
+                    gcPauses.record(info.getGcInfo().getDuration() * 1000);
+                }
+            }, null, null);
+        }
+    }
+
+    private Thread monitorHeap(final long endNanos) {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final Thread sampler = new Thread("heap-sampler") {
+            @Override
+            public void run() {
+                while (System.nanoTime() < endNanos) {
+                    final long used = memory.getHeapMemoryUsage().getUsed();
+                    if (measuring && used > maxHeapUsed.get())
+                        maxHeapUsed.set(used);
+                    try {
+                        Thread.sleep(100);
+                    } catch (final InterruptedException x) {
+                        return;
+                    }
+                }
+            }
+        };
+        sampler.setDaemon(true);
+        sampler.start();
+        return sampler;
+    }
+
+    private void report(final PrintStream out, final double seconds) {
+        out.println();
+        out.printf(Locale.US, "%-12s %9s %9s %8s %9s %9s %9s %9s %9s%n", "operation", "calls", "calls/s", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long totalCalls = 0, totalErrors = 0;
+        for (final Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            final Stats stats = entry.getValue();
+            final long calls = stats.latencies.count();
+            final long errors = stats.errors.get();
+            totalCalls += calls;
+            totalErrors += errors;
+            out.printf(Locale.US, "%-12s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n", entry.getKey().key(),
+                    calls, calls / seconds, percent(errors, calls + errors), stats.latencies.quantile(0.5) / 1e3,
+                    stats.latencies.quantile(0.9) / 1e3, stats.latencies.quantile(0.99) / 1e3,
+                    stats.latencies.quantile(0.999) / 1e3, stats.latencies.max() / 1e3);
+            for (final Map.Entry<String, AtomicLong> type : stats.errorTypes.entrySet())
+                out.printf(Locale.US, "    %d x %s%n", type.getValue().get(), type.getKey());
+        }
+        out.printf(Locale.US, "%ntotal: %.1f calls/s, %.2f%% errors, %d rejected by the load generator%n",
+                totalCalls / seconds, percent(totalErrors, totalCalls + totalErrors), rejected.get());
+
+        long gcCount = 0, gcTime = 0;
+        for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(gc.getCollectionCount(), 0);
+            gcTime += Math.max(gc.getCollectionTime(), 0);
+        }
+        out.printf(Locale.US, "gc: %d pauses while measuring, p50 %.1f ms, p99 %.1f ms, max %.1f ms (%d collections, "
+                + "%d ms since start)%n", gcPauses.count(), gcPauses.quantile(0.5) / 1e3,
+                gcPauses.quantile(0.99) / 1e3, gcPauses.max() / 1e3, gcCount, gcTime);
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        out.printf(Locale.US, "heap: max used %.1f MB, committed %.1f MB, limit %.1f MB%n", maxHeapUsed.get() / 1e6,
+                memory.getHeapMemoryUsage().getCommitted() / 1e6, memory.getHeapMemoryUsage().getMax() / 1e6);
+    }
+
+    private static double percent(final long part, final long total) {
+        return total > 0 ? 100.0 * part / total : 0;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Map<String, String> options = parseOptions(args);
+        final String providerName = options.get("provider");
+        if (providerName == null) {
+            System.err.println("usage: LoadTest --provider <provider class> [--mix trips=1,departures=4,...] "
+                    + "[--threads <n> | --rate <calls/s> [--max-threads <n>]] [--warmup <s>] [--duration <s>] "
+                    + "[--latency <ms>] [--jitter <ms>]");
+            System.exit(1);
+        }
+
+        final Map<Operation, Integer> mix = new LinkedHashMap<Operation, Integer>();
+        final Map<Operation, Fixture> fixtures = new EnumMap<Operation, Fixture>(Operation.class);
+        final String mixOption = options.get("mix");
+        if (mixOption != null) {
+            for (final String entry : mixOption.split(",")) {
+                final String[] keyValue = entry.split("=");
+                final Operation operation = Operation.fromKey(keyValue[0].trim());
+                mix.put(operation, keyValue.length > 1 ? Integer.parseInt(keyValue[1].trim()) : 1);
+                fixtures.put(operation, Fixture.load(providerName, operation));
+            }
+        } else {
+            // default mix: everything that has been recorded, with equal weight
+            for (final Operation operation : Operation.values()) {
+                try {
+                    fixtures.put(operation, Fixture.load(providerName, operation));
+                    mix.put(operation, 1);
+                } catch (final FileNotFoundException x) {
+                    // not recorded
+                }
+            }
+            if (mix.isEmpty())
+                throw new FileNotFoundException("no fixtures recorded for " + providerName + " in " + Fixture.root()
+                        + "; record them with " + Recorder.class.getName() + " first");
+        }
+
+        final int warmupSeconds = intOption(options, "warmup", 10);
+        final int durationSeconds = intOption(options, "duration", 60);
+        final MockUpstream upstream = new MockUpstream(fixtures, intOption(options, "latency", 100),
+                intOption(options, "jitter", 20));
+        upstream.start();
+
+        final AbstractNetworkProvider provider = Providers.forReplay(providerName);
+        final UpstreamRedirectInterceptor redirect = new UpstreamRedirectInterceptor(upstream.url());
+        provider.setHttpInterceptor(redirect);
+
+        final LoadTest loadTest = new LoadTest(provider, redirect, fixtures, mix);
+        loadTest.monitorGc();
+        final long startNanos = System.nanoTime();
+        final long measureNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        final long endNanos = measureNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+        loadTest.monitorHeap(endNanos);
+        final Thread phase = new Thread("phase") {
+            @Override
+            public void run() {
+                LockSupport.parkNanos(measureNanos - System.nanoTime());
+                loadTest.measuring = true;
+                LockSupport.parkNanos(endNanos - System.nanoTime());
+                loadTest.measuring = false;
+            }
+        };
+        phase.setDaemon(true);
+        phase.start();
+
+        System.out.println("load test of " + providerName + " with mix " + mix + ", warming up for "
+                + warmupSeconds + " s, measuring for " + durationSeconds + " s");
+        if (options.containsKey("rate"))
+            loadTest.runFixedRate(Double.parseDouble(options.get("rate")), intOption(options, "max-threads", 256),
+                    endNanos);
+        else
+            loadTest.runFixedConcurrency(intOption(options, "threads", 16), endNanos);
+        phase.join();
+
+        loadTest.report(System.out, durationSeconds);
+        upstream.stop();
+    }
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        final Map<String, String> options = new HashMap<String, String>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length)
+                throw new IllegalArgumentException("expected --option value: " + args[i]);
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static int intOption(final Map<String, String> options, final String name, final int defaultValue) {
+        final String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
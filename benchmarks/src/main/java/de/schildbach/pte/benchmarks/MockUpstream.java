@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import okhttp3.HttpUrl;
+
+/**
+ * Local stand-in for an upstream server. It answers with the responses of recorded {@link Fixture}s, delayed by
+ * a configurable latency. Which response to serve is told by the {@link #HEADER_OPERATION} and
+ * {@link #HEADER_INDEX} request headers, see {@link UpstreamRedirectInterceptor}.
+ * 
+ * <p>
+ * Delayed responses are completed from a scheduler, so slow responses do not tie up server threads.
+ * </p>
+ * 
+ * @author Andreas Schildbach
+ */
+public final class MockUpstream {
+    public static final String HEADER_OPERATION = "X-Replay-Operation";
+    public static final String HEADER_INDEX = "X-Replay-Index";
+
+    private final Map<Operation, Fixture> fixtures;
+    private final int latencyMs;
+    private final int jitterMs;
+    private final HttpServer server;
+    private final ExecutorService serverExecutor;
+    private final ScheduledExecutorService responseScheduler;
+    private final Random random = new Random();
+
+    private static final Logger log = LoggerFactory.getLogger(MockUpstream.class);
+
+    public MockUpstream(final Map<Operation, Fixture> fixtures, final int latencyMs, final int jitterMs)
+            throws IOException {
+        this.fixtures = fixtures;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        // otherwise Nagle's algorithm adds delayed-ACK stalls between response headers and body
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        this.serverExecutor = Executors.newFixedThreadPool(4);
+        this.responseScheduler = Executors.newScheduledThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                handleExchange(exchange);
+            }
+        });
+    }
+
+    public void start() {
+        server.start();
+        log.info("mock upstream listening on {}, latency {} +/- {} ms", url(), latencyMs, jitterMs);
+    }
+
+    public void stop() {
+        server.stop(0);
+        responseScheduler.shutdownNow();
+        serverExecutor.shutdownNow();
+    }
+
+    public HttpUrl url() {
+        final InetSocketAddress address = server.getAddress();
+        return new HttpUrl.Builder().scheme("http").host(address.getHostString()).port(address.getPort()).build();
+    }
+
+    private void handleExchange(final HttpExchange exchange) throws IOException {
+        // drain request body
+        final InputStream is = exchange.getRequestBody();
+        final byte[] buf = new byte[4096];
+        while (is.read(buf) != -1)
+            ;
+        is.close();
+
+        final String operationHeader = exchange.getRequestHeaders().getFirst(HEADER_OPERATION);
+        final String indexHeader = exchange.getRequestHeaders().getFirst(HEADER_INDEX);
+        final Fixture fixture = operationHeader != null ? fixtures.get(Operation.fromKey(operationHeader)) : null;
+        final int index = indexHeader != null ? Integer.parseInt(indexHeader) : 0;
+        if (fixture == null || index >= fixture.responses.size()) {
+            log.warn("no recorded response for {} #{}: {}", operationHeader, index, exchange.getRequestURI());
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        final Fixture.Response response = fixture.responses.get(index);
+        final int delay;
+        synchronized (random) {
+            delay = latencyMs + (jitterMs > 0 ? random.nextInt(2 * jitterMs + 1) - jitterMs : 0);
+        }
+        responseScheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (response.contentType != null)
+                        exchange.getResponseHeaders().set("Content-Type", response.contentType);
+                    exchange.sendResponseHeaders(200, response.body.length);
+                    final OutputStream os = exchange.getResponseBody();
+                    os.write(response.body);
+                    os.close();
+                } catch (final IOException x) {
+                    log.info("problem sending response", x);
+                } finally {
+                    exchange.close();
+                }
+            }
+        }, Math.max(delay, 0), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Locale;
+
+import de.schildbach.pte.NetworkProvider;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+
+/**
+ * The provider calls that can be recorded, replayed and load-tested. Each operation takes its arguments as
+ * plain strings, so they can be given on the command line and stored along with a fixture.
+ * 
+ * @author Andreas Schildbach
+ */
+public enum Operation {
+    /** Arguments: from station id, to station id */
+    TRIPS {
+        @Override
+        public Object execute(final NetworkProvider provider, final String... args) throws IOException {
+            checkArgs(args, 2);
+            final Location from = new Location(LocationType.STATION, args[0]);
+            final Location to = new Location(LocationType.STATION, args[1]);
+            return provider.queryTrips(from, null, to, new Date(), true, null, null, null, null, null);
+        }
+    },
+
+    /** Arguments: station id */
+    DEPARTURES {
+        @Override
+        public Object execute(final NetworkProvider provider, final String... args) throws IOException {
+            checkArgs(args, 1);
+            return provider.queryDepartures(args[0], new Date(), 0, false);
+        }
+    },
+
+    /** Arguments: constraint */
+    SUGGEST {
+        @Override
+        public Object execute(final NetworkProvider provider, final String... args) throws IOException {
+            checkArgs(args, 1);
+            return provider.suggestLocations(args[0]);
+        }
+    },
+
+    /** Arguments: latitude, longitude (both in micro-degrees) */
+    NEARBY {
+        @Override
+        public Object execute(final NetworkProvider provider, final String... args) throws IOException {
+            checkArgs(args, 2);
+            final Location coord = Location.coord(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+            return provider.queryNearbyLocations(EnumSet.of(LocationType.STATION), coord, 0, 0);
+        }
+    };
+
+    public abstract Object execute(NetworkProvider provider, String... args) throws IOException;
+
+    public String key() {
+        return name().toLowerCase(Locale.ENGLISH);
+    }
+
+    public static Operation fromKey(final String key) {
+        return valueOf(key.toUpperCase(Locale.ENGLISH));
+    }
+
+    private static void checkArgs(final String[] args, final int num) {
+        if (args.length != num)
+            throw new IllegalArgumentException("expected " + num + " arguments, got " + args.length);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import de.schildbach.pte.AbstractNetworkProvider;
+import de.schildbach.pte.NetworkProvider;
+
+/**
+ * @author Andreas Schildbach
+ */
+public final class Providers {
+    private static final String PACKAGE = "de.schildbach.pte.";
+
+    /**
+     * Instantiates a provider by class name. Simple names are resolved against the library package. The
+     * arguments are passed to a constructor taking the same number of strings, e.g. an API key.
+     */
+    public static AbstractNetworkProvider newInstance(final String className, final String... args) {
+        final String qualifiedName = className.indexOf('.') >= 0 ? className : PACKAGE + className;
+        try {
+            final Class<?> clazz = Class.forName(qualifiedName);
+            final Class<?>[] parameterTypes = new Class<?>[args.length];
+            Arrays.fill(parameterTypes, String.class);
+            final Constructor<?> constructor = clazz.getConstructor(parameterTypes);
+            return (AbstractNetworkProvider) constructor.newInstance((Object[]) args);
+        } catch (final ClassNotFoundException x) {
+            throw new IllegalArgumentException("unknown provider: " + className, x);
+        } catch (final NoSuchMethodException x) {
+            throw new IllegalArgumentException(
+                    "provider " + className + " has no constructor taking " + args.length + " strings", x);
+        } catch (final InvocationTargetException x) {
+            throw new RuntimeException(x.getCause());
+        } catch (final ReflectiveOperationException x) {
+            throw new RuntimeException(x);
+        }
+    }
+
+    /**
+     * Instantiates the provider a fixture was recorded with. Providers that need secrets get placeholders,
+     * because replayed responses are never sent upstream.
+     */
+    public static AbstractNetworkProvider forReplay(final String className) {
+        final String qualifiedName = className.indexOf('.') >= 0 ? className : PACKAGE + className;
+        try {
+            return (AbstractNetworkProvider) forReplay(Class.forName(qualifiedName));
+        } catch (final ClassNotFoundException x) {
+            throw new IllegalArgumentException("unknown provider: " + className, x);
+        }
+    }
+
+    /**
+     * Like {@link #forReplay(String)}, but for a provider class that may come from a different class loader.
+     */
+    public static Object forReplay(final Class<?> clazz) {
+        for (int numArgs = 0; numArgs <= 2; numArgs++) {
+            final Class<?>[] parameterTypes = new Class<?>[numArgs];
+            Arrays.fill(parameterTypes, String.class);
+            final Constructor<?> constructor;
+            try {
+                constructor = clazz.getConstructor(parameterTypes);
+            } catch (final NoSuchMethodException x) {
+                continue;
+            }
+            final Object[] args = new String[numArgs];
+            Arrays.fill(args, "replay");
+            try {
+                return constructor.newInstance(args);
+            } catch (final InvocationTargetException x) {
+                throw new RuntimeException(x.getCause());
+            } catch (final ReflectiveOperationException x) {
+                throw new RuntimeException(x);
+            }
+        }
+        throw new IllegalArgumentException("provider " + clazz.getName() + " has no suitable constructor");
+    }
+
+    /**
+     * Lists the qualified class names of all concrete providers, by scanning the directory or jar the library was
+     * loaded from.
+     */
+    public static List<String> all() {
+        final URL location = AbstractNetworkProvider.class.getProtectionDomain().getCodeSource().getLocation();
+        final String packagePath = PACKAGE.replace('.', '/');
+        final List<String> entries = new ArrayList<String>();
+        try {
+            final File file = new File(location.toURI());
+            if (file.isDirectory()) {
+                final String[] names = new File(file, packagePath).list();
+                if (names != null)
+                    for (final String name : names)
+                        entries.add(packagePath + name);
+            } else {
+                final JarFile jar = new JarFile(file);
+                try {
+                    for (final Enumeration<JarEntry> e = jar.entries(); e.hasMoreElements();)
+                        entries.add(e.nextElement().getName());
+                } finally {
+                    jar.close();
+                }
+            }
+        } catch (final URISyntaxException x) {
+            throw new RuntimeException(x);
+        } catch (final IOException x) {
+            throw new RuntimeException("cannot list providers in " + location, x);
+        }
+
+        final List<String> classNames = new ArrayList<String>();
+        for (final String entry : entries) {
+            if (!entry.startsWith(packagePath) || !entry.endsWith("Provider.class")
+                    || entry.indexOf('/', packagePath.length()) >= 0)
+                continue;
+            final String className = entry.substring(0, entry.length() - ".class".length()).replace('/', '.');
+            try {
+                final Class<?> clazz = Class.forName(className, false, Providers.class.getClassLoader());
+                if (!Modifier.isAbstract(clazz.getModifiers()) && Modifier.isPublic(clazz.getModifiers())
+                        && NetworkProvider.class.isAssignableFrom(clazz))
+                    classNames.add(className);
+            } catch (final ClassNotFoundException x) {
+                throw new RuntimeException(x);
+            }
+        }
+        Collections.sort(classNames);
+        return classNames;
+    }
+}
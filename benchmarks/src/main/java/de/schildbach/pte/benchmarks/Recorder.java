@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.util.Arrays;
+import java.util.List;
+
+import de.schildbach.pte.AbstractNetworkProvider;
+
+/**
+ * Records the upstream responses of one provider call as a {@link Fixture}. Usage:
+ * 
+ * <pre>
+ * Recorder &lt;provider class&gt; &lt;operation&gt; [&lt;argument&gt; ...]
+ * </pre>
+ * 
+ * Providers that need secrets take them from the {@code pte.provider.args} system property (comma separated).
+ * Secrets are not written to the fixture.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class Recorder {
+    public static void main(final String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: Recorder <provider class> <operation> [<argument> ...]");
+            System.exit(1);
+        }
+
+        final String providerArgs = System.getProperty("pte.provider.args");
+        final AbstractNetworkProvider provider = Providers.newInstance(args[0],
+                providerArgs != null ? providerArgs.split(",") : new String[0]);
+        final Operation operation = Operation.fromKey(args[1]);
+        final String[] operationArgs = Arrays.copyOfRange(args, 2, args.length);
+
+        final RecordingInterceptor recorder = new RecordingInterceptor();
+        provider.setHttpInterceptor(recorder);
+        final Object result = operation.execute(provider, operationArgs);
+        System.out.println(result);
+
+        final List<Fixture.Response> responses = recorder.recorded();
+        final Fixture fixture = new Fixture(provider.getClass().getName(), operation, operationArgs, responses);
+        fixture.save();
+        System.out.println("recorded " + responses.size() + " responses to " + Fixture.root());
+    }
+}
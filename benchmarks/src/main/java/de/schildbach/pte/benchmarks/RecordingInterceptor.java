@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+import java.util.LinkedList;
+import java.util.List;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Passes requests on to the network and keeps a copy of every successful response body.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class RecordingInterceptor implements Interceptor {
+    private final List<Fixture.Response> recorded = new LinkedList<Fixture.Response>();
+
+    public synchronized List<Fixture.Response> recorded() {
+        return new LinkedList<Fixture.Response>(recorded);
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Response response = chain.proceed(chain.request());
+        if (!response.isSuccessful())
+            return response;
+
+        final ResponseBody body = response.body();
+        final MediaType contentType = body.contentType();
+        final byte[] bytes = body.bytes();
+        synchronized (this) {
+            recorded.add(new Fixture.Response(contentType != null ? contentType.toString() : null, bytes));
+        }
+        return response.newBuilder().body(ResponseBody.create(contentType, bytes)).build();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+
+import de.schildbach.pte.AbstractNetworkProvider;
+
+/**
+ * Replays a recorded {@link Fixture} through the public API of its provider, so that everything but the network
+ * is exercised: {@code HttpClient}, the parser and the construction of result objects.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class Replay {
+    private final AbstractNetworkProvider provider;
+    private final Fixture fixture;
+    private final ReplayInterceptor interceptor;
+
+    public Replay(final Fixture fixture) {
+        this.provider = Providers.forReplay(fixture.providerClassName);
+        this.fixture = fixture;
+        this.interceptor = new ReplayInterceptor(fixture);
+        provider.setHttpInterceptor(interceptor);
+    }
+
+    public static Replay load(final String providerName, final Operation operation) throws IOException {
+        return new Replay(Fixture.load(providerName, operation));
+    }
+
+    public Object execute() throws IOException {
+        interceptor.rewind();
+        return fixture.operation.execute(provider, fixture.args);
+    }
+}
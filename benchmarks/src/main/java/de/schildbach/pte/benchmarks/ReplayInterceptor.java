@@ -0,0 +1,62 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Answers requests from a recorded {@link Fixture} without touching the network. Responses are served in
+ * recording order; call {@link #rewind()} before replaying the operation again.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class ReplayInterceptor implements Interceptor {
+    private final List<Fixture.Response> responses;
+    private int index = 0;
+
+    public ReplayInterceptor(final Fixture fixture) {
+        this.responses = fixture.responses;
+    }
+
+    public void rewind() {
+        index = 0;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        if (index >= responses.size())
+            throw new IllegalStateException("fixture has only " + responses.size() + " responses, but got request "
+                    + (index + 1) + ": " + chain.request().url());
+        final Fixture.Response recorded = responses.get(index++);
+        final MediaType contentType = recorded.contentType != null ? MediaType.parse(recorded.contentType) : null;
+        return new Response.Builder() //
+                .request(chain.request()) //
+                .protocol(Protocol.HTTP_1_1) //
+                .code(200) //
+                .message("OK") //
+                .body(ResponseBody.create(contentType, recorded.body)) //
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.benchmarks;
+
+import java.io.IOException;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Sends all requests of a provider to a {@link MockUpstream} instead, tagging each with the operation in
+ * progress on the calling thread and the position of the request within that operation.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class UpstreamRedirectInterceptor implements Interceptor {
+    private final HttpUrl upstream;
+    private final ThreadLocal<Operation> operation = new ThreadLocal<Operation>();
+    private final ThreadLocal<int[]> index = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    public UpstreamRedirectInterceptor(final HttpUrl upstream) {
+        this.upstream = upstream;
+    }
+
+    /** Must be called on the calling thread before each provider call. */
+    public void begin(final Operation operation) {
+        this.operation.set(operation);
+        this.index.get()[0] = 0;
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Operation operation = this.operation.get();
+        if (operation == null)
+            throw new IllegalStateException("no operation in progress");
+
+        final Request request = chain.request();
+        final HttpUrl url = request.url().newBuilder() //
+                .scheme(upstream.scheme()) //
+                .host(upstream.host()) //
+                .port(upstream.port()) //
+                .build();
+        return chain.proceed(request.newBuilder() //
+                .url(url) //
+                .header(MockUpstream.HEADER_OPERATION, operation.key()) //
+                .header(MockUpstream.HEADER_INDEX, Integer.toString(index.get()[0]++)) //
+                .build());
+    }
+}
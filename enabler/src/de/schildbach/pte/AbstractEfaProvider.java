@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Currency;
@@ -65,6 +66,7 @@ import de.schildbach.pte.dto.Location;
 import de.schildbach.pte.dto.LocationType;
 import de.schildbach.pte.dto.NearbyLocationsResult;
 import de.schildbach.pte.dto.Point;
+import de.schildbach.pte.dto.Polyline;
 import de.schildbach.pte.dto.Position;
 import de.schildbach.pte.dto.Product;
 import de.schildbach.pte.dto.QueryDeparturesResult;
@@ -123,9 +125,11 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
     @SuppressWarnings("serial")
     private static class Context implements QueryTripsContext {
         private final String context;
+        private final @Nullable String sessionCookie;
 
-        private Context(final String context) {
+        private Context(final String context, final @Nullable String sessionCookie) {
             this.context = context;
+            this.sessionCookie = sessionCookie;
         }
 
         @Override
@@ -175,6 +179,27 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         this.coordEndpoint = coordEndpoint;
     }
 
+    // the factory is shared by concurrent calls, but isn't guaranteed to be thread-safe
+    private XmlPullParser newPullParser() throws XmlPullParserException {
+        synchronized (parserFactory) {
+            return parserFactory.newPullParser();
+        }
+    }
+
+    @Override
+    protected int nearbyLocationsLimit(final Location location, final int maxLocations) {
+        // queries by station id ignore the distance
+        if (!location.hasLocation())
+            return 0;
+        return maxLocations != 0 ? maxLocations : 50;
+    }
+
+    @Override
+    protected String batchHost() {
+        final HttpUrl url = departureMonitorEndpoint != null ? HttpUrl.parse(departureMonitorEndpoint) : null;
+        return url != null ? url.host() : super.batchHost();
+    }
+
     protected void setLanguage(final String language) {
         this.language = language;
     }
@@ -363,7 +388,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.byteStream(), null); // Read encoding from XML declaration
                     final ResultHeader header = enterItdRequest(pp);
 
@@ -405,7 +430,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.byteStream(), null); // Read encoding from XML declaration
                     final ResultHeader header = enterEfa(pp);
 
@@ -518,7 +543,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.byteStream(), null); // Read encoding from XML declaration
                     final ResultHeader header = enterItdRequest(pp);
 
@@ -591,7 +616,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.byteStream(), null); // Read encoding from XML declaration
                     final ResultHeader header = enterEfa(pp);
 
@@ -869,7 +894,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.byteStream(), null); // Read encoding from XML declaration
                     final ResultHeader header = enterItdRequest(pp);
 
@@ -925,445 +950,569 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
     private static final Pattern P_LINE_S = Pattern.compile("S ?\\d+");
     private static final Pattern P_LINE_S_DB = Pattern.compile("(S\\d+) \\((?:DB Regio AG)\\)");
     private static final Pattern P_LINE_NUMBER = Pattern.compile("\\d+");
+    private static final Pattern P_LINE_NAME_BUS = Pattern.compile("Bus.*", Pattern.DOTALL);
+    private static final Pattern P_SINGLE_CHAR = Pattern.compile(".", Pattern.DOTALL);
+
+    private static final Map<String, Product> TRAIN_NAME_PRODUCTS = new HashMap<String, Product>();
+
+    static {
+        TRAIN_NAME_PRODUCTS.put("S-Bahn", Product.SUBURBAN_TRAIN);
+        TRAIN_NAME_PRODUCTS.put("U-Bahn", Product.SUBWAY);
+        TRAIN_NAME_PRODUCTS.put("Straßenbahn", Product.TRAM);
+        TRAIN_NAME_PRODUCTS.put("Badner Bahn", Product.TRAM);
+        TRAIN_NAME_PRODUCTS.put("Stadtbus", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("Citybus", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("Regionalbus", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("ÖBB-Postbus", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("Autobus", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("Discobus", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("Nachtbus", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("Anrufsammeltaxi", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("Ersatzverkehr", Product.BUS);
+        TRAIN_NAME_PRODUCTS.put("Vienna Airport Lines", Product.BUS);
+    }
+
+    private static final TrainRules TRAIN_RULES;
+
+    static {
+        final TrainRules rules = new TrainRules();
+        rules.train(Product.HIGH_SPEED_TRAIN, "EC").types("EC").names("EuroCity", "Eurocity").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "EN").types("EN").names("EuroNight").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "IC").types("IC").names("InterCity").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "ICE").types("ICE").names("ICE", "Intercity-Express").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "ICN").types("ICN").names("InterCityNight").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "X").types("X").names("InterConnex").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "CNL").types("CNL").names("CityNightLine").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "THA").types("THA").names("Thalys").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "RHI").types("RHI").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "TGV").types("TGV").names("TGV").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "TGD").types("TGD").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "INZ").types("INZ").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "RJ").types("RJ").names("railjet").withNum(); // railjet
+        rules.train(Product.HIGH_SPEED_TRAIN, "WB").types("WB").names("WESTbahn").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "HKX").types("HKX").names("Hamburg-Köln-Express").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "INT").types("INT").withNum(); // SVV, VAGFR
+        rules.train(Product.HIGH_SPEED_TRAIN, "SC").types("SC").names("SC Pendolino").withNum(); // SuperCity
+        rules.train(Product.HIGH_SPEED_TRAIN, "ECB").types("ECB").withNum(); // EC, Verona-München
+        rules.train(Product.HIGH_SPEED_TRAIN, "ES").types("ES").withNum(); // Eurostar Italia
+        rules.train(Product.HIGH_SPEED_TRAIN, "EST").types("EST").names("EUROSTAR").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "EIC").types("EIC").withNum(); // Ekspres InterCity, Polen
+        rules.train(Product.HIGH_SPEED_TRAIN, "MT").types("MT").names("Schnee-Express").allKeys().withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "TLK").types("TLK").names("Tanie Linie Kolejowe").withNum();
+        rules.train(Product.HIGH_SPEED_TRAIN, "DNZ").types("DNZ").withNum(); // Nacht-Schnellzug
+        rules.train(Product.HIGH_SPEED_TRAIN, "DNZ").types("AVE").withNum(); // klimatisierter Hochgeschwindigkeitszug
+
+        rules.train(Product.REGIONAL_TRAIN, "IR").types("IR").names("Interregio", "InterRegio");
+        rules.train(Product.REGIONAL_TRAIN, "IRE").types("IRE").names("Interregio-Express");
+        rules.train(Product.REGIONAL_TRAIN, "IRE").orEmpty().names("InterRegioExpress");
+        rules.train(Product.REGIONAL_TRAIN, "RE").types("RE").names("Regional-Express");
+        rules.byTrainNum(Product.REGIONAL_TRAIN).withoutType().numMatches(P_LINE_RE);
+        rules.byTrainNum(Product.REGIONAL_TRAIN).nums("RE6a").withoutType().withoutName();
+        rules.constant(Product.REGIONAL_TRAIN, "RE3/RB30").nums("RE3 / RB30").withoutType().withoutName();
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("Regionalexpress");
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("R-Bahn");
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("RB-Bahn");
+        rules.byTrainNum(Product.REGIONAL_TRAIN).nums("RB67/71").withoutType();
+        rules.byTrainNum(Product.REGIONAL_TRAIN).nums("RB65/68").withoutType();
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("RE-Bahn");
+        rules.train(Product.REGIONAL_TRAIN, "REX").types("REX"); // RegionalExpress, Österreich
+        rules.train(Product.REGIONAL_TRAIN, "RB").types("RB").names("Regionalbahn").withNum();
+        rules.byTrainNum(Product.REGIONAL_TRAIN).withoutType().numMatches(P_LINE_RB);
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("Abellio-Zug");
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("Westfalenbahn");
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("Chiemseebahn");
+        rules.train(Product.REGIONAL_TRAIN, "R").types("R").names("Regionalzug");
+        rules.byTrainNum(Product.REGIONAL_TRAIN).withoutType().numMatches(P_LINE_R);
+        rules.train(Product.REGIONAL_TRAIN, "D").types("D").names("Schnellzug");
+        rules.train(Product.REGIONAL_TRAIN, "E").types("E").names("Eilzug");
+        rules.train(Product.REGIONAL_TRAIN, "WFB").types("WFB").names("WestfalenBahn");
+        rules.train(Product.REGIONAL_TRAIN, "NWB").types("NWB").names("NordWestBahn").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "WES").types("WES").names("Westbahn");
+        rules.train(Product.REGIONAL_TRAIN, "ERB").types("ERB").names("eurobahn");
+        rules.train(Product.REGIONAL_TRAIN, "CAN").types("CAN").names("cantus Verkehrsgesellschaft");
+        rules.train(Product.REGIONAL_TRAIN, "HEX").types("HEX").names("Veolia Verkehr Sachsen-Anhalt");
+        rules.train(Product.REGIONAL_TRAIN, "EB").types("EB").names("Erfurter Bahn");
+        rules.constant(Product.REGIONAL_TRAIN, "EB").longNames("Erfurter Bahn");
+        rules.train(Product.REGIONAL_TRAIN, "EBx").types("EBx").names("Erfurter Bahn Express");
+        rules.constant(Product.REGIONAL_TRAIN, "EBx").longNames("Erfurter Bahn Express").withoutSymbol();
+        rules.train(Product.REGIONAL_TRAIN, "MR").types("MR").names("Märkische Regiobahn").allKeys().withNum();
+        rules.train(Product.REGIONAL_TRAIN, "MRB").types("MRB").names("Mitteldeutsche Regiobahn");
+        rules.train(Product.REGIONAL_TRAIN, "ABR").types("ABR").names("ABELLIO Rail NRW GmbH");
+        rules.train(Product.REGIONAL_TRAIN, "NEB").types("NEB").names("NEB Niederbarnimer Eisenbahn");
+        rules.train(Product.REGIONAL_TRAIN, "OE").types("OE").names("Ostdeutsche Eisenbahn GmbH");
+        rules.constant(Product.REGIONAL_TRAIN, "OE").longNames("Ostdeutsche Eisenbahn GmbH").withoutSymbol();
+        rules.bySymbol(Product.REGIONAL_TRAIN).types("ODE").withSymbol();
+        rules.train(Product.REGIONAL_TRAIN, "OLA").types("OLA").names("Ostseeland Verkehr GmbH");
+        rules.train(Product.REGIONAL_TRAIN, "UBB").types("UBB").names("Usedomer Bäderbahn");
+        rules.train(Product.REGIONAL_TRAIN, "EVB").types("EVB").names("ELBE-WESER GmbH");
+        rules.train(Product.REGIONAL_TRAIN, "RTB").types("RTB").names("Rurtalbahn GmbH");
+        rules.train(Product.REGIONAL_TRAIN, "STB").types("STB").names("Süd-Thüringen-Bahn");
+        rules.train(Product.REGIONAL_TRAIN, "HTB").types("HTB").names("Hellertalbahn");
+        rules.train(Product.REGIONAL_TRAIN, "VBG").types("VBG").names("Vogtlandbahn");
+        rules.train(Product.REGIONAL_TRAIN, "CB").types("CB").names("City-Bahn Chemnitz");
+        rules.byTrainNum(Product.REGIONAL_TRAIN).nums("C11", "C13", "C14", "C15").withoutType();
+        rules.train(Product.REGIONAL_TRAIN, "VEC").types("VEC").names("vectus Verkehrsgesellschaft");
+        rules.train(Product.REGIONAL_TRAIN, "HzL").types("HzL").names("Hohenzollerische Landesbahn AG");
+        rules.train(Product.REGIONAL_TRAIN, "SBB").types("SBB").names("SBB GmbH");
+        rules.train(Product.REGIONAL_TRAIN, "MBB").types("MBB").names("Mecklenburgische Bäderbahn Molli");
+        rules.train(Product.REGIONAL_TRAIN, "OS").types("OS"); // Osobní vlak
+        rules.train(Product.REGIONAL_TRAIN, "SP").types("SP", "Sp"); // Spěšný vlak
+        rules.train(Product.REGIONAL_TRAIN, "Dab").types("Dab").names("Daadetalbahn");
+        rules.train(Product.REGIONAL_TRAIN, "FEG").types("FEG").names("Freiberger Eisenbahngesellschaft");
+        rules.train(Product.REGIONAL_TRAIN, "ARR").types("ARR").names("ARRIVA");
+        rules.train(Product.REGIONAL_TRAIN, "HSB").types("HSB").names("Harzer Schmalspurbahn");
+        rules.train(Product.REGIONAL_TRAIN, "ALX").types("ALX").names("alex - Länderbahn und Vogtlandbahn GmbH");
+        rules.train(Product.REGIONAL_TRAIN, "EX").types("EX").names("Fatra");
+        rules.train(Product.REGIONAL_TRAIN, "ME").types("ME").names("metronom");
+        rules.constant(Product.REGIONAL_TRAIN, "ME").longNames("metronom");
+        rules.train(Product.REGIONAL_TRAIN, "MEr").types("MEr");
+        rules.train(Product.REGIONAL_TRAIN, "AKN").types("AKN").names("AKN Eisenbahn AG");
+        rules.train(Product.REGIONAL_TRAIN, "SOE").types("SOE").names("Sächsisch-Oberlausitzer Eisenbahngesellschaft");
+        rules.train(Product.REGIONAL_TRAIN, "VIA").types("VIA").names("VIAS GmbH");
+        rules.train(Product.REGIONAL_TRAIN, "BRB").types("BRB").names("Bayerische Regiobahn");
+        rules.train(Product.REGIONAL_TRAIN, "BLB").types("BLB").names("Berchtesgadener Land Bahn");
+        rules.train(Product.REGIONAL_TRAIN, "HLB").types("HLB").names("Hessische Landesbahn");
+        rules.train(Product.REGIONAL_TRAIN, "NOB").types("NOB").names("NordOstseeBahn");
+        rules.train(Product.REGIONAL_TRAIN, "NBE").types("NBE").names("Nordbahn Eisenbahngesellschaft");
+        rules.train(Product.REGIONAL_TRAIN, "VEN").typeLabel().types("VEN").names("Rhenus Veniro");
+        rules.train(Product.REGIONAL_TRAIN, "DPN").types("DPN").names("Nahreisezug");
+        rules.train(Product.REGIONAL_TRAIN, "RBG").types("RBG").names("Regental Bahnbetriebs GmbH");
+        rules.train(Product.REGIONAL_TRAIN, "BOB").types("BOB").names("Bodensee-Oberschwaben-Bahn");
+        rules.train(Product.REGIONAL_TRAIN, "VE").types("VE").names("Vetter");
+        rules.train(Product.REGIONAL_TRAIN, "SDG").types("SDG").names("SDG Sächsische Dampfeisenbahngesellschaft mbH");
+        rules.train(Product.REGIONAL_TRAIN, "PRE").types("PRE").names("Pressnitztalbahn");
+        rules.train(Product.REGIONAL_TRAIN, "VEB").types("VEB").names("Vulkan-Eifel-Bahn");
+        rules.train(Product.REGIONAL_TRAIN, "neg").types("neg").names("Norddeutsche Eisenbahn Gesellschaft");
+        rules.train(Product.REGIONAL_TRAIN, "AVG").types("AVG").names("Felsenland-Express");
+        rules.train(Product.REGIONAL_TRAIN, "P").types("P")
+                .names("BayernBahn Betriebs-GmbH", "Brohltalbahn", "Kasbachtalbahn");
+        rules.train(Product.REGIONAL_TRAIN, "SBS").types("SBS").names("Städtebahn Sachsen");
+        rules.train(Product.REGIONAL_TRAIN, "SES").types("SES").names("Städteexpress Sachsen");
+        rules.train(Product.REGIONAL_TRAIN, "SB").types("SB-"); // Städtebahn Sachsen
+        rules.train(Product.REGIONAL_TRAIN, "ag").types("ag"); // agilis
+        rules.train(Product.REGIONAL_TRAIN, "agi").types("agi").names("agilis");
+        rules.train(Product.REGIONAL_TRAIN, "as").types("as").names("agilis-Schnellzug");
+        rules.train(Product.REGIONAL_TRAIN, "TLX").types("TLX").names("TRILEX"); // Trilex (Vogtlandbahn)
+        rules.train(Product.REGIONAL_TRAIN, "MSB").types("MSB").names("Mainschleifenbahn");
+        rules.train(Product.REGIONAL_TRAIN, "BE").types("BE").names("Bentheimer Eisenbahn");
+        rules.train(Product.REGIONAL_TRAIN, "erx").types("erx").names("erixx - Der Heidesprinter");
+        rules.train(Product.REGIONAL_TRAIN, "ERX").types("ERX").names("Erixx").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "SWE").types("SWE").names("Südwestdeutsche Verkehrs-AG").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "SWEG").names("SWEG-Zug"); // Südwestdeutschen Verkehrs-Aktiengesellschaft
+        rules.constant(Product.REGIONAL_TRAIN, "SWEG").longNames("SWEG-Zug");
+        rules.train(Product.REGIONAL_TRAIN, "EGP").orEmpty().names("EGP Eisenbahngesellschaft Potsdam");
+        rules.train(Product.REGIONAL_TRAIN, "ÖBB").types("ÖBB").names("ÖBB");
+        rules.train(Product.REGIONAL_TRAIN, "CAT").types("CAT"); // City Airport Train Wien
+        rules.train(Product.REGIONAL_TRAIN, "DZ").types("DZ").names("Dampfzug");
+        rules.train(Product.REGIONAL_TRAIN, "CD").types("CD"); // Tschechien
+        rules.bySymbol(Product.REGIONAL_TRAIN).types("VR"); // Polen
+        rules.bySymbol(Product.REGIONAL_TRAIN).types("PR"); // Polen
+        rules.bySymbol(Product.REGIONAL_TRAIN).types("KD"); // Koleje Dolnośląskie (Niederschlesische Eisenbahn)
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("Koleje Dolnoslaskie").withSymbol(); // Koleje Dolnośląskie
+        rules.train(Product.REGIONAL_TRAIN, "OO").types("OO").names("Ordinary passenger (o.pas.)"); // GB
+        rules.train(Product.REGIONAL_TRAIN, "XX").types("XX").names("Express passenger    (ex.pas.)"); // GB
+        rules.train(Product.REGIONAL_TRAIN, "XZ").types("XZ").names("Express passenger sleeper"); // GB
+        rules.train(Product.REGIONAL_TRAIN, "ATB").types("ATB"); // Autoschleuse Tauernbahn
+        rules.train(Product.REGIONAL_TRAIN, "ATZ").types("ATZ"); // Autozug
+        rules.train(Product.REGIONAL_TRAIN, "AZ").types("AZ").names("Auto-Zug");
+        rules.train(Product.REGIONAL_TRAIN, "DWE").types("DWE").names("Dessau-Wörlitzer Eisenbahn");
+        rules.train(Product.REGIONAL_TRAIN, "KTB").types("KTB").names("Kandertalbahn");
+        rules.train(Product.REGIONAL_TRAIN, "CBC").types("CBC").names("CBC"); // City-Bahn Chemnitz
+        rules.byTrainNum(Product.REGIONAL_TRAIN).names("Bernina Express");
+        rules.train(Product.REGIONAL_TRAIN, "STR").types("STR"); // Harzquerbahn, Nordhausen
+        rules.train(Product.REGIONAL_TRAIN, "EXT").types("EXT").names("Extrazug");
+        rules.bySymbol(Product.REGIONAL_TRAIN).names("Heritage Railway"); // GB
+        rules.train(Product.REGIONAL_TRAIN, "WTB").types("WTB").names("Wutachtalbahn");
+        rules.train(Product.REGIONAL_TRAIN, "DB").types("DB").names("DB Regio");
+        rules.train(Product.REGIONAL_TRAIN, "M").types("M").names("Meridian").allKeys();
+        rules.train(Product.REGIONAL_TRAIN, "M").types("M").names("Messezug").allKeys();
+        rules.train(Product.REGIONAL_TRAIN, "EZ").types("EZ"); // ÖBB Erlebniszug
+        rules.train(Product.REGIONAL_TRAIN, "DPF").types("DPF");
+        rules.train(Product.REGIONAL_TRAIN, "WBA").types("WBA").names("Waldbahn");
+        // Eisenbahn-Betriebsgesellschaft Ochsenhausen
+        rules.train(Product.REGIONAL_TRAIN, "ÖBA").types("ÖBA").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "UEF").types("UEF").names("Ulmer Eisenbahnfreunde").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "DBG").types("DBG").names("Döllnitzbahn").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "TL").types("TL").names("Trilex").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "OPB").types("OPB").names("oberpfalzbahn").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "OPX").types("OPX").names("oberpfalz-express").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "LEO").types("LEO").names("Chiemgauer Lokalbahn").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "VAE").types("VAE").names("Voralpen-Express").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "vlexx").types("V6").names("vlexx").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "ARZ").types("ARZ").names("Autoreisezug").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "RR").orEmpty().types("RR");
+        rules.train(Product.REGIONAL_TRAIN, "TER").types("TER").names("Train Express Regional").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "ENO").types("ENO").names("enno").withNum();
+        rules.constant(Product.REGIONAL_TRAIN, "enno").longNames("enno").withoutSymbol();
+        rules.train(Product.REGIONAL_TRAIN, "PLB").types("PLB").names("Pinzgauer Lokalbahn").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "NX").types("NX").names("National Express").withNum();
+        rules.train(Product.REGIONAL_TRAIN, "SE").types("SE").names("ABELLIO Rail Mitteldeutschland GmbH").withNum();
+
+        rules.train(Product.REGIONAL_TRAIN, "BSB").types("BSB").names("Breisgau-S-Bahn Gmbh").withNum();
+        rules.byTrainNum(Product.SUBURBAN_TRAIN).names("BSB-Zug").withNum(); // Breisgau-S-Bahn
+        rules.constant(Product.SUBURBAN_TRAIN, "BSB").names("BSB-Zug").withoutNum();
+        rules.constant(Product.SUBURBAN_TRAIN, "BSB").longNames("BSB-Zug");
+        rules.train(Product.SUBURBAN_TRAIN, "RSB").types("RSB"); // Regionalschnellbahn, Wien
+        rules.bySymbol(Product.SUBURBAN_TRAIN).names("RER").symbolMatches(P_SINGLE_CHAR); // Réseau Express Régional
+        rules.train(Product.SUBURBAN_TRAIN, "S").types("S");
+        rules.train(Product.SUBURBAN_TRAIN, "S").orEmpty().names("S-Bahn");
+
+        rules.train(Product.TRAM, "RT").types("RT").names("RegioTram");
+
+        rules.byTrainNum(Product.BUS).types("Bus").withNum();
+        rules.constant(Product.BUS, "Bus").longNames("Bus").withoutSymbol();
+        rules.train(Product.BUS, "SEV").orEmpty().types("SEV", "BSV")
+                .names("SEV", "Ersatzverkehr", "Schienenersatzverkehr").nums("SEV").symbols("SEV");
+        rules.constant(Product.BUS, "BR").names("Bus replacement"); // GB
+        rules.train(Product.BUS, "BR").types("BR").nameMatches(P_LINE_NAME_BUS); // GB
+        rules.train(Product.BUS, "EXB").types("EXB").withNum();
+
+        rules.train(Product.CABLECAR, "GB").types("GB"); // Gondelbahn
+        rules.train(Product.SUBURBAN_TRAIN, "SB").types("SB"); // Seilbahn
+
+        rules.bySymbol(null).names("Zug").withSymbol();
+        rules.constant(null, "Zug").longNames("Zug").withoutSymbol();
+        rules.bySymbol(null).names("Zuglinie").withSymbol();
+        rules.byTrainNum(null).types("ZUG").withNum();
+        rules.bySymbol(null).symbolMatches(P_LINE_NUMBER).withoutType().withoutName();
+        rules.train(null, "N").types("N").withoutName().withoutSymbol();
+        rules.constant(null, null).names("Train");
+
+        // generic
+        rules.byTrainName(null).withName().withoutType().withoutNum();
+        TRAIN_RULES = rules.index();
+    }
+
+    /**
+     * Classification of trains ({@code mot=0}) by trainType, trainName, longName, trainNum and symbol. Rules are
+     * tried in the order they were added; the first one that applies wins. To avoid trying all of them, rules are
+     * indexed by the values they compare fields against, so only candidates and rules without such keys are tried.
+     */
+    private static final class TrainRules {
+        private final List<TrainRule> rules = new ArrayList<TrainRule>();
+        private TrainRule[] ruleArray;
+        private final Map<String, int[]> byTrainType = new HashMap<String, int[]>();
+        private final Map<String, int[]> byTrainName = new HashMap<String, int[]>();
+        private final Map<String, int[]> byLongName = new HashMap<String, int[]>();
+        private final Map<String, int[]> byTrainNum = new HashMap<String, int[]>();
+        private final Map<String, int[]> bySymbol = new HashMap<String, int[]>();
+        private int[] unkeyed;
+
+        /** Labels the line with the prefix followed by the trainNum. */
+        public TrainRule train(final @Nullable Product product, final String prefix) {
+            return add(new TrainRule(product, TrainRule.LABEL_PREFIX_NUM, prefix));
+        }
+
+        public TrainRule constant(final @Nullable Product product, final @Nullable String label) {
+            return add(new TrainRule(product, TrainRule.LABEL_CONSTANT, label));
+        }
+
+        public TrainRule bySymbol(final @Nullable Product product) {
+            return add(new TrainRule(product, TrainRule.LABEL_SYMBOL, null));
+        }
+
+        public TrainRule byTrainNum(final @Nullable Product product) {
+            return add(new TrainRule(product, TrainRule.LABEL_TRAIN_NUM, null));
+        }
+
+        public TrainRule byTrainName(final @Nullable Product product) {
+            return add(new TrainRule(product, TrainRule.LABEL_TRAIN_NAME, null));
+        }
+
+        private TrainRule add(final TrainRule rule) {
+            rules.add(rule);
+            return rule;
+        }
+
+        public TrainRules index() {
+            ruleArray = rules.toArray(new TrainRule[rules.size()]);
+            final List<Integer> unkeyedList = new ArrayList<Integer>();
+            for (int i = 0; i < ruleArray.length; i++) {
+                final TrainRule rule = ruleArray[i];
+                index(byTrainType, rule.trainTypes, i);
+                index(byTrainName, rule.trainNames, i);
+                index(byLongName, rule.longNames, i);
+                index(byTrainNum, rule.trainNums, i);
+                index(bySymbol, rule.symbols, i);
+                if (!rule.hasKeys())
+                    unkeyedList.add(i);
+            }
+            unkeyed = toArray(unkeyedList);
+            return this;
+        }
+
+        private static void index(final Map<String, int[]> index, final String[] keys, final int ruleIndex) {
+            for (final String key : keys) {
+                final int[] rules = index.get(key);
+                if (rules == null) {
+                    index.put(key, new int[] { ruleIndex });
+                } else if (rules[rules.length - 1] != ruleIndex) {
+                    final int[] newRules = Arrays.copyOf(rules, rules.length + 1);
+                    newRules[rules.length] = ruleIndex;
+                    index.put(key, newRules);
+                }
+            }
+        }
+
+        private static int[] toArray(final List<Integer> list) {
+            final int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++)
+                array[i] = list.get(i);
+            return array;
+        }
+
+        public @Nullable TrainRule find(final @Nullable String trainType, final @Nullable String trainName,
+                final @Nullable String longName, final @Nullable String trainNum, final @Nullable String symbol) {
+            final int[] typeRules = candidates(byTrainType, trainType);
+            final int[] nameRules = candidates(byTrainName, trainName);
+            final int[] longNameRules = candidates(byLongName, longName);
+            final int[] numRules = candidates(byTrainNum, trainNum);
+            final int[] symbolRules = candidates(bySymbol, symbol);
+
+            // merge the candidates in rule order
+            int last = -1;
+            while (true) {
+                int next = Integer.MAX_VALUE;
+                next = Math.min(next, firstAfter(typeRules, last));
+                next = Math.min(next, firstAfter(nameRules, last));
+                next = Math.min(next, firstAfter(longNameRules, last));
+                next = Math.min(next, firstAfter(numRules, last));
+                next = Math.min(next, firstAfter(symbolRules, last));
+                next = Math.min(next, firstAfter(unkeyed, last));
+                if (next == Integer.MAX_VALUE)
+                    return null;
+
+                final TrainRule rule = ruleArray[next];
+                if (rule.matches(trainType, trainName, longName, trainNum, symbol))
+                    return rule;
+                last = next;
+            }
+        }
+
+        private static final int[] NO_RULES = new int[0];
+
+        private static int[] candidates(final Map<String, int[]> index, final @Nullable String key) {
+            if (key == null)
+                return NO_RULES;
+            final int[] rules = index.get(key);
+            return rules != null ? rules : NO_RULES;
+        }
+
+        private static int firstAfter(final int[] rules, final int last) {
+            for (final int rule : rules)
+                if (rule > last)
+                    return rule;
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static final class TrainRule {
+        private static final int LABEL_PREFIX_NUM = 0;
+        private static final int LABEL_PREFIX_NUM_OR_EMPTY = 1;
+        private static final int LABEL_PREFIX_TYPE = 2;
+        private static final int LABEL_CONSTANT = 3;
+        private static final int LABEL_SYMBOL = 4;
+        private static final int LABEL_TRAIN_NUM = 5;
+        private static final int LABEL_TRAIN_NAME = 6;
+
+        private static final String[] NONE = new String[0];
+
+        public final @Nullable Product product;
+        private int labelType;
+        private final @Nullable String label;
+
+        private String[] trainTypes = NONE, trainNames = NONE, longNames = NONE, trainNums = NONE, symbols = NONE;
+        private boolean allKeys = false;
+        private @Nullable Boolean hasTrainType, hasTrainName, hasTrainNum, hasSymbol;
+        private @Nullable Pattern trainNamePattern, trainNumPattern, symbolPattern;
+
+        private TrainRule(final @Nullable Product product, final int labelType, final @Nullable String label) {
+            this.product = product;
+            this.labelType = labelType;
+            this.label = label;
+        }
+
+        public TrainRule types(final String... trainTypes) {
+            this.trainTypes = trainTypes;
+            return this;
+        }
+
+        public TrainRule names(final String... trainNames) {
+            this.trainNames = trainNames;
+            return this;
+        }
+
+        public TrainRule longNames(final String... longNames) {
+            this.longNames = longNames;
+            return this;
+        }
+
+        public TrainRule nums(final String... trainNums) {
+            this.trainNums = trainNums;
+            return this;
+        }
+
+        public TrainRule symbols(final String... symbols) {
+            this.symbols = symbols;
+            return this;
+        }
+
+        /** Requires all keys to match, rather than any of them. */
+        public TrainRule allKeys() {
+            this.allKeys = true;
+            return this;
+        }
+
+        public TrainRule withoutType() {
+            this.hasTrainType = false;
+            return this;
+        }
+
+        public TrainRule withName() {
+            this.hasTrainName = true;
+            return this;
+        }
+
+        public TrainRule withoutName() {
+            this.hasTrainName = false;
+            return this;
+        }
+
+        public TrainRule withNum() {
+            this.hasTrainNum = true;
+            return this;
+        }
+
+        public TrainRule withoutNum() {
+            this.hasTrainNum = false;
+            return this;
+        }
+
+        public TrainRule withSymbol() {
+            this.hasSymbol = true;
+            return this;
+        }
+
+        public TrainRule withoutSymbol() {
+            this.hasSymbol = false;
+            return this;
+        }
+
+        public TrainRule nameMatches(final Pattern pattern) {
+            this.trainNamePattern = pattern;
+            return this;
+        }
+
+        public TrainRule numMatches(final Pattern pattern) {
+            this.trainNumPattern = pattern;
+            return this;
+        }
+
+        public TrainRule symbolMatches(final Pattern pattern) {
+            this.symbolPattern = pattern;
+            return this;
+        }
+
+        /** Uses the empty string for a missing trainNum. */
+        public TrainRule orEmpty() {
+            this.labelType = LABEL_PREFIX_NUM_OR_EMPTY;
+            return this;
+        }
+
+        /** Appends the trainType rather than the trainNum to the prefix. */
+        public TrainRule typeLabel() {
+            this.labelType = LABEL_PREFIX_TYPE;
+            return this;
+        }
+
+        private boolean hasKeys() {
+            return trainTypes.length > 0 || trainNames.length > 0 || longNames.length > 0 || trainNums.length > 0
+                    || symbols.length > 0;
+        }
+
+        private boolean matches(final @Nullable String trainType, final @Nullable String trainName,
+                final @Nullable String longName, final @Nullable String trainNum, final @Nullable String symbol) {
+            if (allKeys) {
+                if (trainTypes.length > 0 && !contains(trainTypes, trainType))
+                    return false;
+                if (trainNames.length > 0 && !contains(trainNames, trainName))
+                    return false;
+                if (longNames.length > 0 && !contains(longNames, longName))
+                    return false;
+                if (trainNums.length > 0 && !contains(trainNums, trainNum))
+                    return false;
+                if (symbols.length > 0 && !contains(symbols, symbol))
+                    return false;
+            } else if (hasKeys()) {
+                if (!contains(trainTypes, trainType) && !contains(trainNames, trainName)
+                        && !contains(longNames, longName) && !contains(trainNums, trainNum)
+                        && !contains(symbols, symbol))
+                    return false;
+            }
+
+            if (hasTrainType != null && hasTrainType != (trainType != null))
+                return false;
+            if (hasTrainName != null && hasTrainName != (trainName != null))
+                return false;
+            if (hasTrainNum != null && hasTrainNum != (trainNum != null))
+                return false;
+            if (hasSymbol != null && hasSymbol != (symbol != null))
+                return false;
+            if (trainNamePattern != null && (trainName == null || !trainNamePattern.matcher(trainName).matches()))
+                return false;
+            if (trainNumPattern != null && (trainNum == null || !trainNumPattern.matcher(trainNum).matches()))
+                return false;
+            if (symbolPattern != null && (symbol == null || !symbolPattern.matcher(symbol).matches()))
+                return false;
+
+            return true;
+        }
+
+        private static boolean contains(final String[] values, final @Nullable String value) {
+            if (value != null)
+                for (final String v : values)
+                    if (v.equals(value))
+                        return true;
+            return false;
+        }
+
+        public @Nullable String label(final @Nullable String trainType, final @Nullable String trainName,
+                final @Nullable String trainNum, final @Nullable String symbol) {
+            switch (labelType) {
+            case LABEL_PREFIX_NUM:
+                return label + trainNum;
+            case LABEL_PREFIX_NUM_OR_EMPTY:
+                return label + Strings.nullToEmpty(trainNum);
+            case LABEL_PREFIX_TYPE:
+                return label + trainType;
+            case LABEL_CONSTANT:
+                return label;
+            case LABEL_SYMBOL:
+                return symbol;
+            case LABEL_TRAIN_NUM:
+                return trainNum;
+            case LABEL_TRAIN_NAME:
+                return trainName;
+            default:
+                throw new IllegalStateException();
+            }
+        }
+    }
+
 
     protected Line parseLine(final @Nullable String id, final @Nullable String network, final @Nullable String mot,
             @Nullable String symbol, final @Nullable String name, final @Nullable String longName,
             final @Nullable String trainType, final @Nullable String trainNum, final @Nullable String trainName) {
         if (mot == null) {
             if (trainName != null) {
-                final String str = Strings.nullToEmpty(name);
-                if (trainName.equals("S-Bahn"))
-                    return new Line(id, network, Product.SUBURBAN_TRAIN, str);
-                if (trainName.equals("U-Bahn"))
-                    return new Line(id, network, Product.SUBWAY, str);
-                if (trainName.equals("Straßenbahn"))
-                    return new Line(id, network, Product.TRAM, str);
-                if (trainName.equals("Badner Bahn"))
-                    return new Line(id, network, Product.TRAM, str);
-                if (trainName.equals("Stadtbus"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("Citybus"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("Regionalbus"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("ÖBB-Postbus"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("Autobus"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("Discobus"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("Nachtbus"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("Anrufsammeltaxi"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("Ersatzverkehr"))
-                    return new Line(id, network, Product.BUS, str);
-                if (trainName.equals("Vienna Airport Lines"))
-                    return new Line(id, network, Product.BUS, str);
+                final Product product = TRAIN_NAME_PRODUCTS.get(trainName);
+                if (product != null)
+                    return new Line(id, network, product, Strings.nullToEmpty(name));
             }
         } else if ("0".equals(mot)) {
-            final String trainNumStr = Strings.nullToEmpty(trainNum);
-
-            if (("EC".equals(trainType) || "EuroCity".equals(trainName) || "Eurocity".equals(trainName))
-                    && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "EC" + trainNum);
-            if (("EN".equals(trainType) || "EuroNight".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "EN" + trainNum);
-            if (("IC".equals(trainType) || "InterCity".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "IC" + trainNum);
-            if (("ICE".equals(trainType) || "ICE".equals(trainName) || "Intercity-Express".equals(trainName))
-                    && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "ICE" + trainNum);
-            if (("ICN".equals(trainType) || "InterCityNight".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "ICN" + trainNum);
-            if (("X".equals(trainType) || "InterConnex".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "X" + trainNum);
-            if (("CNL".equals(trainType) || "CityNightLine".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "CNL" + trainNum);
-            if (("THA".equals(trainType) || "Thalys".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "THA" + trainNum);
-            if ("RHI".equals(trainType) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "RHI" + trainNum);
-            if (("TGV".equals(trainType) || "TGV".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "TGV" + trainNum);
-            if ("TGD".equals(trainType) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "TGD" + trainNum);
-            if ("INZ".equals(trainType) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "INZ" + trainNum);
-            if (("RJ".equals(trainType) || "railjet".equals(trainName)) && trainNum != null) // railjet
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "RJ" + trainNum);
-            if (("WB".equals(trainType) || "WESTbahn".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "WB" + trainNum);
-            if (("HKX".equals(trainType) || "Hamburg-Köln-Express".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "HKX" + trainNum);
-            if ("INT".equals(trainType) && trainNum != null) // SVV, VAGFR
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "INT" + trainNum);
-            if (("SC".equals(trainType) || "SC Pendolino".equals(trainName)) && trainNum != null) // SuperCity
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "SC" + trainNum);
-            if ("ECB".equals(trainType) && trainNum != null) // EC, Verona-München
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "ECB" + trainNum);
-            if ("ES".equals(trainType) && trainNum != null) // Eurostar Italia
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "ES" + trainNum);
-            if (("EST".equals(trainType) || "EUROSTAR".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "EST" + trainNum);
-            if ("EIC".equals(trainType) && trainNum != null) // Ekspres InterCity, Polen
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "EIC" + trainNum);
-            if ("MT".equals(trainType) && "Schnee-Express".equals(trainName) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "MT" + trainNum);
-            if (("TLK".equals(trainType) || "Tanie Linie Kolejowe".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "TLK" + trainNum);
-            if ("DNZ".equals(trainType) && trainNum != null) // Nacht-Schnellzug
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "DNZ" + trainNum);
-            if ("AVE".equals(trainType) && trainNum != null) // klimatisierter Hochgeschwindigkeitszug
-                return new Line(id, network, Product.HIGH_SPEED_TRAIN, "DNZ" + trainNum);
-
-            if ("IR".equals(trainType) || "Interregio".equals(trainName) || "InterRegio".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "IR" + trainNum);
-            if ("IRE".equals(trainType) || "Interregio-Express".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "IRE" + trainNum);
-            if ("InterRegioExpress".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "IRE" + trainNumStr);
-            if ("RE".equals(trainType) || "Regional-Express".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "RE" + trainNum);
-            if (trainType == null && trainNum != null && P_LINE_RE.matcher(trainNum).matches())
-                return new Line(id, network, Product.REGIONAL_TRAIN, trainNum);
-            if ("RE6a".equals(trainNum) && trainType == null && trainName == null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, trainNum);
-            if ("RE3 / RB30".equals(trainNum) && trainType == null && trainName == null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "RE3/RB30");
-            if ("Regionalexpress".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("R-Bahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("RB-Bahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if (trainType == null && "RB67/71".equals(trainNum))
-                return new Line(id, network, Product.REGIONAL_TRAIN, trainNum);
-            if (trainType == null && "RB65/68".equals(trainNum))
-                return new Line(id, network, Product.REGIONAL_TRAIN, trainNum);
-            if ("RE-Bahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("REX".equals(trainType)) // RegionalExpress, Österreich
-                return new Line(id, network, Product.REGIONAL_TRAIN, "REX" + trainNum);
-            if (("RB".equals(trainType) || "Regionalbahn".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "RB" + trainNum);
-            if (trainType == null && trainNum != null && P_LINE_RB.matcher(trainNum).matches())
-                return new Line(id, network, Product.REGIONAL_TRAIN, trainNum);
-            if ("Abellio-Zug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("Westfalenbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("Chiemseebahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("R".equals(trainType) || "Regionalzug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "R" + trainNum);
-            if (trainType == null && trainNum != null && P_LINE_R.matcher(trainNum).matches())
-                return new Line(id, network, Product.REGIONAL_TRAIN, trainNum);
-            if ("D".equals(trainType) || "Schnellzug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "D" + trainNum);
-            if ("E".equals(trainType) || "Eilzug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "E" + trainNum);
-            if ("WFB".equals(trainType) || "WestfalenBahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "WFB" + trainNum);
-            if (("NWB".equals(trainType) || "NordWestBahn".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "NWB" + trainNum);
-            if ("WES".equals(trainType) || "Westbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "WES" + trainNum);
-            if ("ERB".equals(trainType) || "eurobahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ERB" + trainNum);
-            if ("CAN".equals(trainType) || "cantus Verkehrsgesellschaft".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "CAN" + trainNum);
-            if ("HEX".equals(trainType) || "Veolia Verkehr Sachsen-Anhalt".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "HEX" + trainNum);
-            if ("EB".equals(trainType) || "Erfurter Bahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EB" + trainNum);
-            if ("Erfurter Bahn".equals(longName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EB");
-            if ("EBx".equals(trainType) || "Erfurter Bahn Express".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EBx" + trainNum);
-            if ("Erfurter Bahn Express".equals(longName) && symbol == null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EBx");
-            if ("MR".equals(trainType) && "Märkische Regiobahn".equals(trainName) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "MR" + trainNum);
-            if ("MRB".equals(trainType) || "Mitteldeutsche Regiobahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "MRB" + trainNum);
-            if ("ABR".equals(trainType) || "ABELLIO Rail NRW GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ABR" + trainNum);
-            if ("NEB".equals(trainType) || "NEB Niederbarnimer Eisenbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "NEB" + trainNum);
-            if ("OE".equals(trainType) || "Ostdeutsche Eisenbahn GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "OE" + trainNum);
-            if ("Ostdeutsche Eisenbahn GmbH".equals(longName) && symbol == null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "OE");
-            if ("ODE".equals(trainType) && symbol != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("OLA".equals(trainType) || "Ostseeland Verkehr GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "OLA" + trainNum);
-            if ("UBB".equals(trainType) || "Usedomer Bäderbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "UBB" + trainNum);
-            if ("EVB".equals(trainType) || "ELBE-WESER GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EVB" + trainNum);
-            if ("RTB".equals(trainType) || "Rurtalbahn GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "RTB" + trainNum);
-            if ("STB".equals(trainType) || "Süd-Thüringen-Bahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "STB" + trainNum);
-            if ("HTB".equals(trainType) || "Hellertalbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "HTB" + trainNum);
-            if ("VBG".equals(trainType) || "Vogtlandbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "VBG" + trainNum);
-            if ("CB".equals(trainType) || "City-Bahn Chemnitz".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "CB" + trainNum);
-            if (trainType == null && ("C11".equals(trainNum) || "C13".equals(trainNum) || "C14".equals(trainNum)
-                    || "C15".equals(trainNum)))
-                return new Line(id, network, Product.REGIONAL_TRAIN, trainNum);
-            if ("VEC".equals(trainType) || "vectus Verkehrsgesellschaft".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "VEC" + trainNum);
-            if ("HzL".equals(trainType) || "Hohenzollerische Landesbahn AG".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "HzL" + trainNum);
-            if ("SBB".equals(trainType) || "SBB GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SBB" + trainNum);
-            if ("MBB".equals(trainType) || "Mecklenburgische Bäderbahn Molli".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "MBB" + trainNum);
-            if ("OS".equals(trainType)) // Osobní vlak
-                return new Line(id, network, Product.REGIONAL_TRAIN, "OS" + trainNum);
-            if ("SP".equals(trainType) || "Sp".equals(trainType)) // Spěšný vlak
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SP" + trainNum);
-            if ("Dab".equals(trainType) || "Daadetalbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "Dab" + trainNum);
-            if ("FEG".equals(trainType) || "Freiberger Eisenbahngesellschaft".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "FEG" + trainNum);
-            if ("ARR".equals(trainType) || "ARRIVA".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ARR" + trainNum);
-            if ("HSB".equals(trainType) || "Harzer Schmalspurbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "HSB" + trainNum);
-            if ("ALX".equals(trainType) || "alex - Länderbahn und Vogtlandbahn GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ALX" + trainNum);
-            if ("EX".equals(trainType) || "Fatra".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EX" + trainNum);
-            if ("ME".equals(trainType) || "metronom".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ME" + trainNum);
-            if ("metronom".equals(longName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ME");
-            if ("MEr".equals(trainType))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "MEr" + trainNum);
-            if ("AKN".equals(trainType) || "AKN Eisenbahn AG".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "AKN" + trainNum);
-            if ("SOE".equals(trainType) || "Sächsisch-Oberlausitzer Eisenbahngesellschaft".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SOE" + trainNum);
-            if ("VIA".equals(trainType) || "VIAS GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "VIA" + trainNum);
-            if ("BRB".equals(trainType) || "Bayerische Regiobahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "BRB" + trainNum);
-            if ("BLB".equals(trainType) || "Berchtesgadener Land Bahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "BLB" + trainNum);
-            if ("HLB".equals(trainType) || "Hessische Landesbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "HLB" + trainNum);
-            if ("NOB".equals(trainType) || "NordOstseeBahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "NOB" + trainNum);
-            if ("NBE".equals(trainType) || "Nordbahn Eisenbahngesellschaft".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "NBE" + trainNum);
-            if ("VEN".equals(trainType) || "Rhenus Veniro".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "VEN" + trainType);
-            if ("DPN".equals(trainType) || "Nahreisezug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "DPN" + trainNum);
-            if ("RBG".equals(trainType) || "Regental Bahnbetriebs GmbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "RBG" + trainNum);
-            if ("BOB".equals(trainType) || "Bodensee-Oberschwaben-Bahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "BOB" + trainNum);
-            if ("VE".equals(trainType) || "Vetter".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "VE" + trainNum);
-            if ("SDG".equals(trainType) || "SDG Sächsische Dampfeisenbahngesellschaft mbH".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SDG" + trainNum);
-            if ("PRE".equals(trainType) || "Pressnitztalbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "PRE" + trainNum);
-            if ("VEB".equals(trainType) || "Vulkan-Eifel-Bahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "VEB" + trainNum);
-            if ("neg".equals(trainType) || "Norddeutsche Eisenbahn Gesellschaft".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "neg" + trainNum);
-            if ("AVG".equals(trainType) || "Felsenland-Express".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "AVG" + trainNum);
-            if ("P".equals(trainType) || "BayernBahn Betriebs-GmbH".equals(trainName)
-                    || "Brohltalbahn".equals(trainName) || "Kasbachtalbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "P" + trainNum);
-            if ("SBS".equals(trainType) || "Städtebahn Sachsen".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SBS" + trainNum);
-            if ("SES".equals(trainType) || "Städteexpress Sachsen".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SES" + trainNum);
-            if ("SB-".equals(trainType)) // Städtebahn Sachsen
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SB" + trainNum);
-            if ("ag".equals(trainType)) // agilis
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ag" + trainNum);
-            if ("agi".equals(trainType) || "agilis".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "agi" + trainNum);
-            if ("as".equals(trainType) || "agilis-Schnellzug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "as" + trainNum);
-            if ("TLX".equals(trainType) || "TRILEX".equals(trainName)) // Trilex (Vogtlandbahn)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "TLX" + trainNum);
-            if ("MSB".equals(trainType) || "Mainschleifenbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "MSB" + trainNum);
-            if ("BE".equals(trainType) || "Bentheimer Eisenbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "BE" + trainNum);
-            if ("erx".equals(trainType) || "erixx - Der Heidesprinter".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "erx" + trainNum);
-            if (("ERX".equals(trainType) || "Erixx".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ERX" + trainNum);
-            if (("SWE".equals(trainType) || "Südwestdeutsche Verkehrs-AG".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SWE" + trainNum);
-            if ("SWEG-Zug".equals(trainName)) // Südwestdeutschen Verkehrs-Aktiengesellschaft
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SWEG" + trainNum);
-            if ("SWEG-Zug".equals(longName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SWEG");
-            if ("EGP Eisenbahngesellschaft Potsdam".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EGP" + trainNumStr);
-            if ("ÖBB".equals(trainType) || "ÖBB".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ÖBB" + trainNum);
-            if ("CAT".equals(trainType)) // City Airport Train Wien
-                return new Line(id, network, Product.REGIONAL_TRAIN, "CAT" + trainNum);
-            if ("DZ".equals(trainType) || "Dampfzug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "DZ" + trainNum);
-            if ("CD".equals(trainType)) // Tschechien
-                return new Line(id, network, Product.REGIONAL_TRAIN, "CD" + trainNum);
-            if ("VR".equals(trainType)) // Polen
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("PR".equals(trainType)) // Polen
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("KD".equals(trainType)) // Koleje Dolnośląskie (Niederschlesische Eisenbahn)
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("Koleje Dolnoslaskie".equals(trainName) && symbol != null) // Koleje Dolnośląskie
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("OO".equals(trainType) || "Ordinary passenger (o.pas.)".equals(trainName)) // GB
-                return new Line(id, network, Product.REGIONAL_TRAIN, "OO" + trainNum);
-            if ("XX".equals(trainType) || "Express passenger    (ex.pas.)".equals(trainName)) // GB
-                return new Line(id, network, Product.REGIONAL_TRAIN, "XX" + trainNum);
-            if ("XZ".equals(trainType) || "Express passenger sleeper".equals(trainName)) // GB
-                return new Line(id, network, Product.REGIONAL_TRAIN, "XZ" + trainNum);
-            if ("ATB".equals(trainType)) // Autoschleuse Tauernbahn
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ATB" + trainNum);
-            if ("ATZ".equals(trainType)) // Autozug
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ATZ" + trainNum);
-            if ("AZ".equals(trainType) || "Auto-Zug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "AZ" + trainNum);
-            if ("DWE".equals(trainType) || "Dessau-Wörlitzer Eisenbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "DWE" + trainNum);
-            if ("KTB".equals(trainType) || "Kandertalbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "KTB" + trainNum);
-            if ("CBC".equals(trainType) || "CBC".equals(trainName)) // City-Bahn Chemnitz
-                return new Line(id, network, Product.REGIONAL_TRAIN, "CBC" + trainNum);
-            if ("Bernina Express".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, trainNum);
-            if ("STR".equals(trainType)) // Harzquerbahn, Nordhausen
-                return new Line(id, network, Product.REGIONAL_TRAIN, "STR" + trainNum);
-            if ("EXT".equals(trainType) || "Extrazug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EXT" + trainNum);
-            if ("Heritage Railway".equals(trainName)) // GB
-                return new Line(id, network, Product.REGIONAL_TRAIN, symbol);
-            if ("WTB".equals(trainType) || "Wutachtalbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "WTB" + trainNum);
-            if ("DB".equals(trainType) || "DB Regio".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "DB" + trainNum);
-            if ("M".equals(trainType) && "Meridian".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "M" + trainNum);
-            if ("M".equals(trainType) && "Messezug".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "M" + trainNum);
-            if ("EZ".equals(trainType)) // ÖBB Erlebniszug
-                return new Line(id, network, Product.REGIONAL_TRAIN, "EZ" + trainNum);
-            if ("DPF".equals(trainType))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "DPF" + trainNum);
-            if ("WBA".equals(trainType) || "Waldbahn".equals(trainName))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "WBA" + trainNum);
-            if ("ÖBA".equals(trainType) && trainNum != null) // Eisenbahn-Betriebsgesellschaft Ochsenhausen
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ÖBA" + trainNum);
-            if (("UEF".equals(trainType) || "Ulmer Eisenbahnfreunde".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "UEF" + trainNum);
-            if (("DBG".equals(trainType) || "Döllnitzbahn".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "DBG" + trainNum);
-            if (("TL".equals(trainType) || "Trilex".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "TL" + trainNum);
-            if (("OPB".equals(trainType) || "oberpfalzbahn".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "OPB" + trainNum);
-            if (("OPX".equals(trainType) || "oberpfalz-express".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "OPX" + trainNum);
-            if (("LEO".equals(trainType) || "Chiemgauer Lokalbahn".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "LEO" + trainNum);
-            if (("VAE".equals(trainType) || "Voralpen-Express".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "VAE" + trainNum);
-            if (("V6".equals(trainType) || "vlexx".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "vlexx" + trainNum);
-            if (("ARZ".equals(trainType) || "Autoreisezug".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ARZ" + trainNum);
-            if ("RR".equals(trainType))
-                return new Line(id, network, Product.REGIONAL_TRAIN, "RR" + Strings.nullToEmpty(trainNum));
-            if (("TER".equals(trainType) || "Train Express Regional".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "TER" + trainNum);
-            if (("ENO".equals(trainType) || "enno".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "ENO" + trainNum);
-            if ("enno".equals(longName) && symbol == null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "enno");
-            if (("PLB".equals(trainType) || "Pinzgauer Lokalbahn".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "PLB" + trainNum);
-            if (("NX".equals(trainType) || "National Express".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "NX" + trainNum);
-            if (("SE".equals(trainType) || "ABELLIO Rail Mitteldeutschland GmbH".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "SE" + trainNum);
-
-            if (("BSB".equals(trainType) || "Breisgau-S-Bahn Gmbh".equals(trainName)) && trainNum != null)
-                return new Line(id, network, Product.REGIONAL_TRAIN, "BSB" + trainNum);
-            if ("BSB-Zug".equals(trainName) && trainNum != null) // Breisgau-S-Bahn
-                return new Line(id, network, Product.SUBURBAN_TRAIN, trainNum);
-            if ("BSB-Zug".equals(trainName) && trainNum == null)
-                return new Line(id, network, Product.SUBURBAN_TRAIN, "BSB");
-            if ("BSB-Zug".equals(longName))
-                return new Line(id, network, Product.SUBURBAN_TRAIN, "BSB");
-            if ("RSB".equals(trainType)) // Regionalschnellbahn, Wien
-                return new Line(id, network, Product.SUBURBAN_TRAIN, "RSB" + trainNum);
-            if ("RER".equals(trainName) && symbol != null && symbol.length() == 1) // Réseau Express Régional
-                return new Line(id, network, Product.SUBURBAN_TRAIN, symbol);
-            if ("S".equals(trainType))
-                return new Line(id, network, Product.SUBURBAN_TRAIN, "S" + trainNum);
-            if ("S-Bahn".equals(trainName))
-                return new Line(id, network, Product.SUBURBAN_TRAIN, "S" + trainNumStr);
-
-            if ("RT".equals(trainType) || "RegioTram".equals(trainName))
-                return new Line(id, network, Product.TRAM, "RT" + trainNum);
-
-            if ("Bus".equals(trainType) && trainNum != null)
-                return new Line(id, network, Product.BUS, trainNum);
-            if ("Bus".equals(longName) && symbol == null)
-                return new Line(id, network, Product.BUS, longName);
-            if ("SEV".equals(trainType) || "SEV".equals(trainNum) || "SEV".equals(trainName) || "SEV".equals(symbol)
-                    || "BSV".equals(trainType) || "Ersatzverkehr".equals(trainName)
-                    || "Schienenersatzverkehr".equals(trainName))
-                return new Line(id, network, Product.BUS, "SEV" + trainNumStr);
-            if ("Bus replacement".equals(trainName)) // GB
-                return new Line(id, network, Product.BUS, "BR");
-            if ("BR".equals(trainType) && trainName != null && trainName.startsWith("Bus")) // GB
-                return new Line(id, network, Product.BUS, "BR" + trainNum);
-            if ("EXB".equals(trainType) && trainNum != null)
-                return new Line(id, network, Product.BUS, "EXB" + trainNum);
-
-            if ("GB".equals(trainType)) // Gondelbahn
-                return new Line(id, network, Product.CABLECAR, "GB" + trainNum);
-            if ("SB".equals(trainType)) // Seilbahn
-                return new Line(id, network, Product.SUBURBAN_TRAIN, "SB" + trainNum);
-
-            if ("Zug".equals(trainName) && symbol != null)
-                return new Line(id, network, null, symbol);
-            if ("Zug".equals(longName) && symbol == null)
-                return new Line(id, network, null, "Zug");
-            if ("Zuglinie".equals(trainName) && symbol != null)
-                return new Line(id, network, null, symbol);
-            if ("ZUG".equals(trainType) && trainNum != null)
-                return new Line(id, network, null, trainNum);
-            if (symbol != null && P_LINE_NUMBER.matcher(symbol).matches() && trainType == null && trainName == null)
-                return new Line(id, network, null, symbol);
-            if ("N".equals(trainType) && trainName == null && symbol == null)
-                return new Line(id, network, null, "N" + trainNum);
-            if ("Train".equals(trainName))
-                return new Line(id, network, null, null);
-
-            // generic
-            if (trainName != null && trainType == null && trainNum == null)
-                return new Line(id, network, null, trainName);
+            final TrainRule rule = TRAIN_RULES.find(trainType, trainName, longName, trainNum, symbol);
+            if (rule != null)
+                return new Line(id, network, rule.product, rule.label(trainType, trainName, trainNum, symbol));
         } else if ("1".equals(mot)) {
             if (symbol != null && P_LINE_S.matcher(symbol).matches())
                 return new Line(id, network, Product.SUBURBAN_TRAIN, symbol);
@@ -1458,7 +1607,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.byteStream(), null); // Read encoding from XML declaration
                     final ResultHeader header = enterItdRequest(pp);
 
@@ -1507,9 +1656,9 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
                             final String destinationId = !"-1".equals(destinationIdStr) ? destinationIdStr : null;
                             final Location destination;
                             if (destinationId != null || destinationName != null)
-                                destination = new Location(
+                                destination = intern(new Location(
                                         destinationId != null ? LocationType.STATION : LocationType.ANY, destinationId,
-                                        null, destinationName);
+                                        null, destinationName));
                             else
                                 destination = null;
 
@@ -1577,9 +1726,9 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
                             final String destinationId = !"-1".equals(destinationIdStr) ? destinationIdStr : null;
                             final Location destination;
                             if (destinationId != null || destinationName != null)
-                                destination = new Location(
+                                destination = intern(new Location(
                                         destinationId != null ? LocationType.STATION : LocationType.ANY, destinationId,
-                                        null, destinationName);
+                                        null, destinationName));
                             else
                                 destination = null;
                             final Line line = processItdServingLine(pp);
@@ -1627,7 +1776,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.byteStream(), null); // Read encoding from XML declaration
                     final ResultHeader header = enterEfa(pp);
                     final QueryDeparturesResult r = new QueryDeparturesResult(header);
@@ -1730,7 +1879,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             final String productType = tyOrCo ? ty : co;
             XmlPullUtil.optValueTag(pp, "prid", null);
             final String destinationName = normalizeLocationName(XmlPullUtil.valueTag(pp, "des"));
-            destination = new Location(LocationType.ANY, null, null, destinationName);
+            destination = intern(new Location(LocationType.ANY, null, null, destinationName));
             XmlPullUtil.optValueTag(pp, "dy", null);
             final String de = XmlPullUtil.optValueTag(pp, "de", null);
             final String productName = n != null ? n : de;
@@ -1759,8 +1908,8 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             final String network = lineId.substring(0, lineId.indexOf(':'));
             final Line parsedLine = parseLine(lineId, network, productType, symbol, symbol, null, trainType, trainNum,
                     productName);
-            line = new Line(parsedLine.id, parsedLine.network, parsedLine.product, parsedLine.label,
-                    lineStyle(parsedLine.network, parsedLine.product, parsedLine.label));
+            line = intern(new Line(parsedLine.id, parsedLine.network, parsedLine.product, parsedLine.label,
+                    lineStyle(parsedLine.network, parsedLine.product, parsedLine.label)));
         }
 
         XmlPullUtil.skipExit(pp, "m");
@@ -1916,8 +2065,8 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
 
         final Line line = parseLine(slStateless, divaNetwork, slMotType, slSymbol, slNumber, slNumber, trainType,
                 slTrainNum, trainName);
-        return new Line(line.id, line.network, line.product, line.label,
-                lineStyle(line.network, line.product, line.label), itdMessage);
+        return intern(new Line(line.id, line.network, line.product, line.label,
+                lineStyle(line.network, line.product, line.label), itdMessage));
     }
 
     private static final Pattern P_STATION_NAME_WHITESPACE = Pattern.compile("\\s+");
@@ -2053,12 +2202,13 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         final String parameters = xsltTripRequestParameters(from, via, to, date, dep, products, optimize, walkSpeed,
                 accessibility, options);
         final AtomicReference<QueryTripsResult> result = new AtomicReference<QueryTripsResult>();
+        final AtomicReference<String> sessionCookie = new AtomicReference<String>();
 
         final HttpClient.Callback callback = new HttpClient.Callback() {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    result.set(queryTrips(uri.toString(), body.byteStream()));
+                    result.set(queryTrips(uri.toString(), body.byteStream(), sessionCookie.get()));
                 } catch (final XmlPullParserException x) {
                     throw new ParserException("cannot parse xml: " + bodyPeek, x);
                 } catch (final RuntimeException x) {
@@ -2069,10 +2219,10 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
 
         if (httpPost)
             httpClient.getInputStream(callback, HttpUrl.parse(uri.toString()), parameters.substring(1),
-                    "application/x-www-form-urlencoded", null, httpRefererTrip);
+                    "application/x-www-form-urlencoded", null, httpRefererTrip, sessionCookie);
         else
-            httpClient.getInputStream(callback, HttpUrl.parse(uri.append(parameters).toString()), null,
-                    httpRefererTrip);
+            httpClient.getInputStream(callback, HttpUrl.parse(uri.append(parameters).toString()), null, null, null,
+                    httpRefererTrip, sessionCookie);
 
         return result.get();
     }
@@ -2085,12 +2235,14 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         final String parameters = xsltTripRequestParameters(from, via, to, date, dep, products, optimize, walkSpeed,
                 accessibility, options);
         final AtomicReference<QueryTripsResult> result = new AtomicReference<QueryTripsResult>();
+        final AtomicReference<String> sessionCookie = new AtomicReference<String>();
 
         final HttpClient.Callback callback = new HttpClient.Callback() {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    result.set(queryTripsMobile(uri.toString(), from, via, to, body.byteStream()));
+                    result.set(queryTripsMobile(uri.toString(), from, via, to, body.byteStream(),
+                            sessionCookie.get()));
                 } catch (final XmlPullParserException x) {
                     throw new ParserException("cannot parse xml: " + bodyPeek, x);
                 } catch (final RuntimeException x) {
@@ -2101,10 +2253,10 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
 
         if (httpPost)
             httpClient.getInputStream(callback, HttpUrl.parse(uri.toString()), parameters.substring(1),
-                    "application/x-www-form-urlencoded", null, httpRefererTrip);
+                    "application/x-www-form-urlencoded", null, httpRefererTrip, sessionCookie);
         else
-            httpClient.getInputStream(callback, HttpUrl.parse(uri.append(parameters).toString()), null,
-                    httpRefererTrip);
+            httpClient.getInputStream(callback, HttpUrl.parse(uri.append(parameters).toString()), null, null, null,
+                    httpRefererTrip, sessionCookie);
 
         return result.get();
     }
@@ -2116,12 +2268,13 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         final StringBuilder uri = new StringBuilder(commandUri);
         uri.append("&command=").append(later ? "tripNext" : "tripPrev");
         final AtomicReference<QueryTripsResult> result = new AtomicReference<QueryTripsResult>();
+        final AtomicReference<String> sessionCookie = new AtomicReference<String>(context.sessionCookie);
 
         final HttpClient.Callback callback = new HttpClient.Callback() {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    result.set(queryTrips(uri.toString(), body.byteStream()));
+                    result.set(queryTrips(uri.toString(), body.byteStream(), sessionCookie.get()));
                 } catch (final XmlPullParserException x) {
                     throw new ParserException("cannot parse xml: " + bodyPeek, x);
                 } catch (final RuntimeException x) {
@@ -2130,7 +2283,8 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             }
         };
 
-        httpClient.getInputStream(callback, HttpUrl.parse(uri.toString()), null, httpRefererTrip);
+        httpClient.getInputStream(callback, HttpUrl.parse(uri.toString()), null, null, null, httpRefererTrip,
+                sessionCookie);
 
         return result.get();
     }
@@ -2142,12 +2296,14 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         final StringBuilder uri = new StringBuilder(commandUri);
         uri.append("&command=").append(later ? "tripNext" : "tripPrev");
         final AtomicReference<QueryTripsResult> result = new AtomicReference<QueryTripsResult>();
+        final AtomicReference<String> sessionCookie = new AtomicReference<String>(context.sessionCookie);
 
         final HttpClient.Callback callback = new HttpClient.Callback() {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    result.set(queryTripsMobile(uri.toString(), null, null, null, body.byteStream()));
+                    result.set(queryTripsMobile(uri.toString(), null, null, null, body.byteStream(),
+                            sessionCookie.get()));
                 } catch (final XmlPullParserException x) {
                     throw new ParserException("cannot parse xml: " + bodyPeek, x);
                 } catch (final RuntimeException x) {
@@ -2156,14 +2312,15 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             }
         };
 
-        httpClient.getInputStream(callback, HttpUrl.parse(uri.toString()), null, httpRefererTrip);
+        httpClient.getInputStream(callback, HttpUrl.parse(uri.toString()), null, null, null, httpRefererTrip,
+                sessionCookie);
 
         return result.get();
     }
 
-    private QueryTripsResult queryTrips(final String uri, final InputStream is)
+    private QueryTripsResult queryTrips(final String uri, final InputStream is, final @Nullable String sessionCookie)
             throws XmlPullParserException, IOException {
-        final XmlPullParser pp = parserFactory.newPullParser();
+        final XmlPullParser pp = newPullParser();
         pp.setInput(is, null); // Read encoding from XML declaration
         final ResultHeader header = enterItdRequest(pp);
         final Object context = header.context;
@@ -2447,8 +2604,8 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
             XmlPullUtil.next(pp);
         }
 
-        return new QueryTripsResult(header, uri, from, via, to, new Context(commandLink((String) context, requestId)),
-                trips);
+        return new QueryTripsResult(header, uri, from, via, to, new Context(commandLink((String) context, requestId),
+                sessionCookie), trips);
     }
 
     private void processIndividualLeg(final XmlPullParser pp, final List<Leg> legs,
@@ -2490,9 +2647,9 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         final String destinationId = XmlPullUtil.optAttr(pp, "destID", null);
         final Location destination;
         if (destinationId != null)
-            destination = new Location(LocationType.STATION, destinationId, null, destinationName);
+            destination = intern(new Location(LocationType.STATION, destinationId, null, destinationName));
         else if (destinationId == null && destinationName != null)
-            destination = new Location(LocationType.ANY, null, null, destinationName);
+            destination = intern(new Location(LocationType.ANY, null, null, destinationName));
         else
             destination = null;
 
@@ -2666,8 +2823,8 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         final Set<Line.Attr> lineAttrs = new HashSet<Line.Attr>();
         if (wheelChairAccess || lowFloorVehicle)
             lineAttrs.add(Line.Attr.WHEEL_CHAIR_ACCESS);
-        final Line styledLine = new Line(line.id, line.network, line.product, line.label,
-                lineStyle(line.network, line.product, line.label), lineAttrs);
+        final Line styledLine = intern(new Line(line.id, line.network, line.product, line.label,
+                lineStyle(line.network, line.product, line.label), lineAttrs));
 
         final Stop departure = new Stop(departureLocation, true,
                 departureTargetTime != null ? departureTargetTime : departureTime,
@@ -2682,8 +2839,9 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
     }
 
     private QueryTripsResult queryTripsMobile(final String uri, final Location from, final @Nullable Location via,
-            final Location to, final InputStream is) throws XmlPullParserException, IOException {
-        final XmlPullParser pp = parserFactory.newPullParser();
+            final Location to, final InputStream is, final @Nullable String sessionCookie)
+            throws XmlPullParserException, IOException {
+        final XmlPullParser pp = newPullParser();
         pp.setInput(is, null); // Read encoding from XML declaration
         final ResultHeader header = enterEfa(pp);
 
@@ -2913,14 +3071,14 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
 
         if (trips.size() > 0) {
             final String[] context = (String[]) header.context;
-            return new QueryTripsResult(header, uri, from, via, to, new Context(commandLink(context[0], context[1])),
-                    trips);
+            return new QueryTripsResult(header, uri, from, via, to,
+                    new Context(commandLink(context[0], context[1]), sessionCookie), trips);
         } else {
             return new QueryTripsResult(header, QueryTripsResult.Status.NO_TRIPS);
         }
     }
 
-    private List<Point> processItdPathCoordinates(final XmlPullParser pp) throws XmlPullParserException, IOException {
+    private Polyline processItdPathCoordinates(final XmlPullParser pp) throws XmlPullParserException, IOException {
         XmlPullUtil.enter(pp, "itdPathCoordinates");
 
         final String ellipsoid = XmlPullUtil.valueTag(pp, "coordEllipsoid");
@@ -2931,7 +3089,7 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         if (!"GEO_DECIMAL".equals(type))
             throw new IllegalStateException("unknown type: " + type);
 
-        final List<Point> path;
+        final Polyline path;
         if (XmlPullUtil.test(pp, "itdCoordinateString")) {
             path = processCoordinateStrings(pp, "itdCoordinateString");
         } else if (XmlPullUtil.test(pp, "itdCoordinateBaseElemList")) {
@@ -2945,19 +3103,13 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
         return path;
     }
 
-    private List<Point> processCoordinateStrings(final XmlPullParser pp, final String tag)
+    private Polyline processCoordinateStrings(final XmlPullParser pp, final String tag)
             throws XmlPullParserException, IOException {
-        final List<Point> path = new LinkedList<Point>();
-
-        final String value = XmlPullUtil.valueTag(pp, tag);
-        for (final String coordStr : value.split(" +"))
-            path.add(parseCoord(coordStr));
-
-        return path;
+        return ParserUtils.parseCoordinateList(XmlPullUtil.valueTag(pp, tag));
     }
 
-    private List<Point> processCoordinateBaseElems(final XmlPullParser pp) throws XmlPullParserException, IOException {
-        final List<Point> path = new LinkedList<Point>();
+    private Polyline processCoordinateBaseElems(final XmlPullParser pp) throws XmlPullParserException, IOException {
+        final Polyline path = new Polyline();
 
         XmlPullUtil.enter(pp, "itdCoordinateBaseElemList");
 
@@ -2966,12 +3118,13 @@ public abstract class AbstractEfaProvider extends AbstractNetworkProvider {
 
             final int lon = (int) Math.round(Double.parseDouble(XmlPullUtil.valueTag(pp, "x")));
             final int lat = (int) Math.round(Double.parseDouble(XmlPullUtil.valueTag(pp, "y")));
-            path.add(new Point(lat, lon));
+            path.add(lat, lon);
 
             XmlPullUtil.skipExit(pp, "itdCoordinateBaseElem");
         }
 
         XmlPullUtil.skipExit(pp, "itdCoordinateBaseElemList");
+        path.trimToSize();
 
         return path;
     }
@@ -27,9 +27,11 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.Date;
@@ -38,6 +40,8 @@ import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -62,8 +66,10 @@ import org.xmlpull.v1.XmlPullParserFactory;
 import com.google.common.base.Charsets;
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 
 import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.EncodedPolyline;
 import de.schildbach.pte.dto.Fare;
 import de.schildbach.pte.dto.Line;
 import de.schildbach.pte.dto.Line.Attr;
@@ -71,6 +77,7 @@ import de.schildbach.pte.dto.Location;
 import de.schildbach.pte.dto.LocationType;
 import de.schildbach.pte.dto.NearbyLocationsResult;
 import de.schildbach.pte.dto.Point;
+import de.schildbach.pte.dto.Polyline;
 import de.schildbach.pte.dto.Position;
 import de.schildbach.pte.dto.Product;
 import de.schildbach.pte.dto.QueryDeparturesResult;
@@ -86,6 +93,7 @@ import de.schildbach.pte.exception.ParserException;
 import de.schildbach.pte.exception.SessionExpiredException;
 import de.schildbach.pte.util.HttpClient;
 import de.schildbach.pte.util.LittleEndianDataInputStream;
+import de.schildbach.pte.util.ParallelBatch;
 import de.schildbach.pte.util.ParserUtils;
 import de.schildbach.pte.util.StringReplaceReader;
 import de.schildbach.pte.util.XmlPullUtil;
@@ -100,6 +108,7 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
     protected final static String SERVER_PRODUCT = "hafas";
     private static final String REQC_PROD = "hafas";
     protected static final int DEFAULT_MAX_DEPARTURES = 100;
+    protected static final int JSON_STATION_BOARDS_PER_REQUEST = 10;
     protected static final int DEFAULT_MAX_LOCATIONS = 50;
 
     protected String stationBoardEndpoint;
@@ -115,6 +124,7 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
     private @Nullable String jsonApiClient;
     private Charset jsonGetStopsEncoding = Charsets.ISO_8859_1;
     private boolean jsonGetStopsUseWeight = true;
+    private boolean jsonTripSearchPolylines = false;
     private Charset jsonNearbyLocationsEncoding = Charsets.ISO_8859_1;
     private boolean dominantPlanStopTime = false;
     private boolean useIso8601 = false;
@@ -264,6 +274,13 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
         this.jsonGetStopsUseWeight = jsonGetStopsUseWeight;
     }
 
+    /**
+     * Requests the path of each leg with mgate trip searches. Paths are kept encoded and decoded when first accessed.
+     */
+    public void setJsonTripSearchPolylines(final boolean jsonTripSearchPolylines) {
+        this.jsonTripSearchPolylines = jsonTripSearchPolylines;
+    }
+
     protected void setJsonNearbyLocationsEncoding(final Charset jsonNearbyLocationsEncoding) {
         this.jsonNearbyLocationsEncoding = jsonNearbyLocationsEncoding;
     }
@@ -714,10 +731,10 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
                             final Location destination;
                             if (dirnr != null) {
                                 final String[] destinationPlaceAndName = splitStationName(destinationName);
-                                destination = new Location(LocationType.STATION, dirnr, destinationPlaceAndName[0],
-                                        destinationPlaceAndName[1]);
+                                destination = intern(new Location(LocationType.STATION, dirnr,
+                                        destinationPlaceAndName[0], destinationPlaceAndName[1]));
                             } else {
-                                destination = new Location(LocationType.ANY, null, null, destinationName);
+                                destination = intern(new Location(LocationType.ANY, null, null, destinationName));
                             }
 
                             final Line prodLine = parseLineAndType(prod);
@@ -873,23 +890,73 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
 
     protected final QueryDeparturesResult jsonStationBoard(final String stationId, final @Nullable Date time,
             final int maxDepartures, final boolean equivs) throws IOException {
+        return jsonStationBoards(Collections.singletonList(stationId), time, maxDepartures, equivs).get(stationId);
+    }
+
+    @Override
+    protected String batchHost() {
+        final HttpUrl url = mgateEndpoint != null ? HttpUrl.parse(mgateEndpoint) : null;
+        return url != null ? url.host() : super.batchHost();
+    }
+
+    /**
+     * Queries the station boards of many stations, asking for {@link #JSON_STATION_BOARDS_PER_REQUEST} of them per
+     * request.
+     */
+    protected final Map<String, QueryDeparturesResult> jsonStationBoardBatch(final Collection<String> stationIds,
+            final @Nullable Date time, final int maxDepartures, final boolean equivs) throws IOException {
+        final List<List<String>> chunks = Lists.partition(new ArrayList<String>(new LinkedHashSet<String>(stationIds)),
+                JSON_STATION_BOARDS_PER_REQUEST);
+        final Map<List<String>, Map<String, QueryDeparturesResult>> chunkResults = ParallelBatch.run(chunks,
+                ParallelBatch.DEFAULT_PARALLELISM, batchHost(),
+                new ParallelBatch.Query<List<String>, Map<String, QueryDeparturesResult>>() {
+                    @Override
+                    public Map<String, QueryDeparturesResult> query(final List<String> chunk) throws IOException {
+                        try {
+                            return jsonStationBoards(chunk, time, maxDepartures, equivs);
+                        } catch (final InterruptedIOException x) {
+                            throw x;
+                        } catch (final IOException x) {
+                            log.info("cannot query station boards of {}: {}", chunk, x.toString());
+                            return null;
+                        } catch (final RuntimeException x) {
+                            log.info("cannot query station boards of {}: {}", chunk, x.toString());
+                            return null;
+                        }
+                    }
+                });
+        final Map<String, QueryDeparturesResult> results = new LinkedHashMap<String, QueryDeparturesResult>();
+        for (final Map.Entry<List<String>, Map<String, QueryDeparturesResult>> entry : chunkResults.entrySet()) {
+            if (entry.getValue() != null)
+                results.putAll(entry.getValue());
+            else
+                for (final String stationId : entry.getKey())
+                    results.put(stationId, new QueryDeparturesResult(null, QueryDeparturesResult.Status.SERVICE_DOWN));
+        }
+        return results;
+    }
+
+    private Map<String, QueryDeparturesResult> jsonStationBoards(final List<String> stationIds,
+            final @Nullable Date time, final int maxDepartures, final boolean equivs) throws IOException {
         final Calendar c = new GregorianCalendar(timeZone);
-        c.setTime(time);
+        c.setTime(time != null ? time : new Date());
         final CharSequence jsonDate = jsonDate(c);
         final CharSequence jsonTime = jsonTime(c);
-        final CharSequence normalizedStationId = normalizeStationId(stationId);
         final CharSequence stbFltrEquiv = Boolean.toString(!equivs);
         final CharSequence maxJny = Integer.toString(maxDepartures != 0 ? maxDepartures : DEFAULT_MAX_DEPARTURES);
         final CharSequence getPasslist = Boolean.toString(true); // traffic expensive
-        final String request = wrapJsonApiRequest("StationBoard",
-                "{\"type\":\"DEP\"," //
-                        + "\"date\":\"" + jsonDate + "\"," //
-                        + "\"time\":\"" + jsonTime + "\"," //
-                        + "\"stbLoc\":{\"type\":\"S\"," + "\"state\":\"F\"," // F/M
-                        + "\"extId\":" + JSONObject.quote(normalizedStationId.toString()) + "}," //
-                        + "\"stbFltrEquiv\":" + stbFltrEquiv + ",\"maxJny\":" + maxJny + ",\"getPasslist\":"
-                        + getPasslist + "}",
-                false);
+        final List<String> reqs = new ArrayList<String>(stationIds.size());
+        for (final String stationId : stationIds) {
+            final CharSequence normalizedStationId = normalizeStationId(stationId);
+            reqs.add("{\"type\":\"DEP\"," //
+                    + "\"date\":\"" + jsonDate + "\"," //
+                    + "\"time\":\"" + jsonTime + "\"," //
+                    + "\"stbLoc\":{\"type\":\"S\"," + "\"state\":\"F\"," // F/M
+                    + "\"extId\":" + JSONObject.quote(normalizedStationId.toString()) + "}," //
+                    + "\"stbFltrEquiv\":" + stbFltrEquiv + ",\"maxJny\":" + maxJny + ",\"getPasslist\":"
+                    + getPasslist + "}");
+        }
+        final String request = wrapJsonApiRequests("StationBoard", reqs, false);
 
         final String uri = checkNotNull(mgateEndpoint);
         final CharSequence page = httpClient.get(HttpUrl.parse(uri), request, "application/json", Charsets.UTF_8);
@@ -900,88 +967,98 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
             if (headErr != null)
                 throw new RuntimeException(headErr);
             final ResultHeader header = new ResultHeader(network, SERVER_PRODUCT, head.getString("ver"), 0, null);
-            final QueryDeparturesResult result = new QueryDeparturesResult(header);
 
             final JSONArray svcResList = head.getJSONArray("svcResL");
-            checkState(svcResList.length() == 1);
-            final JSONObject svcRes = svcResList.optJSONObject(0);
-            checkState("StationBoard".equals(svcRes.getString("meth")));
-            final String err = svcRes.getString("err");
-            if (!"OK".equals(err)) {
-                final String errTxt = svcRes.getString("errTxt");
-                if ("LOCATION".equals(err) && "HCI Service: location missing or invalid".equals(errTxt))
-                    return new QueryDeparturesResult(header, QueryDeparturesResult.Status.INVALID_STATION);
-                else
-                    throw new RuntimeException(err + ": " + errTxt);
-            } else if ("1.10".equals(jsonApiVersion) && svcRes.toString().length() == 170) {
-                // horrible hack, because API version 1.10 doesn't signal invalid stations via error
-                return new QueryDeparturesResult(header, QueryDeparturesResult.Status.INVALID_STATION);
+            checkState(svcResList.length() == stationIds.size());
+            final Map<String, QueryDeparturesResult> results = new LinkedHashMap<String, QueryDeparturesResult>();
+            for (int iSvcRes = 0; iSvcRes < svcResList.length(); iSvcRes++) {
+                final String stationId = stationIds.get(iSvcRes);
+                results.put(stationId,
+                        parseJsonStationBoard(svcResList.getJSONObject(iSvcRes), header, c, stationId, equivs));
             }
-            final JSONObject res = svcRes.getJSONObject("res");
+            return results;
+        } catch (final JSONException x) {
+            throw new ParserException("cannot parse json: '" + page + "' on " + uri, x);
+        }
+    }
 
-            final JSONObject common = res.getJSONObject("common");
-            /* final List<String[]> remarks = */ parseRemList(common.getJSONArray("remL"));
-            final List<String> operators = parseOpList(common.getJSONArray("opL"));
-            final List<Line> lines = parseProdList(common.getJSONArray("prodL"), operators);
-            final JSONArray locList = common.getJSONArray("locL");
-            final List<Location> locations = parseLocList(locList);
-
-            final JSONArray jnyList = res.optJSONArray("jnyL");
-            if (jnyList != null) {
-                for (int iJny = 0; iJny < jnyList.length(); iJny++) {
-                    final JSONObject jny = jnyList.getJSONObject(iJny);
-                    final JSONObject stbStop = jny.getJSONObject("stbStop");
-
-                    final String stbStopPlatformS = stbStop.optString("dPlatfS", null);
-                    c.clear();
-                    ParserUtils.parseIsoDate(c, jny.getString("date"));
-                    final Date baseDate = c.getTime();
-
-                    final Date plannedTime = parseJsonTime(c, baseDate, stbStop.getString("dTimeS"));
-
-                    final Date predictedTime = parseJsonTime(c, baseDate, stbStop.optString("dTimeR", null));
-
-                    final Line line = lines.get(stbStop.getInt("dProdX"));
-
-                    final Location location = equivs ? locations.get(stbStop.getInt("locX"))
-                            : new Location(LocationType.STATION, stationId);
-                    final Position position = normalizePosition(stbStopPlatformS);
-
-                    final String jnyDirTxt = jny.getString("dirTxt");
-                    final JSONArray stopList = jny.optJSONArray("stopL");
-                    final Location destination;
-                    if (stopList != null) {
-                        final int lastStopIdx = stopList.getJSONObject(stopList.length() - 1).getInt("locX");
-                        final String lastStopName = locList.getJSONObject(lastStopIdx).getString("name");
-                        if (jnyDirTxt.equals(lastStopName))
-                            destination = locations.get(lastStopIdx);
-                        else
-                            destination = new Location(LocationType.ANY, null, null, jnyDirTxt);
-                    } else {
-                        destination = new Location(LocationType.ANY, null, null, jnyDirTxt);
-                    }
+    private QueryDeparturesResult parseJsonStationBoard(final JSONObject svcRes, final ResultHeader header,
+            final Calendar c, final String stationId, final boolean equivs) throws JSONException {
+        checkState("StationBoard".equals(svcRes.getString("meth")));
+        final String err = svcRes.getString("err");
+        if (!"OK".equals(err)) {
+            final String errTxt = svcRes.getString("errTxt");
+            if ("LOCATION".equals(err) && "HCI Service: location missing or invalid".equals(errTxt))
+                return new QueryDeparturesResult(header, QueryDeparturesResult.Status.INVALID_STATION);
+            else
+                throw new RuntimeException(err + ": " + errTxt);
+        } else if ("1.10".equals(jsonApiVersion) && svcRes.toString().length() == 170) {
+            // horrible hack, because API version 1.10 doesn't signal invalid stations via error
+            return new QueryDeparturesResult(header, QueryDeparturesResult.Status.INVALID_STATION);
+        }
+        final QueryDeparturesResult result = new QueryDeparturesResult(header);
+        final JSONObject res = svcRes.getJSONObject("res");
+
+        final JSONObject common = res.getJSONObject("common");
+        /* final List<String[]> remarks = */ parseRemList(common.getJSONArray("remL"));
+        final List<String> operators = parseOpList(common.getJSONArray("opL"));
+        final List<Line> lines = parseProdList(common.getJSONArray("prodL"), operators);
+        final JSONArray locList = common.getJSONArray("locL");
+        final List<Location> locations = parseLocList(locList);
+
+        final JSONArray jnyList = res.optJSONArray("jnyL");
+        if (jnyList != null) {
+            for (int iJny = 0; iJny < jnyList.length(); iJny++) {
+                final JSONObject jny = jnyList.getJSONObject(iJny);
+                final JSONObject stbStop = jny.getJSONObject("stbStop");
+
+                final String stbStopPlatformS = stbStop.optString("dPlatfS", null);
+                c.clear();
+                ParserUtils.parseIsoDate(c, jny.getString("date"));
+                final Date baseDate = c.getTime();
 
-                    final Departure departure = new Departure(plannedTime, predictedTime, line, position, destination,
-                            null, null);
+                final Date plannedTime = parseJsonTime(c, baseDate, stbStop.getString("dTimeS"));
 
-                    StationDepartures stationDepartures = findStationDepartures(result.stationDepartures, location);
-                    if (stationDepartures == null) {
-                        stationDepartures = new StationDepartures(location, new ArrayList<Departure>(8), null);
-                        result.stationDepartures.add(stationDepartures);
-                    }
+                final Date predictedTime = parseJsonTime(c, baseDate, stbStop.optString("dTimeR", null));
+
+                final Line line = lines.get(stbStop.getInt("dProdX"));
 
-                    stationDepartures.departures.add(departure);
+                final Location location = equivs ? locations.get(stbStop.getInt("locX"))
+                        : new Location(LocationType.STATION, stationId);
+                final Position position = normalizePosition(stbStopPlatformS);
+
+                final String jnyDirTxt = jny.getString("dirTxt");
+                final JSONArray stopList = jny.optJSONArray("stopL");
+                final Location destination;
+                if (stopList != null) {
+                    final int lastStopIdx = stopList.getJSONObject(stopList.length() - 1).getInt("locX");
+                    final String lastStopName = locList.getJSONObject(lastStopIdx).getString("name");
+                    if (jnyDirTxt.equals(lastStopName))
+                        destination = locations.get(lastStopIdx);
+                    else
+                        destination = intern(new Location(LocationType.ANY, null, null, jnyDirTxt));
+                } else {
+                    destination = intern(new Location(LocationType.ANY, null, null, jnyDirTxt));
                 }
-            }
 
-            // sort departures
-            for (final StationDepartures stationDepartures : result.stationDepartures)
-                Collections.sort(stationDepartures.departures, Departure.TIME_COMPARATOR);
+                final Departure departure = new Departure(plannedTime, predictedTime, line, position, destination,
+                        null, null);
 
-            return result;
-        } catch (final JSONException x) {
-            throw new ParserException("cannot parse json: '" + page + "' on " + uri, x);
+                StationDepartures stationDepartures = findStationDepartures(result.stationDepartures, location);
+                if (stationDepartures == null) {
+                    stationDepartures = new StationDepartures(location, new ArrayList<Departure>(8), null);
+                    result.stationDepartures.add(stationDepartures);
+                }
+
+                stationDepartures.departures.add(departure);
+            }
         }
+
+        // sort departures
+        for (final StationDepartures stationDepartures : result.stationDepartures)
+            Collections.sort(stationDepartures.departures, Departure.TIME_COMPARATOR);
+
+        return result;
     }
 
     protected final SuggestLocationsResult jsonLocMatch(final CharSequence constraint) throws IOException {
@@ -1068,7 +1145,7 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
                 + "\"" + outFrwdKey + "\":" + outFrwd + "," //
                 + "\"jnyFltrL\":[{\"value\":\"" + jnyFltr + "\",\"mode\":\"BIT\",\"type\":\"PROD\"}]," //
                 + "\"gisFltrL\":[{\"mode\":\"FB\",\"profile\":{\"type\":\"F\",\"linDistRouting\":false,\"maxdist\":2000},\"type\":\"P\"}]," //
-                + "\"getPolyline\":false,\"getPasslist\":true,\"getIST\":false,\"getEco\":false,\"extChgTime\":-1}", //
+                + "\"getPolyline\":" + jsonTripSearchPolylines + ",\"getPasslist\":true,\"getIST\":false,\"getEco\":false,\"extChgTime\":-1}", //
                 false);
 
         final String uri = checkNotNull(mgateEndpoint);
@@ -1111,6 +1188,8 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
             final List<Location> locations = parseLocList(common.getJSONArray("locL"));
             final List<String> operators = parseOpList(common.getJSONArray("opL"));
             final List<Line> lines = parseProdList(common.getJSONArray("prodL"), operators);
+            final JSONArray polyList = common.optJSONArray("polyL");
+            final List<String> polylines = polyList != null ? parsePolyList(polyList) : null;
 
             final JSONArray outConList = res.optJSONArray("outConL");
             final List<Trip> trips = new ArrayList<Trip>(outConList.length());
@@ -1140,8 +1219,8 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
                         final JSONObject jny = sec.getJSONObject("jny");
                         final Line line = lines.get(jny.getInt("prodX"));
                         final String dirTxt = jny.optString("dirTxt", null);
-                        final Location destination = dirTxt != null ? new Location(LocationType.ANY, null, null, dirTxt)
-                                : null;
+                        final Location destination = dirTxt != null
+                                ? intern(new Location(LocationType.ANY, null, null, dirTxt)) : null;
 
                         final JSONArray stopList = jny.getJSONArray("stopL");
                         checkState(stopList.length() >= 2);
@@ -1152,14 +1231,17 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
                             intermediateStops.add(intermediateStop);
                         }
 
-                        leg = new Trip.Public(line, destination, departureStop, arrivalStop, intermediateStops, null,
+                        final List<Point> path = parseJsonPath(jny, polylines);
+
+                        leg = new Trip.Public(line, destination, departureStop, arrivalStop, intermediateStops, path,
                                 null);
                     } else if ("WALK".equals(secType) || "TRSF".equals(secType)) {
                         final JSONObject gis = sec.getJSONObject("gis");
                         final int distance = gis.optInt("dist", 0);
+                        final List<Point> path = parseJsonPath(gis, polylines);
                         leg = new Trip.Individual(Trip.Individual.Type.WALK, departureStop.location,
                                 departureStop.getDepartureTime(), arrivalStop.location, arrivalStop.getArrivalTime(),
-                                null, distance);
+                                path, distance);
                     } else {
                         throw new IllegalStateException("cannot handle type: " + secType);
                     }
@@ -1215,11 +1297,21 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
     }
 
     private String wrapJsonApiRequest(final String meth, final String req, final boolean formatted) {
+        return wrapJsonApiRequests(meth, Collections.singletonList(req), formatted);
+    }
+
+    private String wrapJsonApiRequests(final String meth, final List<String> reqs, final boolean formatted) {
+        final StringBuilder svcReqs = new StringBuilder();
+        for (final String req : reqs) {
+            if (svcReqs.length() > 0)
+                svcReqs.append(',');
+            svcReqs.append("{\"cfg\":{\"polyEnc\":\"GPA\"},\"meth\":\"" + meth + "\",\"req\":" + req + "}");
+        }
         return "{" //
                 + "\"auth\":" + checkNotNull(jsonApiAuthorization) + "," //
                 + "\"client\":" + checkNotNull(jsonApiClient) + "," //
                 + "\"ver\":\"" + checkNotNull(jsonApiVersion) + "\",\"lang\":\"eng\"," //
-                + "\"svcReqL\":[{\"cfg\":{\"polyEnc\":\"GPA\"},\"meth\":\"" + meth + "\",\"req\":" + req + "}]," //
+                + "\"svcReqL\":[" + svcReqs + "]," //
                 + "\"formatted\":" + formatted + "}";
     }
 
@@ -1315,18 +1407,18 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
                 final int pCls = loc.optInt("pCls", -1);
                 final Set<Product> products = pCls != -1 ? intToProducts(pCls) : null;
                 final String id = normalizeStationId(loc.getString("extId"));
-                locations.add(new Location(LocationType.STATION, id, crd.getInt("y"), crd.getInt("x"), placeAndName[0],
-                        placeAndName[1], products));
+                locations.add(intern(new Location(LocationType.STATION, id, crd.getInt("y"), crd.getInt("x"),
+                        placeAndName[0], placeAndName[1], products)));
             } else if ("P".equals(type)) {
                 final String[] placeAndName = splitPOI(loc.getString("name"));
                 final String id = normalizeStationId(loc.getString("extId"));
-                locations.add(new Location(LocationType.POI, id, crd.getInt("y"), crd.getInt("x"), placeAndName[0],
-                        placeAndName[1]));
+                locations.add(intern(new Location(LocationType.POI, id, crd.getInt("y"), crd.getInt("x"),
+                        placeAndName[0], placeAndName[1])));
             } else if ("A".equals(type)) {
                 final String[] placeAndName = splitAddress(loc.getString("name"));
                 final String id = loc.getString("lid");
-                locations.add(new Location(LocationType.ADDRESS, id, crd.getInt("y"), crd.getInt("x"), placeAndName[0],
-                        placeAndName[1]));
+                locations.add(intern(new Location(LocationType.ADDRESS, id, crd.getInt("y"), crd.getInt("x"),
+                        placeAndName[0], placeAndName[1])));
             } else {
                 throw new RuntimeException("Unknown type " + type + ": " + loc);
             }
@@ -1347,6 +1439,34 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
         return operators;
     }
 
+    private List<String> parsePolyList(final JSONArray polyList) throws JSONException {
+        final List<String> polylines = new ArrayList<String>(polyList.length());
+
+        for (int i = 0; i < polyList.length(); i++) {
+            final JSONObject poly = polyList.getJSONObject(i);
+            polylines.add(poly.optString("crdEncYX", null));
+        }
+
+        return polylines;
+    }
+
+    private @Nullable List<Point> parseJsonPath(final JSONObject json, final @Nullable List<String> polylines)
+            throws JSONException {
+        final String encoded;
+        final JSONObject polyG = json.optJSONObject("polyG");
+        final JSONObject poly = json.optJSONObject("poly");
+        if (polyG != null && polylines != null) {
+            final JSONArray polyXList = polyG.getJSONArray("polyXL");
+            encoded = polyXList.length() > 0 ? polylines.get(polyXList.getInt(0)) : null;
+        } else if (poly != null) {
+            encoded = poly.optString("crdEncYX", null);
+        } else {
+            encoded = null;
+        }
+
+        return encoded != null ? new EncodedPolyline(encoded) : null;
+    }
+
     private List<Line> parseProdList(final JSONArray prodList, final List<String> operators) throws JSONException {
         final List<Line> lines = new ArrayList<Line>(prodList.length());
 
@@ -1366,8 +1486,8 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
                 normalizedName = "S" + name.substring(2);
             else
                 normalizedName = name;
-            final Line line = new Line(null, operator, product, normalizedName,
-                    lineStyle(operator, product, normalizedName));
+            final Line line = intern(new Line(null, operator, product, normalizedName,
+                    lineStyle(operator, product, normalizedName)));
             lines.add(line);
         }
 
@@ -1802,17 +1922,18 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
                             }
 
                             // polyline
-                            final List<Point> path;
+                            final Polyline path;
                             if (XmlPullUtil.test(pp, "Polyline")) {
-                                path = new LinkedList<Point>();
+                                path = new Polyline();
                                 XmlPullUtil.enter(pp, "Polyline");
                                 while (XmlPullUtil.test(pp, "Point")) {
                                     final int x = XmlPullUtil.intAttr(pp, "x");
                                     final int y = XmlPullUtil.intAttr(pp, "y");
-                                    path.add(new Point(y, x));
+                                    path.add(y, x);
                                     XmlPullUtil.next(pp);
                                 }
                                 XmlPullUtil.skipExit(pp, "Polyline");
+                                path.trimToSize();
                             } else {
                                 path = null;
                             }
@@ -3169,454 +3290,264 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
     private static final Pattern P_LINE_BUS = Pattern.compile("BUS\\w{0,5}");
     private static final Pattern P_LINE_TAXI = Pattern.compile("TAX\\w{0,5}");
 
-    protected Product normalizeType(final String type) {
-        final String ucType = type.toUpperCase();
+    private static final Map<String, Product> TYPE_PRODUCTS = new HashMap<String, Product>();
 
+    static {
         // Intercity
-        if ("EC".equals(ucType)) // EuroCity
-            return Product.HIGH_SPEED_TRAIN;
-        if ("EN".equals(ucType)) // EuroNight
-            return Product.HIGH_SPEED_TRAIN;
-        if ("D".equals(ucType)) // EuroNight, Sitzwagenabteil
-            return Product.HIGH_SPEED_TRAIN;
-        if ("EIC".equals(ucType)) // Ekspres InterCity, Polen
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ICE".equals(ucType)) // InterCityExpress
-            return Product.HIGH_SPEED_TRAIN;
-        if ("IC".equals(ucType)) // InterCity
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ICT".equals(ucType)) // InterCity
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ICN".equals(ucType)) // InterCityNight
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ICD".equals(ucType)) // Intercity direkt Amsterdam-Breda
-            return Product.HIGH_SPEED_TRAIN;
-        if ("CNL".equals(ucType)) // CityNightLine
-            return Product.HIGH_SPEED_TRAIN;
-        if ("MT".equals(ucType)) // Schnee-Express
-            return Product.HIGH_SPEED_TRAIN;
-        if ("OEC".equals(ucType)) // ÖBB-EuroCity
-            return Product.HIGH_SPEED_TRAIN;
-        if ("OIC".equals(ucType)) // ÖBB-InterCity
-            return Product.HIGH_SPEED_TRAIN;
-        if ("RJ".equals(ucType)) // RailJet, Österreichische Bundesbahnen
-            return Product.HIGH_SPEED_TRAIN;
-        if ("WB".equals(ucType)) // westbahn
-            return Product.HIGH_SPEED_TRAIN;
-        if ("THA".equals(ucType)) // Thalys
-            return Product.HIGH_SPEED_TRAIN;
-        if ("TGV".equals(ucType)) // Train à Grande Vitesse
-            return Product.HIGH_SPEED_TRAIN;
-        if ("DNZ".equals(ucType)) // Nacht-Schnellzug
-            return Product.HIGH_SPEED_TRAIN;
-        if ("AIR".equals(ucType)) // Generic Flight
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ECB".equals(ucType)) // EC, Verona-München
-            return Product.HIGH_SPEED_TRAIN;
-        if ("LYN".equals(ucType)) // Dänemark
-            return Product.HIGH_SPEED_TRAIN;
-        if ("NZ".equals(ucType)) // Schweden, Nacht
-            return Product.HIGH_SPEED_TRAIN;
-        if ("INZ".equals(ucType)) // Nacht
-            return Product.HIGH_SPEED_TRAIN;
-        if ("RHI".equals(ucType)) // ICE
-            return Product.HIGH_SPEED_TRAIN;
-        if ("RHT".equals(ucType)) // TGV
-            return Product.HIGH_SPEED_TRAIN;
-        if ("TGD".equals(ucType)) // TGV
-            return Product.HIGH_SPEED_TRAIN;
-        if ("IRX".equals(ucType)) // IC
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ES".equals(ucType)) // Eurostar Italia
-            return Product.HIGH_SPEED_TRAIN;
-        if ("EST".equals(ucType)) // Eurostar Frankreich
-            return Product.HIGH_SPEED_TRAIN;
-        if ("EM".equals(ucType)) // Euromed, Barcelona-Alicante, Spanien
-            return Product.HIGH_SPEED_TRAIN;
-        if ("A".equals(ucType)) // Spain, Highspeed
-            return Product.HIGH_SPEED_TRAIN;
-        if ("AVE".equals(ucType)) // Alta Velocidad Española, Spanien
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ARC".equals(ucType)) // Arco (Renfe), Spanien
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ALS".equals(ucType)) // Alaris (Renfe), Spanien
-            return Product.HIGH_SPEED_TRAIN;
-        if ("ATR".equals(ucType)) // Altaria (Renfe), Spanien
-            return Product.REGIONAL_TRAIN;
-        if ("TAL".equals(ucType)) // Talgo, Spanien
-            return Product.HIGH_SPEED_TRAIN;
-        if ("TLG".equals(ucType)) // Spanien, Madrid
-            return Product.HIGH_SPEED_TRAIN;
-        if ("HOT".equals(ucType)) // Spanien, Nacht
-            return Product.HIGH_SPEED_TRAIN;
-        if ("X2".equals(ucType)) // X2000 Neigezug, Schweden
-            return Product.HIGH_SPEED_TRAIN;
-        if ("X".equals(ucType)) // InterConnex
-            return Product.HIGH_SPEED_TRAIN;
-        if ("FYR".equals(ucType)) // Fyra, Amsterdam-Schiphol-Rotterdam
-            return Product.HIGH_SPEED_TRAIN;
-        if ("FYRA".equals(ucType)) // Fyra, Amsterdam-Schiphol-Rotterdam
-            return Product.HIGH_SPEED_TRAIN;
-        if ("SC".equals(ucType)) // SuperCity, Tschechien
-            return Product.HIGH_SPEED_TRAIN;
-        if ("LE".equals(ucType)) // LEO Express, Prag
-            return Product.HIGH_SPEED_TRAIN;
-        if ("FLUG".equals(ucType))
-            return Product.HIGH_SPEED_TRAIN;
-        if ("TLK".equals(ucType)) // Tanie Linie Kolejowe, Polen
-            return Product.HIGH_SPEED_TRAIN;
-        if ("PKP".equals(ucType)) // Polskie Koleje Państwowe (Polnische Staatsbahnen)
-            return Product.HIGH_SPEED_TRAIN;
-        if ("EIP".equals(ucType)) // Express Intercity Premium
-            return Product.HIGH_SPEED_TRAIN;
-        if ("INT".equals(ucType)) // Zürich-Brüssel - Budapest-Istanbul
-            return Product.HIGH_SPEED_TRAIN;
-        if ("HKX".equals(ucType)) // Hamburg-Koeln-Express
-            return Product.HIGH_SPEED_TRAIN;
-        if ("UEX".equals(ucType)) // Slovenia
-            return Product.REGIONAL_TRAIN;
+        TYPE_PRODUCTS.put("EC", Product.HIGH_SPEED_TRAIN); // EuroCity
+        TYPE_PRODUCTS.put("EN", Product.HIGH_SPEED_TRAIN); // EuroNight
+        TYPE_PRODUCTS.put("D", Product.HIGH_SPEED_TRAIN); // EuroNight, Sitzwagenabteil
+        TYPE_PRODUCTS.put("EIC", Product.HIGH_SPEED_TRAIN); // Ekspres InterCity, Polen
+        TYPE_PRODUCTS.put("ICE", Product.HIGH_SPEED_TRAIN); // InterCityExpress
+        TYPE_PRODUCTS.put("IC", Product.HIGH_SPEED_TRAIN); // InterCity
+        TYPE_PRODUCTS.put("ICT", Product.HIGH_SPEED_TRAIN); // InterCity
+        TYPE_PRODUCTS.put("ICN", Product.HIGH_SPEED_TRAIN); // InterCityNight
+        TYPE_PRODUCTS.put("ICD", Product.HIGH_SPEED_TRAIN); // Intercity direkt Amsterdam-Breda
+        TYPE_PRODUCTS.put("CNL", Product.HIGH_SPEED_TRAIN); // CityNightLine
+        TYPE_PRODUCTS.put("MT", Product.HIGH_SPEED_TRAIN); // Schnee-Express
+        TYPE_PRODUCTS.put("OEC", Product.HIGH_SPEED_TRAIN); // ÖBB-EuroCity
+        TYPE_PRODUCTS.put("OIC", Product.HIGH_SPEED_TRAIN); // ÖBB-InterCity
+        TYPE_PRODUCTS.put("RJ", Product.HIGH_SPEED_TRAIN); // RailJet, Österreichische Bundesbahnen
+        TYPE_PRODUCTS.put("WB", Product.HIGH_SPEED_TRAIN); // westbahn
+        TYPE_PRODUCTS.put("THA", Product.HIGH_SPEED_TRAIN); // Thalys
+        TYPE_PRODUCTS.put("TGV", Product.HIGH_SPEED_TRAIN); // Train à Grande Vitesse
+        TYPE_PRODUCTS.put("DNZ", Product.HIGH_SPEED_TRAIN); // Nacht-Schnellzug
+        TYPE_PRODUCTS.put("AIR", Product.HIGH_SPEED_TRAIN); // Generic Flight
+        TYPE_PRODUCTS.put("ECB", Product.HIGH_SPEED_TRAIN); // EC, Verona-München
+        TYPE_PRODUCTS.put("LYN", Product.HIGH_SPEED_TRAIN); // Dänemark
+        TYPE_PRODUCTS.put("NZ", Product.HIGH_SPEED_TRAIN); // Schweden, Nacht
+        TYPE_PRODUCTS.put("INZ", Product.HIGH_SPEED_TRAIN); // Nacht
+        TYPE_PRODUCTS.put("RHI", Product.HIGH_SPEED_TRAIN); // ICE
+        TYPE_PRODUCTS.put("RHT", Product.HIGH_SPEED_TRAIN); // TGV
+        TYPE_PRODUCTS.put("TGD", Product.HIGH_SPEED_TRAIN); // TGV
+        TYPE_PRODUCTS.put("IRX", Product.HIGH_SPEED_TRAIN); // IC
+        TYPE_PRODUCTS.put("ES", Product.HIGH_SPEED_TRAIN); // Eurostar Italia
+        TYPE_PRODUCTS.put("EST", Product.HIGH_SPEED_TRAIN); // Eurostar Frankreich
+        TYPE_PRODUCTS.put("EM", Product.HIGH_SPEED_TRAIN); // Euromed, Barcelona-Alicante, Spanien
+        TYPE_PRODUCTS.put("A", Product.HIGH_SPEED_TRAIN); // Spain, Highspeed
+        TYPE_PRODUCTS.put("AVE", Product.HIGH_SPEED_TRAIN); // Alta Velocidad Española, Spanien
+        TYPE_PRODUCTS.put("ARC", Product.HIGH_SPEED_TRAIN); // Arco (Renfe), Spanien
+        TYPE_PRODUCTS.put("ALS", Product.HIGH_SPEED_TRAIN); // Alaris (Renfe), Spanien
+        TYPE_PRODUCTS.put("ATR", Product.REGIONAL_TRAIN); // Altaria (Renfe), Spanien
+        TYPE_PRODUCTS.put("TAL", Product.HIGH_SPEED_TRAIN); // Talgo, Spanien
+        TYPE_PRODUCTS.put("TLG", Product.HIGH_SPEED_TRAIN); // Spanien, Madrid
+        TYPE_PRODUCTS.put("HOT", Product.HIGH_SPEED_TRAIN); // Spanien, Nacht
+        TYPE_PRODUCTS.put("X2", Product.HIGH_SPEED_TRAIN); // X2000 Neigezug, Schweden
+        TYPE_PRODUCTS.put("X", Product.HIGH_SPEED_TRAIN); // InterConnex
+        TYPE_PRODUCTS.put("FYR", Product.HIGH_SPEED_TRAIN); // Fyra, Amsterdam-Schiphol-Rotterdam
+        TYPE_PRODUCTS.put("FYRA", Product.HIGH_SPEED_TRAIN); // Fyra, Amsterdam-Schiphol-Rotterdam
+        TYPE_PRODUCTS.put("SC", Product.HIGH_SPEED_TRAIN); // SuperCity, Tschechien
+        TYPE_PRODUCTS.put("LE", Product.HIGH_SPEED_TRAIN); // LEO Express, Prag
+        TYPE_PRODUCTS.put("FLUG", Product.HIGH_SPEED_TRAIN);
+        TYPE_PRODUCTS.put("TLK", Product.HIGH_SPEED_TRAIN); // Tanie Linie Kolejowe, Polen
+        TYPE_PRODUCTS.put("PKP", Product.HIGH_SPEED_TRAIN); // Polskie Koleje Państwowe (Polnische Staatsbahnen)
+        TYPE_PRODUCTS.put("EIP", Product.HIGH_SPEED_TRAIN); // Express Intercity Premium
+        TYPE_PRODUCTS.put("INT", Product.HIGH_SPEED_TRAIN); // Zürich-Brüssel - Budapest-Istanbul
+        TYPE_PRODUCTS.put("HKX", Product.HIGH_SPEED_TRAIN); // Hamburg-Koeln-Express
+        TYPE_PRODUCTS.put("UEX", Product.REGIONAL_TRAIN); // Slovenia
 
         // Regional
-        if ("ZUG".equals(ucType)) // Generic Train
-            return Product.REGIONAL_TRAIN;
-        if ("R".equals(ucType)) // Generic Regional Train
-            return Product.REGIONAL_TRAIN;
-        if ("DPN".equals(ucType)) // Dritter Personen Nahverkehr
-            return Product.REGIONAL_TRAIN;
-        if ("RB".equals(ucType)) // RegionalBahn
-            return Product.REGIONAL_TRAIN;
-        if ("RE".equals(ucType)) // RegionalExpress
-            return Product.REGIONAL_TRAIN;
-        if ("ER".equals(ucType))
-            return Product.REGIONAL_TRAIN;
-        if ("DB".equals(ucType))
-            return Product.REGIONAL_TRAIN;
-        if ("IR".equals(ucType)) // Interregio
-            return Product.REGIONAL_TRAIN;
-        if ("IRE".equals(ucType)) // Interregio Express
-            return Product.REGIONAL_TRAIN;
-        if ("HEX".equals(ucType)) // Harz-Berlin-Express, Veolia
-            return Product.REGIONAL_TRAIN;
-        if ("WFB".equals(ucType)) // Westfalenbahn
-            return Product.REGIONAL_TRAIN;
-        if ("RT".equals(ucType)) // RegioTram
-            return Product.REGIONAL_TRAIN;
-        if ("REX".equals(ucType)) // RegionalExpress, Österreich
-            return Product.REGIONAL_TRAIN;
-        if ("OS".equals(ucType)) // Osobný vlak, Slovakia oder Osobní vlak, Czech Republic
-            return Product.REGIONAL_TRAIN;
-        if ("SP".equals(ucType)) // Spěšný vlak, Czech Republic
-            return Product.REGIONAL_TRAIN;
-        if ("RX".equals(ucType)) // Express, Czech Republic
-            return Product.REGIONAL_TRAIN;
-        if ("EZ".equals(ucType)) // ÖBB ErlebnisBahn
-            return Product.REGIONAL_TRAIN;
-        if ("ARZ".equals(ucType)) // Auto-Reisezug Brig - Iselle di Trasquera
-            return Product.REGIONAL_TRAIN;
-        if ("OE".equals(ucType)) // Ostdeutsche Eisenbahn
-            return Product.REGIONAL_TRAIN;
-        if ("MR".equals(ucType)) // Märkische Regionalbahn
-            return Product.REGIONAL_TRAIN;
-        if ("PE".equals(ucType)) // Prignitzer Eisenbahn GmbH
-            return Product.REGIONAL_TRAIN;
-        if ("NE".equals(ucType)) // NEB Betriebsgesellschaft mbH
-            return Product.REGIONAL_TRAIN;
-        if ("MRB".equals(ucType)) // Mitteldeutsche Regiobahn
-            return Product.REGIONAL_TRAIN;
-        if ("ERB".equals(ucType)) // eurobahn (Keolis Deutschland)
-            return Product.REGIONAL_TRAIN;
-        if ("HLB".equals(ucType)) // Hessische Landesbahn
-            return Product.REGIONAL_TRAIN;
-        if ("VIA".equals(ucType))
-            return Product.REGIONAL_TRAIN;
-        if ("HSB".equals(ucType)) // Harzer Schmalspurbahnen
-            return Product.REGIONAL_TRAIN;
-        if ("OSB".equals(ucType)) // Ortenau-S-Bahn
-            return Product.REGIONAL_TRAIN;
-        if ("VBG".equals(ucType)) // Vogtlandbahn
-            return Product.REGIONAL_TRAIN;
-        if ("AKN".equals(ucType)) // AKN Eisenbahn AG
-            return Product.REGIONAL_TRAIN;
-        if ("OLA".equals(ucType)) // Ostseeland Verkehr
-            return Product.REGIONAL_TRAIN;
-        if ("UBB".equals(ucType)) // Usedomer Bäderbahn
-            return Product.REGIONAL_TRAIN;
-        if ("PEG".equals(ucType)) // Prignitzer Eisenbahn
-            return Product.REGIONAL_TRAIN;
-        if ("NWB".equals(ucType)) // NordWestBahn
-            return Product.REGIONAL_TRAIN;
-        if ("CAN".equals(ucType)) // cantus Verkehrsgesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("BRB".equals(ucType)) // ABELLIO Rail
-            return Product.REGIONAL_TRAIN;
-        if ("SBB".equals(ucType)) // Schweizerische Bundesbahnen
-            return Product.REGIONAL_TRAIN;
-        if ("VEC".equals(ucType)) // vectus Verkehrsgesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("TLX".equals(ucType)) // Trilex (Vogtlandbahn)
-            return Product.REGIONAL_TRAIN;
-        if ("TL".equals(ucType)) // Trilex (Vogtlandbahn)
-            return Product.REGIONAL_TRAIN;
-        if ("HZL".equals(ucType)) // Hohenzollerische Landesbahn
-            return Product.REGIONAL_TRAIN;
-        if ("ABR".equals(ucType)) // Bayerische Regiobahn
-            return Product.REGIONAL_TRAIN;
-        if ("CB".equals(ucType)) // City Bahn Chemnitz
-            return Product.REGIONAL_TRAIN;
-        if ("WEG".equals(ucType)) // Württembergische Eisenbahn-Gesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("NEB".equals(ucType)) // Niederbarnimer Eisenbahn
-            return Product.REGIONAL_TRAIN;
-        if ("ME".equals(ucType)) // metronom Eisenbahngesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("MER".equals(ucType)) // metronom regional
-            return Product.REGIONAL_TRAIN;
-        if ("ALX".equals(ucType)) // Arriva-Länderbahn-Express
-            return Product.REGIONAL_TRAIN;
-        if ("EB".equals(ucType)) // Erfurter Bahn
-            return Product.REGIONAL_TRAIN;
-        if ("EBX".equals(ucType)) // Erfurter Bahn
-            return Product.REGIONAL_TRAIN;
-        if ("VEN".equals(ucType)) // Rhenus Veniro
-            return Product.REGIONAL_TRAIN;
-        if ("BOB".equals(ucType)) // Bayerische Oberlandbahn
-            return Product.REGIONAL_TRAIN;
-        if ("SBS".equals(ucType)) // Städtebahn Sachsen
-            return Product.REGIONAL_TRAIN;
-        if ("SES".equals(ucType)) // Städtebahn Sachsen Express
-            return Product.REGIONAL_TRAIN;
-        if ("EVB".equals(ucType)) // Eisenbahnen und Verkehrsbetriebe Elbe-Weser
-            return Product.REGIONAL_TRAIN;
-        if ("STB".equals(ucType)) // Süd-Thüringen-Bahn
-            return Product.REGIONAL_TRAIN;
-        if ("AG".equals(ucType)) // Ingolstadt-Landshut
-            return Product.REGIONAL_TRAIN;
-        if ("PRE".equals(ucType)) // Pressnitztalbahn
-            return Product.REGIONAL_TRAIN;
-        if ("DBG".equals(ucType)) // Döllnitzbahn GmbH
-            return Product.REGIONAL_TRAIN;
-        if ("SHB".equals(ucType)) // Schleswig-Holstein-Bahn
-            return Product.REGIONAL_TRAIN;
-        if ("NOB".equals(ucType)) // Nord-Ostsee-Bahn
-            return Product.REGIONAL_TRAIN;
-        if ("RTB".equals(ucType)) // Rurtalbahn
-            return Product.REGIONAL_TRAIN;
-        if ("BLB".equals(ucType)) // Berchtesgadener Land Bahn
-            return Product.REGIONAL_TRAIN;
-        if ("NBE".equals(ucType)) // Nordbahn Eisenbahngesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("SOE".equals(ucType)) // Sächsisch-Oberlausitzer Eisenbahngesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("SDG".equals(ucType)) // Sächsische Dampfeisenbahngesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("VE".equals(ucType)) // Lutherstadt Wittenberg
-            return Product.REGIONAL_TRAIN;
-        if ("DAB".equals(ucType)) // Daadetalbahn
-            return Product.REGIONAL_TRAIN;
-        if ("WTB".equals(ucType)) // Wutachtalbahn e.V.
-            return Product.REGIONAL_TRAIN;
-        if ("BE".equals(ucType)) // Grensland-Express
-            return Product.REGIONAL_TRAIN;
-        if ("ARR".equals(ucType)) // Ostfriesland
-            return Product.REGIONAL_TRAIN;
-        if ("HTB".equals(ucType)) // Hörseltalbahn
-            return Product.REGIONAL_TRAIN;
-        if ("FEG".equals(ucType)) // Freiberger Eisenbahngesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("NEG".equals(ucType)) // Norddeutsche Eisenbahngesellschaft Niebüll
-            return Product.REGIONAL_TRAIN;
-        if ("RBG".equals(ucType)) // Regental Bahnbetriebs GmbH
-            return Product.REGIONAL_TRAIN;
-        if ("MBB".equals(ucType)) // Mecklenburgische Bäderbahn Molli
-            return Product.REGIONAL_TRAIN;
-        if ("VEB".equals(ucType)) // Vulkan-Eifel-Bahn Betriebsgesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("LEO".equals(ucType)) // Chiemgauer Lokalbahn
-            return Product.REGIONAL_TRAIN;
-        if ("VX".equals(ucType)) // Vogtland Express
-            return Product.REGIONAL_TRAIN;
-        if ("MSB".equals(ucType)) // Mainschleifenbahn
-            return Product.REGIONAL_TRAIN;
-        if ("P".equals(ucType)) // Kasbachtalbahn
-            return Product.REGIONAL_TRAIN;
-        if ("ÖBA".equals(ucType)) // Öchsle-Bahn Betriebsgesellschaft
-            return Product.REGIONAL_TRAIN;
-        if ("KTB".equals(ucType)) // Kandertalbahn
-            return Product.REGIONAL_TRAIN;
-        if ("ERX".equals(ucType)) // erixx
-            return Product.REGIONAL_TRAIN;
-        if ("ATZ".equals(ucType)) // Autotunnelzug
-            return Product.REGIONAL_TRAIN;
-        if ("ATB".equals(ucType)) // Autoschleuse Tauernbahn
-            return Product.REGIONAL_TRAIN;
-        if ("CAT".equals(ucType)) // City Airport Train
-            return Product.REGIONAL_TRAIN;
-        if ("EXTRA".equals(ucType) || "EXT".equals(ucType)) // Extrazug
-            return Product.REGIONAL_TRAIN;
-        if ("KD".equals(ucType)) // Koleje Dolnośląskie (Niederschlesische Eisenbahn)
-            return Product.REGIONAL_TRAIN;
-        if ("KM".equals(ucType)) // Koleje Mazowieckie
-            return Product.REGIONAL_TRAIN;
-        if ("EX".equals(ucType)) // Polen
-            return Product.REGIONAL_TRAIN;
-        if ("PCC".equals(ucType)) // PCC Rail, Polen
-            return Product.REGIONAL_TRAIN;
-        if ("ZR".equals(ucType)) // ZSR (Slovakian Republic Railways)
-            return Product.REGIONAL_TRAIN;
-        if ("RNV".equals(ucType)) // Rhein-Neckar-Verkehr GmbH
-            return Product.REGIONAL_TRAIN;
-        if ("DWE".equals(ucType)) // Dessau-Wörlitzer Eisenbahn
-            return Product.REGIONAL_TRAIN;
-        if ("BKB".equals(ucType)) // Buckower Kleinbahn
-            return Product.REGIONAL_TRAIN;
-        if ("GEX".equals(ucType)) // Glacier Express
-            return Product.REGIONAL_TRAIN;
-        if ("M".equals(ucType)) // Meridian
-            return Product.REGIONAL_TRAIN;
-        if ("WBA".equals(ucType)) // Waldbahn
-            return Product.REGIONAL_TRAIN;
-        if ("BEX".equals(ucType)) // Bernina Express
-            return Product.REGIONAL_TRAIN;
-        if ("VAE".equals(ucType)) // Voralpen-Express
-            return Product.REGIONAL_TRAIN;
-        if ("OPB".equals(ucType)) // oberpfalzbahn
-            return Product.REGIONAL_TRAIN;
-        if ("OPX".equals(ucType)) // oberpfalz-express
-            return Product.REGIONAL_TRAIN;
-        if ("TER".equals(ucType)) // Transport express régional
-            return Product.REGIONAL_TRAIN;
-        if ("ENO".equals(ucType))
-            return Product.REGIONAL_TRAIN;
-        if ("THU".equals(ucType)) // Thurbo AG
-            return Product.REGIONAL_TRAIN;
-        if ("GW".equals(ucType)) // gwtr.cz
-            return Product.REGIONAL_TRAIN;
-        if ("SE".equals(ucType)) // ABELLIO Rail Mitteldeutschland GmbH
-            return Product.REGIONAL_TRAIN;
+        TYPE_PRODUCTS.put("ZUG", Product.REGIONAL_TRAIN); // Generic Train
+        TYPE_PRODUCTS.put("R", Product.REGIONAL_TRAIN); // Generic Regional Train
+        TYPE_PRODUCTS.put("DPN", Product.REGIONAL_TRAIN); // Dritter Personen Nahverkehr
+        TYPE_PRODUCTS.put("RB", Product.REGIONAL_TRAIN); // RegionalBahn
+        TYPE_PRODUCTS.put("RE", Product.REGIONAL_TRAIN); // RegionalExpress
+        TYPE_PRODUCTS.put("ER", Product.REGIONAL_TRAIN);
+        TYPE_PRODUCTS.put("DB", Product.REGIONAL_TRAIN);
+        TYPE_PRODUCTS.put("IR", Product.REGIONAL_TRAIN); // Interregio
+        TYPE_PRODUCTS.put("IRE", Product.REGIONAL_TRAIN); // Interregio Express
+        TYPE_PRODUCTS.put("HEX", Product.REGIONAL_TRAIN); // Harz-Berlin-Express, Veolia
+        TYPE_PRODUCTS.put("WFB", Product.REGIONAL_TRAIN); // Westfalenbahn
+        TYPE_PRODUCTS.put("RT", Product.REGIONAL_TRAIN); // RegioTram
+        TYPE_PRODUCTS.put("REX", Product.REGIONAL_TRAIN); // RegionalExpress, Österreich
+        TYPE_PRODUCTS.put("OS", Product.REGIONAL_TRAIN); // Osobný vlak, Slovakia oder Osobní vlak, Czech Republic
+        TYPE_PRODUCTS.put("SP", Product.REGIONAL_TRAIN); // Spěšný vlak, Czech Republic
+        TYPE_PRODUCTS.put("RX", Product.REGIONAL_TRAIN); // Express, Czech Republic
+        TYPE_PRODUCTS.put("EZ", Product.REGIONAL_TRAIN); // ÖBB ErlebnisBahn
+        TYPE_PRODUCTS.put("ARZ", Product.REGIONAL_TRAIN); // Auto-Reisezug Brig - Iselle di Trasquera
+        TYPE_PRODUCTS.put("OE", Product.REGIONAL_TRAIN); // Ostdeutsche Eisenbahn
+        TYPE_PRODUCTS.put("MR", Product.REGIONAL_TRAIN); // Märkische Regionalbahn
+        TYPE_PRODUCTS.put("PE", Product.REGIONAL_TRAIN); // Prignitzer Eisenbahn GmbH
+        TYPE_PRODUCTS.put("NE", Product.REGIONAL_TRAIN); // NEB Betriebsgesellschaft mbH
+        TYPE_PRODUCTS.put("MRB", Product.REGIONAL_TRAIN); // Mitteldeutsche Regiobahn
+        TYPE_PRODUCTS.put("ERB", Product.REGIONAL_TRAIN); // eurobahn (Keolis Deutschland)
+        TYPE_PRODUCTS.put("HLB", Product.REGIONAL_TRAIN); // Hessische Landesbahn
+        TYPE_PRODUCTS.put("VIA", Product.REGIONAL_TRAIN);
+        TYPE_PRODUCTS.put("HSB", Product.REGIONAL_TRAIN); // Harzer Schmalspurbahnen
+        TYPE_PRODUCTS.put("OSB", Product.REGIONAL_TRAIN); // Ortenau-S-Bahn
+        TYPE_PRODUCTS.put("VBG", Product.REGIONAL_TRAIN); // Vogtlandbahn
+        TYPE_PRODUCTS.put("AKN", Product.REGIONAL_TRAIN); // AKN Eisenbahn AG
+        TYPE_PRODUCTS.put("OLA", Product.REGIONAL_TRAIN); // Ostseeland Verkehr
+        TYPE_PRODUCTS.put("UBB", Product.REGIONAL_TRAIN); // Usedomer Bäderbahn
+        TYPE_PRODUCTS.put("PEG", Product.REGIONAL_TRAIN); // Prignitzer Eisenbahn
+        TYPE_PRODUCTS.put("NWB", Product.REGIONAL_TRAIN); // NordWestBahn
+        TYPE_PRODUCTS.put("CAN", Product.REGIONAL_TRAIN); // cantus Verkehrsgesellschaft
+        TYPE_PRODUCTS.put("BRB", Product.REGIONAL_TRAIN); // ABELLIO Rail
+        TYPE_PRODUCTS.put("SBB", Product.REGIONAL_TRAIN); // Schweizerische Bundesbahnen
+        TYPE_PRODUCTS.put("VEC", Product.REGIONAL_TRAIN); // vectus Verkehrsgesellschaft
+        TYPE_PRODUCTS.put("TLX", Product.REGIONAL_TRAIN); // Trilex (Vogtlandbahn)
+        TYPE_PRODUCTS.put("TL", Product.REGIONAL_TRAIN); // Trilex (Vogtlandbahn)
+        TYPE_PRODUCTS.put("HZL", Product.REGIONAL_TRAIN); // Hohenzollerische Landesbahn
+        TYPE_PRODUCTS.put("ABR", Product.REGIONAL_TRAIN); // Bayerische Regiobahn
+        TYPE_PRODUCTS.put("CB", Product.REGIONAL_TRAIN); // City Bahn Chemnitz
+        TYPE_PRODUCTS.put("WEG", Product.REGIONAL_TRAIN); // Württembergische Eisenbahn-Gesellschaft
+        TYPE_PRODUCTS.put("NEB", Product.REGIONAL_TRAIN); // Niederbarnimer Eisenbahn
+        TYPE_PRODUCTS.put("ME", Product.REGIONAL_TRAIN); // metronom Eisenbahngesellschaft
+        TYPE_PRODUCTS.put("MER", Product.REGIONAL_TRAIN); // metronom regional
+        TYPE_PRODUCTS.put("ALX", Product.REGIONAL_TRAIN); // Arriva-Länderbahn-Express
+        TYPE_PRODUCTS.put("EB", Product.REGIONAL_TRAIN); // Erfurter Bahn
+        TYPE_PRODUCTS.put("EBX", Product.REGIONAL_TRAIN); // Erfurter Bahn
+        TYPE_PRODUCTS.put("VEN", Product.REGIONAL_TRAIN); // Rhenus Veniro
+        TYPE_PRODUCTS.put("BOB", Product.REGIONAL_TRAIN); // Bayerische Oberlandbahn
+        TYPE_PRODUCTS.put("SBS", Product.REGIONAL_TRAIN); // Städtebahn Sachsen
+        TYPE_PRODUCTS.put("SES", Product.REGIONAL_TRAIN); // Städtebahn Sachsen Express
+        TYPE_PRODUCTS.put("EVB", Product.REGIONAL_TRAIN); // Eisenbahnen und Verkehrsbetriebe Elbe-Weser
+        TYPE_PRODUCTS.put("STB", Product.REGIONAL_TRAIN); // Süd-Thüringen-Bahn
+        TYPE_PRODUCTS.put("AG", Product.REGIONAL_TRAIN); // Ingolstadt-Landshut
+        TYPE_PRODUCTS.put("PRE", Product.REGIONAL_TRAIN); // Pressnitztalbahn
+        TYPE_PRODUCTS.put("DBG", Product.REGIONAL_TRAIN); // Döllnitzbahn GmbH
+        TYPE_PRODUCTS.put("SHB", Product.REGIONAL_TRAIN); // Schleswig-Holstein-Bahn
+        TYPE_PRODUCTS.put("NOB", Product.REGIONAL_TRAIN); // Nord-Ostsee-Bahn
+        TYPE_PRODUCTS.put("RTB", Product.REGIONAL_TRAIN); // Rurtalbahn
+        TYPE_PRODUCTS.put("BLB", Product.REGIONAL_TRAIN); // Berchtesgadener Land Bahn
+        TYPE_PRODUCTS.put("NBE", Product.REGIONAL_TRAIN); // Nordbahn Eisenbahngesellschaft
+        TYPE_PRODUCTS.put("SOE", Product.REGIONAL_TRAIN); // Sächsisch-Oberlausitzer Eisenbahngesellschaft
+        TYPE_PRODUCTS.put("SDG", Product.REGIONAL_TRAIN); // Sächsische Dampfeisenbahngesellschaft
+        TYPE_PRODUCTS.put("VE", Product.REGIONAL_TRAIN); // Lutherstadt Wittenberg
+        TYPE_PRODUCTS.put("DAB", Product.REGIONAL_TRAIN); // Daadetalbahn
+        TYPE_PRODUCTS.put("WTB", Product.REGIONAL_TRAIN); // Wutachtalbahn e.V.
+        TYPE_PRODUCTS.put("BE", Product.REGIONAL_TRAIN); // Grensland-Express
+        TYPE_PRODUCTS.put("ARR", Product.REGIONAL_TRAIN); // Ostfriesland
+        TYPE_PRODUCTS.put("HTB", Product.REGIONAL_TRAIN); // Hörseltalbahn
+        TYPE_PRODUCTS.put("FEG", Product.REGIONAL_TRAIN); // Freiberger Eisenbahngesellschaft
+        TYPE_PRODUCTS.put("NEG", Product.REGIONAL_TRAIN); // Norddeutsche Eisenbahngesellschaft Niebüll
+        TYPE_PRODUCTS.put("RBG", Product.REGIONAL_TRAIN); // Regental Bahnbetriebs GmbH
+        TYPE_PRODUCTS.put("MBB", Product.REGIONAL_TRAIN); // Mecklenburgische Bäderbahn Molli
+        TYPE_PRODUCTS.put("VEB", Product.REGIONAL_TRAIN); // Vulkan-Eifel-Bahn Betriebsgesellschaft
+        TYPE_PRODUCTS.put("LEO", Product.REGIONAL_TRAIN); // Chiemgauer Lokalbahn
+        TYPE_PRODUCTS.put("VX", Product.REGIONAL_TRAIN); // Vogtland Express
+        TYPE_PRODUCTS.put("MSB", Product.REGIONAL_TRAIN); // Mainschleifenbahn
+        TYPE_PRODUCTS.put("P", Product.REGIONAL_TRAIN); // Kasbachtalbahn
+        TYPE_PRODUCTS.put("ÖBA", Product.REGIONAL_TRAIN); // Öchsle-Bahn Betriebsgesellschaft
+        TYPE_PRODUCTS.put("KTB", Product.REGIONAL_TRAIN); // Kandertalbahn
+        TYPE_PRODUCTS.put("ERX", Product.REGIONAL_TRAIN); // erixx
+        TYPE_PRODUCTS.put("ATZ", Product.REGIONAL_TRAIN); // Autotunnelzug
+        TYPE_PRODUCTS.put("ATB", Product.REGIONAL_TRAIN); // Autoschleuse Tauernbahn
+        TYPE_PRODUCTS.put("CAT", Product.REGIONAL_TRAIN); // City Airport Train
+        TYPE_PRODUCTS.put("EXTRA", Product.REGIONAL_TRAIN); // Extrazug
+        TYPE_PRODUCTS.put("EXT", Product.REGIONAL_TRAIN); // Extrazug
+        TYPE_PRODUCTS.put("KD", Product.REGIONAL_TRAIN); // Koleje Dolnośląskie (Niederschlesische Eisenbahn)
+        TYPE_PRODUCTS.put("KM", Product.REGIONAL_TRAIN); // Koleje Mazowieckie
+        TYPE_PRODUCTS.put("EX", Product.REGIONAL_TRAIN); // Polen
+        TYPE_PRODUCTS.put("PCC", Product.REGIONAL_TRAIN); // PCC Rail, Polen
+        TYPE_PRODUCTS.put("ZR", Product.REGIONAL_TRAIN); // ZSR (Slovakian Republic Railways)
+        TYPE_PRODUCTS.put("RNV", Product.REGIONAL_TRAIN); // Rhein-Neckar-Verkehr GmbH
+        TYPE_PRODUCTS.put("DWE", Product.REGIONAL_TRAIN); // Dessau-Wörlitzer Eisenbahn
+        TYPE_PRODUCTS.put("BKB", Product.REGIONAL_TRAIN); // Buckower Kleinbahn
+        TYPE_PRODUCTS.put("GEX", Product.REGIONAL_TRAIN); // Glacier Express
+        TYPE_PRODUCTS.put("M", Product.REGIONAL_TRAIN); // Meridian
+        TYPE_PRODUCTS.put("WBA", Product.REGIONAL_TRAIN); // Waldbahn
+        TYPE_PRODUCTS.put("BEX", Product.REGIONAL_TRAIN); // Bernina Express
+        TYPE_PRODUCTS.put("VAE", Product.REGIONAL_TRAIN); // Voralpen-Express
+        TYPE_PRODUCTS.put("OPB", Product.REGIONAL_TRAIN); // oberpfalzbahn
+        TYPE_PRODUCTS.put("OPX", Product.REGIONAL_TRAIN); // oberpfalz-express
+        TYPE_PRODUCTS.put("TER", Product.REGIONAL_TRAIN); // Transport express régional
+        TYPE_PRODUCTS.put("ENO", Product.REGIONAL_TRAIN);
+        TYPE_PRODUCTS.put("THU", Product.REGIONAL_TRAIN); // Thurbo AG
+        TYPE_PRODUCTS.put("GW", Product.REGIONAL_TRAIN); // gwtr.cz
+        TYPE_PRODUCTS.put("SE", Product.REGIONAL_TRAIN); // ABELLIO Rail Mitteldeutschland GmbH
 
         // Suburban Trains
-        if (P_LINE_SBAHN.matcher(ucType).matches()) // Generic (Night) S-Bahn
-            return Product.SUBURBAN_TRAIN;
-        if ("S-BAHN".equals(ucType))
-            return Product.SUBURBAN_TRAIN;
-        if ("BSB".equals(ucType)) // Breisgau S-Bahn
-            return Product.SUBURBAN_TRAIN;
-        if ("SWE".equals(ucType)) // Südwestdeutsche Verkehrs-AG, Ortenau-S-Bahn
-            return Product.SUBURBAN_TRAIN;
-        if ("RER".equals(ucType)) // Réseau Express Régional, Frankreich
-            return Product.SUBURBAN_TRAIN;
-        if ("WKD".equals(ucType)) // Warszawska Kolej Dojazdowa (Warsaw Suburban Railway)
-            return Product.SUBURBAN_TRAIN;
-        if ("SKM".equals(ucType)) // Szybka Kolej Miejska Tricity
-            return Product.SUBURBAN_TRAIN;
-        if ("SKW".equals(ucType)) // Szybka Kolej Miejska Warschau
-            return Product.SUBURBAN_TRAIN;
+        TYPE_PRODUCTS.put("S-BAHN", Product.SUBURBAN_TRAIN);
+        TYPE_PRODUCTS.put("BSB", Product.SUBURBAN_TRAIN); // Breisgau S-Bahn
+        TYPE_PRODUCTS.put("SWE", Product.SUBURBAN_TRAIN); // Südwestdeutsche Verkehrs-AG, Ortenau-S-Bahn
+        TYPE_PRODUCTS.put("RER", Product.SUBURBAN_TRAIN); // Réseau Express Régional, Frankreich
+        TYPE_PRODUCTS.put("WKD", Product.SUBURBAN_TRAIN); // Warszawska Kolej Dojazdowa (Warsaw Suburban Railway)
+        TYPE_PRODUCTS.put("SKM", Product.SUBURBAN_TRAIN); // Szybka Kolej Miejska Tricity
+        TYPE_PRODUCTS.put("SKW", Product.SUBURBAN_TRAIN); // Szybka Kolej Miejska Warschau
 
         // Subway
-        if ("U".equals(ucType)) // Generic U-Bahn
-            return Product.SUBWAY;
-        if ("MET".equals(ucType))
-            return Product.SUBWAY;
-        if ("METRO".equals(ucType))
-            return Product.SUBWAY;
+        TYPE_PRODUCTS.put("U", Product.SUBWAY); // Generic U-Bahn
+        TYPE_PRODUCTS.put("MET", Product.SUBWAY);
+        TYPE_PRODUCTS.put("METRO", Product.SUBWAY);
+
+        // Tram
+        TYPE_PRODUCTS.put("NFT", Product.TRAM); // Niederflur-Tram
+        TYPE_PRODUCTS.put("TRAM", Product.TRAM);
+        TYPE_PRODUCTS.put("TRA", Product.TRAM);
+        TYPE_PRODUCTS.put("WLB", Product.TRAM); // Wiener Lokalbahnen
+        TYPE_PRODUCTS.put("STRWLB", Product.TRAM); // Wiener Lokalbahnen
+        TYPE_PRODUCTS.put("SCHW-B", Product.TRAM); // Schwebebahn, gilt als "Straßenbahn besonderer Bauart"
+
+        // Bus
+        TYPE_PRODUCTS.put("NFB", Product.BUS); // Niederflur-Bus
+        TYPE_PRODUCTS.put("SEV", Product.BUS); // Schienen-Ersatz-Verkehr
+        TYPE_PRODUCTS.put("BUSSEV", Product.BUS); // Schienen-Ersatz-Verkehr
+        TYPE_PRODUCTS.put("BSV", Product.BUS); // Bus SEV
+        TYPE_PRODUCTS.put("FB", Product.BUS); // Fernbus? Luxemburg-Saarbrücken
+        TYPE_PRODUCTS.put("EXB", Product.BUS); // Expressbus München-Prag?
+        TYPE_PRODUCTS.put("ICB", Product.BUS); // ÖBB ICBus
+        TYPE_PRODUCTS.put("TRO", Product.BUS); // Trolleybus
+        TYPE_PRODUCTS.put("RFB", Product.BUS); // Rufbus
+        TYPE_PRODUCTS.put("RUF", Product.BUS); // Rufbus
+        TYPE_PRODUCTS.put("RFT", Product.BUS); // Ruftaxi
+        TYPE_PRODUCTS.put("LT", Product.BUS); // Linien-Taxi
+        TYPE_PRODUCTS.put("NB", Product.BUS); // Nachtbus Zürich
+
+        // Phone
+        TYPE_PRODUCTS.put("RUFBUS", Product.ON_DEMAND);
+        TYPE_PRODUCTS.put("TB", Product.ON_DEMAND); // Taxi-Bus?
+
+        // Ferry
+        TYPE_PRODUCTS.put("SCHIFF", Product.FERRY);
+        TYPE_PRODUCTS.put("FÄHRE", Product.FERRY);
+        TYPE_PRODUCTS.put("FÄH", Product.FERRY);
+        TYPE_PRODUCTS.put("FAE", Product.FERRY);
+        TYPE_PRODUCTS.put("SCH", Product.FERRY); // Schiff
+        TYPE_PRODUCTS.put("AS", Product.FERRY); // SyltShuttle
+        TYPE_PRODUCTS.put("AZS", Product.FERRY); // Autozug Sylt Shuttle
+        TYPE_PRODUCTS.put("KAT", Product.FERRY); // Katamaran, e.g. Friedrichshafen - Konstanz
+        TYPE_PRODUCTS.put("BAT", Product.FERRY); // Boots Anlege Terminal?
+        TYPE_PRODUCTS.put("BAV", Product.FERRY); // Boots Anlege?
+
+        // Cable Car
+        TYPE_PRODUCTS.put("SEILBAHN", Product.CABLECAR);
+        TYPE_PRODUCTS.put("SB", Product.CABLECAR); // Seilbahn
+        TYPE_PRODUCTS.put("ZAHNR", Product.CABLECAR); // Zahnradbahn, u.a. Zugspitzbahn
+        TYPE_PRODUCTS.put("GB", Product.CABLECAR); // Gondelbahn
+        TYPE_PRODUCTS.put("LB", Product.CABLECAR); // Luftseilbahn
+        TYPE_PRODUCTS.put("FUN", Product.CABLECAR); // Funiculaire (Standseilbahn)
+        TYPE_PRODUCTS.put("SL", Product.CABLECAR); // Sessel-Lift
+    }
+
+    protected Product normalizeType(final String type) {
+        final String ucType = type.toUpperCase(Locale.ENGLISH);
+
+        final Product product = TYPE_PRODUCTS.get(ucType);
+        if (product != null)
+            return product;
+
+        // Suburban Trains
+        if (P_LINE_SBAHN.matcher(ucType).matches()) // Generic (Night) S-Bahn
+            return Product.SUBURBAN_TRAIN;
 
         // Tram
         if (P_LINE_TRAM.matcher(ucType).matches()) // Generic Tram
             return Product.TRAM;
-        if ("NFT".equals(ucType)) // Niederflur-Tram
-            return Product.TRAM;
-        if ("TRAM".equals(ucType))
-            return Product.TRAM;
-        if ("TRA".equals(ucType))
-            return Product.TRAM;
-        if ("WLB".equals(ucType)) // Wiener Lokalbahnen
-            return Product.TRAM;
-        if ("STRWLB".equals(ucType)) // Wiener Lokalbahnen
-            return Product.TRAM;
-        if ("SCHW-B".equals(ucType)) // Schwebebahn, gilt als "Straßenbahn besonderer Bauart"
-            return Product.TRAM;
 
         // Bus
         if (P_LINE_BUS.matcher(ucType).matches()) // Generic Bus
             return Product.BUS;
-        if ("NFB".equals(ucType)) // Niederflur-Bus
-            return Product.BUS;
-        if ("SEV".equals(ucType)) // Schienen-Ersatz-Verkehr
-            return Product.BUS;
-        if ("BUSSEV".equals(ucType)) // Schienen-Ersatz-Verkehr
-            return Product.BUS;
-        if ("BSV".equals(ucType)) // Bus SEV
-            return Product.BUS;
-        if ("FB".equals(ucType)) // Fernbus? Luxemburg-Saarbrücken
-            return Product.BUS;
-        if ("EXB".equals(ucType)) // Expressbus München-Prag?
-            return Product.BUS;
-        if ("ICB".equals(ucType)) // ÖBB ICBus
-            return Product.BUS;
-        if ("TRO".equals(ucType)) // Trolleybus
-            return Product.BUS;
-        if ("RFB".equals(ucType)) // Rufbus
-            return Product.BUS;
-        if ("RUF".equals(ucType)) // Rufbus
-            return Product.BUS;
         if (P_LINE_TAXI.matcher(ucType).matches()) // Generic Taxi
             return Product.BUS;
-        if ("RFT".equals(ucType)) // Ruftaxi
-            return Product.BUS;
-        if ("LT".equals(ucType)) // Linien-Taxi
-            return Product.BUS;
-        if ("NB".equals(ucType)) // Nachtbus Zürich
-            return Product.BUS;
 
         // Phone
-        if ("RUFBUS".equals(ucType))
-            return Product.ON_DEMAND;
         if (ucType.startsWith("AST")) // Anruf-Sammel-Taxi
             return Product.ON_DEMAND;
         if (ucType.startsWith("ALT")) // Anruf-Linien-Taxi
             return Product.ON_DEMAND;
         if (ucType.startsWith("BUXI")) // Bus-Taxi (Schweiz)
             return Product.ON_DEMAND;
-        if ("TB".equals(ucType)) // Taxi-Bus?
-            return Product.ON_DEMAND;
-
-        // Ferry
-        if ("SCHIFF".equals(ucType))
-            return Product.FERRY;
-        if ("FÄHRE".equals(ucType))
-            return Product.FERRY;
-        if ("FÄH".equals(ucType))
-            return Product.FERRY;
-        if ("FAE".equals(ucType))
-            return Product.FERRY;
-        if ("SCH".equals(ucType)) // Schiff
-            return Product.FERRY;
-        if ("AS".equals(ucType)) // SyltShuttle
-            return Product.FERRY;
-        if ("AZS".equals(ucType)) // Autozug Sylt Shuttle
-            return Product.FERRY;
-        if ("KAT".equals(ucType)) // Katamaran, e.g. Friedrichshafen - Konstanz
-            return Product.FERRY;
-        if ("BAT".equals(ucType)) // Boots Anlege Terminal?
-            return Product.FERRY;
-        if ("BAV".equals(ucType)) // Boots Anlege?
-            return Product.FERRY;
-
-        // Cable Car
-        if ("SEILBAHN".equals(ucType))
-            return Product.CABLECAR;
-        if ("SB".equals(ucType)) // Seilbahn
-            return Product.CABLECAR;
-        if ("ZAHNR".equals(ucType)) // Zahnradbahn, u.a. Zugspitzbahn
-            return Product.CABLECAR;
-        if ("GB".equals(ucType)) // Gondelbahn
-            return Product.CABLECAR;
-        if ("LB".equals(ucType)) // Luftseilbahn
-            return Product.CABLECAR;
-        if ("FUN".equals(ucType)) // Funiculaire (Standseilbahn)
-            return Product.CABLECAR;
-        if ("SL".equals(ucType)) // Sessel-Lift
-            return Product.CABLECAR;
 
         // Unknown product
         if ("E".equals(ucType))
@@ -3749,14 +3680,14 @@ public abstract class AbstractHafasProvider extends AbstractNetworkProvider {
     protected Line newLine(final String network, final Product product, final String normalizedName,
             final String comment, final Line.Attr... attrs) {
         if (attrs.length == 0) {
-            return new Line(null, network, product, normalizedName, lineStyle(network, product, normalizedName),
-                    comment);
+            return intern(new Line(null, network, product, normalizedName,
+                    lineStyle(network, product, normalizedName), comment));
         } else {
             final Set<Line.Attr> attrSet = new HashSet<Line.Attr>();
             for (final Line.Attr attr : attrs)
                 attrSet.add(attr);
-            return new Line(null, network, product, normalizedName, lineStyle(network, product, normalizedName),
-                    attrSet, comment);
+            return intern(new Line(null, network, product, normalizedName,
+                    lineStyle(network, product, normalizedName), attrSet, comment));
         }
     }
 }
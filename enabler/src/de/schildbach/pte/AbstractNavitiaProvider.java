@@ -46,6 +46,7 @@ import de.schildbach.pte.dto.LocationType;
 import de.schildbach.pte.dto.NearbyLocationsResult;
 import de.schildbach.pte.dto.NearbyLocationsResult.Status;
 import de.schildbach.pte.dto.Point;
+import de.schildbach.pte.dto.Polyline;
 import de.schildbach.pte.dto.Position;
 import de.schildbach.pte.dto.Product;
 import de.schildbach.pte.dto.QueryDeparturesResult;
@@ -140,6 +141,18 @@ public abstract class AbstractNavitiaProvider extends AbstractNetworkProvider {
 
     protected abstract String region();
 
+    @Override
+    protected int nearbyLocationsLimit(final Location location, final int maxLocations) {
+        // without a count, the server applies a default of its own
+        return maxLocations;
+    }
+
+    @Override
+    protected String batchHost() {
+        final HttpUrl url = apiBase != null ? HttpUrl.parse(apiBase) : null;
+        return url != null ? url.host() : super.batchHost();
+    }
+
     protected int computeForegroundColor(final String lineColor) {
         int bgColor = Style.parseColor(lineColor);
         return Style.deriveForegroundColor(bgColor);
@@ -307,16 +320,15 @@ public abstract class AbstractNavitiaProvider extends AbstractNetworkProvider {
         return new SimpleDateFormat("yyyyMMdd'T'HHmmss").format(date);
     }
 
-    private LinkedList<Point> parsePath(final JSONArray coordinates) throws IOException {
-        LinkedList<Point> path = new LinkedList<Point>();
+    private Polyline parsePath(final JSONArray coordinates) throws IOException {
+        final Polyline path = new Polyline(coordinates.length());
 
         for (int i = 0; i < coordinates.length(); ++i) {
             try {
                 final JSONArray jsonPoint = coordinates.getJSONArray(i);
                 final double lon = jsonPoint.getDouble(0);
                 final double lat = jsonPoint.getDouble(1);
-                final Point point = Point.fromDouble(lat, lon);
-                path.add(point);
+                path.add((int) Math.round(lat * 1E6), (int) Math.round(lon * 1E6));
             } catch (final JSONException jsonExc) {
                 throw new ParserException(jsonExc);
             }
@@ -369,7 +381,7 @@ public abstract class AbstractNavitiaProvider extends AbstractNetworkProvider {
 
                 // Build path and distance. Check first that geojson
                 // object exists.
-                LinkedList<Point> path = null;
+                Polyline path = null;
                 int distance = 0;
                 if (section.has("geojson")) {
                     final JSONObject jsonPath = section.getJSONObject("geojson");
@@ -420,9 +432,9 @@ public abstract class AbstractNavitiaProvider extends AbstractNetworkProvider {
             final String code = displayInfo.getString("code");
             final String color = Strings.emptyToNull(displayInfo.getString("color"));
             final String name = Strings.emptyToNull(displayInfo.optString("headsign"));
-            final Style lineStyle = getLineStyle(product, code, color != null ? "#" + color : null);
+            final Style lineStyle = intern(getLineStyle(product, code, color != null ? "#" + color : null));
 
-            return new Line(lineId, network, product, code, name, lineStyle);
+            return intern(new Line(lineId, network, product, code, name, lineStyle));
         } catch (final JSONException jsonExc) {
             throw new ParserException(jsonExc);
         }
@@ -484,7 +496,8 @@ public abstract class AbstractNavitiaProvider extends AbstractNetworkProvider {
                 // Build destination.
                 final JSONObject displayInfo = section.getJSONObject("display_informations");
                 final String direction = displayInfo.getString("direction");
-                final Location destination = new Location(LocationType.ANY, null, null, getLocationName(direction));
+                final Location destination = intern(
+                        new Location(LocationType.ANY, null, null, getLocationName(direction)));
 
                 final JSONArray stopDateTimes = section.getJSONArray("stop_date_times");
                 final int nbStopDateTime = stopDateTimes.length();
@@ -588,10 +601,10 @@ public abstract class AbstractNavitiaProvider extends AbstractNetworkProvider {
             final String name = Strings.emptyToNull(jsonLine.optString("name"));
             final String color = Strings.emptyToNull(jsonLine.getString("color"));
             final String textColor = Strings.emptyToNull(jsonLine.optString("text_color"));
-            final Style lineStyle = getLineStyle(product, code, color != null ? "#" + color : null,
-                    textColor != null ? "#" + textColor : null);
+            final Style lineStyle = intern(getLineStyle(product, code, color != null ? "#" + color : null,
+                    textColor != null ? "#" + textColor : null));
 
-            return new Line(lineId, network, product, code, name, lineStyle);
+            return intern(new Line(lineId, network, product, code, name, lineStyle));
         } catch (final JSONException jsonExc) {
             throw new ParserException(jsonExc);
         }
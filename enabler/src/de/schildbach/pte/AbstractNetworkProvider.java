@@ -18,22 +18,40 @@
 package de.schildbach.pte;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.Date;
 import java.util.EnumSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
 
-import com.google.common.base.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.google.common.io.Closeables;
+
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.Location;
 import de.schildbach.pte.dto.Point;
 import de.schildbach.pte.dto.Position;
 import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.QueryDeparturesResult;
 import de.schildbach.pte.dto.Style;
 import de.schildbach.pte.util.HttpClient;
+import de.schildbach.pte.util.InternPool;
+import de.schildbach.pte.util.ParallelBatch;
+import de.schildbach.pte.util.StationStore;
+import de.schildbach.pte.util.StyleReader;
+import de.schildbach.pte.util.StyleTable;
+
+import okhttp3.Interceptor;
 
 /**
  * @author Andreas Schildbach
@@ -44,7 +62,14 @@ public abstract class AbstractNetworkProvider implements NetworkProvider {
 
     protected TimeZone timeZone = TimeZone.getTimeZone("CET");
     protected int numTripsRequested = 6;
-    private @Nullable Map<String, Style> styles = null;
+    private volatile @Nullable StyleTable styles = null;
+    private @Nullable String stylesResource = null;
+    private final InternPool internPool = new InternPool(INTERN_POOL_SIZE);
+    private volatile @Nullable StationStore stationStore = null;
+
+    private static final int INTERN_POOL_SIZE = 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractNetworkProvider.class);
 
     protected static final Set<Product> ALL_EXCEPT_HIGHSPEED = EnumSet
             .complementOf(EnumSet.of(Product.HIGH_SPEED_TRAIN));
@@ -78,6 +103,10 @@ public abstract class AbstractNetworkProvider implements NetworkProvider {
         httpClient.setUserAgent(userAgent);
     }
 
+    public void setHttpInterceptor(final Interceptor interceptor) {
+        httpClient.setInterceptor(interceptor);
+    }
+
     protected void setTimeZone(final String timeZoneId) {
         this.timeZone = TimeZone.getTimeZone(timeZoneId);
     }
@@ -87,62 +116,128 @@ public abstract class AbstractNetworkProvider implements NetworkProvider {
     }
 
     protected void setStyles(final Map<String, Style> styles) {
-        this.styles = styles;
+        this.styles = new StyleTable(styles);
+    }
+
+    /**
+     * Sets a style table, as read by {@link StyleReader}, to be loaded from the classpath when the first line style is
+     * looked up. Tables are shared between provider instances.
+     */
+    protected void setStylesResource(final String stylesResource) {
+        this.stylesResource = stylesResource;
+    }
+
+    private static final Map<String, StyleTable> STYLES_CACHE = new ConcurrentHashMap<String, StyleTable>();
+
+    private @Nullable StyleTable styles() {
+        final StyleTable styles = this.styles;
+        if (styles != null || stylesResource == null)
+            return styles;
+
+        StyleTable loadedStyles = STYLES_CACHE.get(stylesResource);
+        if (loadedStyles == null) {
+            final InputStream is = AbstractNetworkProvider.class.getResourceAsStream(stylesResource);
+            if (is == null)
+                throw new IllegalStateException("styles not found: " + stylesResource);
+            try {
+                loadedStyles = new StyleTable(StyleReader.read(is));
+            } catch (final IOException x) {
+                throw new RuntimeException("cannot read styles: " + stylesResource, x);
+            } finally {
+                Closeables.closeQuietly(is);
+            }
+            STYLES_CACHE.put(stylesResource, loadedStyles);
+        }
+        this.styles = loadedStyles;
+        return loadedStyles;
     }
 
     protected void setSessionCookieName(final String sessionCookieName) {
         httpClient.setSessionCookieName(sessionCookieName);
     }
 
-    private static final char STYLES_SEP = '|';
-
     @Override
     public Style lineStyle(final @Nullable String network, final @Nullable Product product,
             final @Nullable String label) {
-        final Map<String, Style> styles = this.styles;
-        if (styles != null && product != null) {
-            if (network != null) {
-                // check for line match
-                final Style lineStyle = styles.get(network + STYLES_SEP + product.code + Strings.nullToEmpty(label));
-                if (lineStyle != null)
-                    return lineStyle;
-
-                // check for product match
-                final Style productStyle = styles.get(network + STYLES_SEP + product.code);
-                if (productStyle != null)
-                    return productStyle;
-
-                // check for night bus, as that's a common special case
-                if (product == Product.BUS && label != null && label.startsWith("N")) {
-                    final Style nightStyle = styles.get(network + STYLES_SEP + "BN");
-                    if (nightStyle != null)
-                        return nightStyle;
-                }
-            }
-
-            // check for line match
-            final String string = product.code + Strings.nullToEmpty(label);
-            final Style lineStyle = styles.get(string);
-            if (lineStyle != null)
-                return lineStyle;
-
-            // check for product match
-            final Style productStyle = styles.get(Character.toString(product.code));
-            if (productStyle != null)
-                return productStyle;
-
-            // check for night bus, as that's a common special case
-            if (product == Product.BUS && label != null && label.startsWith("N")) {
-                final Style nightStyle = styles.get("BN");
-                if (nightStyle != null)
-                    return nightStyle;
-            }
-        }
+        final StyleTable styles = styles();
+        if (styles != null && product != null)
+            return styles.get(network, product, label);
 
         // standard colors
         return Standard.STYLES.get(product);
     }
 
+    /**
+     * Returns a pooled instance equal in all fields to the given line, so that lines recurring in responses of this
+     * provider share one instance.
+     */
+    protected @Nullable Line intern(final @Nullable Line line) {
+        return internPool.intern(line);
+    }
+
+    protected @Nullable Location intern(final @Nullable Location location) {
+        return internPool.intern(location);
+    }
+
+    protected @Nullable Style intern(final @Nullable Style style) {
+        return internPool.intern(style);
+    }
+
+    /**
+     * Sets a store of stations known from earlier responses, which this provider may consult instead of asking the
+     * server.
+     */
+    public void setStationStore(final @Nullable StationStore stationStore) {
+        this.stationStore = stationStore;
+    }
+
+    protected @Nullable StationStore stationStore() {
+        return stationStore;
+    }
+
+    /**
+     * Most stations the upstream returns for a nearby query around the given location, if it is asked for
+     * {@code maxLocations} of them and limits the query to {@code maxDistance}. Returns {@code 0} if that limit isn't
+     * known or {@code maxDistance} is ignored, in which case a nearby result can't be taken as complete.
+     */
+    protected int nearbyLocationsLimit(final Location location, final int maxLocations) {
+        return location.hasLocation() ? maxLocations : 0;
+    }
+
+    /**
+     * Host that batch queries of this provider are sent to. Batches sharing a host share its
+     * {@link ParallelBatch#MAX_PER_HOST} limit.
+     */
+    protected String batchHost() {
+        return network.name();
+    }
+
+    /**
+     * Queries the stations one by one, {@link ParallelBatch#DEFAULT_PARALLELISM} at a time. Providers whose servers
+     * can answer for several stations in one request should override this.
+     */
+    @Override
+    public Map<String, QueryDeparturesResult> queryDeparturesBatch(final Collection<String> stationIds,
+            final @Nullable Date time, final int maxDepartures, final boolean equivs) throws IOException {
+        return ParallelBatch.run(stationIds, ParallelBatch.DEFAULT_PARALLELISM, batchHost(),
+                new ParallelBatch.Query<String, QueryDeparturesResult>() {
+                    @Override
+                    public QueryDeparturesResult query(final String stationId) throws IOException {
+                        try {
+                            return queryDepartures(stationId, time, maxDepartures, equivs);
+                        } catch (final InterruptedIOException x) {
+                            throw x;
+                        } catch (final IOException x) {
+                            log.info("cannot query departures of {}: {}", stationId, x.toString());
+                            return new QueryDeparturesResult(null, QueryDeparturesResult.Status.SERVICE_DOWN);
+                        } catch (final RuntimeException x) {
+                            log.info("cannot query departures of {}: {}", stationId, x.toString());
+                            return new QueryDeparturesResult(null, QueryDeparturesResult.Status.SERVICE_DOWN);
+                        }
+                    }
+                });
+    }
+
     @Override
     public Point[] getArea() throws IOException {
         return null;
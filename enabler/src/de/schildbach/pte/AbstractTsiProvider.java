@@ -39,6 +39,8 @@ import javax.annotation.Nullable;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Charsets;
 
@@ -58,6 +60,7 @@ import de.schildbach.pte.dto.SuggestedLocation;
 import de.schildbach.pte.dto.Trip;
 import de.schildbach.pte.exception.ParserException;
 import de.schildbach.pte.util.ParserUtils;
+import de.schildbach.pte.util.StationStore;
 
 import okhttp3.HttpUrl;
 
@@ -126,6 +129,8 @@ public abstract class AbstractTsiProvider extends AbstractNetworkProvider {
     private static final String DEFAULT_TRIP_ENDPOINT = "/journeyplanner/v2/";
     private static final String SERVER_PRODUCT = "tsi";
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractTsiProvider.class);
+
     private static Map<String, Product> TRANSPORT_MODES = new HashMap<String, Product>();
     static {
         // HIGH_SPEED_TRAIN
@@ -310,6 +315,13 @@ public abstract class AbstractTsiProvider extends AbstractNetworkProvider {
     }
 
     private Location jsonStationRequestCoord(final String id) throws IOException {
+        final StationStore stationStore = stationStore();
+        if (stationStore != null) {
+            final Location station = stationStore.get(id);
+            if (station != null && station.hasLocation())
+                return station;
+        }
+
         final StringBuilder parameters = buildCommonRequestParams("GetTripPoint", "json");
         parameters.append("&TripPointId=").append(id);
         parameters.append("&PointType=Stop_Place");
@@ -327,7 +339,15 @@ public abstract class AbstractTsiProvider extends AbstractNetworkProvider {
                 return null;
 
             JSONObject data = head.getJSONObject("Data");
-            return parseJsonTransportLocation(data);
+            final Location station = parseJsonTransportLocation(data);
+            if (stationStore != null) {
+                try {
+                    stationStore.put(station);
+                } catch (final IOException x) {
+                    log.warn("cannot record station " + id, x);
+                }
+            }
+            return station;
         } catch (final JSONException x) {
             throw new ParserException(x);
         }
@@ -570,7 +590,7 @@ public abstract class AbstractTsiProvider extends AbstractNetworkProvider {
         if (queryLocation == null)
             throw new IllegalArgumentException("null location or station not found");
 
-        return jsonCoordRequest(location.lat, location.lon, maxDistance, maxLocations);
+        return jsonCoordRequest(queryLocation.lat, queryLocation.lon, maxDistance, maxLocations);
     }
 
     @Override
@@ -17,6 +17,7 @@
 
 package de.schildbach.pte;
 
+import java.util.Locale;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -87,7 +88,7 @@ public final class BahnProvider extends AbstractHafasProvider {
 
     @Override
     protected Product normalizeType(final String type) {
-        final String ucType = type.toUpperCase();
+        final String ucType = type.toUpperCase(Locale.ENGLISH);
 
         if ("N".equals(ucType))
             return null;
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.schildbach.pte.dto.Point;
+
+/**
+ * Picks the providers whose area, as returned by {@link NetworkProvider#getArea()}, covers a coordinate. Areas are
+ * fetched once by {@link #refresh()} and indexed by their bounding boxes, so that lookups don't touch the providers.
+ * 
+ * <p>
+ * Candidates are ranked by how precisely they are known to cover the coordinate: providers with a polygon or box come
+ * first, the smallest area first. Providers that only give a center point are assumed to cover a circle of
+ * {@link #CENTER_RADIUS} meters around it, and follow ordered by distance.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class CoverageRouter {
+    public static final int CENTER_RADIUS = 50000;
+
+    // in microdegrees
+    private static final int CELL_SIZE = 1000000;
+
+    private final Map<NetworkId, NetworkProvider> providers = new LinkedHashMap<NetworkId, NetworkProvider>();
+    private final Map<NetworkId, Area> areas = new HashMap<NetworkId, Area>();
+    private volatile Index index = new Index(Collections.<Area> emptyList());
+
+    private static final Logger log = LoggerFactory.getLogger(CoverageRouter.class);
+
+    public CoverageRouter(final Collection<? extends NetworkProvider> providers) {
+        for (final NetworkProvider provider : providers)
+            this.providers.put(provider.id(), provider);
+    }
+
+    /**
+     * Fetches the areas of all providers and rebuilds the index. If fetching an area fails, the previously known area
+     * of that provider is kept.
+     */
+    public void refresh() {
+        for (final NetworkProvider provider : providers.values()) {
+            try {
+                update(provider.id(), provider.getArea());
+            } catch (final IOException x) {
+                log.info("cannot fetch area of {}: {}", provider.id(), x.toString());
+            } catch (final RuntimeException x) {
+                log.info("cannot fetch area of {}: {}", provider.id(), x.toString());
+            }
+        }
+    }
+
+    /**
+     * Refreshes the areas now and then periodically on the given executor.
+     */
+    public ScheduledFuture<?> scheduleRefresh(final ScheduledExecutorService executor, final long period,
+            final TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                refresh();
+            }
+        }, 0, period, unit);
+    }
+
+    /**
+     * Sets the area of a network, replacing the one fetched from its provider.
+     * 
+     * @param area
+     *            as returned by {@link NetworkProvider#getArea()}, or {@code null} to remove the network
+     */
+    public void update(final NetworkId network, final @Nullable Point[] area) {
+        synchronized (areas) {
+            if (area != null && area.length > 0)
+                areas.put(network, new Area(network, area));
+            else
+                areas.remove(network);
+            index = new Index(areas.values());
+        }
+    }
+
+    /**
+     * @return networks covering the given coordinate, best candidate first
+     */
+    public List<NetworkId> candidates(final Point point) {
+        final List<Area> matches = index.query(point);
+        Collections.sort(matches, new AreaComparator(point));
+        final List<NetworkId> candidates = new ArrayList<NetworkId>(matches.size());
+        for (final Area area : matches)
+            candidates.add(area.network);
+        return candidates;
+    }
+
+    /**
+     * @return networks covering both coordinates, best candidate for the origin first
+     */
+    public List<NetworkId> candidates(final Point from, final Point to) {
+        final List<NetworkId> candidates = candidates(from);
+        candidates.retainAll(candidates(to));
+        return candidates;
+    }
+
+    public @Nullable NetworkProvider provider(final NetworkId network) {
+        return providers.get(network);
+    }
+
+    private static final class Area {
+        final NetworkId network;
+        final int[] lats, lons;
+        final int minLat, maxLat, minLon, maxLon;
+        final boolean centerOnly;
+        final double size;
+
+        Area(final NetworkId network, final Point[] points) {
+            this.network = checkNotNull(network);
+            if (points.length == 1) {
+                // circle around the center, approximated by its bounding box for the index
+                final Point center = points[0];
+                final int latSpan = (int) (CENTER_RADIUS / 110000.0 * 1E6);
+                final int lonSpan = (int) (latSpan / Math.max(Math.cos(Math.toRadians(center.lat / 1E6)), 0.01));
+                this.lats = new int[] { center.lat };
+                this.lons = new int[] { center.lon };
+                this.minLat = center.lat - latSpan;
+                this.maxLat = center.lat + latSpan;
+                this.minLon = center.lon - lonSpan;
+                this.maxLon = center.lon + lonSpan;
+                this.centerOnly = true;
+                this.size = Math.PI * CENTER_RADIUS * CENTER_RADIUS;
+                return;
+            }
+            if (points.length == 2) {
+                // two corners of a box
+                final int lat0 = Math.min(points[0].lat, points[1].lat), lat1 = Math.max(points[0].lat, points[1].lat);
+                final int lon0 = Math.min(points[0].lon, points[1].lon), lon1 = Math.max(points[0].lon, points[1].lon);
+                this.lats = new int[] { lat0, lat0, lat1, lat1 };
+                this.lons = new int[] { lon0, lon1, lon1, lon0 };
+            } else {
+                this.lats = new int[points.length];
+                this.lons = new int[points.length];
+                for (int i = 0; i < points.length; i++) {
+                    lats[i] = points[i].lat;
+                    lons[i] = points[i].lon;
+                }
+            }
+            int minLat = Integer.MAX_VALUE, maxLat = Integer.MIN_VALUE;
+            int minLon = Integer.MAX_VALUE, maxLon = Integer.MIN_VALUE;
+            for (int i = 0; i < lats.length; i++) {
+                minLat = Math.min(minLat, lats[i]);
+                maxLat = Math.max(maxLat, lats[i]);
+                minLon = Math.min(minLon, lons[i]);
+                maxLon = Math.max(maxLon, lons[i]);
+            }
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLon = minLon;
+            this.maxLon = maxLon;
+            this.centerOnly = false;
+            this.size = polygonSize();
+        }
+
+        boolean contains(final Point point) {
+            if (point.lat < minLat || point.lat > maxLat || point.lon < minLon || point.lon > maxLon)
+                return false;
+            if (centerOnly)
+                return distance(point) <= CENTER_RADIUS;
+
+            // ray casting
+            boolean inside = false;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > point.lat) != (lats[j] > point.lat)) {
+                    final double lon = lons[i]
+                            + (double) (lons[j] - lons[i]) * (point.lat - lats[i]) / (lats[j] - lats[i]);
+                    if (point.lon < lon)
+                        inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        float distance(final Point point) {
+            return LocationUtils.computeApproximateDistance(lats[0] / 1E6, lons[0] / 1E6, point.lat / 1E6,
+                    point.lon / 1E6);
+        }
+
+        // in square meters, good enough for ranking
+        private double polygonSize() {
+            final double metersPerMicroDegree = 0.111;
+            final double cosLat = Math.cos(Math.toRadians((minLat + maxLat) / 2E6));
+            double sum = 0;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++)
+                sum += (double) lons[j] * lats[i] - (double) lons[i] * lats[j];
+            return Math.abs(sum / 2) * metersPerMicroDegree * metersPerMicroDegree * cosLat;
+        }
+    }
+
+    private static final class AreaComparator implements Comparator<Area> {
+        private final Point point;
+
+        AreaComparator(final Point point) {
+            this.point = point;
+        }
+
+        @Override
+        public int compare(final Area area1, final Area area2) {
+            if (area1.centerOnly != area2.centerOnly)
+                return area1.centerOnly ? 1 : -1;
+            if (area1.centerOnly)
+                return Float.compare(area1.distance(point), area2.distance(point));
+            return Double.compare(area1.size, area2.size);
+        }
+    }
+
+    /** Immutable grid over the bounding boxes of the areas. */
+    private static final class Index {
+        private final Map<Long, List<Area>> cells = new HashMap<Long, List<Area>>();
+
+        Index(final Collection<Area> areas) {
+            for (final Area area : areas) {
+                for (int latCell = cell(area.minLat); latCell <= cell(area.maxLat); latCell++) {
+                    for (int lonCell = cell(area.minLon); lonCell <= cell(area.maxLon); lonCell++) {
+                        final long key = key(latCell, lonCell);
+                        List<Area> cell = cells.get(key);
+                        if (cell == null) {
+                            cell = new ArrayList<Area>(2);
+                            cells.put(key, cell);
+                        }
+                        cell.add(area);
+                    }
+                }
+            }
+        }
+
+        List<Area> query(final Point point) {
+            final List<Area> matches = new ArrayList<Area>();
+            final List<Area> cell = cells.get(key(cell(point.lat), cell(point.lon)));
+            if (cell != null)
+                for (final Area area : cell)
+                    if (area.contains(point))
+                        matches.add(area);
+            return matches;
+        }
+
+        private static int cell(final int coord) {
+            return (int) Math.floor((double) coord / CELL_SIZE);
+        }
+
+        private static long key(final int latCell, final int lonCell) {
+            return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+import de.schildbach.pte.dto.StationDepartures;
+
+/**
+ * Computes what changed between two departure boards of the same station.
+ * 
+ * <p>
+ * Departures are matched by line, planned time and destination through a hash table over the previous board, so the
+ * comparison runs in linear time. Providers drop cancelled departures from their boards rather than flagging them, so
+ * a departure that disappears while earlier and later departures remain is reported as {@link Kind#CANCELLED}. One
+ * that falls off the start of the board, or off its end because boards are limited in length, is reported as
+ * {@link Kind#REMOVED}.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class DepartureDiff {
+    public enum Kind {
+        INSERTED, REMOVED, CANCELLED, DELAY_CHANGED, POSITION_CHANGED
+    }
+
+    public static final class Change {
+        public final Kind kind;
+        /** The departure on the current board, or on the previous board for removals. */
+        public final Departure departure;
+        /** The departure on the previous board, for changes of matched departures. */
+        public final @Nullable Departure previous;
+
+        public Change(final Kind kind, final Departure departure, final @Nullable Departure previous) {
+            this.kind = checkNotNull(kind);
+            this.departure = checkNotNull(departure);
+            this.previous = previous;
+        }
+
+        /**
+         * @return change of delay in milliseconds, or {@code 0} if unknown
+         */
+        public long delayChange() {
+            if (previous == null || departure.predictedTime == null || previous.predictedTime == null)
+                return 0;
+            return departure.predictedTime.getTime() - previous.predictedTime.getTime();
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).addValue(kind).addValue(departure).toString();
+        }
+    }
+
+    public static List<Change> diff(final QueryDeparturesResult previous, final QueryDeparturesResult current) {
+        return diff(departures(previous), departures(current));
+    }
+
+    public static List<Change> diff(final Departure[] previous, final Departure[] current) {
+        final List<Change> changes = new ArrayList<Change>();
+
+        // open addressing, slots hold index + 1
+        final int mask = Integer.highestOneBit(Math.max(previous.length, 1) * 2) * 2 - 1;
+        final int[] table = new int[mask + 1];
+        for (int i = 0; i < previous.length; i++) {
+            int slot = hash(previous[i]) & mask;
+            while (table[slot] != 0)
+                slot = (slot + 1) & mask;
+            table[slot] = i + 1;
+        }
+
+        final boolean[] matched = new boolean[previous.length];
+        long earliest = Long.MAX_VALUE;
+        long latest = Long.MIN_VALUE;
+        for (final Departure departure : current) {
+            final long time = departure.getTime().getTime();
+            earliest = Math.min(earliest, time);
+            latest = Math.max(latest, time);
+            Departure match = null;
+            for (int slot = hash(departure) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                final int i = table[slot] - 1;
+                if (!matched[i] && sameDeparture(previous[i], departure)) {
+                    matched[i] = true;
+                    match = previous[i];
+                    break;
+                }
+            }
+
+            if (match == null) {
+                changes.add(new Change(Kind.INSERTED, departure, null));
+            } else {
+                if (!Objects.equal(match.predictedTime, departure.predictedTime))
+                    changes.add(new Change(Kind.DELAY_CHANGED, departure, match));
+                if (!Objects.equal(match.position, departure.position))
+                    changes.add(new Change(Kind.POSITION_CHANGED, departure, match));
+            }
+        }
+
+        for (int i = 0; i < previous.length; i++) {
+            if (!matched[i]) {
+                final long time = previous[i].getTime().getTime();
+                changes.add(new Change(time >= earliest && time < latest ? Kind.CANCELLED : Kind.REMOVED, previous[i],
+                        null));
+            }
+        }
+
+        return changes;
+    }
+
+    private static Departure[] departures(final QueryDeparturesResult result) {
+        if (result.stationDepartures.size() == 1)
+            return result.stationDepartures.get(0).departures.toArray(new Departure[0]);
+        final List<Departure> departures = new ArrayList<Departure>();
+        for (final StationDepartures stationDepartures : result.stationDepartures)
+            departures.addAll(stationDepartures.departures);
+        return departures.toArray(new Departure[0]);
+    }
+
+    private static boolean sameDeparture(final Departure departure1, final Departure departure2) {
+        return Objects.equal(identityTime(departure1), identityTime(departure2))
+                && departure1.line.equals(departure2.line)
+                && Objects.equal(departure1.destination, departure2.destination);
+    }
+
+    // hashes a subset of what sameDeparture() compares, without allocating
+    private static int hash(final Departure departure) {
+        final String label = departure.line.label;
+        final long time = identityTime(departure).getTime();
+        final int hash = (label != null ? label.hashCode() : 0) * 31 + (int) (time ^ (time >>> 32));
+        return hash ^ (hash >>> 16);
+    }
+
+    private static Date identityTime(final Departure departure) {
+        return departure.plannedTime != null ? departure.plannedTime : departure.predictedTime;
+    }
+}
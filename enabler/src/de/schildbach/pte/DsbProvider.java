@@ -17,6 +17,7 @@
 
 package de.schildbach.pte;
 
+import java.util.Locale;
 import java.util.Set;
 import java.util.regex.Matcher;
 
@@ -56,7 +57,7 @@ public class DsbProvider extends AbstractHafasProvider {
 
     @Override
     protected Product normalizeType(final String type) {
-        final String ucType = type.toUpperCase();
+        final String ucType = type.toUpperCase(Locale.ENGLISH);
 
         if ("ICL".equals(ucType))
             return Product.HIGH_SPEED_TRAIN;
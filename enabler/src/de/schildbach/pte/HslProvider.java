@@ -95,6 +95,13 @@ public class HslProvider extends AbstractNetworkProvider {
         }
     }
 
+    // the factory is shared by concurrent calls, but isn't guaranteed to be thread-safe
+    private XmlPullParser newPullParser() throws XmlPullParserException {
+        synchronized (parserFactory) {
+            return parserFactory.newPullParser();
+        }
+    }
+
     @Override
     protected boolean hasCapability(final Capability capability) {
         return true;
@@ -148,7 +155,7 @@ public class HslProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.charStream());
 
                     XmlPullUtil.enter(pp, "response");
@@ -191,7 +198,7 @@ public class HslProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.charStream());
 
                     final List<Location> stations = new ArrayList<Location>();
@@ -269,7 +276,7 @@ public class HslProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.charStream());
 
                     XmlPullUtil.enter(pp, "response");
@@ -351,7 +358,7 @@ public class HslProvider extends AbstractNetworkProvider {
                     final ResultHeader header = new ResultHeader(network, SERVER_PRODUCT);
                     final List<SuggestedLocation> locations = new ArrayList<SuggestedLocation>();
 
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.charStream());
 
                     XmlPullUtil.enter(pp, "response");
@@ -557,7 +564,7 @@ public class HslProvider extends AbstractNetworkProvider {
             @Override
             public void onSuccessful(final CharSequence bodyPeek, final ResponseBody body) throws IOException {
                 try {
-                    final XmlPullParser pp = parserFactory.newPullParser();
+                    final XmlPullParser pp = newPullParser();
                     pp.setInput(body.charStream());
 
                     XmlPullUtil.enter(pp, "response");
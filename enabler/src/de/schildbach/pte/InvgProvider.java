@@ -26,9 +26,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -51,7 +49,6 @@ import de.schildbach.pte.dto.QueryTripsContext;
 import de.schildbach.pte.dto.QueryTripsResult;
 import de.schildbach.pte.dto.ResultHeader;
 import de.schildbach.pte.dto.StationDepartures;
-import de.schildbach.pte.dto.Style;
 import de.schildbach.pte.util.ParserUtils;
 
 import okhttp3.HttpUrl;
@@ -71,7 +68,7 @@ public class InvgProvider extends AbstractHafasProvider {
         setStationBoardCanDoEquivs(false);
         setJsonGetStopsEncoding(Charsets.UTF_8);
         setJsonNearbyLocationsEncoding(Charsets.UTF_8);
-        setStyles(STYLES);
+        setStylesResource("styles/invg.txt");
         setExtXmlEndpoint(API_BASE + "extxml.exe");
     }
 
@@ -330,79 +327,4 @@ public class InvgProvider extends AbstractHafasProvider {
         // skip parsing of "common" lines
         throw new IllegalStateException("cannot normalize type '" + type + "'");
     }
-
-    private static final Map<String, Style> STYLES = new HashMap<String, Style>();
-
-    static {
-        STYLES.put("B10", new Style(Style.parseColor("#DA2510"), Style.WHITE));
-        STYLES.put("B11", new Style(Style.parseColor("#EE9B78"), Style.BLACK));
-        STYLES.put("B15", new Style(Style.parseColor("#84C326"), Style.BLACK));
-        STYLES.put("B16", new Style(Style.parseColor("#5D452E"), Style.WHITE));
-        STYLES.put("B17", new Style(Style.parseColor("#E81100"), Style.BLACK));
-        STYLES.put("B18", new Style(Style.parseColor("#79316C"), Style.WHITE));
-        STYLES.put("B20", new Style(Style.parseColor("#EA891C"), Style.BLACK));
-        STYLES.put("B21", new Style(Style.parseColor("#31B2EA"), Style.BLACK));
-        STYLES.put("B25", new Style(Style.parseColor("#7F65A0"), Style.WHITE));
-        STYLES.put("B26", new Style(Style.parseColor("#00BF73"), Style.WHITE)); // not present in Fahrplan
-                                                                                // 2012/2013
-        STYLES.put("B30", new Style(Style.parseColor("#901E78"), Style.WHITE));
-        STYLES.put("B31", new Style(Style.parseColor("#DCE722"), Style.BLACK));
-        STYLES.put("B40", new Style(Style.parseColor("#009240"), Style.WHITE));
-        STYLES.put("B41", new Style(Style.parseColor("#7BC5B1"), Style.BLACK));
-        STYLES.put("B44", new Style(Style.parseColor("#EA77A6"), Style.WHITE));
-        STYLES.put("B50", new Style(Style.parseColor("#FACF00"), Style.BLACK));
-        STYLES.put("B51", new Style(Style.parseColor("#C13C00"), Style.WHITE));
-        STYLES.put("B52", new Style(Style.parseColor("#94F0D4"), Style.BLACK));
-        STYLES.put("B53", new Style(Style.parseColor("#BEB405"), Style.BLACK));
-        STYLES.put("B55", new Style(Style.parseColor("#FFF500"), Style.BLACK));
-        STYLES.put("B60", new Style(Style.parseColor("#0072B7"), Style.WHITE));
-        STYLES.put("B61", new Style(Style.rgb(204, 184, 122), Style.BLACK)); // not present in Fahrplan
-                                                                             // 2012/2013
-        STYLES.put("B62", new Style(Style.rgb(204, 184, 122), Style.BLACK)); // not present in Fahrplan
-                                                                             // 2012/2013
-        STYLES.put("B65", new Style(Style.parseColor("#B7DDD2"), Style.BLACK));
-        STYLES.put("B70", new Style(Style.parseColor("#D49016"), Style.BLACK));
-        STYLES.put("B71", new Style(Style.parseColor("#996600"), Style.BLACK)); // not present in Fahrplan
-                                                                                // 2012/2013
-        STYLES.put("B85", new Style(Style.parseColor("#F6BAD3"), Style.BLACK));
-        STYLES.put("B111", new Style(Style.parseColor("#EE9B78"), Style.BLACK));
-
-        STYLES.put("B9221", new Style(Style.rgb(217, 217, 255), Style.BLACK));
-        STYLES.put("B9226", new Style(Style.rgb(191, 255, 255), Style.BLACK));
-
-        STYLES.put("BN1", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN2", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN3", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN4", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN5", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN6", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN7", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN8", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN9", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN10", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN11", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN12", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN13", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN14", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN15", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN16", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN17", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN18", new Style(Style.parseColor("#00116C"), Style.WHITE));
-        STYLES.put("BN19", new Style(Style.parseColor("#00116C"), Style.WHITE));
-
-        STYLES.put("BS1", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-        STYLES.put("BS2", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-        STYLES.put("BS3", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-        STYLES.put("BS4", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-        STYLES.put("BS5", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-        STYLES.put("BS6", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-        STYLES.put("BS7", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-        STYLES.put("BS8", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-        STYLES.put("BS9", new Style(Style.rgb(178, 25, 0), Style.WHITE));
-
-        STYLES.put("BX11", new Style(Style.parseColor("#EE9B78"), Style.BLACK));
-        STYLES.put("BX12", new Style(Style.parseColor("#B11839"), Style.BLACK));
-        STYLES.put("BX80", new Style(Style.parseColor("#FFFF40"), Style.BLACK));
-        STYLES.put("BX109", new Style(Style.WHITE, Style.BLACK, Style.BLACK));
-    }
 }
@@ -17,6 +17,7 @@
 
 package de.schildbach.pte;
 
+import java.util.Locale;
 import java.util.regex.Matcher;
 
 import com.google.common.base.Charsets;
@@ -59,7 +60,7 @@ public class LuProvider extends AbstractHafasProvider {
 
     @Override
     protected Product normalizeType(final String type) {
-        final String ucType = type.toUpperCase();
+        final String ucType = type.toUpperCase(Locale.ENGLISH);
 
         if ("CRE".equals(ucType))
             return Product.REGIONAL_TRAIN;
@@ -17,8 +17,6 @@
 
 package de.schildbach.pte;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import javax.annotation.Nullable;
 
@@ -26,7 +24,6 @@ import com.google.common.base.Strings;
 
 import de.schildbach.pte.dto.Line;
 import de.schildbach.pte.dto.Product;
-import de.schildbach.pte.dto.Style;
 
 /**
  * Has been renamed to PTV (Public Transport Vicoria).
@@ -42,7 +39,7 @@ public class MetProvider extends AbstractEfaProvider {
         setLanguage("en");
         setTimeZone("Australia/Melbourne");
         setUseRouteIndexAsTripId(false);
-        setStyles(STYLES);
+        setStylesResource("styles/met.txt");
         setSessionCookieName("BIGipServerpl_ptv_jp_lbvsvr");
     }
 
@@ -66,15 +63,4 @@ public class MetProvider extends AbstractEfaProvider {
 
         return super.parseLine(id, network, mot, symbol, name, longName, trainType, trainNum, trainName);
     }
-
-    private static final Map<String, Style> STYLES = new HashMap<String, Style>();
-
-    static {
-        STYLES.put("R", new Style(Style.parseColor("#a24ba3"), Style.WHITE));
-        STYLES.put("S", new Style(Style.parseColor("#3a75c4"), Style.WHITE));
-        STYLES.put("T", new Style(Style.parseColor("#5bbf21"), Style.WHITE));
-        STYLES.put("B", new Style(Style.parseColor("#f77f00"), Style.WHITE));
-
-        // TODO NightRider buses (buses with numbers > 940): #f26522
-    }
 }
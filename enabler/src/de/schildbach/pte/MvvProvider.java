@@ -17,8 +17,6 @@
 
 package de.schildbach.pte;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,7 +26,6 @@ import de.schildbach.pte.dto.Line;
 import de.schildbach.pte.dto.Point;
 import de.schildbach.pte.dto.Position;
 import de.schildbach.pte.dto.Product;
-import de.schildbach.pte.dto.Style;
 
 /**
  * @author Andreas Schildbach
@@ -44,7 +41,7 @@ public class MvvProvider extends AbstractEfaProvider {
         super(NetworkId.MVV, apiBase);
 
         setIncludeRegionId(false);
-        setStyles(STYLES);
+        setStylesResource("styles/mvv.txt");
         setSessionCookieName("SIDefaalt");
     }
 
@@ -93,46 +90,6 @@ public class MvvProvider extends AbstractEfaProvider {
         return super.parsePosition(position);
     }
 
-    private static final Map<String, Style> STYLES = new HashMap<String, Style>();
-
-    static {
-        STYLES.put("SS1", new Style(Style.parseColor("#00ccff"), Style.WHITE));
-        STYLES.put("SS2", new Style(Style.parseColor("#66cc00"), Style.WHITE));
-        STYLES.put("SS3", new Style(Style.parseColor("#880099"), Style.WHITE));
-        STYLES.put("SS4", new Style(Style.parseColor("#ff0033"), Style.WHITE));
-        STYLES.put("SS6", new Style(Style.parseColor("#00aa66"), Style.WHITE));
-        STYLES.put("SS7", new Style(Style.parseColor("#993333"), Style.WHITE));
-        STYLES.put("SS8", new Style(Style.BLACK, Style.parseColor("#ffcc00")));
-        STYLES.put("SS20", new Style(Style.BLACK, Style.parseColor("#ffaaaa")));
-        STYLES.put("SS27", new Style(Style.parseColor("#ffaaaa"), Style.WHITE));
-        STYLES.put("SA", new Style(Style.parseColor("#231f20"), Style.WHITE));
-
-        STYLES.put("T12", new Style(Style.parseColor("#883388"), Style.WHITE));
-        STYLES.put("T15", new Style(Style.parseColor("#3366CC"), Style.WHITE));
-        STYLES.put("T16", new Style(Style.parseColor("#CC8833"), Style.WHITE));
-        STYLES.put("T17", new Style(Style.parseColor("#993333"), Style.WHITE));
-        STYLES.put("T18", new Style(Style.parseColor("#66bb33"), Style.WHITE));
-        STYLES.put("T19", new Style(Style.parseColor("#cc0000"), Style.WHITE));
-        STYLES.put("T20", new Style(Style.parseColor("#00bbee"), Style.WHITE));
-        STYLES.put("T21", new Style(Style.parseColor("#33aa99"), Style.WHITE));
-        STYLES.put("T23", new Style(Style.parseColor("#fff000"), Style.WHITE));
-        STYLES.put("T25", new Style(Style.parseColor("#ff9999"), Style.WHITE));
-        STYLES.put("T27", new Style(Style.parseColor("#ff6600"), Style.WHITE));
-        STYLES.put("TN17", new Style(Style.parseColor("#999999"), Style.parseColor("#ffff00")));
-        STYLES.put("TN19", new Style(Style.parseColor("#999999"), Style.parseColor("#ffff00")));
-        STYLES.put("TN20", new Style(Style.parseColor("#999999"), Style.parseColor("#ffff00")));
-        STYLES.put("TN27", new Style(Style.parseColor("#999999"), Style.parseColor("#ffff00")));
-
-        STYLES.put("UU1", new Style(Style.parseColor("#227700"), Style.WHITE));
-        STYLES.put("UU2", new Style(Style.parseColor("#bb0000"), Style.WHITE));
-        STYLES.put("UU2E", new Style(Style.parseColor("#bb0000"), Style.WHITE));
-        STYLES.put("UU3", new Style(Style.parseColor("#ee8800"), Style.WHITE));
-        STYLES.put("UU4", new Style(Style.parseColor("#00ccaa"), Style.WHITE));
-        STYLES.put("UU5", new Style(Style.parseColor("#bb7700"), Style.WHITE));
-        STYLES.put("UU6", new Style(Style.parseColor("#0000cc"), Style.WHITE));
-        STYLES.put("UU7", new Style(Style.parseColor("#227700"), Style.parseColor("#bb0000"), Style.WHITE, 0));
-    }
-
     @Override
     public Point[] getArea() {
         return new Point[] { Point.fromDouble(48.140377, 11.560643) };
@@ -18,8 +18,10 @@
 package de.schildbach.pte;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Date;
 import java.util.EnumSet;
+import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Nullable;
@@ -38,6 +40,13 @@ import de.schildbach.pte.dto.SuggestLocationsResult;
 /**
  * Interface to be implemented by providers of transportation networks.
  * 
+ * <p>
+ * Implementations are thread-safe once configured: one instance can serve concurrent calls from any number of
+ * threads. Setters like {@code setTimeZone()} or {@code setStationStore()} are meant for configuration and must not
+ * be called while queries are in flight. State that spans calls, like the server session needed for querying more
+ * trips, is not kept in the provider but carried in the returned {@link QueryTripsContext}.
+ * </p>
+ * 
  * @author Andreas Schildbach
  */
 public interface NetworkProvider {
@@ -107,6 +116,24 @@ public interface NetworkProvider {
     QueryDeparturesResult queryDepartures(String stationId, @Nullable Date time, int maxDepartures, boolean equivs)
             throws IOException;
 
+    /**
+     * Get departures at many stations at once. Stations that couldn't be queried get a result with status
+     * {@link QueryDeparturesResult.Status#SERVICE_DOWN}, rather than failing the whole batch.
+     * 
+     * @param stationIds
+     *            ids of the stations
+     * @param time
+     *            desired time for departing, or {@code null} for the provider default
+     * @param maxDepartures
+     *            maximum number of departures to get per station or {@code 0}
+     * @param equivs
+     *            also query equivalent stations?
+     * @return result objects by station id, in the order of the given ids
+     * @throws IOException
+     */
+    Map<String, QueryDeparturesResult> queryDeparturesBatch(Collection<String> stationIds, @Nullable Date time,
+            int maxDepartures, boolean equivs) throws IOException;
+
     /**
      * Meant for auto-completion of location names, like in an {@link android.widget.AutoCompleteTextView}
      * 
@@ -19,6 +19,7 @@ package de.schildbach.pte;
 
 import java.io.IOException;
 import java.util.EnumSet;
+import java.util.Locale;
 import java.util.regex.Matcher;
 
 import com.google.common.base.Charsets;
@@ -106,7 +107,7 @@ public class NvvProvider extends AbstractHafasProvider {
 
     @Override
     protected Product normalizeType(final String type) {
-        final String ucType = type.toUpperCase();
+        final String ucType = type.toUpperCase(Locale.ENGLISH);
 
         if ("U-BAHN".equals(ucType))
             return Product.SUBWAY;
@@ -19,6 +19,7 @@ package de.schildbach.pte;
 
 import java.io.IOException;
 import java.util.EnumSet;
+import java.util.Locale;
 import java.util.Set;
 import java.util.regex.Matcher;
 
@@ -96,7 +97,7 @@ public class OebbProvider extends AbstractHafasProvider {
 
     @Override
     protected Product normalizeType(final String type) {
-        final String ucType = type.toUpperCase();
+        final String ucType = type.toUpperCase(Locale.ENGLISH);
 
         if (ucType.equals("RR")) // Finnland, Connections only?
             return Product.HIGH_SPEED_TRAIN;
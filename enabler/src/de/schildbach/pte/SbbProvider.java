@@ -17,6 +17,7 @@
 
 package de.schildbach.pte;
 
+import java.util.Locale;
 import java.util.Set;
 import java.util.regex.Matcher;
 
@@ -71,7 +72,7 @@ public class SbbProvider extends AbstractHafasProvider {
 
     @Override
     protected Product normalizeType(final String type) {
-        final String ucType = type.toUpperCase();
+        final String ucType = type.toUpperCase(Locale.ENGLISH);
 
         if ("IN".equals(ucType)) // Italien Roma-Lecce
             return Product.HIGH_SPEED_TRAIN;
@@ -17,15 +17,12 @@
 
 package de.schildbach.pte;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import javax.annotation.Nullable;
 
 import de.schildbach.pte.dto.Line;
 import de.schildbach.pte.dto.Position;
 import de.schildbach.pte.dto.Product;
-import de.schildbach.pte.dto.Style;
 
 /**
  * @author Andreas Schildbach
@@ -40,7 +37,7 @@ public class SfProvider extends AbstractEfaProvider {
         setTimeZone("America/Los_Angeles");
         setUseRouteIndexAsTripId(false);
         setFareCorrectionFactor(0.01f);
-        setStyles(STYLES);
+        setStylesResource("styles/sf.txt");
     }
 
     @Override
@@ -135,24 +132,4 @@ public class SfProvider extends AbstractEfaProvider {
 
         return super.parseLine(id, network, mot, symbol, name, longName, trainType, trainNum, trainName);
     }
-
-    private static final Map<String, Style> STYLES = new HashMap<String, Style>();
-
-    static {
-        // BART
-        STYLES.put("RDALY/FRMT", new Style(Style.parseColor("#4EBF49"), Style.WHITE));
-        STYLES.put("RFRMT/DALY", new Style(Style.parseColor("#4EBF49"), Style.WHITE));
-
-        STYLES.put("RFRMT/RICH", new Style(Style.parseColor("#FAA61A"), Style.WHITE));
-        STYLES.put("RRICH/FRMT", new Style(Style.parseColor("#FAA61A"), Style.WHITE));
-
-        STYLES.put("RSFIA/PITT", new Style(Style.parseColor("#FFE800"), Style.BLACK));
-        STYLES.put("RPITT/SFIA", new Style(Style.parseColor("#FFE800"), Style.BLACK));
-
-        STYLES.put("RMLBR/RICH", new Style(Style.parseColor("#F81A23"), Style.WHITE));
-        STYLES.put("RRICH/MLBR", new Style(Style.parseColor("#F81A23"), Style.WHITE));
-
-        STYLES.put("RDALY/DUBL", new Style(Style.parseColor("#00AEEF"), Style.WHITE));
-        STYLES.put("RDUBL/DALY", new Style(Style.parseColor("#00AEEF"), Style.WHITE));
-    }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.LineDestination;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.NearbyLocationsResult;
+import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+import de.schildbach.pte.dto.QueryTripsContext;
+import de.schildbach.pte.dto.QueryTripsResult;
+import de.schildbach.pte.dto.ResultHeader;
+import de.schildbach.pte.dto.StationDepartures;
+import de.schildbach.pte.dto.Stop;
+import de.schildbach.pte.dto.SuggestLocationsResult;
+import de.schildbach.pte.dto.Trip;
+import de.schildbach.pte.util.StationGrid;
+import de.schildbach.pte.util.StationStore;
+
+/**
+ * A network provider that records all stations appearing in results into a {@link StationStore}. If the wrapped
+ * provider is an {@link AbstractNetworkProvider}, it is also handed the store so it can look up stations itself.
+ * 
+ * <p>
+ * Queries for nearby stations are answered from the store if an earlier upstream query already covered the requested
+ * circle; all other nearby queries go upstream and extend the covered area.
+ * 
+ * <p>
+ * Failing to record stations doesn't fail the query they came with; the failure is only logged.
+ * 
+ * @author Andreas Schildbach
+ */
+public class StationStoringNetworkProvider extends ForwardingNetworkProvider {
+    private final StationStore store;
+
+    private static final String SERVER_PRODUCT = "station store";
+
+    private static final Logger log = LoggerFactory.getLogger(StationStoringNetworkProvider.class);
+
+    public StationStoringNetworkProvider(final NetworkProvider delegate, final StationStore store) {
+        super(delegate);
+        this.store = checkNotNull(store);
+        if (delegate instanceof AbstractNetworkProvider)
+            ((AbstractNetworkProvider) delegate).setStationStore(store);
+    }
+
+    public StationStore store() {
+        return store;
+    }
+
+    @Override
+    public NearbyLocationsResult queryNearbyLocations(final EnumSet<LocationType> types, final Location location,
+            final int maxDistance, final int maxLocations) throws IOException {
+        final Location center = location.hasLocation() ? location
+                : location.type == LocationType.STATION && location.id != null ? store.get(location.id) : null;
+        final StationGrid grid = store.grid();
+        if (types.equals(EnumSet.of(LocationType.STATION)) && maxDistance > 0 && center != null
+                && center.hasLocation() && grid.covers(center.lat, center.lon, maxDistance))
+            return new NearbyLocationsResult(new ResultHeader(id(), SERVER_PRODUCT),
+                    grid.nearby(center.lat, center.lon, maxDistance, maxLocations));
+
+        final NearbyLocationsResult result = super.queryNearbyLocations(types, location, maxDistance, maxLocations);
+        if (result.status == NearbyLocationsResult.Status.OK) {
+            putAll(result.locations);
+            if (types.contains(LocationType.STATION) && center != null && center.hasLocation())
+                grid.cover(center.lat, center.lon, coveredRadius(center, result.locations, maxDistance,
+                        nearbyLocationsLimit(location, maxLocations)));
+        }
+        return result;
+    }
+
+    private int nearbyLocationsLimit(final Location location, final int maxLocations) {
+        return delegate instanceof AbstractNetworkProvider
+                ? ((AbstractNetworkProvider) delegate).nearbyLocationsLimit(location, maxLocations) : 0;
+    }
+
+    /**
+     * Radius around the center within which the upstream result is known to contain all stations. That is the full
+     * {@code maxDistance} only if the upstream honoured it and returned fewer locations than its limit; otherwise only
+     * up to the farthest station returned.
+     */
+    private static int coveredRadius(final Location center, final List<Location> locations, final int maxDistance,
+            final int limit) {
+        float farthest = 0;
+        for (final Location location : locations) {
+            if (location.type != LocationType.STATION)
+                continue;
+            if (location.hasLocation())
+                farthest = Math.max(farthest, LocationUtils.computeApproximateDistance(center.lat / 1E6,
+                        center.lon / 1E6, location.lat / 1E6, location.lon / 1E6));
+        }
+        if (maxDistance > 0 && limit > 0 && locations.size() < limit)
+            return maxDistance;
+        return maxDistance > 0 ? Math.min((int) farthest, maxDistance) : (int) farthest;
+    }
+
+    @Override
+    public QueryDeparturesResult queryDepartures(final String stationId, final @Nullable Date time,
+            final int maxDepartures, final boolean equivs) throws IOException {
+        return putDepartures(super.queryDepartures(stationId, time, maxDepartures, equivs));
+    }
+
+    @Override
+    public Map<String, QueryDeparturesResult> queryDeparturesBatch(final Collection<String> stationIds,
+            final @Nullable Date time, final int maxDepartures, final boolean equivs) throws IOException {
+        final Map<String, QueryDeparturesResult> results = super.queryDeparturesBatch(stationIds, time,
+                maxDepartures, equivs);
+        for (final QueryDeparturesResult result : results.values())
+            putDepartures(result);
+        return results;
+    }
+
+    private QueryDeparturesResult putDepartures(final QueryDeparturesResult result) {
+        if (result.status == QueryDeparturesResult.Status.OK) {
+            final List<Location> stations = new ArrayList<Location>();
+            for (final StationDepartures stationDepartures : result.stationDepartures) {
+                stations.add(stationDepartures.location);
+                for (final Departure departure : stationDepartures.departures)
+                    add(stations, departure.destination);
+                if (stationDepartures.lines != null)
+                    for (final LineDestination line : stationDepartures.lines)
+                        add(stations, line.destination);
+            }
+            putAll(stations);
+        }
+        return result;
+    }
+
+    @Override
+    public SuggestLocationsResult suggestLocations(final CharSequence constraint) throws IOException {
+        final SuggestLocationsResult result = super.suggestLocations(constraint);
+        if (result.status == SuggestLocationsResult.Status.OK)
+            putAll(result.getLocations());
+        return result;
+    }
+
+    @Override
+    public QueryTripsResult queryTrips(final Location from, final @Nullable Location via, final Location to,
+            final Date date, final boolean dep, final @Nullable Set<Product> products,
+            final @Nullable Optimize optimize, final @Nullable WalkSpeed walkSpeed,
+            final @Nullable Accessibility accessibility, final @Nullable Set<Option> options) throws IOException {
+        return putTrips(
+                super.queryTrips(from, via, to, date, dep, products, optimize, walkSpeed, accessibility, options));
+    }
+
+    @Override
+    public QueryTripsResult queryMoreTrips(final QueryTripsContext context, final boolean later) throws IOException {
+        return putTrips(super.queryMoreTrips(context, later));
+    }
+
+    private QueryTripsResult putTrips(final QueryTripsResult result) {
+        final List<Location> stations = new ArrayList<Location>();
+        if (result.status == QueryTripsResult.Status.OK) {
+            add(stations, result.from);
+            add(stations, result.via);
+            add(stations, result.to);
+            for (final Trip trip : result.trips) {
+                add(stations, trip.from);
+                add(stations, trip.to);
+                for (final Trip.Leg leg : trip.legs) {
+                    add(stations, leg.departure);
+                    add(stations, leg.arrival);
+                    if (leg instanceof Trip.Public) {
+                        final Trip.Public publicLeg = (Trip.Public) leg;
+                        add(stations, publicLeg.destination);
+                        if (publicLeg.intermediateStops != null)
+                            for (final Stop stop : publicLeg.intermediateStops)
+                                add(stations, stop.location);
+                    }
+                }
+            }
+        } else if (result.status == QueryTripsResult.Status.AMBIGUOUS) {
+            addAll(stations, result.ambiguousFrom);
+            addAll(stations, result.ambiguousVia);
+            addAll(stations, result.ambiguousTo);
+        }
+        putAll(stations);
+        return result;
+    }
+
+    private void putAll(final Collection<Location> stations) {
+        try {
+            store.putAll(stations);
+        } catch (final IOException x) {
+            log.warn("cannot record stations", x);
+        }
+    }
+
+    private static void add(final List<Location> stations, final @Nullable Location location) {
+        if (location != null && location.type == LocationType.STATION)
+            stations.add(location);
+    }
+
+    private static void addAll(final List<Location> stations, final @Nullable List<Location> locations) {
+        if (locations != null)
+            for (final Location location : locations)
+                add(stations, location);
+    }
+}
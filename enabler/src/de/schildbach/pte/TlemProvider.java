@@ -17,8 +17,6 @@
 
 package de.schildbach.pte;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 
 import javax.annotation.Nullable;
@@ -27,7 +25,6 @@ import com.google.common.base.Strings;
 
 import de.schildbach.pte.dto.Line;
 import de.schildbach.pte.dto.Product;
-import de.schildbach.pte.dto.Style;
 
 /**
  * @author Andreas Schildbach
@@ -48,7 +45,7 @@ public class TlemProvider extends AbstractEfaProvider {
         setLanguage("en");
         setTimeZone("Europe/London");
         setUseProxFootSearch(false);
-        setStyles(STYLES);
+        setStylesResource("styles/tlem.txt");
     }
 
     @Override
@@ -79,29 +76,4 @@ public class TlemProvider extends AbstractEfaProvider {
 
         return super.parseLine(id, network, mot, symbol, name, longName, trainType, trainNum, trainName);
     }
-
-    private static final Map<String, Style> STYLES = new HashMap<String, Style>();
-
-    static {
-        // London
-        STYLES.put("UBakerloo", new Style(Style.parseColor("#9D5324"), Style.WHITE));
-        STYLES.put("UCentral", new Style(Style.parseColor("#D52B1E"), Style.WHITE));
-        STYLES.put("UCircle", new Style(Style.parseColor("#FECB00"), Style.BLACK));
-        STYLES.put("UDistrict", new Style(Style.parseColor("#007934"), Style.WHITE));
-        STYLES.put("UEast London", new Style(Style.parseColor("#FFA100"), Style.WHITE));
-        STYLES.put("UHammersmith & City", new Style(Style.parseColor("#C5858F"), Style.BLACK));
-        STYLES.put("UJubilee", new Style(Style.parseColor("#818A8F"), Style.WHITE));
-        STYLES.put("UMetropolitan", new Style(Style.parseColor("#850057"), Style.WHITE));
-        STYLES.put("UNorthern", new Style(Style.BLACK, Style.WHITE));
-        STYLES.put("UPiccadilly", new Style(Style.parseColor("#0018A8"), Style.WHITE));
-        STYLES.put("UVictoria", new Style(Style.parseColor("#00A1DE"), Style.WHITE));
-        STYLES.put("UWaterloo & City", new Style(Style.parseColor("#76D2B6"), Style.BLACK));
-
-        STYLES.put("SDLR", new Style(Style.parseColor("#00B2A9"), Style.WHITE));
-        STYLES.put("SLO", new Style(Style.parseColor("#f46f1a"), Style.WHITE));
-
-        STYLES.put("TTramlink 1", new Style(Style.rgb(193, 215, 46), Style.WHITE));
-        STYLES.put("TTramlink 2", new Style(Style.rgb(193, 215, 46), Style.WHITE));
-        STYLES.put("TTramlink 3", new Style(Style.rgb(124, 194, 66), Style.BLACK));
-    }
 }
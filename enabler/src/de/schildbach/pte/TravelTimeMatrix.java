@@ -0,0 +1,198 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.QueryTripsResult;
+import de.schildbach.pte.dto.SuggestLocationsResult;
+import de.schildbach.pte.dto.Trip;
+import de.schildbach.pte.util.ParallelBatch;
+
+/**
+ * Travel times between many origins and destinations, computed with one trip query per pair. Queries run
+ * concurrently, and all queries made through one instance share a rate limit, so an instance should be shared by
+ * everyone using the same provider.
+ * 
+ * <p>
+ * Only the shortest duration of each pair is kept. Locations are resolved once per distinct location: those that only
+ * have a name are looked up with {@link NetworkProvider#suggestLocations(CharSequence)} before the first query, and
+ * ambiguous locations are replaced with the first alternative offered for all pairs they are part of.
+ * </p>
+ * 
+ * @author Andreas Schildbach
+ */
+public final class TravelTimeMatrix {
+    /** Duration of pairs without a trip, or whose query failed. */
+    public static final long UNKNOWN = -1;
+
+    public interface Listener {
+        /**
+         * Called as soon as the duration of a pair is known. May be called concurrently from several threads.
+         */
+        void onDuration(int origin, int destination, long durationMs);
+    }
+
+    private final NetworkProvider provider;
+    private final int parallelism;
+    private final RateLimiter rateLimiter;
+
+    private static final Logger log = LoggerFactory.getLogger(TravelTimeMatrix.class);
+
+    /**
+     * @param parallelism
+     *            maximum number of queries in flight per matrix
+     * @param requestsPerSecond
+     *            maximum rate of queries across all matrices of this instance
+     */
+    public TravelTimeMatrix(final NetworkProvider provider, final int parallelism, final double requestsPerSecond) {
+        checkArgument(parallelism > 0);
+        this.provider = checkNotNull(provider);
+        this.parallelism = parallelism;
+        this.rateLimiter = RateLimiter.create(requestsPerSecond);
+    }
+
+    /**
+     * @return durations in milliseconds, indexed by origin and destination, or {@link #UNKNOWN}
+     */
+    public long[][] compute(final List<Location> origins, final List<Location> destinations, final Date date,
+            final @Nullable Set<Product> products, final @Nullable Listener listener) throws IOException {
+        final Set<Location> distinct = new LinkedHashSet<Location>(origins);
+        distinct.addAll(destinations);
+        final Map<Location, Location> resolved = ParallelBatch.run(distinct, parallelism,
+                new ParallelBatch.Query<Location, Location>() {
+                    @Override
+                    public Location query(final Location location) throws IOException {
+                        return resolve(location);
+                    }
+                });
+        final AtomicReferenceArray<Location> from = new AtomicReferenceArray<Location>(origins.size());
+        for (int i = 0; i < origins.size(); i++)
+            from.set(i, resolved.get(origins.get(i)));
+        final AtomicReferenceArray<Location> to = new AtomicReferenceArray<Location>(destinations.size());
+        for (int i = 0; i < destinations.size(); i++)
+            to.set(i, resolved.get(destinations.get(i)));
+
+        final int numDestinations = destinations.size();
+        final long[][] durations = new long[origins.size()][numDestinations];
+        ParallelBatch.forEach(origins.size() * numDestinations, parallelism, new ParallelBatch.Task() {
+            @Override
+            public void run(final int index) throws IOException {
+                final int origin = index / numDestinations;
+                final int destination = index % numDestinations;
+                final long duration = duration(from, origin, to, destination, date, products);
+                durations[origin][destination] = duration;
+                if (listener != null)
+                    listener.onDuration(origin, destination, duration);
+            }
+        });
+        return durations;
+    }
+
+    private Location resolve(final Location location) throws IOException {
+        if (location.hasId() || location.hasLocation() || !location.hasName())
+            return location;
+        rateLimiter.acquire();
+        try {
+            final SuggestLocationsResult result = provider.suggestLocations(location.name);
+            if (result.status == SuggestLocationsResult.Status.OK) {
+                final List<Location> suggestions = result.getLocations();
+                if (!suggestions.isEmpty())
+                    return suggestions.get(0);
+            }
+        } catch (final InterruptedIOException x) {
+            throw x;
+        } catch (final IOException x) {
+            log.info("cannot resolve {}: {}", location, x.toString());
+        } catch (final RuntimeException x) {
+            log.info("cannot resolve {}: {}", location, x.toString());
+        }
+        return location;
+    }
+
+    private long duration(final AtomicReferenceArray<Location> from, final int origin,
+            final AtomicReferenceArray<Location> to, final int destination, final Date date,
+            final @Nullable Set<Product> products) throws IOException {
+        for (int tries = 2; tries > 0; tries--) {
+            final Location fromLocation = from.get(origin);
+            final Location toLocation = to.get(destination);
+            if (fromLocation.equals(toLocation))
+                return 0;
+
+            rateLimiter.acquire();
+            final QueryTripsResult result;
+            try {
+                result = provider.queryTrips(fromLocation, null, toLocation, date, true, products, null, null, null,
+                        null);
+            } catch (final InterruptedIOException x) {
+                throw x;
+            } catch (final IOException x) {
+                log.debug("cannot query trips from {} to {}: {}", fromLocation, toLocation, x.toString());
+                return UNKNOWN;
+            } catch (final RuntimeException x) {
+                log.info("cannot query trips from {} to {}: {}", fromLocation, toLocation, x.toString());
+                return UNKNOWN;
+            }
+
+            if (result.status == QueryTripsResult.Status.OK) {
+                long min = UNKNOWN;
+                for (final Trip trip : result.trips) {
+                    final long duration = trip.getDuration();
+                    if (min == UNKNOWN || duration < min)
+                        min = duration;
+                }
+                return min;
+            } else if (result.status == QueryTripsResult.Status.AMBIGUOUS) {
+                // settle on the first alternative, for all pairs sharing the location
+                replace(from, fromLocation, result.ambiguousFrom);
+                replace(to, toLocation, result.ambiguousTo);
+            } else {
+                return UNKNOWN;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static void replace(final AtomicReferenceArray<Location> locations, final Location location,
+            final @Nullable List<Location> alternatives) {
+        if (alternatives == null || alternatives.isEmpty())
+            return;
+        final Location alternative = alternatives.get(0);
+        for (int i = 0; i < locations.length(); i++)
+            locations.compareAndSet(i, location, alternative);
+    }
+}
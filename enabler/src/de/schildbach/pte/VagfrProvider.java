@@ -17,15 +17,11 @@
 
 package de.schildbach.pte;
 
-import java.util.HashMap;
-import java.util.Map;
 
 import javax.annotation.Nullable;
 
 import de.schildbach.pte.dto.Line;
 import de.schildbach.pte.dto.Product;
-import de.schildbach.pte.dto.Style;
-import de.schildbach.pte.dto.Style.Shape;
 
 /**
  * @author Andreas Schildbach
@@ -37,7 +33,7 @@ public class VagfrProvider extends AbstractEfaProvider {
         super(NetworkId.VAGFR, API_BASE);
 
         setUseRouteIndexAsTripId(false);
-        setStyles(STYLES);
+        setStylesResource("styles/vagfr.txt");
         setSessionCookieName("EFABWLB");
     }
 
@@ -52,19 +48,4 @@ public class VagfrProvider extends AbstractEfaProvider {
 
         return super.parseLine(id, network, mot, symbol, name, longName, trainType, trainNum, trainName);
     }
-
-    private static final Map<String, Style> STYLES = new HashMap<String, Style>();
-
-    static {
-        // Tram
-        STYLES.put("T1", new Style(Shape.RECT, Style.parseColor("#ed1c24"), Style.WHITE));
-        STYLES.put("T2", new Style(Shape.RECT, Style.parseColor("#33b540"), Style.WHITE));
-        STYLES.put("T3", new Style(Shape.RECT, Style.parseColor("#f79210"), Style.WHITE));
-        STYLES.put("T4", new Style(Shape.RECT, Style.parseColor("#ef58a1"), Style.WHITE));
-        STYLES.put("T5", new Style(Shape.RECT, Style.parseColor("#0994ce"), Style.WHITE));
-
-        // Nachtbus
-        STYLES.put("N46", new Style(Style.parseColor("#28bda5"), Style.WHITE));
-        STYLES.put("N47", new Style(Style.parseColor("#d6de20"), Style.WHITE));
-    }
 }
@@ -30,12 +30,10 @@ import java.util.Currency;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.regex.Matcher;
@@ -169,169 +167,10 @@ public class VrsProvider extends AbstractNetworkProvider {
     };
     protected static final Pattern nrwTarifPattern = Pattern.compile("([\\d]+,\\d\\d)");
 
-    protected static final Map<String, Style> STYLES = new HashMap<String, Style>();
-
-    static {
-        // Stadtbahn Köln-Bonn
-        STYLES.put("T1", new Style(Style.parseColor("#ed1c24"), Style.WHITE));
-        STYLES.put("T3", new Style(Style.parseColor("#f680c5"), Style.WHITE));
-        STYLES.put("T4", new Style(Style.parseColor("#f24dae"), Style.WHITE));
-        STYLES.put("T5", new Style(Style.parseColor("#9c8dce"), Style.WHITE));
-        STYLES.put("T7", new Style(Style.parseColor("#f57947"), Style.WHITE));
-        STYLES.put("T9", new Style(Style.parseColor("#f5777b"), Style.WHITE));
-        STYLES.put("T12", new Style(Style.parseColor("#80cc28"), Style.WHITE));
-        STYLES.put("T13", new Style(Style.parseColor("#9e7b65"), Style.WHITE));
-        STYLES.put("T15", new Style(Style.parseColor("#4dbd38"), Style.WHITE));
-        STYLES.put("T16", new Style(Style.parseColor("#33baab"), Style.WHITE));
-        STYLES.put("T18", new Style(Style.parseColor("#05a1e6"), Style.WHITE));
-        STYLES.put("T61", new Style(Style.parseColor("#80cc28"), Style.WHITE));
-        STYLES.put("T62", new Style(Style.parseColor("#4dbd38"), Style.WHITE));
-        STYLES.put("T63", new Style(Style.parseColor("#73d2f6"), Style.WHITE));
-        STYLES.put("T65", new Style(Style.parseColor("#b3db18"), Style.WHITE));
-        STYLES.put("T66", new Style(Style.parseColor("#ec008c"), Style.WHITE));
-        STYLES.put("T67", new Style(Style.parseColor("#f680c5"), Style.WHITE));
-        STYLES.put("T68", new Style(Style.parseColor("#ca93d0"), Style.WHITE));
-
-        // Busse Köln
-        STYLES.put("BSB40", new Style(Style.parseColor("#FF0000"), Style.WHITE));
-        STYLES.put("B106", new Style(Style.parseColor("#0994dd"), Style.WHITE));
-        STYLES.put("B120", new Style(Style.parseColor("#24C6E8"), Style.WHITE));
-        STYLES.put("B121", new Style(Style.parseColor("#89E82D"), Style.WHITE));
-        STYLES.put("B122", new Style(Style.parseColor("#4D44FF"), Style.WHITE));
-        STYLES.put("B125", new Style(Style.parseColor("#FF9A2E"), Style.WHITE));
-        STYLES.put("B126", new Style(Style.parseColor("#FF8EE5"), Style.WHITE));
-        STYLES.put("B127", new Style(Style.parseColor("#D164A4"), Style.WHITE));
-        STYLES.put("B130", new Style(Style.parseColor("#5AC0E8"), Style.WHITE));
-        STYLES.put("B131", new Style(Style.parseColor("#8cd024"), Style.WHITE));
-        STYLES.put("B132", new Style(Style.parseColor("#E8840C"), Style.WHITE));
-        STYLES.put("B133", new Style(Style.parseColor("#FF9EEE"), Style.WHITE));
-        STYLES.put("B135", new Style(Style.parseColor("#f24caf"), Style.WHITE));
-        STYLES.put("B136", new Style(Style.parseColor("#C96C44"), Style.WHITE));
-        STYLES.put("B138", new Style(Style.parseColor("#ef269d"), Style.WHITE));
-        STYLES.put("B139", new Style(Style.parseColor("#D13D1E"), Style.WHITE));
-        STYLES.put("B140", new Style(Style.parseColor("#FFD239"), Style.WHITE));
-        STYLES.put("B141", new Style(Style.parseColor("#2CE8D0"), Style.WHITE));
-        STYLES.put("B142", new Style(Style.parseColor("#9E54FF"), Style.WHITE));
-        STYLES.put("B143", new Style(Style.parseColor("#82E827"), Style.WHITE));
-        STYLES.put("B144", new Style(Style.parseColor("#FF8930"), Style.WHITE));
-        STYLES.put("B145", new Style(Style.parseColor("#24C6E8"), Style.WHITE));
-        STYLES.put("B146", new Style(Style.parseColor("#F25006"), Style.WHITE));
-        STYLES.put("B147", new Style(Style.parseColor("#FF8EE5"), Style.WHITE));
-        STYLES.put("B149", new Style(Style.parseColor("#176fc1"), Style.WHITE));
-        STYLES.put("B150", new Style(Style.parseColor("#f68712"), Style.WHITE));
-        STYLES.put("B151", new Style(Style.parseColor("#ECB43A"), Style.WHITE));
-        STYLES.put("B152", new Style(Style.parseColor("#FFDE44"), Style.WHITE));
-        STYLES.put("B153", new Style(Style.parseColor("#C069FF"), Style.WHITE));
-        STYLES.put("B154", new Style(Style.parseColor("#E85D25"), Style.WHITE));
-        STYLES.put("B155", new Style(Style.parseColor("#0994dd"), Style.WHITE));
-        STYLES.put("B156", new Style(Style.parseColor("#4B69EC"), Style.WHITE));
-        STYLES.put("B157", new Style(Style.parseColor("#5CC3F9"), Style.WHITE));
-        STYLES.put("B158", new Style(Style.parseColor("#66c530"), Style.WHITE));
-        STYLES.put("B159", new Style(Style.parseColor("#FF00CC"), Style.WHITE));
-        STYLES.put("B160", new Style(Style.parseColor("#66c530"), Style.WHITE));
-        STYLES.put("B161", new Style(Style.parseColor("#33bef3"), Style.WHITE));
-        STYLES.put("B162", new Style(Style.parseColor("#f033a3"), Style.WHITE));
-        STYLES.put("B163", new Style(Style.parseColor("#00adef"), Style.WHITE));
-        STYLES.put("B163/550", new Style(Style.parseColor("#00adef"), Style.WHITE));
-        STYLES.put("B164", new Style(Style.parseColor("#885bb4"), Style.WHITE));
-        STYLES.put("B164/501", new Style(Style.parseColor("#885bb4"), Style.WHITE));
-        STYLES.put("B165", new Style(Style.parseColor("#7b7979"), Style.WHITE));
-        STYLES.put("B166", new Style(Style.parseColor("#7b7979"), Style.WHITE));
-        STYLES.put("B167", new Style(Style.parseColor("#7b7979"), Style.WHITE));
-        STYLES.put("B180", new Style(Style.parseColor("#918f90"), Style.WHITE));
-        STYLES.put("B181", new Style(Style.parseColor("#918f90"), Style.WHITE));
-        STYLES.put("B182", new Style(Style.parseColor("#918f90"), Style.WHITE));
-        STYLES.put("B183", new Style(Style.parseColor("#918f90"), Style.WHITE));
-        STYLES.put("B184", new Style(Style.parseColor("#918f90"), Style.WHITE));
-        STYLES.put("B185", new Style(Style.parseColor("#D3D2D2"), Style.WHITE));
-        STYLES.put("B186", new Style(Style.parseColor("#D3D2D2"), Style.WHITE));
-        STYLES.put("B187", new Style(Style.parseColor("#D3D2D2"), Style.WHITE));
-        STYLES.put("B188", new Style(Style.parseColor("#918f90"), Style.WHITE));
-        STYLES.put("B190", new Style(Style.parseColor("#4D44FF"), Style.WHITE));
-        STYLES.put("B191", new Style(Style.parseColor("#00a998"), Style.WHITE));
-
-        // Busse Bonn
-        STYLES.put("B16", new Style(Style.parseColor("#33baab"), Style.WHITE));
-        STYLES.put("B18", new Style(Style.parseColor("#05a1e6"), Style.WHITE));
-        STYLES.put("B61", new Style(Style.parseColor("#80cc28"), Style.WHITE));
-        STYLES.put("B62", new Style(Style.parseColor("#4dbd38"), Style.WHITE));
-        STYLES.put("B63", new Style(Style.parseColor("#73d2f6"), Style.WHITE));
-        STYLES.put("B65", new Style(Style.parseColor("#b3db18"), Style.WHITE));
-        STYLES.put("B66", new Style(Style.parseColor("#ec008c"), Style.WHITE));
-        STYLES.put("B67", new Style(Style.parseColor("#f680c5"), Style.WHITE));
-        STYLES.put("B68", new Style(Style.parseColor("#ca93d0"), Style.WHITE));
-        STYLES.put("BSB55", new Style(Style.parseColor("#00919e"), Style.WHITE));
-        STYLES.put("BSB60", new Style(Style.parseColor("#8f9867"), Style.WHITE));
-        STYLES.put("BSB69", new Style(Style.parseColor("#db5f1f"), Style.WHITE));
-        STYLES.put("B529", new Style(Style.parseColor("#2e2383"), Style.WHITE));
-        STYLES.put("B537", new Style(Style.parseColor("#2e2383"), Style.WHITE));
-        STYLES.put("B541", new Style(Style.parseColor("#2e2383"), Style.WHITE));
-        STYLES.put("B551", new Style(Style.parseColor("#2e2383"), Style.WHITE));
-        STYLES.put("B600", new Style(Style.parseColor("#817db7"), Style.WHITE));
-        STYLES.put("B601", new Style(Style.parseColor("#831b82"), Style.WHITE));
-        STYLES.put("B602", new Style(Style.parseColor("#dd6ba6"), Style.WHITE));
-        STYLES.put("B603", new Style(Style.parseColor("#e6007d"), Style.WHITE));
-        STYLES.put("B604", new Style(Style.parseColor("#009f5d"), Style.WHITE));
-        STYLES.put("B605", new Style(Style.parseColor("#007b3b"), Style.WHITE));
-        STYLES.put("B606", new Style(Style.parseColor("#9cbf11"), Style.WHITE));
-        STYLES.put("B607", new Style(Style.parseColor("#60ad2a"), Style.WHITE));
-        STYLES.put("B608", new Style(Style.parseColor("#f8a600"), Style.WHITE));
-        STYLES.put("B609", new Style(Style.parseColor("#ef7100"), Style.WHITE));
-        STYLES.put("B610", new Style(Style.parseColor("#3ec1f1"), Style.WHITE));
-        STYLES.put("B611", new Style(Style.parseColor("#0099db"), Style.WHITE));
-        STYLES.put("B612", new Style(Style.parseColor("#ce9d53"), Style.WHITE));
-        STYLES.put("B613", new Style(Style.parseColor("#7b3600"), Style.WHITE));
-        STYLES.put("B614", new Style(Style.parseColor("#806839"), Style.WHITE));
-        STYLES.put("B615", new Style(Style.parseColor("#532700"), Style.WHITE));
-        STYLES.put("B630", new Style(Style.parseColor("#c41950"), Style.WHITE));
-        STYLES.put("B631", new Style(Style.parseColor("#9b1c44"), Style.WHITE));
-        STYLES.put("B633", new Style(Style.parseColor("#88cdc7"), Style.WHITE));
-        STYLES.put("B635", new Style(Style.parseColor("#cec800"), Style.WHITE));
-        STYLES.put("B636", new Style(Style.parseColor("#af0223"), Style.WHITE));
-        STYLES.put("B637", new Style(Style.parseColor("#e3572a"), Style.WHITE));
-        STYLES.put("B638", new Style(Style.parseColor("#af5836"), Style.WHITE));
-        STYLES.put("B640", new Style(Style.parseColor("#004f81"), Style.WHITE));
-        STYLES.put("BT650", new Style(Style.parseColor("#54baa2"), Style.WHITE));
-        STYLES.put("BT651", new Style(Style.parseColor("#005738"), Style.WHITE));
-        STYLES.put("BT680", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-        STYLES.put("B800", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-        STYLES.put("B812", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-        STYLES.put("B843", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-        STYLES.put("B845", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-        STYLES.put("B852", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-        STYLES.put("B855", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-        STYLES.put("B856", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-        STYLES.put("B857", new Style(Style.parseColor("#4e6578"), Style.WHITE));
-
-        // andere Busse
-        STYLES.put("B250", new Style(Style.parseColor("#8FE84B"), Style.WHITE));
-        STYLES.put("B260", new Style(Style.parseColor("#FF8365"), Style.WHITE));
-        STYLES.put("B423", new Style(Style.parseColor("#D3D2D2"), Style.WHITE));
-        STYLES.put("B434", new Style(Style.parseColor("#14E80B"), Style.WHITE));
-        STYLES.put("B436", new Style(Style.parseColor("#BEEC49"), Style.WHITE));
-        STYLES.put("B481", new Style(Style.parseColor("#D3D2D2"), Style.WHITE));
-        STYLES.put("B504", new Style(Style.parseColor("#8cd024"), Style.WHITE));
-        STYLES.put("B505", new Style(Style.parseColor("#0994dd"), Style.WHITE));
-        STYLES.put("B885", new Style(Style.parseColor("#40bb6a"), Style.WHITE));
-        STYLES.put("B935", new Style(Style.parseColor("#bf7e71"), Style.WHITE));
-        STYLES.put("B961", new Style(Style.parseColor("#f140a9"), Style.WHITE));
-        STYLES.put("B962", new Style(Style.parseColor("#9c83c9"), Style.WHITE));
-        STYLES.put("B963", new Style(Style.parseColor("#f46c68"), Style.WHITE));
-        STYLES.put("B965", new Style(Style.parseColor("#FF0000"), Style.WHITE));
-        STYLES.put("B970", new Style(Style.parseColor("#f68712"), Style.WHITE));
-        STYLES.put("B980", new Style(Style.parseColor("#c38bcc"), Style.WHITE));
-
-        STYLES.put("BN", new Style(Style.parseColor("#000000"), Style.WHITE));
-        STYLES.put("BNE1", new Style(Style.parseColor("#993399"), Style.WHITE)); // default
-
-        STYLES.put("S", new Style(Style.parseColor("#f18e00"), Style.WHITE));
-        STYLES.put("R", new Style(Style.parseColor("#009d81"), Style.WHITE));
-    }
-
     public VrsProvider() {
         super(NetworkId.VRS);
 
-        setStyles(STYLES);
+        setStylesResource("styles/vrs.txt");
     }
 
     @Override
@@ -350,6 +189,14 @@ public class VrsProvider extends AbstractNetworkProvider {
         }
     }
 
+    @Override
+    protected int nearbyLocationsLimit(final Location location, final int maxLocations) {
+        // without a count, the server applies a default of its own
+        if (!location.hasLocation() || maxLocations <= 0)
+            return 0;
+        return Math.min(16, maxLocations);
+    }
+
     // only stations supported
     @Override
     public NearbyLocationsResult queryNearbyLocations(EnumSet<LocationType> types /* only STATION supported */,
@@ -483,8 +330,8 @@ public class VrsProvider extends AbstractNetworkProvider {
                         // A
                         position = new Position(positionStr.substring(positionStr.lastIndexOf(' ') + 1));
                     }
-                    final Location destination = new Location(LocationType.STATION, null /* id */, null /* place */,
-                            lineObj.getString("direction"));
+                    final Location destination = intern(new Location(LocationType.STATION, null /* id */,
+                            null /* place */, lineObj.getString("direction")));
 
                     final LineDestination lineDestination = new LineDestination(line, destination);
                     if (!lines.contains(lineDestination)) {
@@ -972,7 +819,7 @@ public class VrsProvider extends AbstractNetworkProvider {
         final String number = processLineNumber(line.getString("number"));
         final Product productObj = parseProduct(line.getString("product"), number);
         final Style style = lineStyle("vrs", productObj, number);
-        return new Line(null /* id */, NetworkId.VRS.toString(), productObj, number, style);
+        return intern(new Line(null /* id */, NetworkId.VRS.toString(), productObj, number, style));
     }
 
     private static String processLineNumber(final String number) {
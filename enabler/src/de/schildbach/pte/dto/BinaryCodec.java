@@ -0,0 +1,1005 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Equivalence.Wrapper;
+import com.google.common.collect.ImmutableSet;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.util.InternPool;
+
+/**
+ * Compact binary encoding of result objects and locations, as an alternative to Java serialization for caching
+ * results and passing them between processes.
+ * 
+ * <p>
+ * A message starts with a magic number, the format version and the type of the encoded object. Numbers are written
+ * as variable length integers. Strings, locations, lines and styles are written in full on first occurrence and
+ * referenced by index afterwards. Times are written relative to the previously written time, in seconds where
+ * possible. Paths are written as coordinate deltas. Provider specific context objects are embedded using Java
+ * serialization, unless left out when encoding. When decoding, only classes of this library and the basic types and
+ * collections of {@code java.lang} and {@code java.util} they are made of are accepted, so a message can't
+ * instantiate arbitrary classes.
+ * </p>
+ * 
+ * <p>
+ * Decoding rejects messages of other versions, so encoded messages should be dropped on upgrade.
+ * </p>
+ * 
+ * @author Andreas Schildbach
+ */
+public final class BinaryCodec {
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x5054;
+
+    private static final int TYPE_QUERY_TRIPS_RESULT = 1;
+    private static final int TYPE_QUERY_DEPARTURES_RESULT = 2;
+    private static final int TYPE_NEARBY_LOCATIONS_RESULT = 3;
+    private static final int TYPE_SUGGEST_LOCATIONS_RESULT = 4;
+    private static final int TYPE_TRIP = 5;
+    private static final int TYPE_LOCATION = 6;
+
+    private static final int LEG_PUBLIC = 0;
+    private static final int LEG_INDIVIDUAL = 1;
+
+    public static byte[] encode(final QueryTripsResult result) {
+        return encode(result, true);
+    }
+
+    /**
+     * @param withContexts
+     *            whether to embed the provider specific context objects, which may hold upstream session state; if
+     *            not, they decode as {@code null}
+     */
+    public static byte[] encode(final QueryTripsResult result, final boolean withContexts) {
+        final Writer writer = new Writer(TYPE_QUERY_TRIPS_RESULT, withContexts);
+        writer.writeQueryTripsResult(result);
+        return writer.toByteArray();
+    }
+
+    public static byte[] encode(final QueryDeparturesResult result) {
+        return encode(result, true);
+    }
+
+    public static byte[] encode(final QueryDeparturesResult result, final boolean withContexts) {
+        final Writer writer = new Writer(TYPE_QUERY_DEPARTURES_RESULT, withContexts);
+        writer.writeQueryDeparturesResult(result);
+        return writer.toByteArray();
+    }
+
+    public static byte[] encode(final NearbyLocationsResult result) {
+        return encode(result, true);
+    }
+
+    public static byte[] encode(final NearbyLocationsResult result, final boolean withContexts) {
+        final Writer writer = new Writer(TYPE_NEARBY_LOCATIONS_RESULT, withContexts);
+        writer.writeNearbyLocationsResult(result);
+        return writer.toByteArray();
+    }
+
+    public static byte[] encode(final SuggestLocationsResult result) {
+        return encode(result, true);
+    }
+
+    public static byte[] encode(final SuggestLocationsResult result, final boolean withContexts) {
+        final Writer writer = new Writer(TYPE_SUGGEST_LOCATIONS_RESULT, withContexts);
+        writer.writeSuggestLocationsResult(result);
+        return writer.toByteArray();
+    }
+
+    public static byte[] encode(final Trip trip) {
+        final Writer writer = new Writer(TYPE_TRIP, true);
+        writer.writeTrip(trip);
+        return writer.toByteArray();
+    }
+
+    public static byte[] encode(final Location location) {
+        final Writer writer = new Writer(TYPE_LOCATION, true);
+        writer.writeLocation(location);
+        return writer.toByteArray();
+    }
+
+    public static QueryTripsResult decodeQueryTripsResult(final byte[] message) throws IOException {
+        return new Reader(message, TYPE_QUERY_TRIPS_RESULT).readQueryTripsResult();
+    }
+
+    public static QueryDeparturesResult decodeQueryDeparturesResult(final byte[] message) throws IOException {
+        return new Reader(message, TYPE_QUERY_DEPARTURES_RESULT).readQueryDeparturesResult();
+    }
+
+    public static NearbyLocationsResult decodeNearbyLocationsResult(final byte[] message) throws IOException {
+        return new Reader(message, TYPE_NEARBY_LOCATIONS_RESULT).readNearbyLocationsResult();
+    }
+
+    public static SuggestLocationsResult decodeSuggestLocationsResult(final byte[] message) throws IOException {
+        return new Reader(message, TYPE_SUGGEST_LOCATIONS_RESULT).readSuggestLocationsResult();
+    }
+
+    public static Trip decodeTrip(final byte[] message) throws IOException {
+        return new Reader(message, TYPE_TRIP).readTrip();
+    }
+
+    public static Location decodeLocation(final byte[] message) throws IOException {
+        return new Reader(message, TYPE_LOCATION).readLocation();
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[1024];
+        private int size = 0;
+        private long lastTime = 0;
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+        private final Map<Wrapper<Location>, Integer> locations = new HashMap<Wrapper<Location>, Integer>();
+        private final Map<Wrapper<Line>, Integer> lines = new HashMap<Wrapper<Line>, Integer>();
+        private final Map<Wrapper<Style>, Integer> styles = new HashMap<Wrapper<Style>, Integer>();
+        private final boolean withContexts;
+
+        public Writer(final int type, final boolean withContexts) {
+            this.withContexts = withContexts;
+            writeVarInt(MAGIC);
+            writeVarInt(VERSION);
+            writeVarInt(type);
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        public void writeQueryTripsResult(final QueryTripsResult result) {
+            writeHeader(result.header);
+            writeEnum(result.status);
+            if (result.status == QueryTripsResult.Status.OK) {
+                writeString(result.queryUri);
+                writeLocation(result.from);
+                writeLocation(result.via);
+                writeLocation(result.to);
+                writeSerializable(withContexts ? result.context : null);
+                writeVarInt(result.trips.size());
+                for (final Trip trip : result.trips)
+                    writeTrip(trip);
+            } else if (result.status == QueryTripsResult.Status.AMBIGUOUS) {
+                writeLocations(result.ambiguousFrom);
+                writeLocations(result.ambiguousVia);
+                writeLocations(result.ambiguousTo);
+            }
+        }
+
+        public void writeQueryDeparturesResult(final QueryDeparturesResult result) {
+            writeHeader(result.header);
+            writeEnum(result.status);
+            writeVarInt(result.stationDepartures.size());
+            for (final StationDepartures stationDepartures : result.stationDepartures) {
+                writeLocation(stationDepartures.location);
+                writeVarInt(stationDepartures.departures.size());
+                for (final Departure departure : stationDepartures.departures)
+                    writeDeparture(departure);
+                final List<LineDestination> lines = stationDepartures.lines;
+                writeLength(lines);
+                if (lines != null) {
+                    for (final LineDestination line : lines) {
+                        writeLine(line.line);
+                        writeLocation(line.destination);
+                    }
+                }
+            }
+        }
+
+        public void writeNearbyLocationsResult(final NearbyLocationsResult result) {
+            writeHeader(result.header);
+            writeEnum(result.status);
+            if (result.status == NearbyLocationsResult.Status.OK)
+                writeLocations(result.locations);
+        }
+
+        public void writeSuggestLocationsResult(final SuggestLocationsResult result) {
+            writeHeader(result.header);
+            writeEnum(result.status);
+            if (result.status == SuggestLocationsResult.Status.OK) {
+                final List<SuggestedLocation> suggestedLocations = result.suggestedLocations();
+                writeVarInt(suggestedLocations.size());
+                for (final SuggestedLocation suggestedLocation : suggestedLocations) {
+                    writeLocation(suggestedLocation.location);
+                    writeSignedVarInt(suggestedLocation.priority);
+                }
+            }
+        }
+
+        private void writeHeader(final @Nullable ResultHeader header) {
+            if (header == null) {
+                writeString(null);
+            } else {
+                writeString(header.network.name());
+                writeString(header.serverProduct);
+                writeString(header.serverVersion);
+                writeSignedVarLong(header.serverTime);
+                writeSerializable(withContexts ? header.context : null);
+            }
+        }
+
+        public void writeTrip(final Trip trip) {
+            writeString(trip.providedId());
+            writeLocation(trip.from);
+            writeLocation(trip.to);
+            writeVarInt(trip.legs.size());
+            for (final Trip.Leg leg : trip.legs)
+                writeLeg(leg);
+            writeLength(trip.fares);
+            if (trip.fares != null) {
+                for (final Fare fare : trip.fares) {
+                    writeString(fare.network);
+                    writeEnum(fare.type);
+                    writeString(fare.currency.getCurrencyCode());
+                    writeFixedInt(Float.floatToIntBits(fare.fare));
+                    writeString(fare.unitName);
+                    writeString(fare.units);
+                }
+            }
+            writeIntArray(trip.capacity);
+            writeVarInt(trip.numChanges != null ? trip.numChanges + 1 : 0);
+        }
+
+        private void writeLeg(final Trip.Leg leg) {
+            if (leg instanceof Trip.Public) {
+                final Trip.Public publicLeg = (Trip.Public) leg;
+                writeVarInt(LEG_PUBLIC);
+                writeLine(publicLeg.line);
+                writeLocation(publicLeg.destination);
+                writeStop(publicLeg.departureStop);
+                writeStop(publicLeg.arrivalStop);
+                final List<Stop> intermediateStops = publicLeg.intermediateStops;
+                writeLength(intermediateStops);
+                if (intermediateStops != null)
+                    for (final Stop stop : intermediateStops)
+                        writeStop(stop);
+                writeString(publicLeg.message);
+            } else if (leg instanceof Trip.Individual) {
+                final Trip.Individual individualLeg = (Trip.Individual) leg;
+                writeVarInt(LEG_INDIVIDUAL);
+                writeEnum(individualLeg.type);
+                writeLocation(individualLeg.departure);
+                writeDate(individualLeg.departureTime);
+                writeLocation(individualLeg.arrival);
+                writeDate(individualLeg.arrivalTime);
+                writeSignedVarInt(individualLeg.distance);
+            } else {
+                throw new IllegalArgumentException("cannot encode leg: " + leg.getClass());
+            }
+            writePath(leg.path);
+        }
+
+        private void writeStop(final Stop stop) {
+            writeLocation(stop.location);
+            writeDate(stop.plannedArrivalTime);
+            writeDate(stop.predictedArrivalTime);
+            writePosition(stop.plannedArrivalPosition);
+            writePosition(stop.predictedArrivalPosition);
+            writeDate(stop.plannedDepartureTime);
+            writeDate(stop.predictedDepartureTime);
+            writePosition(stop.plannedDeparturePosition);
+            writePosition(stop.predictedDeparturePosition);
+            writeVarInt((stop.arrivalCancelled ? 1 : 0) | (stop.departureCancelled ? 2 : 0));
+        }
+
+        private void writeDeparture(final Departure departure) {
+            writeDate(departure.plannedTime);
+            writeDate(departure.predictedTime);
+            writeLine(departure.line);
+            writePosition(departure.position);
+            writeLocation(departure.destination);
+            writeIntArray(departure.capacity);
+            writeString(departure.message);
+        }
+
+        private void writeLocations(final @Nullable List<Location> locations) {
+            writeLength(locations);
+            if (locations != null)
+                for (final Location location : locations)
+                    writeLocation(location);
+        }
+
+        public void writeLocation(final @Nullable Location location) {
+            if (location == null) {
+                writeVarInt(0);
+                return;
+            }
+            final Wrapper<Location> key = InternPool.LOCATION_EQUIVALENCE.wrap(location);
+            final Integer index = locations.get(key);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            locations.put(key, locations.size());
+            writeVarInt(1);
+            writeEnum(location.type);
+            writeString(location.id);
+            writeSignedVarInt(location.lat);
+            writeSignedVarInt(location.lon);
+            writeString(location.place);
+            writeString(location.name);
+            writeString(location.products != null ? new String(Product.toCodes(location.products)) : null);
+        }
+
+        private void writeLine(final @Nullable Line line) {
+            if (line == null) {
+                writeVarInt(0);
+                return;
+            }
+            final Wrapper<Line> key = InternPool.LINE_EQUIVALENCE.wrap(line);
+            final Integer index = lines.get(key);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            lines.put(key, lines.size());
+            writeVarInt(1);
+            writeString(line.id);
+            writeString(line.network);
+            writeString(line.product != null ? String.valueOf(line.product.code) : null);
+            writeString(line.label);
+            writeString(line.name);
+            writeStyle(line.style);
+            final Set<Line.Attr> attrs = line.attrs;
+            writeLength(attrs);
+            if (attrs != null)
+                for (final Line.Attr attr : attrs)
+                    writeEnum(attr);
+            writeString(line.message);
+        }
+
+        private void writeStyle(final @Nullable Style style) {
+            if (style == null) {
+                writeVarInt(0);
+                return;
+            }
+            final Wrapper<Style> key = InternPool.STYLE_EQUIVALENCE.wrap(style);
+            final Integer index = styles.get(key);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            styles.put(key, styles.size());
+            writeVarInt(1);
+            writeEnum(style.shape);
+            writeFixedInt(style.backgroundColor);
+            writeFixedInt(style.backgroundColor2);
+            writeFixedInt(style.foregroundColor);
+            writeFixedInt(style.borderColor);
+        }
+
+        private void writePosition(final @Nullable Position position) {
+            if (position == null) {
+                writeString(null);
+            } else {
+                writeString(position.name);
+                writeString(position.section);
+            }
+        }
+
+        private void writePath(final @Nullable List<Point> path) {
+            writeLength(path);
+            if (path == null)
+                return;
+            int lat = 0, lon = 0;
+            if (path instanceof Polyline) {
+                final Polyline polyline = (Polyline) path;
+                for (int i = 0; i < polyline.size(); i++) {
+                    writeSignedVarInt(polyline.getLat(i) - lat);
+                    writeSignedVarInt(polyline.getLon(i) - lon);
+                    lat = polyline.getLat(i);
+                    lon = polyline.getLon(i);
+                }
+            } else {
+                for (final Point point : path) {
+                    writeSignedVarInt(point.lat - lat);
+                    writeSignedVarInt(point.lon - lon);
+                    lat = point.lat;
+                    lon = point.lon;
+                }
+            }
+        }
+
+        private void writeDate(final @Nullable Date date) {
+            if (date == null) {
+                writeVarLong(0);
+                return;
+            }
+            final long time = date.getTime();
+            final long delta = time - lastTime;
+            lastTime = time;
+            if (delta % 1000 == 0)
+                writeVarLong((zigZag(delta / 1000) << 1) + 1);
+            else
+                writeVarLong((zigZag(delta) << 1) + 2);
+        }
+
+        private void writeIntArray(final @Nullable int[] values) {
+            if (values == null) {
+                writeVarInt(0);
+            } else {
+                writeVarInt(values.length + 1);
+                for (final int value : values)
+                    writeSignedVarInt(value);
+            }
+        }
+
+        private void writeEnum(final Enum<?> value) {
+            writeString(value.name());
+        }
+
+        private void writeString(final @Nullable String string) {
+            if (string == null) {
+                writeVarInt(0);
+                return;
+            }
+            final Integer index = strings.get(string);
+            if (index != null) {
+                writeVarInt(index + 2);
+                return;
+            }
+            strings.put(string, strings.size());
+            writeVarInt(1);
+            final byte[] bytes = string.getBytes(Charsets.UTF_8);
+            writeVarInt(bytes.length);
+            writeBytes(bytes);
+        }
+
+        private void writeSerializable(final @Nullable Object object) {
+            if (object == null) {
+                writeVarInt(0);
+                return;
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try {
+                final ObjectOutputStream os = new ObjectOutputStream(bytes);
+                os.writeObject(object);
+                os.close();
+            } catch (final IOException x) {
+                throw new IllegalArgumentException("cannot serialize: " + object.getClass(), x);
+            }
+            writeVarInt(bytes.size() + 1);
+            writeBytes(bytes.toByteArray());
+        }
+
+        private void writeLength(final @Nullable Collection<?> collection) {
+            writeVarInt(collection != null ? collection.size() + 1 : 0);
+        }
+
+        private void writeSignedVarInt(final int value) {
+            writeVarLong(zigZag(value));
+        }
+
+        private void writeSignedVarLong(final long value) {
+            writeVarLong(zigZag(value));
+        }
+
+        private void writeVarInt(final int value) {
+            writeVarLong(value & 0xffffffffL);
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7fL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeFixedInt(final int value) {
+            ensureCapacity(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        private void writeBytes(final byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void ensureCapacity(final int additional) {
+            if (size + additional > buffer.length)
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+
+        private static long zigZag(final long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] message;
+        private int pos = 0;
+        private long lastTime = 0;
+        private final List<String> strings = new ArrayList<String>();
+        private final List<Location> locations = new ArrayList<Location>();
+        private final List<Line> lines = new ArrayList<Line>();
+        private final List<Style> styles = new ArrayList<Style>();
+
+        public Reader(final byte[] message, final int type) throws IOException {
+            this.message = message;
+            if (readVarInt() != MAGIC)
+                throw new IOException("not an encoded message");
+            final int version = readVarInt();
+            if (version != VERSION)
+                throw new IOException("unsupported version: " + version);
+            final int messageType = readVarInt();
+            if (messageType != type)
+                throw new IOException("unexpected message type: " + messageType);
+        }
+
+        public QueryTripsResult readQueryTripsResult() throws IOException {
+            final ResultHeader header = readHeader();
+            final QueryTripsResult.Status status = readEnum(QueryTripsResult.Status.class);
+            if (status == QueryTripsResult.Status.OK) {
+                final String queryUri = readString();
+                final Location from = readLocation();
+                final Location via = readLocation();
+                final Location to = readLocation();
+                final QueryTripsContext context = (QueryTripsContext) readSerializable();
+                final int numTrips = readCount();
+                final List<Trip> trips = new ArrayList<Trip>(numTrips);
+                for (int i = 0; i < numTrips; i++)
+                    trips.add(readTrip());
+                return new QueryTripsResult(header, queryUri, from, via, to, context, trips);
+            } else if (status == QueryTripsResult.Status.AMBIGUOUS) {
+                final List<Location> ambiguousFrom = readLocations();
+                final List<Location> ambiguousVia = readLocations();
+                final List<Location> ambiguousTo = readLocations();
+                return new QueryTripsResult(header, ambiguousFrom, ambiguousVia, ambiguousTo);
+            } else {
+                return new QueryTripsResult(header, status);
+            }
+        }
+
+        public QueryDeparturesResult readQueryDeparturesResult() throws IOException {
+            final ResultHeader header = readHeader();
+            final QueryDeparturesResult.Status status = readEnum(QueryDeparturesResult.Status.class);
+            final QueryDeparturesResult result = new QueryDeparturesResult(header, status);
+            final int numStationDepartures = readCount();
+            for (int i = 0; i < numStationDepartures; i++) {
+                final Location location = readLocation();
+                final int numDepartures = readCount();
+                final List<Departure> departures = new ArrayList<Departure>(numDepartures);
+                for (int j = 0; j < numDepartures; j++)
+                    departures.add(readDeparture());
+                final int numLines = readLength();
+                final List<LineDestination> lines;
+                if (numLines >= 0) {
+                    lines = new ArrayList<LineDestination>(numLines);
+                    for (int j = 0; j < numLines; j++) {
+                        final Line line = readLine();
+                        lines.add(new LineDestination(line, readLocation()));
+                    }
+                } else {
+                    lines = null;
+                }
+                result.stationDepartures.add(new StationDepartures(location, departures, lines));
+            }
+            return result;
+        }
+
+        public NearbyLocationsResult readNearbyLocationsResult() throws IOException {
+            final ResultHeader header = readHeader();
+            final NearbyLocationsResult.Status status = readEnum(NearbyLocationsResult.Status.class);
+            if (status == NearbyLocationsResult.Status.OK)
+                return new NearbyLocationsResult(header, readLocations());
+            else
+                return new NearbyLocationsResult(header, status);
+        }
+
+        public SuggestLocationsResult readSuggestLocationsResult() throws IOException {
+            final ResultHeader header = readHeader();
+            final SuggestLocationsResult.Status status = readEnum(SuggestLocationsResult.Status.class);
+            if (status == SuggestLocationsResult.Status.OK) {
+                final int numSuggestedLocations = readCount();
+                final List<SuggestedLocation> suggestedLocations = new ArrayList<SuggestedLocation>(
+                        numSuggestedLocations);
+                for (int i = 0; i < numSuggestedLocations; i++) {
+                    final Location location = readLocation();
+                    suggestedLocations.add(new SuggestedLocation(location, readSignedVarInt()));
+                }
+                return new SuggestLocationsResult(header, suggestedLocations);
+            } else {
+                return new SuggestLocationsResult(header, status);
+            }
+        }
+
+        private @Nullable ResultHeader readHeader() throws IOException {
+            final String network = readString();
+            if (network == null)
+                return null;
+            final String serverProduct = readString();
+            final String serverVersion = readString();
+            final long serverTime = readSignedVarLong();
+            final Object context = readSerializable();
+            return new ResultHeader(valueOf(NetworkId.class, network), serverProduct, serverVersion, serverTime,
+                    context);
+        }
+
+        public Trip readTrip() throws IOException {
+            final String id = readString();
+            final Location from = readLocation();
+            final Location to = readLocation();
+            final int numLegs = readCount();
+            final List<Trip.Leg> legs = new ArrayList<Trip.Leg>(numLegs);
+            for (int i = 0; i < numLegs; i++)
+                legs.add(readLeg());
+            final int numFares = readLength();
+            final List<Fare> fares;
+            if (numFares >= 0) {
+                fares = new ArrayList<Fare>(numFares);
+                for (int i = 0; i < numFares; i++) {
+                    final String network = readString();
+                    final Fare.Type type = readEnum(Fare.Type.class);
+                    final Currency currency = Currency.getInstance(readString());
+                    final float fare = Float.intBitsToFloat(readFixedInt());
+                    final String unitName = readString();
+                    fares.add(new Fare(network, type, currency, fare, unitName, readString()));
+                }
+            } else {
+                fares = null;
+            }
+            final int[] capacity = readIntArray();
+            final int numChanges = readVarInt();
+            return new Trip(id, from, to, legs, fares, capacity, numChanges > 0 ? numChanges - 1 : null);
+        }
+
+        private Trip.Leg readLeg() throws IOException {
+            final int legType = readVarInt();
+            if (legType == LEG_PUBLIC) {
+                final Line line = readLine();
+                final Location destination = readLocation();
+                final Stop departureStop = readStop();
+                final Stop arrivalStop = readStop();
+                final int numIntermediateStops = readLength();
+                final List<Stop> intermediateStops;
+                if (numIntermediateStops >= 0) {
+                    intermediateStops = new ArrayList<Stop>(numIntermediateStops);
+                    for (int i = 0; i < numIntermediateStops; i++)
+                        intermediateStops.add(readStop());
+                } else {
+                    intermediateStops = null;
+                }
+                final String message = readString();
+                return new Trip.Public(line, destination, departureStop, arrivalStop, intermediateStops, readPath(),
+                        message);
+            } else if (legType == LEG_INDIVIDUAL) {
+                final Trip.Individual.Type type = readEnum(Trip.Individual.Type.class);
+                final Location departure = readLocation();
+                final Date departureTime = readDate();
+                final Location arrival = readLocation();
+                final Date arrivalTime = readDate();
+                final int distance = readSignedVarInt();
+                return new Trip.Individual(type, departure, departureTime, arrival, arrivalTime, readPath(),
+                        distance);
+            } else {
+                throw new IOException("unknown leg type: " + legType);
+            }
+        }
+
+        private Stop readStop() throws IOException {
+            final Location location = readLocation();
+            final Date plannedArrivalTime = readDate();
+            final Date predictedArrivalTime = readDate();
+            final Position plannedArrivalPosition = readPosition();
+            final Position predictedArrivalPosition = readPosition();
+            final Date plannedDepartureTime = readDate();
+            final Date predictedDepartureTime = readDate();
+            final Position plannedDeparturePosition = readPosition();
+            final Position predictedDeparturePosition = readPosition();
+            final int cancelled = readVarInt();
+            return new Stop(location, plannedArrivalTime, predictedArrivalTime, plannedArrivalPosition,
+                    predictedArrivalPosition, (cancelled & 1) != 0, plannedDepartureTime, predictedDepartureTime,
+                    plannedDeparturePosition, predictedDeparturePosition, (cancelled & 2) != 0);
+        }
+
+        private Departure readDeparture() throws IOException {
+            final Date plannedTime = readDate();
+            final Date predictedTime = readDate();
+            final Line line = readLine();
+            final Position position = readPosition();
+            final Location destination = readLocation();
+            final int[] capacity = readIntArray();
+            return new Departure(plannedTime, predictedTime, line, position, destination, capacity, readString());
+        }
+
+        private @Nullable List<Location> readLocations() throws IOException {
+            final int numLocations = readLength();
+            if (numLocations < 0)
+                return null;
+            final List<Location> locations = new ArrayList<Location>(numLocations);
+            for (int i = 0; i < numLocations; i++)
+                locations.add(readLocation());
+            return locations;
+        }
+
+        public @Nullable Location readLocation() throws IOException {
+            final int ref = readVarInt();
+            if (ref == 0)
+                return null;
+            if (ref > 1)
+                return get(locations, ref - 2);
+            final LocationType type = readEnum(LocationType.class);
+            final String id = readString();
+            final int lat = readSignedVarInt();
+            final int lon = readSignedVarInt();
+            final String place = readString();
+            final String name = readString();
+            final String products = readString();
+            final Location location = new Location(type, id, lat, lon, place, name,
+                    products != null ? Product.fromCodes(products.toCharArray()) : null);
+            locations.add(location);
+            return location;
+        }
+
+        private @Nullable Line readLine() throws IOException {
+            final int ref = readVarInt();
+            if (ref == 0)
+                return null;
+            if (ref > 1)
+                return get(lines, ref - 2);
+            final String id = readString();
+            final String network = readString();
+            final String product = readString();
+            final String label = readString();
+            final String name = readString();
+            final Style style = readStyle();
+            final int numAttrs = readLength();
+            final Set<Line.Attr> attrs;
+            if (numAttrs >= 0) {
+                attrs = EnumSet.noneOf(Line.Attr.class);
+                for (int i = 0; i < numAttrs; i++)
+                    attrs.add(readEnum(Line.Attr.class));
+            } else {
+                attrs = null;
+            }
+            final String message = readString();
+            final Line line = new Line(id, network, product != null ? Product.fromCode(product.charAt(0)) : null,
+                    label, name, style, attrs, message);
+            lines.add(line);
+            return line;
+        }
+
+        private @Nullable Style readStyle() throws IOException {
+            final int ref = readVarInt();
+            if (ref == 0)
+                return null;
+            if (ref > 1)
+                return get(styles, ref - 2);
+            final Style.Shape shape = readEnum(Style.Shape.class);
+            final int backgroundColor = readFixedInt();
+            final int backgroundColor2 = readFixedInt();
+            final int foregroundColor = readFixedInt();
+            final Style style = new Style(shape, backgroundColor, backgroundColor2, foregroundColor, readFixedInt());
+            styles.add(style);
+            return style;
+        }
+
+        private @Nullable Position readPosition() throws IOException {
+            final String name = readString();
+            if (name == null)
+                return null;
+            return new Position(name, readString());
+        }
+
+        private @Nullable List<Point> readPath() throws IOException {
+            final int numPoints = readLength();
+            if (numPoints < 0)
+                return null;
+            final Polyline path = new Polyline(numPoints);
+            int lat = 0, lon = 0;
+            for (int i = 0; i < numPoints; i++) {
+                lat += readSignedVarInt();
+                lon += readSignedVarInt();
+                path.add(lat, lon);
+            }
+            return path;
+        }
+
+        private @Nullable Date readDate() throws IOException {
+            final long value = readVarLong();
+            if (value == 0)
+                return null;
+            final long delta;
+            if ((value & 1) != 0)
+                delta = unZigZag((value - 1) >>> 1) * 1000;
+            else
+                delta = unZigZag((value - 2) >>> 1);
+            lastTime += delta;
+            return new Date(lastTime);
+        }
+
+        private @Nullable int[] readIntArray() throws IOException {
+            final int length = readLength();
+            if (length < 0)
+                return null;
+            final int[] values = new int[length];
+            for (int i = 0; i < length; i++)
+                values[i] = readSignedVarInt();
+            return values;
+        }
+
+        private <E extends Enum<E>> E readEnum(final Class<E> enumType) throws IOException {
+            return valueOf(enumType, readString());
+        }
+
+        private static <E extends Enum<E>> E valueOf(final Class<E> enumType, final @Nullable String name)
+                throws IOException {
+            if (name == null)
+                throw new IOException("missing " + enumType.getSimpleName());
+            try {
+                return Enum.valueOf(enumType, name);
+            } catch (final IllegalArgumentException x) {
+                throw new IOException("unknown " + enumType.getSimpleName() + ": " + name);
+            }
+        }
+
+        private @Nullable String readString() throws IOException {
+            final int ref = readVarInt();
+            if (ref == 0)
+                return null;
+            if (ref > 1)
+                return get(strings, ref - 2);
+            final int length = readVarInt();
+            checkAvailable(length);
+            final String string = new String(message, pos, length, Charsets.UTF_8);
+            pos += length;
+            strings.add(string);
+            return string;
+        }
+
+        private @Nullable Object readSerializable() throws IOException {
+            final int length = readLength();
+            if (length < 0)
+                return null;
+            checkAvailable(length);
+            final ObjectInputStream is = new ContextInputStream(new ByteArrayInputStream(message, pos, length));
+            pos += length;
+            try {
+                return is.readObject();
+            } catch (final ClassNotFoundException x) {
+                throw new IOException("cannot deserialize context", x);
+            } finally {
+                is.close();
+            }
+        }
+
+        private static <T> T get(final List<T> table, final int index) throws IOException {
+            if (index >= table.size())
+                throw new IOException("invalid reference: " + index);
+            return table.get(index);
+        }
+
+        /** Returns the length of a collection, or -1 for {@code null}. */
+        private int readLength() throws IOException {
+            final int length = readVarInt() - 1;
+            if (length != -1)
+                checkAvailable(length);
+            return length;
+        }
+
+        private int readCount() throws IOException {
+            final int count = readVarInt();
+            checkAvailable(count);
+            return count;
+        }
+
+        private int readSignedVarInt() throws IOException {
+            return (int) unZigZag(readVarLong());
+        }
+
+        private long readSignedVarLong() throws IOException {
+            return unZigZag(readVarLong());
+        }
+
+        private int readVarInt() throws IOException {
+            final long value = readVarLong();
+            if (value > 0xffffffffL)
+                throw new IOException("varint too long");
+            return (int) value;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                checkAvailable(1);
+                final byte b = message[pos++];
+                value |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0)
+                    return value;
+            }
+            throw new IOException("varint too long");
+        }
+
+        private int readFixedInt() throws IOException {
+            checkAvailable(4);
+            final int value = (message[pos] & 0xff) << 24 | (message[pos + 1] & 0xff) << 16
+                    | (message[pos + 2] & 0xff) << 8 | (message[pos + 3] & 0xff);
+            pos += 4;
+            return value;
+        }
+
+        private void checkAvailable(final int length) throws IOException {
+            if (length < 0 || pos + length > message.length)
+                throw new IOException("truncated message");
+        }
+
+        private static long unZigZag(final long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private static final class ContextInputStream extends ObjectInputStream {
+        private static final String ALLOWED_PACKAGE = "de.schildbach.pte.";
+        private static final Set<String> ALLOWED_CLASSES = ImmutableSet.of("java.io.Serializable",
+                "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Double", "java.lang.Enum",
+                "java.lang.Float", "java.lang.Integer", "java.lang.Long", "java.lang.Number", "java.lang.Object",
+                "java.lang.Short", "java.lang.String", "java.util.ArrayList",
+                "java.util.Arrays$ArrayList", "java.util.Collections$EmptyList", "java.util.Collections$EmptyMap",
+                "java.util.Collections$EmptySet", "java.util.Collections$SingletonList",
+                "java.util.Collections$SingletonSet", "java.util.Collections$UnmodifiableCollection",
+                "java.util.Collections$UnmodifiableList", "java.util.Collections$UnmodifiableRandomAccessList",
+                "java.util.Collections$UnmodifiableSet", "java.util.Currency", "java.util.Date",
+                "java.util.EnumSet$SerializationProxy", "java.util.HashMap", "java.util.HashSet",
+                "java.util.LinkedHashMap", "java.util.LinkedHashSet", "java.util.LinkedList", "java.util.TreeMap",
+                "java.util.TreeSet");
+
+        ContextInputStream(final InputStream is) throws IOException {
+            super(is);
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            // arrays are accepted if their element type is
+            int dimensions = 0;
+            while (dimensions < name.length() && name.charAt(dimensions) == '[')
+                dimensions++;
+            if (dimensions > 0)
+                name = name.charAt(dimensions) == 'L' ? name.substring(dimensions + 1, name.length() - 1) : null;
+            if (name != null && !name.startsWith(ALLOWED_PACKAGE) && !ALLOWED_CLASSES.contains(name))
+                throw new InvalidClassException(desc.getName(), "not allowed in a context");
+            return super.resolveClass(desc);
+        }
+    }
+}
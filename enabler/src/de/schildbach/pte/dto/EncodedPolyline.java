@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.dto;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * A read-only list of points that keeps the path in the encoded polyline format used by Google and Hafas ("GPA") and
+ * decodes it on first access. Latitude and longitude are encoded in units of 10 micro-degrees.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class EncodedPolyline extends AbstractList<Point> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = -2947710635582047715L;
+
+    private final String encoded;
+    private transient volatile Polyline decoded;
+
+    public EncodedPolyline(final String encoded) {
+        this.encoded = checkNotNull(encoded);
+    }
+
+    public String getEncoded() {
+        return encoded;
+    }
+
+    private Polyline decoded() {
+        Polyline decoded = this.decoded;
+        if (decoded == null) {
+            decoded = decode(encoded);
+            this.decoded = decoded;
+        }
+        return decoded;
+    }
+
+    public int getLat(final int index) {
+        return decoded().getLat(index);
+    }
+
+    public int getLon(final int index) {
+        return decoded().getLon(index);
+    }
+
+    @Override
+    public Point get(final int index) {
+        return decoded().get(index);
+    }
+
+    @Override
+    public int size() {
+        return decoded().size();
+    }
+
+    private static Polyline decode(final String encoded) {
+        final int length = encoded.length();
+        // each coordinate takes at least two characters
+        final Polyline path = new Polyline(length / 4);
+        int i = 0;
+        int lat = 0, lon = 0;
+        while (i < length) {
+            int result = 0, shift = 0, b;
+            do {
+                b = charAt(encoded, i++) - 63;
+                result |= (b & 0x1f) << shift;
+                shift += 5;
+            } while (b >= 0x20);
+            lat += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+            result = 0;
+            shift = 0;
+            do {
+                b = charAt(encoded, i++) - 63;
+                result |= (b & 0x1f) << shift;
+                shift += 5;
+            } while (b >= 0x20);
+            lon += (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+
+            path.add(lat * 10, lon * 10);
+        }
+        path.trimToSize();
+        return path;
+    }
+
+    private static char charAt(final String encoded, final int index) {
+        if (index >= encoded.length())
+            throw new IllegalArgumentException("truncated polyline: " + encoded);
+        return encoded.charAt(index);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.dto;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndex;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list of points, stored as interleaved latitudes and longitudes in a single array. Use
+ * {@link #add(int, int)}, {@link #getLat(int)} and {@link #getLon(int)} to avoid creating a {@link Point} per vertex;
+ * the {@link java.util.List} methods create them on demand.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class Polyline extends AbstractList<Point> implements RandomAccess, Serializable {
+    private static final long serialVersionUID = 5183624390912817062L;
+
+    private int[] coords;
+    private int size;
+
+    public Polyline() {
+        this(16);
+    }
+
+    public Polyline(final int initialCapacity) {
+        checkArgument(initialCapacity >= 0, "negative capacity: %s", initialCapacity);
+        this.coords = new int[initialCapacity * 2];
+    }
+
+    public Polyline(final Collection<Point> points) {
+        this(points.size());
+        addAll(points);
+    }
+
+    public int getLat(final int index) {
+        checkIndex(index);
+        return coords[index * 2];
+    }
+
+    public int getLon(final int index) {
+        checkIndex(index);
+        return coords[index * 2 + 1];
+    }
+
+    public void add(final int lat, final int lon) {
+        ensureCapacity(size + 1);
+        coords[size * 2] = lat;
+        coords[size * 2 + 1] = lon;
+        size++;
+        modCount++;
+    }
+
+    public void trimToSize() {
+        if (coords.length > size * 2)
+            coords = Arrays.copyOf(coords, size * 2);
+    }
+
+    @Override
+    public Point get(final int index) {
+        checkIndex(index);
+        return new Point(coords[index * 2], coords[index * 2 + 1]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Point set(final int index, final Point point) {
+        checkIndex(index);
+        final Point old = new Point(coords[index * 2], coords[index * 2 + 1]);
+        coords[index * 2] = point.lat;
+        coords[index * 2 + 1] = point.lon;
+        return old;
+    }
+
+    @Override
+    public void add(final int index, final Point point) {
+        checkNotNull(point);
+        checkPositionIndex(index, size);
+        ensureCapacity(size + 1);
+        System.arraycopy(coords, index * 2, coords, index * 2 + 2, (size - index) * 2);
+        coords[index * 2] = point.lat;
+        coords[index * 2 + 1] = point.lon;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends Point> points) {
+        checkPositionIndex(index, size);
+        final int num = points.size();
+        if (num == 0)
+            return false;
+        final int[] source;
+        if (points == this)
+            source = Arrays.copyOf(coords, num * 2);
+        else if (points instanceof Polyline)
+            source = ((Polyline) points).coords;
+        else
+            source = null;
+        ensureCapacity(size + num);
+        System.arraycopy(coords, index * 2, coords, (index + num) * 2, (size - index) * 2);
+        if (source != null) {
+            System.arraycopy(source, 0, coords, index * 2, num * 2);
+        } else {
+            int i = index * 2;
+            for (final Point point : points) {
+                coords[i++] = point.lat;
+                coords[i++] = point.lon;
+            }
+        }
+        size += num;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Point remove(final int index) {
+        checkIndex(index);
+        final Point old = new Point(coords[index * 2], coords[index * 2 + 1]);
+        System.arraycopy(coords, index * 2 + 2, coords, index * 2, (size - index - 1) * 2);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity * 2 > coords.length)
+            coords = Arrays.copyOf(coords, Math.max(capacity * 2, coords.length * 2));
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+    }
+}
@@ -20,6 +20,9 @@ package de.schildbach.pte.dto;
 import java.io.Serializable;
 
 /**
+ * Everything needed to continue a trip query, including any server session state such as cookies. Instances are
+ * immutable, so they can be kept and used from any thread.
+ * 
  * @author Andreas Schildbach
  */
 public interface QueryTripsContext extends Serializable {
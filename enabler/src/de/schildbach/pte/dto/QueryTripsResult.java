@@ -47,7 +47,8 @@ public final class QueryTripsResult implements Serializable {
     public final Location from;
     public final Location via;
     public final Location to;
-    public final QueryTripsContext context;
+    /** Only {@code null} if left out by {@link BinaryCodec}. */
+    public final @Nullable QueryTripsContext context;
     public final List<Trip> trips;
 
     public QueryTripsResult(final ResultHeader header, final String queryUri, final Location from, final Location via,
@@ -58,7 +59,7 @@ public final class QueryTripsResult implements Serializable {
         this.from = from;
         this.via = via;
         this.to = to;
-        this.context = checkNotNull(context);
+        this.context = context;
         this.trips = checkNotNull(trips);
 
         this.ambiguousFrom = null;
@@ -56,6 +56,11 @@ public final class SuggestLocationsResult implements Serializable {
         this.suggestedLocations = null;
     }
 
+    /** Not a bean getter, so that data binding keeps serializing just {@link #getLocations()}. */
+    public List<SuggestedLocation> suggestedLocations() {
+        return suggestedLocations;
+    }
+
     public List<Location> getLocations() {
         final List<Location> locations = new ArrayList<Location>(suggestedLocations.size());
         for (final SuggestedLocation location : suggestedLocations)
@@ -39,7 +39,8 @@ import com.google.common.base.Objects;
 public final class Trip implements Serializable {
     private static final long serialVersionUID = 2508466068307110312L;
 
-    private String id;
+    private final @Nullable String id;
+    private transient String substituteId;
     public final Location from;
     public final Location to;
     public final List<Leg> legs;
@@ -198,9 +199,17 @@ public final class Trip implements Serializable {
     }
 
     public String getId() {
-        if (id == null)
-            id = buildSubstituteId();
+        if (id != null)
+            return id;
 
+        if (substituteId == null)
+            substituteId = buildSubstituteId();
+
+        return substituteId;
+    }
+
+    /** The id as given by the provider, rather than built from the legs. */
+    @Nullable String providedId() {
         return id;
     }
 
@@ -25,6 +25,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,6 +48,7 @@ import okhttp3.Call;
 import okhttp3.Cookie;
 import okhttp3.Headers;
 import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -56,6 +58,15 @@ import okhttp3.ResponseBody;
 import okhttp3.logging.HttpLoggingInterceptor;
 
 /**
+ * Thin layer on top of OkHttp that knows about the peculiarities of transport provider servers.
+ * 
+ * <p>
+ * Instances are thread-safe once configured, so one instance can serve concurrent requests. The setters are meant
+ * for configuration and must not be called while requests are in flight. Session state is not kept here, but
+ * passed in and out of {@link #getInputStream(Callback, HttpUrl, String, String, Charset, String, AtomicReference)}
+ * by the caller.
+ * </p>
+ * 
  * @author Andreas Schildbach
  */
 public final class HttpClient {
@@ -64,9 +75,9 @@ public final class HttpClient {
     private Map<String, String> headers = new HashMap<String, String>();
     @Nullable
     private String sessionCookieName = null;
-    @Nullable
-    private Cookie sessionCookie = null;
     private boolean sslAcceptAllHostnames = false;
+    @Nullable
+    private Interceptor interceptor = null;
 
     private static final OkHttpClient OKHTTP_CLIENT;
     static {
@@ -111,6 +122,23 @@ public final class HttpClient {
         this.sslAcceptAllHostnames = sslAcceptAllHostnames;
     }
 
+    /**
+     * Installs an application interceptor that sees every request before it goes to the network. It may also
+     * answer requests on its own, e.g. for replaying recorded responses.
+     */
+    public void setInterceptor(final @Nullable Interceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    /** Connections held by the shared connection pool, in use or idle. */
+    public static int connectionCount() {
+        return OKHTTP_CLIENT.connectionPool().connectionCount();
+    }
+
+    public static int idleConnectionCount() {
+        return OKHTTP_CLIENT.connectionPool().idleConnectionCount();
+    }
+
     public CharSequence get(final HttpUrl url) throws IOException {
         return get(url, null);
     }
@@ -149,7 +177,19 @@ public final class HttpClient {
     }
 
     public void getInputStream(final Callback callback, final HttpUrl url, final String postRequest,
-            final String requestContentType, Charset requestEncoding, final String referer) throws IOException {
+            final String requestContentType, final Charset requestEncoding, final String referer) throws IOException {
+        getInputStream(callback, url, postRequest, requestContentType, requestEncoding, referer, null);
+    }
+
+    /**
+     * @param sessionCookie
+     *            holder of the session cookie, or {@code null} if the request is not part of a session. A cookie
+     *            contained will be sent along with the request, and a session cookie received will be stored
+     *            into the holder. Only cookies named by {@link #setSessionCookieName(String)} are considered.
+     */
+    public void getInputStream(final Callback callback, final HttpUrl url, final String postRequest,
+            final String requestContentType, Charset requestEncoding, final String referer,
+            final @Nullable AtomicReference<String> sessionCookie) throws IOException {
         if (requestEncoding == null)
             requestEncoding = Charsets.ISO_8859_1;
 
@@ -166,15 +206,20 @@ public final class HttpClient {
                 request.header("User-Agent", userAgent);
             if (referer != null)
                 request.header("Referer", referer);
-            final Cookie sessionCookie = this.sessionCookie;
-            if (sessionCookie != null && sessionCookie.name().equals(sessionCookieName))
-                request.header("Cookie", sessionCookie.toString());
+            if (sessionCookie != null && sessionCookie.get() != null)
+                request.header("Cookie", sessionCookie.get());
 
             final OkHttpClient okHttpClient;
-            if (sslAcceptAllHostnames)
-                okHttpClient = OKHTTP_CLIENT.newBuilder().hostnameVerifier(SSL_ACCEPT_ALL_HOSTNAMES).build();
-            else
+            if (sslAcceptAllHostnames || interceptor != null) {
+                final OkHttpClient.Builder builder = OKHTTP_CLIENT.newBuilder();
+                if (sslAcceptAllHostnames)
+                    builder.hostnameVerifier(SSL_ACCEPT_ALL_HOSTNAMES);
+                if (interceptor != null)
+                    builder.addInterceptor(interceptor);
+                okHttpClient = builder.build();
+            } else {
                 okHttpClient = OKHTTP_CLIENT;
+            }
 
             final Call call = okHttpClient.newCall(request.build());
             Response response = null;
@@ -194,12 +239,12 @@ public final class HttpClient {
                         throw new InternalErrorException(url, bodyPeek);
 
                     // save cookie
-                    if (sessionCookieName != null) {
+                    if (sessionCookie != null && sessionCookieName != null) {
                         final List<Cookie> cookies = Cookie.parseAll(url, response.headers());
                         for (final Iterator<Cookie> i = cookies.iterator(); i.hasNext();) {
                             final Cookie cookie = i.next();
                             if (cookie.name().equals(sessionCookieName)) {
-                                this.sessionCookie = cookie;
+                                sessionCookie.set(cookie.name() + "=" + cookie.value());
                                 break;
                             }
                         }
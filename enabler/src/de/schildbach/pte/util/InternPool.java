@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Equivalence;
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.Style;
+
+/**
+ * Bounded pools of {@link Line}, {@link Location} and {@link Style} instances, so that equal instances parsed from
+ * the same or from subsequent responses share one object. Unlike their {@code equals()} methods, instances are only
+ * considered equal here if all of their fields are. Least recently used instances are evicted once a pool is full.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class InternPool {
+    private final Cache<Equivalence.Wrapper<Line>, Line> lines;
+    private final Cache<Equivalence.Wrapper<Location>, Location> locations;
+    private final Cache<Equivalence.Wrapper<Style>, Style> styles;
+
+    public InternPool(final int maxSize) {
+        this.lines = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        this.locations = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+        this.styles = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public @Nullable Line intern(final @Nullable Line line) {
+        return intern(lines, LINE_EQUIVALENCE, line);
+    }
+
+    public @Nullable Location intern(final @Nullable Location location) {
+        return intern(locations, LOCATION_EQUIVALENCE, location);
+    }
+
+    public @Nullable Style intern(final @Nullable Style style) {
+        return intern(styles, STYLE_EQUIVALENCE, style);
+    }
+
+    private static <T> T intern(final Cache<Equivalence.Wrapper<T>, T> pool, final Equivalence<T> equivalence,
+            final @Nullable T instance) {
+        if (instance == null)
+            return null;
+        final T pooled = pool.asMap().putIfAbsent(equivalence.wrap(instance), instance);
+        return pooled != null ? pooled : instance;
+    }
+
+    public static final Equivalence<Style> STYLE_EQUIVALENCE = new Equivalence<Style>() {
+        @Override
+        protected boolean doEquivalent(final Style a, final Style b) {
+            return a.getClass() == b.getClass() && a.shape == b.shape && a.backgroundColor == b.backgroundColor
+                    && a.backgroundColor2 == b.backgroundColor2 && a.foregroundColor == b.foregroundColor
+                    && a.borderColor == b.borderColor;
+        }
+
+        @Override
+        protected int doHash(final Style style) {
+            return Objects.hashCode(style.shape, style.backgroundColor, style.backgroundColor2,
+                    style.foregroundColor, style.borderColor);
+        }
+    };
+
+    public static final Equivalence<Line> LINE_EQUIVALENCE = new Equivalence<Line>() {
+        @Override
+        protected boolean doEquivalent(final Line a, final Line b) {
+            return Objects.equal(a.id, b.id) && Objects.equal(a.network, b.network) && a.product == b.product
+                    && Objects.equal(a.label, b.label) && Objects.equal(a.name, b.name)
+                    && STYLE_EQUIVALENCE.equivalent(a.style, b.style) && Objects.equal(a.attrs, b.attrs)
+                    && Objects.equal(a.message, b.message);
+        }
+
+        @Override
+        protected int doHash(final Line line) {
+            return Objects.hashCode(line.id, line.network, line.product, line.label);
+        }
+    };
+
+    public static final Equivalence<Location> LOCATION_EQUIVALENCE = new Equivalence<Location>() {
+        @Override
+        protected boolean doEquivalent(final Location a, final Location b) {
+            return a.type == b.type && Objects.equal(a.id, b.id) && a.lat == b.lat && a.lon == b.lon
+                    && Objects.equal(a.place, b.place) && Objects.equal(a.name, b.name)
+                    && Objects.equal(a.products, b.products);
+        }
+
+        @Override
+        protected int doHash(final Location location) {
+            return Objects.hashCode(location.type, location.id, location.name);
+        }
+    };
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs a blocking query for many keys concurrently, with at most a given number of queries in flight per batch. The
+ * calling thread takes part in the work; the other workers come from a shared pool of daemon threads. The first
+ * failure stops the batch and is rethrown once all workers have finished.
+ * 
+ * <p>
+ * Batches that name a host additionally share a per-host limit of {@link #MAX_PER_HOST} queries in flight, so that
+ * several concurrent batches don't overwhelm one provider server. Single queries outside of batches are not affected.
+ * </p>
+ * 
+ * @author Andreas Schildbach
+ */
+public final class ParallelBatch {
+    public static final int DEFAULT_PARALLELISM = 16;
+    public static final int MAX_PER_HOST = Integer.getInteger("pte.batchMaxPerHost", 8);
+
+    public interface Query<K, V> {
+        V query(K key) throws IOException;
+    }
+
+    public interface Task {
+        void run(int index) throws IOException;
+    }
+
+    private static final ExecutorService EXECUTOR = Executors
+            .newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("pte-batch-%d").setDaemon(true).build());
+
+    private static final ConcurrentMap<String, Semaphore> HOST_PERMITS = new ConcurrentHashMap<String, Semaphore>();
+
+    private ParallelBatch() {
+    }
+
+    /**
+     * Like {@link #run(Collection, int, Query)}, but holds one of the permits of the given host while each query is
+     * running.
+     */
+    public static <K, V> Map<K, V> run(final Collection<K> keys, final int parallelism, final @Nullable String host,
+            final Query<K, V> query) throws IOException {
+        if (host == null)
+            return run(keys, parallelism, query);
+
+        final Semaphore permits = hostPermits(host);
+        return run(keys, parallelism, new Query<K, V>() {
+            @Override
+            public V query(final K key) throws IOException {
+                try {
+                    permits.acquire();
+                } catch (final InterruptedException x) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted while waiting for " + host);
+                }
+                try {
+                    return query.query(key);
+                } finally {
+                    permits.release();
+                }
+            }
+        });
+    }
+
+    private static Semaphore hostPermits(final String host) {
+        final Semaphore permits = HOST_PERMITS.get(host);
+        if (permits != null)
+            return permits;
+        final Semaphore newPermits = new Semaphore(MAX_PER_HOST);
+        final Semaphore existingPermits = HOST_PERMITS.putIfAbsent(host, newPermits);
+        return existingPermits != null ? existingPermits : newPermits;
+    }
+
+    /**
+     * @return results by key, in the iteration order of the given keys
+     */
+    public static <K, V> Map<K, V> run(final Collection<K> keys, final int parallelism, final Query<K, V> query)
+            throws IOException {
+        final List<K> list = new ArrayList<K>(keys);
+        final Object[] results = new Object[list.size()];
+        forEach(list.size(), parallelism, new Task() {
+            @Override
+            public void run(final int index) throws IOException {
+                results[index] = query.query(list.get(index));
+            }
+        });
+
+        final Map<K, V> map = new LinkedHashMap<K, V>(list.size() * 2);
+        for (int i = 0; i < results.length; i++) {
+            @SuppressWarnings("unchecked")
+            final V result = (V) results[i];
+            map.put(list.get(i), result);
+        }
+        return map;
+    }
+
+    /**
+     * Runs the task for every index from {@code 0} to {@code size - 1}. Indices are handed out in ascending order,
+     * so memory kept per index can be released as soon as its task is done.
+     */
+    public static void forEach(final int size, final int parallelism, final Task task) throws IOException {
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                int i;
+                while (failure.get() == null && (i = next.getAndIncrement()) < size) {
+                    try {
+                        task.run(i);
+                    } catch (final Throwable x) {
+                        failure.compareAndSet(null, x);
+                    }
+                }
+            }
+        };
+
+        final int numWorkers = Math.min(parallelism, size);
+        final List<Future<?>> futures = new ArrayList<Future<?>>(numWorkers);
+        for (int i = 1; i < numWorkers; i++)
+            futures.add(EXECUTOR.submit(worker));
+        worker.run();
+        try {
+            for (final Future<?> future : futures)
+                future.get();
+        } catch (final InterruptedException x) {
+            failure.compareAndSet(null, x);
+            for (final Future<?> future : futures)
+                future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("batch interrupted");
+        } catch (final ExecutionException x) {
+            throw new RuntimeException(x.getCause());
+        }
+
+        final Throwable x = failure.get();
+        if (x != null) {
+            Throwables.propagateIfPossible(x, IOException.class);
+            throw new RuntimeException(x);
+        }
+    }
+}
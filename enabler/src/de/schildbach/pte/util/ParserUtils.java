@@ -29,6 +29,8 @@ import java.util.GregorianCalendar;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import de.schildbach.pte.dto.Polyline;
+
 /**
  * @author Andreas Schildbach
  */
@@ -286,5 +288,92 @@ public final class ParserUtils {
         return null;
     }
 
+    /**
+     * Parses a space separated list of {@code x,y} coordinate pairs, rounding each number to the nearest integer the
+     * same way {@link Math#round(double)} does. Plain decimal numbers are scanned in place; anything else, like
+     * exponents, falls back to {@link Double#parseDouble(String)}. Components after the second, like in
+     * {@code x,y,z}, are ignored.
+     */
+    public static Polyline parseCoordinateList(final CharSequence str) {
+        final int length = str.length();
+        int numCoords = 0;
+        for (int i = 0; i < length; i++)
+            if (str.charAt(i) == ',')
+                numCoords++;
+        final Polyline path = new Polyline(numCoords);
+
+        int i = 0;
+        while (true) {
+            while (i < length && str.charAt(i) == ' ')
+                i++;
+            if (i == length)
+                break;
+
+            final int xStart = i;
+            while (i < length && str.charAt(i) != ',')
+                i++;
+            if (i == length)
+                throw new NumberFormatException("missing y: " + str.subSequence(xStart, length));
+            final int xEnd = i++;
+
+            final int yStart = i;
+            while (i < length && str.charAt(i) != ',' && str.charAt(i) != ' ')
+                i++;
+            final int yEnd = i;
+            while (i < length && str.charAt(i) != ' ')
+                i++;
+
+            final int lon = roundNumber(str, xStart, xEnd);
+            final int lat = roundNumber(str, yStart, yEnd);
+            path.add(lat, lon);
+        }
+
+        return path;
+    }
+
+    private static int roundNumber(final CharSequence str, final int start, final int end) {
+        int i = start;
+        final boolean negative = i < end && str.charAt(i) == '-';
+        if (negative)
+            i++;
+        final int digitsStart = i;
+        long value = 0;
+        while (i < end && i - digitsStart < 10) {
+            final char c = str.charAt(i);
+            if (c < '0' || c > '9')
+                break;
+            value = value * 10 + (c - '0');
+            i++;
+        }
+        final boolean hasDigits = i > digitsStart;
+
+        // fraction: decide rounding by the first digit, and for negative ties by the rest
+        int firstFractionDigit = 0;
+        boolean moreFractionDigits = false;
+        if (i < end && str.charAt(i) == '.') {
+            i++;
+            final int fractionStart = i;
+            while (i < end) {
+                final char c = str.charAt(i);
+                if (c < '0' || c > '9')
+                    break;
+                if (i == fractionStart)
+                    firstFractionDigit = c - '0';
+                else if (c != '0')
+                    moreFractionDigits = true;
+                i++;
+            }
+        }
+
+        if (i != end || !hasDigits)
+            return (int) Math.round(Double.parseDouble(str.subSequence(start, end).toString()));
+
+        if (negative)
+            return (int) -(firstFractionDigit > 5 || (firstFractionDigit == 5 && moreFractionDigits) ? value + 1
+                    : value);
+        else
+            return (int) (firstFractionDigit >= 5 ? value + 1 : value);
+    }
+
     public static final String P_PLATFORM = "[\\wÄÖÜäöüßáàâéèêíìîóòôúùû\\. -/&#;]+?";
 }
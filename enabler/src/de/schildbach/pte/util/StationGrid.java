@@ -0,0 +1,184 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import de.schildbach.pte.LocationUtils;
+import de.schildbach.pte.dto.Location;
+
+/**
+ * Grid over station coordinates, for answering nearby queries without asking the server. It also remembers the
+ * circles for which it is known to hold all stations, so that callers can tell whether a local answer is complete.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class StationGrid {
+    // in microdegrees, about 220 meters of latitude
+    private static final int CELL_SIZE = 2000;
+    private static final int COVERAGE_CELL_SIZE = 20000;
+    // a lower bound, so that spans computed from it are on the safe side
+    private static final double METERS_PER_DEGREE = 110000;
+
+    private final Map<String, Location> stations = new HashMap<String, Location>();
+    private final Map<Long, List<Location>> cells = new HashMap<Long, List<Location>>();
+    private final Map<Long, List<int[]>> coverage = new HashMap<Long, List<int[]>>();
+    private int maxCoveredRadius = 0;
+
+    /**
+     * Adds a station, replacing a previous station of the same id. Stations without coordinates are removed.
+     */
+    public synchronized void put(final Location station) {
+        final Location previous = station.hasLocation() ? stations.put(station.id, station)
+                : stations.remove(station.id);
+        if (previous != null) {
+            final long key = key(previous.lat, previous.lon, CELL_SIZE);
+            final List<Location> cell = cells.get(key);
+            cell.remove(previous);
+            if (cell.isEmpty())
+                cells.remove(key);
+        }
+        if (station.hasLocation()) {
+            final long key = key(station.lat, station.lon, CELL_SIZE);
+            List<Location> cell = cells.get(key);
+            if (cell == null) {
+                cell = new LinkedList<Location>();
+                cells.put(key, cell);
+            }
+            cell.add(station);
+        }
+    }
+
+    public synchronized int size() {
+        return stations.size();
+    }
+
+    /**
+     * @return stations within {@code maxDistance} meters, nearest first, at most {@code maxLocations} of them unless
+     *         that is {@code 0}
+     */
+    public synchronized List<Location> nearby(final int lat, final int lon, final int maxDistance,
+            final int maxLocations) {
+        final List<Location> candidates = new ArrayList<Location>();
+        final int latSpan = latSpan(maxDistance);
+        final int lonSpan = lonSpan(lat, maxDistance);
+        for (int latCell = cell(lat - latSpan, CELL_SIZE); latCell <= cell(lat + latSpan, CELL_SIZE); latCell++) {
+            for (int lonCell = cell(lon - lonSpan, CELL_SIZE); lonCell <= cell(lon + lonSpan, CELL_SIZE); lonCell++) {
+                final List<Location> cell = cells.get(key(latCell, lonCell));
+                if (cell != null)
+                    candidates.addAll(cell);
+            }
+        }
+
+        final int[] coords = new int[candidates.size() * 2];
+        for (int i = 0; i < candidates.size(); i++) {
+            coords[i * 2] = candidates.get(i).lat;
+            coords[i * 2 + 1] = candidates.get(i).lon;
+        }
+        final float[] distances = new float[candidates.size()];
+        LocationUtils.computeApproximateDistances(lat, lon, coords, distances);
+
+        final List<Integer> within = new ArrayList<Integer>();
+        for (int i = 0; i < distances.length; i++)
+            if (distances[i] <= maxDistance)
+                within.add(i);
+        Collections.sort(within, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer i1, final Integer i2) {
+                return Float.compare(distances[i1], distances[i2]);
+            }
+        });
+
+        final List<Location> found = new ArrayList<Location>(within.size());
+        for (final int i : within)
+            found.add(candidates.get(i));
+        if (maxLocations > 0 && found.size() > maxLocations)
+            return new ArrayList<Location>(found.subList(0, maxLocations));
+        return found;
+    }
+
+    /**
+     * Records that the grid holds all stations within {@code radius} meters around the given point.
+     */
+    public synchronized void cover(final int lat, final int lon, final int radius) {
+        if (radius <= 0 || covers(lat, lon, radius))
+            return;
+        final long key = key(lat, lon, COVERAGE_CELL_SIZE);
+        List<int[]> circles = coverage.get(key);
+        if (circles == null) {
+            circles = new LinkedList<int[]>();
+            coverage.put(key, circles);
+        }
+        circles.add(new int[] { lat, lon, radius });
+        maxCoveredRadius = Math.max(maxCoveredRadius, radius);
+    }
+
+    /**
+     * @return {@code true} if the given circle lies within a circle previously passed to {@link #cover}
+     */
+    public synchronized boolean covers(final int lat, final int lon, final int radius) {
+        if (radius > maxCoveredRadius)
+            return false;
+        final int latSpan = latSpan(maxCoveredRadius);
+        final int lonSpan = lonSpan(lat, maxCoveredRadius);
+        for (int latCell = cell(lat - latSpan, COVERAGE_CELL_SIZE); latCell <= cell(lat + latSpan,
+                COVERAGE_CELL_SIZE); latCell++) {
+            for (int lonCell = cell(lon - lonSpan, COVERAGE_CELL_SIZE); lonCell <= cell(lon + lonSpan,
+                    COVERAGE_CELL_SIZE); lonCell++) {
+                final List<int[]> circles = coverage.get(key(latCell, lonCell));
+                if (circles == null)
+                    continue;
+                for (final int[] circle : circles)
+                    if (distance(lat, lon, circle[0], circle[1]) + radius <= circle[2])
+                        return true;
+            }
+        }
+        return false;
+    }
+
+    private static float distance(final int lat1, final int lon1, final int lat2, final int lon2) {
+        return LocationUtils.computeApproximateDistance(lat1 / 1E6, lon1 / 1E6, lat2 / 1E6, lon2 / 1E6);
+    }
+
+    private static int latSpan(final int meters) {
+        return (int) Math.ceil(meters / METERS_PER_DEGREE * 1E6);
+    }
+
+    private static int lonSpan(final int lat, final int meters) {
+        final double cos = Math.max(Math.cos(Math.toRadians(lat / 1E6)), 0.01);
+        return (int) Math.min(Math.ceil(meters / METERS_PER_DEGREE / cos * 1E6), 180000000);
+    }
+
+    private static int cell(final int coord, final int cellSize) {
+        return (int) Math.floor((double) coord / cellSize);
+    }
+
+    private static long key(final int lat, final int lon, final int cellSize) {
+        return key(cell(lat, cellSize), cell(lon, cellSize));
+    }
+
+    private static long key(final int latCell, final int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.dto.BinaryCodec;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+
+/**
+ * Stations seen in responses of a network, kept in a memory-mapped file so that they survive restarts. Stations are
+ * looked up by id. Records are only ever appended; an update appends a new record that supersedes the previous one.
+ * Partially written records at the end of the file are ignored when opening. The file is locked exclusively while
+ * the store is open, so it can't be appended to by two stores at once.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class StationStore implements Closeable {
+    private static final int MAGIC = 0x50544553;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private final Map<String, Integer> index = new HashMap<String, Integer>();
+    private final StationGrid grid = new StationGrid();
+
+    private static final Logger log = LoggerFactory.getLogger(StationStore.class);
+
+    public static StationStore open(final File directory, final NetworkId network) throws IOException {
+        return new StationStore(new File(directory, network.name().toLowerCase(Locale.ENGLISH) + ".stations"));
+    }
+
+    public StationStore(final File file) throws IOException {
+        this.file = new RandomAccessFile(file, "rw");
+        this.channel = this.file.getChannel();
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (final OverlappingFileLockException x) {
+            lock = null;
+        }
+        if (lock == null) {
+            this.file.close();
+            throw new IOException("station store already in use: " + file);
+        }
+        boolean opened = false;
+        try {
+            open(file);
+            opened = true;
+        } finally {
+            // also releases the lock
+            if (!opened)
+                this.file.close();
+        }
+    }
+
+    private void open(final File file) throws IOException {
+        final long size = channel.size();
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("station store too large: " + file);
+        // check the header before mapping, as mapping grows the file
+        if (size > 0 && (size < HEADER_SIZE || this.file.readInt() != MAGIC || this.file.readInt() != VERSION))
+            throw new IOException("not a station store of version " + VERSION + ": " + file);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_CAPACITY));
+
+        if (size == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+        }
+
+        end = HEADER_SIZE;
+        while (end + 4 <= buffer.capacity()) {
+            final int length = buffer.getInt(end);
+            if (length == 0)
+                break;
+            if (!scanRecord(length)) {
+                // clear the torn record, so that leftovers can't be mistaken for records after later appends
+                log.info("truncating partially written record at {} of {}", end, file);
+                for (int i = end; i < buffer.capacity(); i++)
+                    buffer.put(i, (byte) 0);
+                break;
+            }
+        }
+    }
+
+    private boolean scanRecord(final int length) {
+        if (length < 0 || end + 4 + length > buffer.capacity())
+            return false;
+        try {
+            final Location station = BinaryCodec.decodeLocation(read(end));
+            index.put(station.id, end);
+            grid.put(station);
+            end += 4 + length;
+            return true;
+        } catch (final IOException x) {
+            return false;
+        } catch (final RuntimeException x) {
+            return false;
+        }
+    }
+
+    public synchronized @Nullable Location get(final String id) {
+        final Integer offset = index.get(id);
+        if (offset == null)
+            return null;
+        try {
+            return BinaryCodec.decodeLocation(read(offset));
+        } catch (final IOException x) {
+            throw new IllegalStateException("cannot decode record at " + offset, x);
+        }
+    }
+
+    /**
+     * Stores a station, merging it with what is already known about it. Fields the given station lacks, like
+     * coordinates or products, are kept from the stored station. Locations other than identified stations are
+     * ignored.
+     * 
+     * @return {@code true} if the store was changed
+     */
+    public synchronized boolean put(final Location station) throws IOException {
+        if (station.type != LocationType.STATION || station.id == null)
+            return false;
+
+        final Location stored = get(station.id);
+        final Location merged = stored != null ? merge(stored, station) : station;
+        if (stored != null && InternPool.LOCATION_EQUIVALENCE.equivalent(stored, merged))
+            return false;
+
+        final byte[] record = BinaryCodec.encode(merged);
+        ensureCapacity(4 + record.length);
+        buffer.position(end + 4);
+        buffer.put(record);
+        // the length goes last, so that a partially written record ends the file
+        buffer.putInt(end, record.length);
+        index.put(merged.id, end);
+        grid.put(merged);
+        end += 4 + record.length;
+        return true;
+    }
+
+    public synchronized int putAll(final Collection<Location> stations) throws IOException {
+        int changed = 0;
+        for (final Location station : stations)
+            if (put(station))
+                changed++;
+        return changed;
+    }
+
+    /** Spatial index over the stored stations that have coordinates. */
+    public StationGrid grid() {
+        return grid;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /** Writes outstanding changes to the file. */
+    public synchronized void flush() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+        file.close();
+    }
+
+    private static Location merge(final Location stored, final Location station) {
+        final boolean hasLocation = station.hasLocation();
+        return new Location(LocationType.STATION, station.id, hasLocation ? station.lat : stored.lat,
+                hasLocation ? station.lon : stored.lon, station.place != null ? station.place : stored.place,
+                station.name != null ? station.name : stored.name,
+                station.products != null ? station.products : stored.products);
+    }
+
+    private byte[] read(final int offset) {
+        final byte[] record = new byte[buffer.getInt(offset)];
+        buffer.position(offset + 4);
+        buffer.get(record);
+        return record;
+    }
+
+    private void ensureCapacity(final int length) throws IOException {
+        final long required = (long) end + length;
+        if (required <= buffer.capacity())
+            return;
+        long capacity = buffer.capacity();
+        while (capacity < required)
+            capacity *= 2;
+        if (capacity > Integer.MAX_VALUE)
+            throw new IOException("station store full");
+        buffer.force();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.base.Charsets;
+
+import de.schildbach.pte.dto.Style;
+import de.schildbach.pte.dto.Style.Shape;
+
+/**
+ * Reads line style tables. Each line of a table maps a key to a style, with fields separated by tabs: key, shape,
+ * background color, foreground color and optionally border color and second background color. Colors are in the
+ * {@code #rrggbb} or {@code #aarrggbb} notation, {@code -} means none. Lines starting with {@code #} are comments.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class StyleReader {
+    public static Map<String, Style> read(final InputStream is) throws IOException {
+        final Map<String, Style> styles = new HashMap<String, Style>();
+        // many lines share the same style, so share the instances as well
+        final Map<String, Style> instances = new HashMap<String, Style>();
+
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(is, Charsets.UTF_8));
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || line.charAt(0) == '#')
+                continue;
+
+            final int keyEnd = line.indexOf('\t');
+            if (keyEnd <= 0)
+                throw new IOException("line " + lineNumber + ": missing key: " + line);
+            final String key = line.substring(0, keyEnd);
+            final String spec = line.substring(keyEnd + 1);
+            Style style = instances.get(spec);
+            if (style == null) {
+                try {
+                    style = parseStyle(spec);
+                } catch (final IllegalArgumentException x) {
+                    throw new IOException("line " + lineNumber + ": " + x.getMessage() + ": " + line);
+                }
+                instances.put(spec, style);
+            }
+            styles.put(key, style);
+        }
+
+        return styles;
+    }
+
+    private static Style parseStyle(final String spec) {
+        final String[] fields = spec.split("\t");
+        if (fields.length < 3 || fields.length > 5)
+            throw new IllegalArgumentException("expected 3 to 5 fields");
+        final Shape shape = Shape.valueOf(fields[0]);
+        final int backgroundColor = parseColor(fields[1]);
+        final int foregroundColor = parseColor(fields[2]);
+        final int borderColor = fields.length > 3 ? parseColor(fields[3]) : 0;
+        final int backgroundColor2 = fields.length > 4 ? parseColor(fields[4]) : 0;
+        return new Style(shape, backgroundColor, backgroundColor2, foregroundColor, borderColor);
+    }
+
+    private static int parseColor(final String field) {
+        return field.equals("-") ? 0 : Style.parseColor(field);
+    }
+}
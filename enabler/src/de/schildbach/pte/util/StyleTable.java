@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import de.schildbach.pte.Standard;
+import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.Style;
+
+/**
+ * Line styles indexed by network, product and label, so they can be looked up without building keys. The keys of
+ * the source map are {@code network|<product code><label>} or {@code <product code><label>}, as read by
+ * {@link StyleReader}. Resolved styles are memoized, so repeated lookups for the same line cost one hash probe per
+ * level.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class StyleTable {
+    private static final char NETWORK_SEP = '|';
+    private static final Product[] PRODUCTS = Product.values();
+    private static final int MAX_RESOLVED_PER_PRODUCT = 4096;
+
+    private final Map<String, Map<String, Style>[]> networks = new HashMap<String, Map<String, Style>[]>();
+    private final Map<String, Style>[] noNetwork = newProductMaps();
+    private final Map<String, Map<String, Style>[]> resolved = new ConcurrentHashMap<String, Map<String, Style>[]>();
+    private final Map<String, Style>[] resolvedNoNetwork = newResolvedMaps();
+
+    public StyleTable(final Map<String, Style> styles) {
+        for (final Map.Entry<String, Style> entry : styles.entrySet()) {
+            final String key = entry.getKey();
+            final int sep = key.indexOf(NETWORK_SEP);
+            final Map<String, Style>[] productMaps;
+            if (sep >= 0) {
+                final String network = key.substring(0, sep);
+                Map<String, Style>[] networkMaps = networks.get(network);
+                if (networkMaps == null) {
+                    networkMaps = newProductMaps();
+                    networks.put(network, networkMaps);
+                    resolved.put(network, newResolvedMaps());
+                }
+                productMaps = networkMaps;
+            } else {
+                productMaps = noNetwork;
+            }
+
+            // keys for unknown product codes can never match, so they are dropped
+            if (key.length() <= sep + 1)
+                continue;
+            final Product product = product(key.charAt(sep + 1));
+            if (product == null)
+                continue;
+            productMaps[product.ordinal()].put(key.substring(sep + 2), entry.getValue());
+        }
+    }
+
+    /**
+     * Resolves a style in this order: line and product of the network, night bus of the network, then line and
+     * product without network, night bus without network, then the standard style of the product.
+     */
+    public Style get(final @Nullable String network, final Product product, final @Nullable String label) {
+        final String line = label != null ? label : "";
+        final Map<String, Style>[] networkMaps = network != null ? networks.get(network) : null;
+        final Map<String, Style> resolvedStyles = (networkMaps != null ? resolved.get(network)
+                : resolvedNoNetwork)[product.ordinal()];
+        final Style resolvedStyle = resolvedStyles.get(line);
+        if (resolvedStyle != null)
+            return resolvedStyle;
+
+        Style style = null;
+        if (networkMaps != null)
+            style = lookup(networkMaps[product.ordinal()], product, line);
+        if (style == null)
+            style = lookup(noNetwork[product.ordinal()], product, line);
+        if (style == null)
+            style = Standard.STYLES.get(product);
+
+        if (style != null && resolvedStyles.size() < MAX_RESOLVED_PER_PRODUCT)
+            resolvedStyles.put(line, style);
+        return style;
+    }
+
+    private static @Nullable Style lookup(final Map<String, Style> styles, final Product product, final String line) {
+        if (styles.isEmpty())
+            return null;
+
+        // check for line match
+        final Style lineStyle = styles.get(line);
+        if (lineStyle != null)
+            return lineStyle;
+
+        // check for product match
+        final Style productStyle = styles.get("");
+        if (productStyle != null)
+            return productStyle;
+
+        // check for night bus, as that's a common special case
+        if (product == Product.BUS && line.startsWith("N"))
+            return styles.get("N");
+
+        return null;
+    }
+
+    private static @Nullable Product product(final char code) {
+        for (final Product product : PRODUCTS)
+            if (product.code == code)
+                return product;
+        return null;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Map<String, Style>[] newProductMaps() {
+        final Map<String, Style>[] maps = new Map[PRODUCTS.length];
+        for (int i = 0; i < maps.length; i++)
+            maps[i] = new HashMap<String, Style>();
+        return maps;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Map<String, Style>[] newResolvedMaps() {
+        final Map<String, Style>[] maps = new Map[PRODUCTS.length];
+        for (int i = 0; i < maps.length; i++)
+            maps[i] = new ConcurrentHashMap<String, Style>();
+        return maps;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.schildbach.pte.dto.Point;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class CoverageRouterTest {
+    private static final Point BERLIN_ZOO = Point.fromDouble(52.506921, 13.332707);
+    private static final Point POTSDAM = Point.fromDouble(52.391343, 13.067181);
+    private static final Point MUNICH = Point.fromDouble(48.140228, 11.558338);
+
+    private final CoverageRouter router = new CoverageRouter(Collections.<NetworkProvider> emptyList());
+
+    @Before
+    public void setUp() {
+        // box
+        router.update(NetworkId.BVG, new Point[] { Point.fromDouble(52.674189, 13.074604),
+                Point.fromDouble(52.341100, 13.757130) });
+        // polygon around Berlin and Brandenburg
+        router.update(NetworkId.VBB, new Point[] { Point.fromDouble(53.6, 11.2), Point.fromDouble(53.6, 14.8),
+                Point.fromDouble(51.3, 14.8), Point.fromDouble(51.3, 11.2) });
+        // center only
+        router.update(NetworkId.MVV, new Point[] { Point.fromDouble(48.140377, 11.560643) });
+    }
+
+    @Test
+    public void smallestAreaFirst() {
+        assertEquals(Arrays.asList(NetworkId.BVG, NetworkId.VBB), router.candidates(BERLIN_ZOO));
+        assertEquals(Arrays.asList(NetworkId.VBB), router.candidates(POTSDAM));
+    }
+
+    @Test
+    public void centerOnly() {
+        assertEquals(Arrays.asList(NetworkId.MVV), router.candidates(MUNICH));
+        assertTrue(router.candidates(Point.fromDouble(47.0, 11.5)).isEmpty());
+    }
+
+    @Test
+    public void fromTo() {
+        assertEquals(Arrays.asList(NetworkId.VBB), router.candidates(BERLIN_ZOO, POTSDAM));
+        assertTrue(router.candidates(BERLIN_ZOO, MUNICH).isEmpty());
+    }
+
+    @Test
+    public void concave() {
+        router.update(NetworkId.VBB, new Point[] { Point.fromDouble(53, 12), Point.fromDouble(53, 14),
+                Point.fromDouble(52, 14), Point.fromDouble(52, 13.5), Point.fromDouble(52.8, 13.5),
+                Point.fromDouble(52.8, 12.5), Point.fromDouble(52, 12.5), Point.fromDouble(52, 12) });
+        assertEquals(Arrays.asList(NetworkId.BVG), router.candidates(BERLIN_ZOO));
+        assertEquals(Arrays.asList(NetworkId.VBB), router.candidates(Point.fromDouble(52.9, 13)));
+    }
+
+    @Test
+    public void remove() {
+        router.update(NetworkId.BVG, null);
+        assertEquals(Arrays.asList(NetworkId.VBB), router.candidates(BERLIN_ZOO));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.schildbach.pte.DepartureDiff.Change;
+import de.schildbach.pte.DepartureDiff.Kind;
+import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.Position;
+import de.schildbach.pte.dto.Product;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class DepartureDiffTest {
+    private static final long T = 1500000000000L;
+    private static final long MINUTE = 60 * 1000;
+    private static final Line BUS_100 = new Line("1", "net", Product.BUS, "100");
+    private static final Line BUS_200 = new Line("2", "net", Product.BUS, "200");
+    private static final Location ZOO = new Location(LocationType.STATION, "1", null, "Zoo");
+
+    @Test
+    public void unchanged() {
+        final Departure[] board = { departure(BUS_100, 0, 0, "1"), departure(BUS_200, 5, 5, "2") };
+        assertEquals(0, DepartureDiff.diff(board, board.clone()).size());
+    }
+
+    @Test
+    public void delayAndPosition() {
+        final Departure[] previous = { departure(BUS_100, 0, 0, "1"), departure(BUS_200, 5, 5, "2") };
+        final Departure[] current = { departure(BUS_100, 0, 3, "1"), departure(BUS_200, 5, 5, "3") };
+        final List<Change> changes = DepartureDiff.diff(previous, current);
+        assertEquals(2, changes.size());
+        assertEquals(Kind.DELAY_CHANGED, changes.get(0).kind);
+        assertEquals(3 * MINUTE, changes.get(0).delayChange());
+        assertEquals(Kind.POSITION_CHANGED, changes.get(1).kind);
+        assertEquals(new Position("3"), changes.get(1).departure.position);
+    }
+
+    @Test
+    public void insertRemoveCancel() {
+        final Departure[] previous = { departure(BUS_100, 0, 0, "1"), departure(BUS_200, 5, 5, "2"),
+                departure(BUS_100, 10, 10, "1") };
+        final Departure[] current = { departure(BUS_200, 5, 5, "2"), departure(BUS_200, 15, 15, "2") };
+        final List<Change> changes = DepartureDiff.diff(previous, current);
+        assertEquals(3, changes.size());
+        assertEquals(Kind.INSERTED, changes.get(0).kind);
+        assertEquals(new Date(T + 15 * MINUTE), changes.get(0).departure.plannedTime);
+        assertEquals(Kind.REMOVED, changes.get(1).kind);
+        assertEquals(new Date(T), changes.get(1).departure.plannedTime);
+        assertEquals(Kind.CANCELLED, changes.get(2).kind);
+        assertEquals(new Date(T + 10 * MINUTE), changes.get(2).departure.plannedTime);
+    }
+
+    @Test
+    public void duplicates() {
+        final Departure[] previous = { departure(BUS_100, 0, 0, "1"), departure(BUS_100, 0, 0, "1"),
+                departure(BUS_200, 5, 5, "2") };
+        final Departure[] current = { departure(BUS_100, 0, 0, "1"), departure(BUS_200, 5, 5, "2") };
+        final List<Change> changes = DepartureDiff.diff(previous, current);
+        assertEquals(1, changes.size());
+        assertEquals(Kind.CANCELLED, changes.get(0).kind);
+    }
+
+    @Test
+    public void tailTruncated() {
+        final Departure[] previous = { departure(BUS_100, 0, 0, "1"), departure(BUS_100, 5, 5, "1"),
+                departure(BUS_100, 10, 10, "1") };
+        final Departure[] current = { departure(BUS_100, 0, 0, "1"), departure(BUS_200, 3, 3, "2"),
+                departure(BUS_100, 5, 5, "1") };
+        final List<Change> changes = DepartureDiff.diff(previous, current);
+        assertEquals(2, changes.size());
+        assertEquals(Kind.INSERTED, changes.get(0).kind);
+        assertEquals(Kind.REMOVED, changes.get(1).kind);
+        assertEquals(new Date(T + 10 * MINUTE), changes.get(1).departure.plannedTime);
+    }
+
+    private static Departure departure(final Line line, final int planned, final int predicted,
+            final String position) {
+        return new Departure(new Date(T + planned * MINUTE), new Date(T + predicted * MINUTE), line,
+                new Position(position), ZOO, null, null);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class LocationUtilsTest {
+    @Test
+    public void approximateDistance() {
+        // Berlin Hbf to Berlin Zoologischer Garten
+        final float exact = LocationUtils.computeDistance(52.525592, 13.369545, 52.506921, 13.332707);
+        assertEquals(exact, LocationUtils.computeApproximateDistance(52.525592, 13.369545, 52.506921, 13.332707),
+                exact * 0.0002);
+        // Berlin Hbf to München Hbf
+        final float far = LocationUtils.computeDistance(52.525592, 13.369545, 48.140228, 11.558338);
+        assertEquals(far, LocationUtils.computeApproximateDistance(52.525592, 13.369545, 48.140228, 11.558338),
+                far * 0.0025);
+    }
+
+    @Test
+    public void approximateDistanceAcrossAntimeridian() {
+        final float exact = LocationUtils.computeDistance(-17.8, 179.9, -17.8, -179.9);
+        assertEquals(exact, LocationUtils.computeApproximateDistance(-17.8, 179.9, -17.8, -179.9), exact * 0.0002);
+    }
+
+    @Test
+    public void approximateDistances() {
+        final int[] coords = { 52506921, 13332707, 48140228, 11558338, 52525592, 13369545 };
+        final float[] distances = new float[3];
+        LocationUtils.computeApproximateDistances(52525592, 13369545, coords, distances);
+        for (int i = 0; i < distances.length; i++) {
+            final float exact = LocationUtils.computeDistance(52.525592, 13.369545, coords[i * 2] / 1E6,
+                    coords[i * 2 + 1] / 1E6);
+            assertEquals(exact, distances[i], exact * 0.0025 + 0.01);
+        }
+    }
+}
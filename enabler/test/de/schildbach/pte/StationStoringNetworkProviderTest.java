@@ -0,0 +1,228 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.NearbyLocationsResult;
+import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+import de.schildbach.pte.dto.QueryTripsContext;
+import de.schildbach.pte.dto.QueryTripsResult;
+import de.schildbach.pte.dto.ResultHeader;
+import de.schildbach.pte.dto.SuggestLocationsResult;
+import de.schildbach.pte.util.StationStore;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class StationStoringNetworkProviderTest {
+    private static final EnumSet<LocationType> STATIONS = EnumSet.of(LocationType.STATION);
+    private static final Location CENTER = Location.coord(52520000, 13400000);
+
+    // about 110, 220, 330 and 440 meters north of the center
+    private static final List<Location> STATIONS_AROUND = Arrays.asList(station("1", 1000), station("2", 2000),
+            station("3", 3000), station("4", 4000));
+
+    private File file;
+    private StationStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("stations", null);
+        file.delete();
+        store = new StationStore(file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        store.close();
+        file.delete();
+    }
+
+    @Test
+    public void answersLocallyWithinCoveredCircle() throws IOException {
+        final StubProvider upstream = new StubProvider(Integer.MAX_VALUE, true);
+        final StationStoringNetworkProvider provider = new StationStoringNetworkProvider(upstream, store);
+
+        assertEquals(3, provider.queryNearbyLocations(STATIONS, CENTER, 400, 10).locations.size());
+        assertEquals(1, upstream.queries);
+
+        final NearbyLocationsResult local = provider.queryNearbyLocations(STATIONS, CENTER, 250, 10);
+        assertEquals(1, upstream.queries);
+        assertEquals(Arrays.asList(STATIONS_AROUND.get(0), STATIONS_AROUND.get(1)), local.locations);
+        assertEquals("station store", local.header.serverProduct);
+
+        provider.queryNearbyLocations(STATIONS, CENTER, 500, 10);
+        assertEquals(2, upstream.queries);
+    }
+
+    @Test
+    public void coversOnlyUpToFarthestWhenLimitReached() throws IOException {
+        final StubProvider upstream = new StubProvider(Integer.MAX_VALUE, true);
+        final StationStoringNetworkProvider provider = new StationStoringNetworkProvider(upstream, store);
+
+        assertEquals(2, provider.queryNearbyLocations(STATIONS, CENTER, 1000, 2).locations.size());
+        provider.queryNearbyLocations(STATIONS, CENTER, 1000, 2);
+        assertEquals(2, upstream.queries);
+
+        provider.queryNearbyLocations(STATIONS, CENTER, 200, 2);
+        assertEquals(2, upstream.queries);
+    }
+
+    @Test
+    public void coversOnlyUpToFarthestWhenUpstreamCapsSilently() throws IOException {
+        final StubProvider upstream = new StubProvider(2, true);
+        final StationStoringNetworkProvider provider = new StationStoringNetworkProvider(upstream, store);
+
+        assertEquals(2, provider.queryNearbyLocations(STATIONS, CENTER, 1000, 3).locations.size());
+        provider.queryNearbyLocations(STATIONS, CENTER, 1000, 3);
+        assertEquals(2, upstream.queries);
+    }
+
+    @Test
+    public void coversOnlyUpToFarthestWhenLimitUnknown() throws IOException {
+        final StubProvider upstream = new StubProvider(Integer.MAX_VALUE, false);
+        final StationStoringNetworkProvider provider = new StationStoringNetworkProvider(upstream, store);
+
+        assertEquals(3, provider.queryNearbyLocations(STATIONS, CENTER, 400, 10).locations.size());
+        provider.queryNearbyLocations(STATIONS, CENTER, 400, 10);
+        assertEquals(2, upstream.queries);
+
+        provider.queryNearbyLocations(STATIONS, CENTER, 300, 10);
+        assertEquals(2, upstream.queries);
+    }
+
+    @Test
+    public void countsAllLocationsAgainstLimit() throws IOException {
+        final StubProvider upstream = new StubProvider(Integer.MAX_VALUE, true);
+        upstream.pois = 2;
+        final StationStoringNetworkProvider provider = new StationStoringNetworkProvider(upstream, store);
+
+        provider.queryNearbyLocations(EnumSet.of(LocationType.STATION, LocationType.POI), CENTER, 1000, 4);
+        provider.queryNearbyLocations(STATIONS, CENTER, 1000, 4);
+        assertEquals(2, upstream.queries);
+    }
+
+    @Test
+    public void resolvesStationCenterFromStore() throws IOException {
+        final StubProvider upstream = new StubProvider(Integer.MAX_VALUE, true);
+        final StationStoringNetworkProvider provider = new StationStoringNetworkProvider(upstream, store);
+        provider.queryNearbyLocations(STATIONS, CENTER, 1000, 10);
+
+        final NearbyLocationsResult local = provider
+                .queryNearbyLocations(STATIONS, new Location(LocationType.STATION, "1"), 150, 10);
+        assertEquals(1, upstream.queries);
+        assertEquals(Arrays.asList(STATIONS_AROUND.get(0), STATIONS_AROUND.get(1)), local.locations);
+    }
+
+    @Test
+    public void vrsLimit() {
+        final VrsProvider vrs = new VrsProvider();
+        assertEquals(16, vrs.nearbyLocationsLimit(CENTER, 20));
+        assertEquals(5, vrs.nearbyLocationsLimit(CENTER, 5));
+        assertEquals(0, vrs.nearbyLocationsLimit(CENTER, 0));
+        assertEquals(0, vrs.nearbyLocationsLimit(new Location(LocationType.STATION, "1"), 5));
+    }
+
+    private static Location station(final String id, final int latOffset) {
+        return new Location(LocationType.STATION, id, CENTER.lat + latOffset, CENTER.lon, null, "Station " + id);
+    }
+
+    /**
+     * Returns the stations around the center nearest first, up to the given distance and count, which it caps the way
+     * some servers do.
+     */
+    private static final class StubProvider extends AbstractNetworkProvider {
+        private final int cap;
+        private final boolean limitKnown;
+        private int pois = 0;
+        private int queries = 0;
+
+        public StubProvider(final int cap, final boolean limitKnown) {
+            super(NetworkId.VVO);
+            this.cap = cap;
+            this.limitKnown = limitKnown;
+        }
+
+        @Override
+        protected boolean hasCapability(final Capability capability) {
+            return capability == Capability.NEARBY_LOCATIONS;
+        }
+
+        @Override
+        protected int nearbyLocationsLimit(final Location location, final int maxLocations) {
+            return limitKnown ? Math.min(cap, super.nearbyLocationsLimit(location, maxLocations)) : 0;
+        }
+
+        @Override
+        public NearbyLocationsResult queryNearbyLocations(final EnumSet<LocationType> types, final Location location,
+                final int maxDistance, final int maxLocations) {
+            queries++;
+            final List<Location> locations = new ArrayList<Location>();
+            for (int i = 0; i < pois && types.contains(LocationType.POI); i++)
+                locations.add(new Location(LocationType.POI, "poi" + i, location.lat, location.lon + 100, null,
+                        "POI " + i));
+            for (final Location station : STATIONS_AROUND)
+                if (LocationUtils.computeApproximateDistance(location.lat / 1E6, location.lon / 1E6,
+                        station.lat / 1E6, station.lon / 1E6) <= maxDistance)
+                    locations.add(station);
+            final int limit = Math.min(cap, maxLocations);
+            return new NearbyLocationsResult(new ResultHeader(network, "stub"),
+                    locations.subList(0, Math.min(limit, locations.size())));
+        }
+
+        @Override
+        public QueryDeparturesResult queryDepartures(final String stationId, final Date time,
+                final int maxDepartures, final boolean equivs) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SuggestLocationsResult suggestLocations(final CharSequence constraint) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QueryTripsResult queryTrips(final Location from, final Location via, final Location to,
+                final Date date, final boolean dep, final Set<Product> products, final Optimize optimize,
+                final WalkSpeed walkSpeed, final Accessibility accessibility, final Set<Option> options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public QueryTripsResult queryMoreTrips(final QueryTripsContext context, final boolean later) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.QueryTripsContext;
+import de.schildbach.pte.dto.QueryTripsResult;
+import de.schildbach.pte.dto.SuggestLocationsResult;
+import de.schildbach.pte.dto.SuggestedLocation;
+import de.schildbach.pte.dto.Trip;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class TravelTimeMatrixTest {
+    private static final Location A = new Location(LocationType.STATION, "a");
+    private static final Location B = new Location(LocationType.STATION, "b");
+    private static final Location C = new Location(LocationType.STATION, "c");
+    private static final Location NAMED_C = new Location(LocationType.ANY, null, null, "C");
+
+    @SuppressWarnings("serial")
+    private static final QueryTripsContext CONTEXT = new QueryTripsContext() {
+        @Override
+        public boolean canQueryLater() {
+            return false;
+        }
+
+        @Override
+        public boolean canQueryEarlier() {
+            return false;
+        }
+    };
+
+    private final AtomicInteger suggestions = new AtomicInteger();
+
+    // trips take one minute per step between ids, in two variants
+    private final NetworkProvider provider = (NetworkProvider) Proxy.newProxyInstance(
+            NetworkProvider.class.getClassLoader(), new Class<?>[] { NetworkProvider.class }, new InvocationHandler() {
+                @Override
+                public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                    if (method.getName().equals("suggestLocations")) {
+                        suggestions.incrementAndGet();
+                        return new SuggestLocationsResult(null,
+                                Collections.singletonList(new SuggestedLocation(C)));
+                    }
+                    final Location from = (Location) args[0];
+                    final Location to = (Location) args[2];
+                    final Date date = (Date) args[3];
+                    final int minutes = Math.abs(from.id.charAt(0) - to.id.charAt(0));
+                    return new QueryTripsResult(null, null, from, null, to, CONTEXT,
+                            Arrays.asList(trip(from, to, date, minutes + 5), trip(from, to, date, minutes)));
+                }
+            });
+
+    @Test
+    public void matrix() throws Exception {
+        final TravelTimeMatrix matrix = new TravelTimeMatrix(provider, 4, 1000);
+        final AtomicInteger calls = new AtomicInteger();
+        final long[][] durations = matrix.compute(Arrays.asList(A, NAMED_C, NAMED_C), Arrays.asList(A, B, C),
+                new Date(0), null, new TravelTimeMatrix.Listener() {
+                    @Override
+                    public void onDuration(final int origin, final int destination, final long durationMs) {
+                        calls.incrementAndGet();
+                    }
+                });
+
+        assertEquals(9, calls.get());
+        assertEquals(1, suggestions.get());
+        assertEquals(0, durations[0][0]);
+        assertEquals(60000, durations[0][1]);
+        assertEquals(120000, durations[1][0]);
+        assertEquals(0, durations[2][2]);
+    }
+
+    @Test
+    public void failuresOnlyAffectTheirPairs() throws Exception {
+        final NetworkProvider failing = (NetworkProvider) Proxy.newProxyInstance(
+                NetworkProvider.class.getClassLoader(), new Class<?>[] { NetworkProvider.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args)
+                            throws Throwable {
+                        if (method.getName().equals("suggestLocations"))
+                            return new SuggestLocationsResult(null, SuggestLocationsResult.Status.SERVICE_DOWN);
+                        if (((Location) args[2]).equals(C))
+                            throw new IllegalStateException("cannot parse");
+                        return method.invoke(provider, args);
+                    }
+                });
+        final TravelTimeMatrix matrix = new TravelTimeMatrix(failing, 4, 1000);
+        final long[][] durations = matrix.compute(Arrays.asList(A, B), Arrays.asList(B, C, NAMED_C), new Date(0),
+                null, null);
+
+        assertEquals(60000, durations[0][0]);
+        assertEquals(TravelTimeMatrix.UNKNOWN, durations[0][1]);
+        assertEquals(0, durations[1][0]);
+        assertEquals(TravelTimeMatrix.UNKNOWN, durations[1][1]);
+        assertEquals(TravelTimeMatrix.UNKNOWN, durations[1][2]);
+    }
+
+    private static Trip trip(final Location from, final Location to, final Date date, final int minutes) {
+        final List<Trip.Leg> legs = Collections.<Trip.Leg> singletonList(new Trip.Individual(Trip.Individual.Type.WALK,
+                from, date, to, new Date(date.getTime() + minutes * 60000L), null, 0));
+        return new Trip(null, from, to, legs, null, null, 0);
+    }
+}
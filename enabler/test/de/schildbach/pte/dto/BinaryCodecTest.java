@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.dto;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import de.schildbach.pte.NetworkId;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class BinaryCodecTest {
+    private static final ResultHeader HEADER = new ResultHeader(NetworkId.VVO, "efa", "10.2", 1478000000123L, "s1");
+    private static final Location DRESDEN_HBF = new Location(LocationType.STATION, "33000028", 51040562, 13732039,
+            "Dresden", "Hauptbahnhof", EnumSet.of(Product.REGIONAL_TRAIN, Product.TRAM));
+    private static final Location POSTPLATZ = new Location(LocationType.STATION, "33000037", 51050760, 13733600,
+            "Dresden", "Postplatz");
+    private static final Location ADDRESS = new Location(LocationType.ADDRESS, null, -33868820, 151209296, null,
+            "George Street");
+
+    @Test
+    public void queryTripsResult() throws IOException {
+        final Line line = new Line("voe:11011: :H", "voe", Product.TRAM, "11", null,
+                new Style(Style.Shape.RECT, Style.RED, Style.WHITE), EnumSet.of(Line.Attr.WHEEL_CHAIR_ACCESS),
+                "Umleitung");
+        final Stop departureStop = new Stop(DRESDEN_HBF, true, new Date(1478001600000L), new Date(1478001660500L),
+                new Position("3", "A"), null);
+        final Stop intermediateStop = new Stop(POSTPLATZ, new Date(1478001900000L), null, new Position("1"), null,
+                true, new Date(1478001960000L), null, null, null, false);
+        final Stop arrivalStop = new Stop(ADDRESS, false, new Date(1478002200000L), null, null, null, true);
+        final Polyline path = new Polyline();
+        path.add(51040562, 13732039);
+        path.add(51050760, 13733600);
+        path.add(-33868820, 151209296);
+        final Trip.Public publicLeg = new Trip.Public(line, POSTPLATZ, departureStop, arrivalStop,
+                Collections.singletonList(intermediateStop), path, null);
+        final Trip.Individual individualLeg = new Trip.Individual(Trip.Individual.Type.WALK, ADDRESS,
+                new Date(1478002200000L), DRESDEN_HBF, new Date(1478002500000L), null, 250);
+        final Fare fare = new Fare("VVO", Fare.Type.ADULT, Currency.getInstance("EUR"), 2.3f, "Zone", "1");
+        final Trip trip = new Trip(null, DRESDEN_HBF, DRESDEN_HBF, Arrays.<Trip.Leg> asList(publicLeg, individualLeg),
+                Collections.singletonList(fare), new int[] { 1, 2 }, 0);
+        final Trip tripWithId = new Trip("trip-2", DRESDEN_HBF, ADDRESS,
+                Collections.<Trip.Leg> singletonList(publicLeg), null, null, null);
+        final QueryTripsResult result = new QueryTripsResult(HEADER, "http://example.com/", DRESDEN_HBF, null,
+                ADDRESS, new Context(), Arrays.asList(trip, tripWithId));
+
+        final byte[] encoded = BinaryCodec.encode(result);
+        final QueryTripsResult decoded = BinaryCodec.decodeQueryTripsResult(encoded);
+        assertArrayEquals(encoded, BinaryCodec.encode(decoded));
+
+        assertEquals(QueryTripsResult.Status.OK, decoded.status);
+        assertEquals(HEADER.serverTime, decoded.header.serverTime);
+        assertEquals("s1", decoded.header.context);
+        assertTrue(decoded.context instanceof Context);
+        assertEquals(trip.getId(), decoded.trips.get(0).getId());
+        assertNull(decoded.trips.get(0).providedId());
+        assertEquals("trip-2", decoded.trips.get(1).providedId());
+        assertNull(decoded.trips.get(1).fares);
+
+        final Trip.Public decodedLeg = (Trip.Public) decoded.trips.get(0).legs.get(0);
+        assertEquals(line.style.backgroundColor, decodedLeg.line.style.backgroundColor);
+        assertEquals(line.attrs, decodedLeg.line.attrs);
+        assertEquals(departureStop.predictedDepartureTime, decodedLeg.departureStop.predictedDepartureTime);
+        assertEquals(new Position("3", "A"), decodedLeg.departureStop.plannedDeparturePosition);
+        assertTrue(decodedLeg.intermediateStops.get(0).arrivalCancelled);
+        assertTrue(decodedLeg.arrivalStop.arrivalCancelled);
+        assertEquals(path, decodedLeg.path);
+        assertEquals(DRESDEN_HBF.products, decodedLeg.departure.products);
+        assertSame(decodedLeg.line, ((Trip.Public) decoded.trips.get(1).legs.get(0)).line);
+        assertSame(decoded.from, decodedLeg.departure);
+        assertEquals(250, ((Trip.Individual) decoded.trips.get(0).legs.get(1)).distance);
+        assertEquals(2.3f, decoded.trips.get(0).fares.get(0).fare, 0);
+    }
+
+    @Test
+    public void ambiguousQueryTripsResult() throws IOException {
+        final QueryTripsResult result = new QueryTripsResult(null, Arrays.asList(DRESDEN_HBF, POSTPLATZ), null,
+                Collections.<Location> emptyList());
+        final QueryTripsResult decoded = BinaryCodec.decodeQueryTripsResult(BinaryCodec.encode(result));
+        assertNull(decoded.header);
+        assertEquals(QueryTripsResult.Status.AMBIGUOUS, decoded.status);
+        assertEquals(result.ambiguousFrom, decoded.ambiguousFrom);
+        assertNull(decoded.ambiguousVia);
+        assertEquals(0, decoded.ambiguousTo.size());
+    }
+
+    @Test
+    public void queryDeparturesResult() throws IOException {
+        final QueryDeparturesResult result = new QueryDeparturesResult(HEADER);
+        final Line line = new Line(null, "voe", Product.BUS, "62", null);
+        final Departure departure1 = new Departure(new Date(1478001600000L), null, line, null, POSTPLATZ, null, null);
+        final Departure departure2 = new Departure(null, new Date(1478001000000L), line, new Position("2"), POSTPLATZ,
+                new int[] { 1, 1 }, "verspätet");
+        final List<LineDestination> lines = Collections.singletonList(new LineDestination(line, POSTPLATZ));
+        result.stationDepartures.add(new StationDepartures(DRESDEN_HBF, Arrays.asList(departure1, departure2), lines));
+        result.stationDepartures.add(new StationDepartures(POSTPLATZ, Collections.<Departure> emptyList(), null));
+
+        final byte[] encoded = BinaryCodec.encode(result);
+        final QueryDeparturesResult decoded = BinaryCodec.decodeQueryDeparturesResult(encoded);
+        assertArrayEquals(encoded, BinaryCodec.encode(decoded));
+        assertEquals(2, decoded.stationDepartures.size());
+        final List<Departure> departures = decoded.stationDepartures.get(0).departures;
+        assertEquals(departure1.plannedTime, departures.get(0).plannedTime);
+        assertNull(departures.get(1).plannedTime);
+        assertEquals(departure2.predictedTime, departures.get(1).predictedTime);
+        assertEquals("verspätet", departures.get(1).message);
+        assertSame(departures.get(0).line, departures.get(1).line);
+        assertEquals(lines, decoded.stationDepartures.get(0).lines);
+        assertNull(decoded.stationDepartures.get(1).lines);
+    }
+
+    @Test
+    public void nearbyAndSuggestLocationsResult() throws IOException {
+        final NearbyLocationsResult nearby = new NearbyLocationsResult(HEADER, Arrays.asList(DRESDEN_HBF, ADDRESS));
+        assertEquals(nearby.locations,
+                BinaryCodec.decodeNearbyLocationsResult(BinaryCodec.encode(nearby)).locations);
+
+        final SuggestLocationsResult suggest = new SuggestLocationsResult(HEADER,
+                Arrays.asList(new SuggestedLocation(DRESDEN_HBF, 100), new SuggestedLocation(POSTPLATZ, -1)));
+        final SuggestLocationsResult decoded = BinaryCodec.decodeSuggestLocationsResult(BinaryCodec.encode(suggest));
+        assertEquals(suggest.getLocations(), decoded.getLocations());
+        assertEquals(-1, decoded.suggestedLocations().get(1).priority);
+
+        final NearbyLocationsResult invalid = new NearbyLocationsResult(null, NearbyLocationsResult.Status.INVALID_ID);
+        assertEquals(NearbyLocationsResult.Status.INVALID_ID,
+                BinaryCodec.decodeNearbyLocationsResult(BinaryCodec.encode(invalid)).status);
+    }
+
+    @Test(expected = IOException.class)
+    public void wrongType() throws IOException {
+        BinaryCodec.decodeQueryTripsResult(
+                BinaryCodec.encode(new NearbyLocationsResult(HEADER, Collections.<Location> emptyList())));
+    }
+
+    @Test(expected = IOException.class)
+    public void truncated() throws IOException {
+        final byte[] encoded = BinaryCodec
+                .encode(new NearbyLocationsResult(HEADER, Arrays.asList(DRESDEN_HBF, POSTPLATZ)));
+        BinaryCodec.decodeNearbyLocationsResult(Arrays.copyOf(encoded, encoded.length - 3));
+    }
+
+    @Test(expected = IOException.class)
+    public void disallowedContextClass() throws IOException {
+        final Context context = new Context();
+        context.payload = new AtomicLong();
+        final QueryTripsResult result = new QueryTripsResult(HEADER, null, DRESDEN_HBF, null, POSTPLATZ, context,
+                Collections.<Trip> emptyList());
+        BinaryCodec.decodeQueryTripsResult(BinaryCodec.encode(result));
+    }
+
+    @Test
+    public void withoutContexts() throws IOException {
+        final QueryTripsResult result = new QueryTripsResult(HEADER, null, DRESDEN_HBF, null, POSTPLATZ, new Context(),
+                Collections.<Trip> emptyList());
+        final QueryTripsResult decoded = BinaryCodec.decodeQueryTripsResult(BinaryCodec.encode(result, false));
+        assertNull(decoded.context);
+        assertNull(decoded.header.context);
+        assertEquals(HEADER.serverVersion, decoded.header.serverVersion);
+        assertEquals(POSTPLATZ, decoded.to);
+    }
+
+    private static class Context implements QueryTripsContext {
+        private static final long serialVersionUID = 1L;
+
+        private Object payload = Arrays.asList("later", new Date(1478001600000L), EnumSet.of(Product.BUS),
+                new int[] { 1 });
+
+        @Override
+        public boolean canQueryLater() {
+            return true;
+        }
+
+        @Override
+        public boolean canQueryEarlier() {
+            return false;
+        }
+    }
+}
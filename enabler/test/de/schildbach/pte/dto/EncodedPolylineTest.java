@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.dto;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class EncodedPolylineTest {
+    @Test
+    public void decode() {
+        final EncodedPolyline polyline = new EncodedPolyline("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+        assertEquals(Arrays.asList(new Point(38500000, -120200000), new Point(40700000, -120950000),
+                new Point(43252000, -126453000)), polyline);
+    }
+
+    @Test
+    public void empty() {
+        assertEquals(0, new EncodedPolyline("").size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncated() {
+        new EncodedPolyline("_p~iF~ps|U_ulL").size();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.dto;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class PolylineTest {
+    @Test
+    public void add() {
+        final Polyline polyline = new Polyline(1);
+        polyline.add(1, 2);
+        polyline.add(3, 4);
+        assertEquals(2, polyline.size());
+        assertEquals(3, polyline.getLat(1));
+        assertEquals(4, polyline.getLon(1));
+        assertEquals(Arrays.asList(new Point(1, 2), new Point(3, 4)), polyline);
+    }
+
+    @Test
+    public void prepend() {
+        final Polyline first = new Polyline(Arrays.asList(new Point(1, 2), new Point(3, 4)));
+        final Polyline second = new Polyline();
+        second.add(5, 6);
+        second.addAll(0, first);
+        assertEquals(Arrays.asList(new Point(1, 2), new Point(3, 4), new Point(5, 6)), second);
+    }
+
+    @Test
+    public void prependSelf() {
+        final Polyline polyline = new Polyline();
+        polyline.add(1, 2);
+        polyline.add(3, 4);
+        polyline.addAll(0, polyline);
+        assertEquals(Arrays.asList(new Point(1, 2), new Point(3, 4), new Point(1, 2), new Point(3, 4)), polyline);
+    }
+
+    @Test
+    public void remove() {
+        final Polyline polyline = new Polyline(Arrays.asList(new Point(1, 2), new Point(3, 4), new Point(5, 6)));
+        assertEquals(new Point(3, 4), polyline.remove(1));
+        assertEquals(Arrays.asList(new Point(1, 2), new Point(5, 6)), polyline);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBounds() {
+        final Polyline polyline = new Polyline();
+        polyline.add(1, 2);
+        polyline.getLat(1);
+    }
+}
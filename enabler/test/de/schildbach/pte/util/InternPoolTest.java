@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.Style;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class InternPoolTest {
+    private final InternPool pool = new InternPool(16);
+
+    @Test
+    public void line() {
+        final Line line = new Line("1", "net", Product.BUS, "42", new Style(Style.RED, Style.WHITE));
+        assertSame(line, pool.intern(line));
+        assertSame(line, pool.intern(new Line("1", "net", Product.BUS, "42", new Style(Style.RED, Style.WHITE))));
+    }
+
+    @Test
+    public void lineWithDifferentStyle() {
+        final Line line = pool.intern(new Line("1", "net", Product.BUS, "42", new Style(Style.RED, Style.WHITE)));
+        final Line other = new Line("1", "net", Product.BUS, "42", new Style(Style.BLUE, Style.WHITE));
+        assertSame(other, pool.intern(other));
+        assertNotSame(line, other);
+    }
+
+    @Test
+    public void lineWithDifferentMessage() {
+        pool.intern(new Line("1", "net", Product.BUS, "42", null, (String) null));
+        final Line other = new Line("1", "net", Product.BUS, "42", null, "Umleitung");
+        assertSame(other, pool.intern(other));
+    }
+
+    @Test
+    public void location() {
+        final Location location = new Location(LocationType.STATION, "1", null, "Hauptbahnhof");
+        assertSame(location, pool.intern(location));
+        assertSame(location, pool.intern(new Location(LocationType.STATION, "1", null, "Hauptbahnhof")));
+        final Location other = new Location(LocationType.STATION, "1", "Dresden", "Hauptbahnhof");
+        assertSame(other, pool.intern(other));
+    }
+
+    @Test
+    public void style() {
+        final Style style = new Style(Style.Shape.CIRCLE, Style.RED, Style.WHITE);
+        assertSame(style, pool.intern(style));
+        assertSame(style, pool.intern(new Style(Style.Shape.CIRCLE, Style.RED, Style.WHITE)));
+    }
+
+    @Test
+    public void nullInstance() {
+        assertNull(pool.intern((Line) null));
+        assertNull(pool.intern((Location) null));
+    }
+
+    @Test
+    public void bounded() {
+        final Line line = pool.intern(new Line(null, "net", Product.BUS, "0"));
+        for (int i = 1; i <= 64; i++)
+            pool.intern(new Line(null, "net", Product.BUS, Integer.toString(i)));
+        final Line other = new Line(null, "net", Product.BUS, "0");
+        assertSame(other, pool.intern(other));
+        assertNotSame(line, other);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class ParallelBatchTest {
+    @Test
+    public void order() throws Exception {
+        final List<Integer> keys = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++)
+            keys.add(i);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        final Map<Integer, String> results = ParallelBatch.run(keys, 4, new ParallelBatch.Query<Integer, String>() {
+            @Override
+            public String query(final Integer key) throws IOException {
+                final int n = inFlight.incrementAndGet();
+                synchronized (maxInFlight) {
+                    maxInFlight.set(Math.max(maxInFlight.get(), n));
+                }
+                try {
+                    Thread.sleep(1);
+                } catch (final InterruptedException x) {
+                    throw new RuntimeException(x);
+                }
+                inFlight.decrementAndGet();
+                return "#" + key;
+            }
+        });
+
+        assertEquals(keys, new ArrayList<Integer>(results.keySet()));
+        assertEquals("#42", results.get(42));
+        assertTrue(maxInFlight.get() <= 4);
+    }
+
+    @Test
+    public void hostLimit() throws Exception {
+        final List<Integer> keys = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++)
+            keys.add(i);
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        ParallelBatch.run(keys, ParallelBatch.MAX_PER_HOST * 2, "example.com",
+                new ParallelBatch.Query<Integer, String>() {
+                    @Override
+                    public String query(final Integer key) throws IOException {
+                        final int n = inFlight.incrementAndGet();
+                        synchronized (maxInFlight) {
+                            maxInFlight.set(Math.max(maxInFlight.get(), n));
+                        }
+                        try {
+                            Thread.sleep(1);
+                        } catch (final InterruptedException x) {
+                            throw new RuntimeException(x);
+                        }
+                        inFlight.decrementAndGet();
+                        return "#" + key;
+                    }
+                });
+
+        assertTrue(maxInFlight.get() <= ParallelBatch.MAX_PER_HOST);
+    }
+
+    @Test(expected = IOException.class)
+    public void failure() throws Exception {
+        ParallelBatch.run(Arrays.asList(1, 2, 3), 2, new ParallelBatch.Query<Integer, String>() {
+            @Override
+            public String query(final Integer key) throws IOException {
+                if (key == 2)
+                    throw new IOException();
+                return key.toString();
+            }
+        });
+    }
+}
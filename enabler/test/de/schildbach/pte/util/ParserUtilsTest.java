@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import de.schildbach.pte.dto.Point;
+import de.schildbach.pte.dto.Polyline;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class ParserUtilsTest {
+    @Test
+    public void parseCoordinateList() {
+        final Polyline path = ParserUtils.parseCoordinateList("13737420.00000,51040520.00000 13737422.5,51040521.49999");
+        assertEquals(Arrays.asList(new Point(51040520, 13737420), new Point(51040521, 13737423)), path);
+    }
+
+    @Test
+    public void parseCoordinateList_extraSpaces() {
+        assertEquals(Arrays.asList(new Point(2, 1), new Point(4, 3)),
+                ParserUtils.parseCoordinateList("1,2   3,4 "));
+    }
+
+    @Test
+    public void parseCoordinateList_ignoresThirdComponent() {
+        assertEquals(Arrays.asList(new Point(2, 1), new Point(4, 3)),
+                ParserUtils.parseCoordinateList("1,2,0 3,4,-1.5E2"));
+    }
+
+    @Test
+    public void parseCoordinateList_empty() {
+        assertEquals(0, ParserUtils.parseCoordinateList("").size());
+    }
+
+    @Test
+    public void parseCoordinateList_exponent() {
+        assertEquals(Arrays.asList(new Point(2000, 1500)), ParserUtils.parseCoordinateList("1.5E3,2E3"));
+    }
+
+    @Test
+    public void parseCoordinateList_roundsLikeMathRound() {
+        final String[] numbers = { "0.5", "-0.5", "-0.50001", "-1.5", "-1.49", "2.5", "-2.51", "7.0", "-7", "3.", "-0" };
+        final Random random = new Random(0);
+        final StringBuilder str = new StringBuilder();
+        final Polyline expected = new Polyline();
+        for (int i = 0; i < 1000; i++) {
+            final String x = i < numbers.length ? numbers[i]
+                    : String.format(Locale.US, "%.5f", (random.nextDouble() - 0.5) * 360e6);
+            final String y = String.format(Locale.US, "%.3f", (random.nextDouble() - 0.5) * 180e6);
+            str.append(x).append(',').append(y).append(' ');
+            expected.add((int) Math.round(Double.parseDouble(y)), (int) Math.round(Double.parseDouble(x)));
+        }
+        assertEquals(expected, ParserUtils.parseCoordinateList(str));
+    }
+}
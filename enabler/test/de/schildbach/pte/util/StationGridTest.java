@@ -0,0 +1,74 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class StationGridTest {
+    private final StationGrid grid = new StationGrid();
+
+    @Test
+    public void nearby() {
+        // roughly 111 meters per step of latitude
+        for (int i = 0; i < 20; i++)
+            grid.put(new Location(LocationType.STATION, Integer.toString(i), 52500000 + i * 1000, 13400000));
+
+        final List<Location> within = grid.nearby(52500000, 13400000, 500, 0);
+        assertEquals(5, within.size());
+        assertEquals("0", within.get(0).id);
+        assertEquals("4", within.get(4).id);
+
+        final List<Location> limited = grid.nearby(52510000, 13400000, 5000, 3);
+        assertEquals(3, limited.size());
+        assertEquals("10", limited.get(0).id);
+    }
+
+    @Test
+    public void move() {
+        grid.put(new Location(LocationType.STATION, "1", 52500000, 13400000));
+        grid.put(new Location(LocationType.STATION, "1", 48100000, 11500000));
+        assertEquals(1, grid.size());
+        assertTrue(grid.nearby(52500000, 13400000, 1000, 0).isEmpty());
+        assertEquals(1, grid.nearby(48100000, 11500000, 1000, 0).size());
+
+        grid.put(new Location(LocationType.STATION, "1", null, "Unknown"));
+        assertEquals(0, grid.size());
+    }
+
+    @Test
+    public void coverage() {
+        assertFalse(grid.covers(52500000, 13400000, 100));
+        grid.cover(52500000, 13400000, 1000);
+        assertTrue(grid.covers(52500000, 13400000, 1000));
+        assertTrue(grid.covers(52502000, 13400000, 500));
+        assertFalse(grid.covers(52502000, 13400000, 900));
+        assertFalse(grid.covers(52500000, 13400000, 1500));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2010-2015 the original author or authors.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.schildbach.pte.dto.BinaryCodec;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.Product;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class StationStoreTest {
+    private File file;
+    private StationStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("stations", null);
+        file.delete();
+        store = new StationStore(file);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        store.close();
+        file.delete();
+    }
+
+    @Test
+    public void putAndGet() throws IOException {
+        final Location station = new Location(LocationType.STATION, "1", 52000000, 13000000, "Berlin", "Zoo",
+                EnumSet.of(Product.BUS));
+        assertTrue(store.put(station));
+        assertEquals(station, store.get("1"));
+        assertEquals(1, store.size());
+        assertNull(store.get("2"));
+    }
+
+    @Test
+    public void merge() throws IOException {
+        store.put(new Location(LocationType.STATION, "1", 52000000, 13000000, "Berlin", "Zoo",
+                EnumSet.of(Product.BUS)));
+        assertTrue(store.put(new Location(LocationType.STATION, "1", null, "Zoologischer Garten")));
+        final Location merged = store.get("1");
+        assertEquals("Zoologischer Garten", merged.name);
+        assertEquals("Berlin", merged.place);
+        assertEquals(52000000, merged.lat);
+        assertEquals(EnumSet.of(Product.BUS), merged.products);
+        assertFalse(store.put(new Location(LocationType.STATION, "1", null, "Zoologischer Garten")));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void ignoresOtherLocations() throws IOException {
+        assertFalse(store.put(new Location(LocationType.ADDRESS, "1", null, "Hauptstr. 1")));
+        assertFalse(store.put(new Location(LocationType.STATION, null, 52000000, 13000000)));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void reopen() throws IOException {
+        for (int i = 0; i < 5000; i++)
+            store.put(new Location(LocationType.STATION, Integer.toString(i), 52000000 + i, 13000000, null,
+                    "Station " + i));
+        store.put(new Location(LocationType.STATION, "7", null, "Renamed"));
+        store.close();
+
+        store = new StationStore(file);
+        assertEquals(5000, store.size());
+        assertEquals("Station 4999", store.get("4999").name);
+        assertEquals("Renamed", store.get("7").name);
+        assertEquals(52000007, store.get("7").lat);
+    }
+
+    @Test(expected = IOException.class)
+    public void lockedWhileOpen() throws IOException {
+        new StationStore(file);
+    }
+
+    @Test
+    public void rejectsForeignFileUntouched() throws IOException {
+        store.close();
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(0);
+        raf.write("not a store".getBytes("US-ASCII"));
+        raf.close();
+
+        try {
+            new StationStore(file);
+            fail();
+        } catch (final IOException x) {
+            // expected
+        }
+        assertEquals(11, file.length());
+
+        // the failed attempt must not keep the file locked
+        final RandomAccessFile truncate = new RandomAccessFile(file, "rw");
+        truncate.setLength(0);
+        truncate.close();
+        store = new StationStore(file);
+    }
+
+    @Test
+    public void ignoresTornRecord() throws IOException {
+        store.putAll(Arrays.asList(new Location(LocationType.STATION, "1", null, "One"),
+                new Location(LocationType.STATION, "2", null, "Two")));
+        store.close();
+
+        // garble the payload of the last record
+        final RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        final byte[] first = BinaryCodec.encode(new Location(LocationType.STATION, "1", null, "One"));
+        final long tail = 8 + 4 + first.length + 4;
+        raf.seek(tail);
+        raf.write(new byte[] { (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff });
+        raf.close();
+
+        store = new StationStore(file);
+        assertEquals(1, store.size());
+        assertEquals("One", store.get("1").name);
+        assertTrue(store.put(new Location(LocationType.STATION, "3", null, "Three")));
+        store.close();
+
+        store = new StationStore(file);
+        assertEquals(2, store.size());
+        assertNull(store.get("2"));
+        assertEquals("Three", store.get("3").name);
+    }
+}
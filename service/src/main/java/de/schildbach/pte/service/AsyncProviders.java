@@ -0,0 +1,195 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.NetworkProvider;
+
+/**
+ * Runs provider calls off the servlet threads. Each network gets its own {@link Bulkhead}, so that a slow upstream
+ * only ties up the threads of its own network. If a network is saturated, the call is rejected with a
+ * {@link BulkheadFullException}.
+ * 
+ * <p>
+ * Batch calls fan out to many upstream requests and take much longer than single ones, so they go through a separate
+ * bulkhead per network. That way they neither occupy the slots of single calls nor skew their latency estimate.
+ * 
+ * <p>
+ * The bulkheads are sized by the system properties {@code pte.threadsPerNetwork}, which is the upper bound of the
+ * adaptive limit, and {@code pte.queuePerNetwork}; batch bulkheads by {@code pte.batchesPerNetwork} and
+ * {@code pte.batchQueuePerNetwork}. Calls time out after {@code pte.timeoutSeconds}.
+ * 
+ * @author Andreas Schildbach
+ */
+@Component
+public class AsyncProviders {
+    private static final int THREADS_PER_NETWORK = Integer.getInteger("pte.threadsPerNetwork", 8);
+    private static final int QUEUE_PER_NETWORK = Integer.getInteger("pte.queuePerNetwork", 32);
+    private static final int BATCHES_PER_NETWORK = Integer.getInteger("pte.batchesPerNetwork", 2);
+    private static final int BATCH_QUEUE_PER_NETWORK = Integer.getInteger("pte.batchQueuePerNetwork", 4);
+    private static final long TIMEOUT_MS = TimeUnit.SECONDS.toMillis(Long.getLong("pte.timeoutSeconds", 30));
+
+    private final ProviderRegistry providers;
+    private final Metrics metrics;
+    private final Map<NetworkId, Bulkhead> bulkheads = Maps.newConcurrentMap();
+    private final Map<NetworkId, Bulkhead> batchBulkheads = Maps.newConcurrentMap();
+
+    public interface Call<T> {
+        T call(NetworkProvider provider) throws IOException;
+    }
+
+    @Autowired
+    public AsyncProviders(final ProviderRegistry providers, final Metrics metrics) {
+        this.providers = providers;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Calls the provider of the given network through that network's bulkhead. The provider is looked up right away, so
+     * unknown networks fail before anything is queued.
+     */
+    public <T> DeferredResult<T> defer(final NetworkId network, final Call<T> call) {
+        return defer(bulkhead(network), network, call);
+    }
+
+    /**
+     * Like {@link #defer(NetworkId, Call)}, but for calls that query many items at once. These go through the
+     * network's batch bulkhead.
+     */
+    public <T> DeferredResult<T> deferBatch(final NetworkId network, final Call<T> call) {
+        return defer(batchBulkhead(network), network, call);
+    }
+
+    /**
+     * Calls the provider of the given network through that network's bulkhead, for callers that aren't serving a
+     * request and handle the outcome themselves.
+     * 
+     * @throws BulkheadFullException
+     *             if the network is saturated
+     */
+    public <T> ListenableFuture<T> submit(final NetworkId network, final Call<T> call) {
+        return submit(bulkhead(network), network, providers.get(network), call);
+    }
+
+    private <T> DeferredResult<T> defer(final Bulkhead bulkhead, final NetworkId network, final Call<T> call) {
+        final NetworkProvider provider = providers.get(network);
+        final DeferredResult<T> result = new DeferredResult<T>(TIMEOUT_MS);
+        final long start = System.nanoTime();
+        final ListenableFuture<T> future = submit(bulkhead, network, provider, call);
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(final T value) {
+                result.setResult(value);
+            }
+
+            @Override
+            public void onFailure(final Throwable x) {
+                result.setErrorResult(x);
+            }
+        });
+        result.onTimeout(new Runnable() {
+            @Override
+            public void run() {
+                metrics.recordCall(network, Metrics.Outcome.TIMEOUT, System.nanoTime() - start);
+                future.cancel(true);
+                result.setErrorResult(new TimeoutException("no response from " + network + " after " + TIMEOUT_MS
+                        + " ms"));
+            }
+        });
+        return result;
+    }
+
+    private <T> ListenableFuture<T> submit(final Bulkhead bulkhead, final NetworkId network,
+            final NetworkProvider provider, final Call<T> call) {
+        final long start = System.nanoTime();
+        final ListenableFuture<T> future;
+        try {
+            future = bulkhead.submit(new Callable<T>() {
+                @Override
+                public T call() throws IOException {
+                    return call.call(provider);
+                }
+            });
+        } catch (final BulkheadFullException x) {
+            metrics.recordCall(network, Metrics.Outcome.REJECTED, 0);
+            throw x;
+        }
+        Futures.addCallback(future, new FutureCallback<T>() {
+            @Override
+            public void onSuccess(final T value) {
+                metrics.recordCall(network, Metrics.Outcome.OK, System.nanoTime() - start);
+            }
+
+            @Override
+            public void onFailure(final Throwable x) {
+                // cancellation only happens on timeout, which is recorded there
+                if (!(x instanceof CancellationException))
+                    metrics.recordCall(network, Metrics.Outcome.ERROR, System.nanoTime() - start);
+            }
+        });
+        return future;
+    }
+
+    public Map<NetworkId, Bulkhead> bulkheads() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+
+    public Map<NetworkId, Bulkhead> batchBulkheads() {
+        return Collections.unmodifiableMap(batchBulkheads);
+    }
+
+    private Bulkhead bulkhead(final NetworkId network) {
+        return bulkhead(bulkheads, network, THREADS_PER_NETWORK, QUEUE_PER_NETWORK);
+    }
+
+    private Bulkhead batchBulkhead(final NetworkId network) {
+        return bulkhead(batchBulkheads, network, BATCHES_PER_NETWORK, BATCH_QUEUE_PER_NETWORK);
+    }
+
+    private static Bulkhead bulkhead(final Map<NetworkId, Bulkhead> bulkheads, final NetworkId network,
+            final int maxLimit, final int maxQueue) {
+        Bulkhead bulkhead = bulkheads.get(network);
+        if (bulkhead == null) {
+            synchronized (bulkheads) {
+                bulkhead = bulkheads.get(network);
+                if (bulkhead == null) {
+                    bulkhead = new Bulkhead(network, maxLimit, maxQueue, TIMEOUT_MS);
+                    bulkheads.put(network, bulkhead);
+                }
+            }
+        }
+        return bulkhead;
+    }
+}
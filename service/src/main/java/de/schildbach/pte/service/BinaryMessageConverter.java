@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.MediaType;
+
+import de.schildbach.pte.dto.BinaryCodec;
+import de.schildbach.pte.dto.NearbyLocationsResult;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+import de.schildbach.pte.dto.QueryTripsResult;
+import de.schildbach.pte.dto.SuggestLocationsResult;
+
+/**
+ * Writes results in the compact format of {@link BinaryCodec}, for clients that ask for
+ * {@code application/x-pte-binary}.
+ * 
+ * @author Andreas Schildbach
+ */
+public class BinaryMessageConverter extends StreamingMessageConverter {
+    public static final MediaType MEDIA_TYPE = new MediaType("application", "x-pte-binary");
+
+    public BinaryMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return QueryTripsResult.class.equals(clazz) || QueryDeparturesResult.class.equals(clazz)
+                || NearbyLocationsResult.class.equals(clazz) || SuggestLocationsResult.class.equals(clazz);
+    }
+
+    @Override
+    protected void write(final Object result, final @Nullable HttpServletRequest request, final OutputStream os)
+            throws IOException {
+        final byte[] message;
+        if (result instanceof QueryTripsResult)
+            message = BinaryCodec.encode((QueryTripsResult) result, false);
+        else if (result instanceof QueryDeparturesResult)
+            message = BinaryCodec.encode((QueryDeparturesResult) result, false);
+        else if (result instanceof NearbyLocationsResult)
+            message = BinaryCodec.encode((NearbyLocationsResult) result, false);
+        else
+            message = BinaryCodec.encode((SuggestLocationsResult) result, false);
+        os.write(message);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import de.schildbach.pte.NetworkId;
+
+/**
+ * Limits the calls in flight to the provider of one network. The concurrency limit adapts to the observed latency:
+ * it shrinks while calls take much longer than the fastest recent ones or fail with I/O errors, and grows while the
+ * network keeps up. Calls beyond the limit wait in a queue, but only as many as can be expected to start before the
+ * timeout. Everything else is rejected right away with a {@link BulkheadFullException}.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class Bulkhead {
+    private static final int MIN_LIMIT = 1;
+    private static final double TOLERANCE = 2;
+    private static final double SMOOTHING = 0.2;
+    private static final int MIN_RTT_WINDOW = 100;
+
+    private final NetworkId network;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long timeoutNanos;
+    private final ThreadPoolExecutor pool;
+
+    private double limit;
+    private int admitted = 0;
+    private int running = 0;
+    private long rejected = 0;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private int windowSamples = 0;
+    private double smoothedRttNanos = 0;
+
+    public Bulkhead(final NetworkId network, final int maxLimit, final int maxQueue, final long timeoutMs) {
+        this.network = network;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.limit = maxLimit;
+        this.pool = new ThreadPoolExecutor(maxLimit, maxLimit, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(maxLimit + maxQueue), new ThreadFactoryBuilder().setDaemon(true)
+                        .setNameFormat("provider-" + network.name().toLowerCase(Locale.ENGLISH) + "-%d").build());
+        // idle networks hold no threads
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @throws BulkheadFullException
+     *             if the network is saturated
+     */
+    public <T> ListenableFuture<T> submit(final Callable<T> callable) {
+        synchronized (this) {
+            if (admitted >= (int) limit + allowedQueue()) {
+                rejected++;
+                throw new BulkheadFullException(network, retryAfterSeconds());
+            }
+            admitted++;
+        }
+        final ListenableFutureTask<T> task = ListenableFutureTask.create(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                synchronized (Bulkhead.this) {
+                    running++;
+                }
+                final long start = System.nanoTime();
+                boolean dropped = false;
+                try {
+                    return callable.call();
+                } catch (final IOException x) {
+                    dropped = true;
+                    throw x;
+                } finally {
+                    onSample(System.nanoTime() - start, dropped);
+                }
+            }
+        });
+        try {
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } finally {
+                        synchronized (Bulkhead.this) {
+                            admitted--;
+                        }
+                    }
+                }
+            });
+        } catch (final RuntimeException x) {
+            synchronized (this) {
+                admitted--;
+            }
+            throw x;
+        }
+        return task;
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int running() {
+        return running;
+    }
+
+    public synchronized int queued() {
+        return admitted - running;
+    }
+
+    public synchronized long rejected() {
+        return rejected;
+    }
+
+    private synchronized void onSample(final long rttNanos, final boolean dropped) {
+        running--;
+
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        if (++windowSamples >= MIN_RTT_WINDOW) {
+            // forget old minimums, so that the limit can recover once a network has settled on a new latency
+            minRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        smoothedRttNanos = smoothedRttNanos == 0 ? rttNanos : smoothedRttNanos * 0.9 + rttNanos * 0.1;
+
+        final double newLimit;
+        if (dropped) {
+            newLimit = limit / 2;
+        } else {
+            final double gradient = Math.max(0.5, Math.min(1, TOLERANCE * minRttNanos / smoothedRttNanos));
+            final double target = limit * gradient + Math.sqrt(limit);
+            // don't grow while the current limit isn't even used
+            newLimit = running + 1 < limit / 2 ? Math.min(target, limit) : target;
+        }
+        limit = Math.max(MIN_LIMIT, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+
+        final int poolSize = (int) limit;
+        if (poolSize != pool.getCorePoolSize()) {
+            if (poolSize > pool.getMaximumPoolSize()) {
+                pool.setMaximumPoolSize(poolSize);
+                pool.setCorePoolSize(poolSize);
+            } else {
+                pool.setCorePoolSize(poolSize);
+                pool.setMaximumPoolSize(poolSize);
+            }
+        }
+    }
+
+    private int allowedQueue() {
+        if (smoothedRttNanos == 0)
+            return maxQueue;
+        // queued calls start one round trip per slot later; don't queue what would time out anyway
+        final double slots = (int) limit * (timeoutNanos - smoothedRttNanos) / smoothedRttNanos;
+        return (int) Math.max(0, Math.min(maxQueue, slots));
+    }
+
+    private int retryAfterSeconds() {
+        return (int) Math.max(1, Math.ceil(smoothedRttNanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import de.schildbach.pte.NetworkId;
+
+/**
+ * Thrown when the bulkhead of a network turns a call away, because the network is saturated.
+ * 
+ * @author Andreas Schildbach
+ */
+@SuppressWarnings("serial")
+public class BulkheadFullException extends RejectedExecutionException {
+    public final int retryAfterSeconds;
+
+    public BulkheadFullException(final NetworkId network, final int retryAfterSeconds) {
+        super(network + " is saturated, retry after " + retryAfterSeconds + " s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.io.BaseEncoding;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.dto.QueryTripsContext;
+
+/**
+ * Keeps trip contexts on the server, so that clients can page through trips with an opaque token. Contexts of some
+ * providers carry upstream session state, so paging with them continues the initial search rather than redoing it.
+ * 
+ * <p>
+ * Tokens expire {@code pte.contextTtlMinutes} after they were handed out; at most {@code pte.maxContexts} are kept.
+ * 
+ * @author Andreas Schildbach
+ */
+@Component
+public class ContextStore {
+    private static final long TTL_MINUTES = Long.getLong("pte.contextTtlMinutes", 30);
+    private static final long MAX_CONTEXTS = Long.getLong("pte.maxContexts", 10000);
+    private static final int TOKEN_BYTES = 16;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Cache<String, Entry> contexts = CacheBuilder.newBuilder().maximumSize(MAX_CONTEXTS)
+            .expireAfterWrite(TTL_MINUTES, TimeUnit.MINUTES).recordStats().build();
+
+    public static final class Entry {
+        public final NetworkId network;
+        public final QueryTripsContext context;
+
+        private Entry(final NetworkId network, final QueryTripsContext context) {
+            this.network = network;
+            this.context = context;
+        }
+    }
+
+    /**
+     * @return token for the context, or {@code null} if there is no context
+     */
+    public @Nullable String put(final NetworkId network, final @Nullable QueryTripsContext context) {
+        if (context == null)
+            return null;
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        final String token = BaseEncoding.base64Url().omitPadding().encode(bytes);
+        contexts.put(token, new Entry(network, context));
+        return token;
+    }
+
+    public CacheStats stats() {
+        return contexts.stats();
+    }
+
+    public long size() {
+        return contexts.size();
+    }
+
+    /**
+     * @throws UnknownContextException
+     *             if the token is unknown or has expired
+     */
+    public Entry get(final String token) {
+        final Entry entry = contexts.getIfPresent(token);
+        if (entry == null)
+            throw new UnknownContextException(token);
+        return entry;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.NetworkProvider;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+
+/**
+ * Live departure boards, shared by all subscribers of a station. Each board polls its station upstream every
+ * {@code pte.pollSeconds}, no matter how many subscribers it has, and keeps the change between the last two polls.
+ * Subscribers long-poll with the version they have and get the next change as soon as there is one, or an unchanged
+ * update after {@code pte.longPollSeconds}. A board stops polling once nobody has subscribed for a few poll periods.
+ * 
+ * <p>
+ * Polls go through the bulkhead of their network, like any other provider call. At most
+ * {@code pte.maxBoardsPerNetwork} boards are kept per network; further stations are turned away until boards go idle.
+ * Versions start at an epoch taken when the board is created, so versions handed out by an earlier board of the same
+ * station are never mistaken for current ones.
+ * 
+ * @author Andreas Schildbach
+ */
+@Component
+public class DepartureFeed {
+    private static final long POLL_SECONDS = Long.getLong("pte.pollSeconds", 15);
+    private static final long LONG_POLL_MS = TimeUnit.SECONDS.toMillis(Long.getLong("pte.longPollSeconds", 25));
+    private static final long IDLE_MS = TimeUnit.SECONDS.toMillis(POLL_SECONDS * 4) + LONG_POLL_MS;
+    private static final int MAX_BOARDS_PER_NETWORK = Integer.getInteger("pte.maxBoardsPerNetwork", 500);
+    // versions stay below 2^53, so that they survive being parsed as JavaScript numbers
+    private static final int EPOCH_SHIFT = 20;
+
+    private final ProviderRegistry providers;
+    private final AsyncProviders asyncProviders;
+    private final ScheduledExecutorService scheduler;
+    private final Map<NetworkId, Map<String, Board>> boards = new EnumMap<NetworkId, Map<String, Board>>(
+            NetworkId.class);
+    private long lastEpoch = 0;
+
+    private static final Logger log = LoggerFactory.getLogger(DepartureFeed.class);
+
+    @Autowired
+    public DepartureFeed(final ProviderRegistry providers, final AsyncProviders asyncProviders) {
+        this.providers = providers;
+        this.asyncProviders = asyncProviders;
+        this.scheduler = new ScheduledThreadPoolExecutor(Integer.getInteger("pte.pollThreads", 1),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("departure-feed-%d").build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @param version
+     *            version the subscriber has, or {@code 0} if it has none
+     * @throws RejectedExecutionException
+     *             if the network already has as many boards as allowed
+     */
+    public DeferredResult<DeparturesUpdate> subscribe(final NetworkId network, final String stationId,
+            final long version) {
+        // fail early on unknown networks
+        providers.get(network);
+        final DeferredResult<DeparturesUpdate> result = new DeferredResult<DeparturesUpdate>(LONG_POLL_MS);
+        synchronized (boards) {
+            Map<String, Board> networkBoards = boards.get(network);
+            if (networkBoards == null) {
+                networkBoards = new HashMap<String, Board>();
+                boards.put(network, networkBoards);
+            }
+            Board board = networkBoards.get(stationId);
+            if (board == null) {
+                if (networkBoards.size() >= MAX_BOARDS_PER_NETWORK)
+                    throw new RejectedExecutionException("too many departure boards of " + network);
+                // a board recreated within the same second must not reuse the versions of its predecessor
+                lastEpoch = Math.max(lastEpoch + 1, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+                board = new Board(network, stationId, lastEpoch << EPOCH_SHIFT);
+                networkBoards.put(stationId, board);
+                board.start();
+            }
+            board.subscribe(result, version);
+        }
+        return result;
+    }
+
+    private final class Board implements Runnable, FutureCallback<QueryDeparturesResult> {
+        private final NetworkId network;
+        private final String stationId;
+        private ScheduledFuture<?> task;
+
+        private QueryDeparturesResult current = null;
+        private DeparturesUpdate lastUpdate = null;
+        private long version;
+        private boolean polling = false;
+        private long lastSubscribed = System.currentTimeMillis();
+        private final List<Waiter> waiters = new ArrayList<Waiter>();
+
+        Board(final NetworkId network, final String stationId, final long epoch) {
+            this.network = network;
+            this.stationId = stationId;
+            this.version = epoch;
+        }
+
+        synchronized void start() {
+            task = scheduler.scheduleWithFixedDelay(this, 0, POLL_SECONDS, TimeUnit.SECONDS);
+        }
+
+        synchronized void subscribe(final DeferredResult<DeparturesUpdate> result, final long since) {
+            lastSubscribed = System.currentTimeMillis();
+            final DeparturesUpdate update = updateSince(since);
+            if (update != null) {
+                result.setResult(update);
+                return;
+            }
+            final Waiter waiter = new Waiter(result, since);
+            waiters.add(waiter);
+            result.onTimeout(new Runnable() {
+                @Override
+                public void run() {
+                    result.setResult(DeparturesUpdate.unchanged(since));
+                }
+            });
+            result.onCompletion(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (Board.this) {
+                        waiters.remove(waiter);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void run() {
+            synchronized (boards) {
+                synchronized (this) {
+                    if (waiters.isEmpty() && System.currentTimeMillis() - lastSubscribed > IDLE_MS) {
+                        task.cancel(false);
+                        boards.get(network).remove(stationId);
+                        return;
+                    }
+                    // a slow upstream is still busy with the previous poll
+                    if (polling)
+                        return;
+                    polling = true;
+                }
+            }
+
+            final ListenableFuture<QueryDeparturesResult> future;
+            try {
+                future = asyncProviders.submit(network, new AsyncProviders.Call<QueryDeparturesResult>() {
+                    @Override
+                    public QueryDeparturesResult call(final NetworkProvider provider) throws IOException {
+                        return provider.queryDepartures(stationId, null, 0, false);
+                    }
+                });
+            } catch (final BulkheadFullException x) {
+                log.info("cannot poll departures of {} {}: {}", network, stationId, x.getMessage());
+                synchronized (this) {
+                    polling = false;
+                }
+                return;
+            }
+            Futures.addCallback(future, this);
+        }
+
+        @Override
+        public synchronized void onSuccess(final QueryDeparturesResult result) {
+            polling = false;
+            if (result.status != QueryDeparturesResult.Status.OK)
+                return;
+
+            if (current == null) {
+                lastUpdate = null;
+            } else {
+                final DeparturesUpdate update = DeparturesUpdate.diff(version + 1, current, result);
+                if (update.isEmpty())
+                    return;
+                lastUpdate = update;
+            }
+            version++;
+            current = result;
+
+            for (final Iterator<Waiter> i = waiters.iterator(); i.hasNext();) {
+                final Waiter waiter = i.next();
+                final DeparturesUpdate update = updateSince(waiter.since);
+                if (update != null) {
+                    // completion callbacks may remove the waiter right away
+                    i.remove();
+                    waiter.result.setResult(update);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void onFailure(final Throwable x) {
+            polling = false;
+            if (x instanceof IOException)
+                log.info("cannot poll departures of {} {}: {}", network, stationId, x.toString());
+            else
+                log.warn("cannot poll departures of " + network + " " + stationId, x);
+        }
+
+        // null if the subscriber is up to date
+        private DeparturesUpdate updateSince(final long since) {
+            if (current == null || since == version)
+                return null;
+            if (lastUpdate != null && since == version - 1)
+                return lastUpdate;
+            return DeparturesUpdate.full(version, current);
+        }
+    }
+
+    private static final class Waiter {
+        final DeferredResult<DeparturesUpdate> result;
+        final long since;
+
+        Waiter(final DeferredResult<DeparturesUpdate> result, final long since) {
+            this.result = result;
+            this.since = since;
+        }
+    }
+}
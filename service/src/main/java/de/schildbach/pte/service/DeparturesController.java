@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.NetworkProvider;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+
+/**
+ * @author Andreas Schildbach
+ */
+@Controller
+public class DeparturesController {
+    private static final int MAX_BATCH_SIZE = Integer.getInteger("pte.maxBatchSize", 500);
+
+    private final AsyncProviders providers;
+    private final DepartureFeed feed;
+
+    @Autowired
+    public DeparturesController(final AsyncProviders providers, final DepartureFeed feed) {
+        this.providers = providers;
+        this.feed = feed;
+    }
+
+    @RequestMapping(value = "/departures", method = RequestMethod.GET)
+    @ResponseBody
+    public DeferredResult<QueryDeparturesResult> departures(
+            @RequestParam(value = "network", required = false, defaultValue = "RT") final NetworkId network,
+            @RequestParam("stationId") final String stationId,
+            @RequestParam(value = "time", required = false) final Long time,
+            @RequestParam(value = "maxDepartures", required = false, defaultValue = "0") final int maxDepartures,
+            @RequestParam(value = "equivs", required = false, defaultValue = "false") final boolean equivs) {
+        final Date date = time != null ? new Date(time) : null;
+        return providers.defer(network, new AsyncProviders.Call<QueryDeparturesResult>() {
+            @Override
+            public QueryDeparturesResult call(final NetworkProvider provider) throws IOException {
+                return provider.queryDepartures(stationId, date, maxDepartures, equivs);
+            }
+        });
+    }
+
+    /**
+     * Queries departures of many stations in one go, for example for station displays. Results are keyed by station
+     * id.
+     */
+    @RequestMapping(value = "/departures/batch", method = RequestMethod.GET)
+    @ResponseBody
+    public DeferredResult<DeparturesBatch> departuresBatch(
+            @RequestParam(value = "network", required = false, defaultValue = "RT") final NetworkId network,
+            @RequestParam("stationIds") final String[] stationIds,
+            @RequestParam(value = "time", required = false) final Long time,
+            @RequestParam(value = "maxDepartures", required = false, defaultValue = "0") final int maxDepartures,
+            @RequestParam(value = "equivs", required = false, defaultValue = "false") final boolean equivs) {
+        if (stationIds.length > MAX_BATCH_SIZE)
+            throw new IllegalArgumentException("more than " + MAX_BATCH_SIZE + " stations: " + stationIds.length);
+        final Date date = time != null ? new Date(time) : null;
+        return providers.deferBatch(network, new AsyncProviders.Call<DeparturesBatch>() {
+            @Override
+            public DeparturesBatch call(final NetworkProvider provider) throws IOException {
+                return new DeparturesBatch(
+                        provider.queryDeparturesBatch(Arrays.asList(stationIds), date, maxDepartures, equivs));
+            }
+        });
+    }
+
+    /**
+     * Long-polls for changes of a live departure board. Clients pass the version of the last update they got, or
+     * {@code 0} initially.
+     */
+    @RequestMapping(value = "/departures/updates", method = RequestMethod.GET)
+    @ResponseBody
+    public DeferredResult<DeparturesUpdate> updates(
+            @RequestParam(value = "network", required = false, defaultValue = "RT") final NetworkId network,
+            @RequestParam("stationId") final String stationId,
+            @RequestParam(value = "version", required = false, defaultValue = "0") final long version) {
+        return feed.subscribe(network, stationId, version);
+    }
+}
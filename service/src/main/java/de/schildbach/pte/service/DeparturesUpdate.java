@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.schildbach.pte.DepartureDiff;
+import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+import de.schildbach.pte.dto.StationDepartures;
+
+/**
+ * Change of a departure board from one version to the next, as computed by {@link DepartureDiff}. A full update lists
+ * all departures as added and replaces whatever the client had.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class DeparturesUpdate {
+    public final long version;
+    public final boolean full;
+    public final List<Departure> added;
+    public final List<Departure> removed;
+    public final List<Departure> cancelled;
+    public final List<Departure> changed;
+
+    private DeparturesUpdate(final long version, final boolean full, final List<Departure> added,
+            final List<Departure> removed, final List<Departure> cancelled, final List<Departure> changed) {
+        this.version = version;
+        this.full = full;
+        this.added = added;
+        this.removed = removed;
+        this.cancelled = cancelled;
+        this.changed = changed;
+    }
+
+    public static DeparturesUpdate unchanged(final long version) {
+        return new DeparturesUpdate(version, false, Collections.<Departure> emptyList(),
+                Collections.<Departure> emptyList(), Collections.<Departure> emptyList(),
+                Collections.<Departure> emptyList());
+    }
+
+    public static DeparturesUpdate full(final long version, final QueryDeparturesResult result) {
+        return new DeparturesUpdate(version, true, departures(result), Collections.<Departure> emptyList(),
+                Collections.<Departure> emptyList(), Collections.<Departure> emptyList());
+    }
+
+    public static DeparturesUpdate diff(final long version, final QueryDeparturesResult previous,
+            final QueryDeparturesResult current) {
+        final List<Departure> added = new ArrayList<Departure>();
+        final List<Departure> removed = new ArrayList<Departure>();
+        final List<Departure> cancelled = new ArrayList<Departure>();
+        final List<Departure> changed = new ArrayList<Departure>();
+        for (final DepartureDiff.Change change : DepartureDiff.diff(previous, current)) {
+            if (change.kind == DepartureDiff.Kind.INSERTED)
+                added.add(change.departure);
+            else if (change.kind == DepartureDiff.Kind.REMOVED)
+                removed.add(change.departure);
+            else if (change.kind == DepartureDiff.Kind.CANCELLED)
+                cancelled.add(change.departure);
+            // a departure can both be delayed and change position
+            else if (changed.isEmpty() || changed.get(changed.size() - 1) != change.departure)
+                changed.add(change.departure);
+        }
+        return new DeparturesUpdate(version, false, added, removed, cancelled, changed);
+    }
+
+    public boolean isEmpty() {
+        return !full && added.isEmpty() && removed.isEmpty() && cancelled.isEmpty() && changed.isEmpty();
+    }
+
+    private static List<Departure> departures(final QueryDeparturesResult result) {
+        final List<Departure> departures = new ArrayList<Departure>();
+        for (final StationDepartures stationDepartures : result.stationDepartures)
+            departures.addAll(stationDepartures.departures);
+        return departures;
+    }
+}
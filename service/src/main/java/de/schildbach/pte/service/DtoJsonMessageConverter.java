@@ -0,0 +1,59 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.springframework.http.MediaType;
+
+/**
+ * Writes results as JSON using {@link DtoJsonWriter}. Trip paths can be left out with the {@code path=false} request
+ * parameter.
+ * 
+ * @author Andreas Schildbach
+ */
+public class DtoJsonMessageConverter extends StreamingMessageConverter {
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public DtoJsonMessageConverter() {
+        super(new MediaType("application", "json", Charset.forName("UTF-8")));
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return DtoJsonWriter.canWrite(clazz);
+    }
+
+    @Override
+    protected void write(final Object result, final @Nullable HttpServletRequest request, final OutputStream os)
+            throws IOException {
+        final boolean includePaths = request == null || !"false".equals(request.getParameter("path"));
+        final JsonGenerator generator = jsonFactory.createJsonGenerator(os, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        new DtoJsonWriter(generator, includePaths).write(result);
+        generator.close();
+    }
+}
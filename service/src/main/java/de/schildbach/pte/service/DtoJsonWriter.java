@@ -0,0 +1,459 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.codehaus.jackson.JsonGenerator;
+
+import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.Fare;
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.LineDestination;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.NearbyLocationsResult;
+import de.schildbach.pte.dto.Point;
+import de.schildbach.pte.dto.Position;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+import de.schildbach.pte.dto.QueryTripsResult;
+import de.schildbach.pte.dto.ResultHeader;
+import de.schildbach.pte.dto.StationDepartures;
+import de.schildbach.pte.dto.Stop;
+import de.schildbach.pte.dto.Style;
+import de.schildbach.pte.dto.SuggestLocationsResult;
+import de.schildbach.pte.dto.Trip;
+
+/**
+ * Writes result objects as JSON, field by field, without reflection. The output has the properties data binding
+ * produces for these objects, that is their public fields and bean getters, with {@code null} values written out. The
+ * only exception are contexts, which are handed out as tokens instead.
+ * 
+ * @author Andreas Schildbach
+ */
+public final class DtoJsonWriter {
+    private final JsonGenerator g;
+    private final boolean includePaths;
+
+    public DtoJsonWriter(final JsonGenerator generator, final boolean includePaths) {
+        this.g = generator;
+        this.includePaths = includePaths;
+    }
+
+    public static boolean canWrite(final Class<?> clazz) {
+        return QueryTripsResult.class.equals(clazz) || QueryDeparturesResult.class.equals(clazz)
+                || NearbyLocationsResult.class.equals(clazz) || SuggestLocationsResult.class.equals(clazz)
+                || DeparturesUpdate.class.equals(clazz) || DeparturesBatch.class.equals(clazz);
+    }
+
+    public void write(final Object result) throws IOException {
+        if (result instanceof QueryTripsResult)
+            write((QueryTripsResult) result);
+        else if (result instanceof QueryDeparturesResult)
+            write((QueryDeparturesResult) result);
+        else if (result instanceof NearbyLocationsResult)
+            write((NearbyLocationsResult) result);
+        else if (result instanceof SuggestLocationsResult)
+            write((SuggestLocationsResult) result);
+        else if (result instanceof DeparturesUpdate)
+            write((DeparturesUpdate) result);
+        else if (result instanceof DeparturesBatch)
+            write((DeparturesBatch) result);
+        else
+            throw new IllegalArgumentException("cannot write " + result.getClass());
+    }
+
+    public void write(final QueryTripsResult result) throws IOException {
+        g.writeStartObject();
+        header(result.header);
+        name("status", result.status);
+        locations("ambiguousFrom", result.ambiguousFrom);
+        locations("ambiguousVia", result.ambiguousVia);
+        locations("ambiguousTo", result.ambiguousTo);
+        string("queryUri", result.queryUri);
+        location("from", result.from);
+        location("via", result.via);
+        location("to", result.to);
+        if (result.trips != null) {
+            g.writeArrayFieldStart("trips");
+            for (final Trip trip : result.trips)
+                trip(trip);
+            g.writeEndArray();
+        } else {
+            g.writeNullField("trips");
+        }
+        g.writeEndObject();
+    }
+
+    public void write(final QueryDeparturesResult result) throws IOException {
+        g.writeStartObject();
+        header(result.header);
+        name("status", result.status);
+        g.writeArrayFieldStart("stationDepartures");
+        for (final StationDepartures stationDepartures : result.stationDepartures) {
+            g.writeStartObject();
+            location("location", stationDepartures.location);
+            departures("departures", stationDepartures.departures);
+            if (stationDepartures.lines != null) {
+                g.writeArrayFieldStart("lines");
+                for (final LineDestination line : stationDepartures.lines) {
+                    g.writeStartObject();
+                    line("line", line.line);
+                    location("destination", line.destination);
+                    g.writeEndObject();
+                }
+                g.writeEndArray();
+            } else {
+                g.writeNullField("lines");
+            }
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+        g.writeEndObject();
+    }
+
+    public void write(final NearbyLocationsResult result) throws IOException {
+        g.writeStartObject();
+        header(result.header);
+        name("status", result.status);
+        locations("locations", result.locations);
+        g.writeEndObject();
+    }
+
+    public void write(final SuggestLocationsResult result) throws IOException {
+        g.writeStartObject();
+        header(result.header);
+        name("status", result.status);
+        locations("locations", result.status == SuggestLocationsResult.Status.OK ? result.getLocations() : null);
+        g.writeEndObject();
+    }
+
+    public void write(final DeparturesUpdate update) throws IOException {
+        g.writeStartObject();
+        g.writeNumberField("version", update.version);
+        g.writeBooleanField("full", update.full);
+        departures("added", update.added);
+        departures("removed", update.removed);
+        departures("cancelled", update.cancelled);
+        departures("changed", update.changed);
+        g.writeEndObject();
+    }
+
+    /**
+     * Writes the results of a batch as an object keyed by station id.
+     */
+    public void write(final DeparturesBatch batch) throws IOException {
+        g.writeStartObject();
+        for (final Map.Entry<String, QueryDeparturesResult> entry : batch.results.entrySet()) {
+            g.writeFieldName(entry.getKey());
+            write(entry.getValue());
+        }
+        g.writeEndObject();
+    }
+
+    private void header(final @Nullable ResultHeader header) throws IOException {
+        if (header == null) {
+            g.writeNullField("header");
+            return;
+        }
+        g.writeObjectFieldStart("header");
+        name("network", header.network);
+        string("serverProduct", header.serverProduct);
+        string("serverVersion", header.serverVersion);
+        g.writeNumberField("serverTime", header.serverTime);
+        g.writeEndObject();
+    }
+
+    private void trip(final Trip trip) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("id", trip.getId());
+        location("from", trip.from);
+        location("to", trip.to);
+        g.writeArrayFieldStart("legs");
+        for (final Trip.Leg leg : trip.legs)
+            leg(null, leg);
+        g.writeEndArray();
+        if (trip.fares != null) {
+            g.writeArrayFieldStart("fares");
+            for (final Fare fare : trip.fares) {
+                g.writeStartObject();
+                string("network", fare.network);
+                name("type", fare.type);
+                string("currency", fare.currency.getCurrencyCode());
+                g.writeNumberField("fare", fare.fare);
+                string("unitName", fare.unitName);
+                string("units", fare.units);
+                g.writeEndObject();
+            }
+            g.writeEndArray();
+        } else {
+            g.writeNullField("fares");
+        }
+        ints("capacity", trip.capacity);
+        number("numChanges", trip.numChanges);
+        g.writeNumberField("duration", trip.getDuration());
+        number("publicDuration", trip.getPublicDuration());
+        date("firstDepartureTime", trip.getFirstDepartureTime());
+        date("lastArrivalTime", trip.getLastArrivalTime());
+        date("minTime", trip.getMinTime());
+        date("maxTime", trip.getMaxTime());
+        g.writeBooleanField("travelable", trip.isTravelable());
+        leg("firstPublicLeg", trip.getFirstPublicLeg());
+        date("firstPublicLegDepartureTime", trip.getFirstPublicLegDepartureTime());
+        leg("lastPublicLeg", trip.getLastPublicLeg());
+        date("lastPublicLegArrivalTime", trip.getLastPublicLegArrivalTime());
+        g.writeEndObject();
+    }
+
+    private void leg(final @Nullable String field, final @Nullable Trip.Leg leg) throws IOException {
+        if (field != null)
+            g.writeFieldName(field);
+        if (leg == null) {
+            g.writeNull();
+            return;
+        }
+        g.writeStartObject();
+        location("departure", leg.departure);
+        location("arrival", leg.arrival);
+        if (includePaths) {
+            if (leg.path != null) {
+                g.writeArrayFieldStart("path");
+                for (final Point point : leg.path) {
+                    g.writeStartObject();
+                    g.writeNumberField("lat", point.lat);
+                    g.writeNumberField("lon", point.lon);
+                    g.writeNumberField("latAsDouble", point.getLatAsDouble());
+                    g.writeNumberField("lonAsDouble", point.getLonAsDouble());
+                    g.writeEndObject();
+                }
+                g.writeEndArray();
+            } else {
+                g.writeNullField("path");
+            }
+        }
+        if (leg instanceof Trip.Public) {
+            final Trip.Public publicLeg = (Trip.Public) leg;
+            line("line", publicLeg.line);
+            location("destination", publicLeg.destination);
+            stop("departureStop", publicLeg.departureStop);
+            stop("arrivalStop", publicLeg.arrivalStop);
+            if (publicLeg.intermediateStops != null) {
+                g.writeArrayFieldStart("intermediateStops");
+                for (final Stop stop : publicLeg.intermediateStops)
+                    stop(null, stop);
+                g.writeEndArray();
+            } else {
+                g.writeNullField("intermediateStops");
+            }
+            string("message", publicLeg.message);
+            date("departureTime", publicLeg.getDepartureTime());
+            g.writeBooleanField("departureTimePredicted", publicLeg.isDepartureTimePredicted());
+            number("departureDelay", publicLeg.getDepartureDelay());
+            position("departurePosition", publicLeg.getDeparturePosition());
+            g.writeBooleanField("departurePositionPredicted", publicLeg.isDeparturePositionPredicted());
+            date("arrivalTime", publicLeg.getArrivalTime());
+            g.writeBooleanField("arrivalTimePredicted", publicLeg.isArrivalTimePredicted());
+            number("arrivalDelay", publicLeg.getArrivalDelay());
+            position("arrivalPosition", publicLeg.getArrivalPosition());
+            g.writeBooleanField("arrivalPositionPredicted", publicLeg.isArrivalPositionPredicted());
+        } else {
+            final Trip.Individual individualLeg = (Trip.Individual) leg;
+            name("type", individualLeg.type);
+            date("departureTime", individualLeg.departureTime);
+            date("arrivalTime", individualLeg.arrivalTime);
+            g.writeNumberField("min", individualLeg.min);
+            g.writeNumberField("distance", individualLeg.distance);
+        }
+        date("minTime", leg.getMinTime());
+        date("maxTime", leg.getMaxTime());
+        g.writeEndObject();
+    }
+
+    private void stop(final @Nullable String field, final Stop stop) throws IOException {
+        if (field != null)
+            g.writeFieldName(field);
+        g.writeStartObject();
+        location("location", stop.location);
+        date("plannedArrivalTime", stop.plannedArrivalTime);
+        date("predictedArrivalTime", stop.predictedArrivalTime);
+        position("plannedArrivalPosition", stop.plannedArrivalPosition);
+        position("predictedArrivalPosition", stop.predictedArrivalPosition);
+        g.writeBooleanField("arrivalCancelled", stop.arrivalCancelled);
+        date("plannedDepartureTime", stop.plannedDepartureTime);
+        date("predictedDepartureTime", stop.predictedDepartureTime);
+        position("plannedDeparturePosition", stop.plannedDeparturePosition);
+        position("predictedDeparturePosition", stop.predictedDeparturePosition);
+        g.writeBooleanField("departureCancelled", stop.departureCancelled);
+        date("arrivalTime", stop.getArrivalTime());
+        g.writeBooleanField("arrivalTimePredicted", stop.isArrivalTimePredicted());
+        number("arrivalDelay", stop.getArrivalDelay());
+        position("arrivalPosition", stop.getArrivalPosition());
+        g.writeBooleanField("arrivalPositionPredicted", stop.isArrivalPositionPredicted());
+        date("departureTime", stop.getDepartureTime());
+        g.writeBooleanField("departureTimePredicted", stop.isDepartureTimePredicted());
+        number("departureDelay", stop.getDepartureDelay());
+        position("departurePosition", stop.getDeparturePosition());
+        g.writeBooleanField("departurePositionPredicted", stop.isDeparturePositionPredicted());
+        date("minTime", stop.getMinTime());
+        date("maxTime", stop.getMaxTime());
+        g.writeEndObject();
+    }
+
+    private void departures(final String field, final List<Departure> departures) throws IOException {
+        g.writeArrayFieldStart(field);
+        for (final Departure departure : departures) {
+            g.writeStartObject();
+            date("plannedTime", departure.plannedTime);
+            date("predictedTime", departure.predictedTime);
+            line("line", departure.line);
+            position("position", departure.position);
+            location("destination", departure.destination);
+            ints("capacity", departure.capacity);
+            string("message", departure.message);
+            date("time", departure.getTime());
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+    }
+
+    private void locations(final String field, final @Nullable List<Location> locations) throws IOException {
+        if (locations == null) {
+            g.writeNullField(field);
+            return;
+        }
+        g.writeArrayFieldStart(field);
+        for (final Location location : locations)
+            location(null, location);
+        g.writeEndArray();
+    }
+
+    private void location(final @Nullable String field, final @Nullable Location location) throws IOException {
+        if (field != null)
+            g.writeFieldName(field);
+        if (location == null) {
+            g.writeNull();
+            return;
+        }
+        g.writeStartObject();
+        name("type", location.type);
+        string("id", location.id);
+        g.writeNumberField("lat", location.lat);
+        g.writeNumberField("lon", location.lon);
+        string("place", location.place);
+        string("name", location.name);
+        names("products", location.products);
+        g.writeNumberField("latAsDouble", location.getLatAsDouble());
+        g.writeNumberField("lonAsDouble", location.getLonAsDouble());
+        g.writeBooleanField("identified", location.isIdentified());
+        g.writeEndObject();
+    }
+
+    private void line(final String field, final @Nullable Line line) throws IOException {
+        if (line == null) {
+            g.writeNullField(field);
+            return;
+        }
+        g.writeObjectFieldStart(field);
+        string("id", line.id);
+        string("network", line.network);
+        name("product", line.product);
+        string("label", line.label);
+        string("name", line.name);
+        final Style style = line.style;
+        if (style != null) {
+            g.writeObjectFieldStart("style");
+            name("shape", style.shape);
+            g.writeNumberField("backgroundColor", style.backgroundColor);
+            g.writeNumberField("backgroundColor2", style.backgroundColor2);
+            g.writeNumberField("foregroundColor", style.foregroundColor);
+            g.writeNumberField("borderColor", style.borderColor);
+            g.writeEndObject();
+        } else {
+            g.writeNullField("style");
+        }
+        names("attrs", line.attrs);
+        string("message", line.message);
+        g.writeEndObject();
+    }
+
+    private void position(final String field, final @Nullable Position position) throws IOException {
+        if (position == null) {
+            g.writeNullField(field);
+            return;
+        }
+        g.writeObjectFieldStart(field);
+        string("name", position.name);
+        string("section", position.section);
+        g.writeEndObject();
+    }
+
+    private void names(final String field, final @Nullable Collection<? extends Enum<?>> values) throws IOException {
+        if (values == null) {
+            g.writeNullField(field);
+            return;
+        }
+        g.writeArrayFieldStart(field);
+        for (final Enum<?> value : values)
+            g.writeString(value.name());
+        g.writeEndArray();
+    }
+
+    private void ints(final String field, final @Nullable int[] values) throws IOException {
+        if (values == null) {
+            g.writeNullField(field);
+            return;
+        }
+        g.writeArrayFieldStart(field);
+        for (final int value : values)
+            g.writeNumber(value);
+        g.writeEndArray();
+    }
+
+    private void date(final String field, final @Nullable Date date) throws IOException {
+        if (date != null)
+            g.writeNumberField(field, date.getTime());
+        else
+            g.writeNullField(field);
+    }
+
+    private void number(final String field, final @Nullable Number value) throws IOException {
+        if (value != null)
+            g.writeNumberField(field, value.longValue());
+        else
+            g.writeNullField(field);
+    }
+
+    private void name(final String field, final @Nullable Enum<?> value) throws IOException {
+        if (value != null)
+            g.writeStringField(field, value.name());
+        else
+            g.writeNullField(field);
+    }
+
+    private void string(final String field, final @Nullable String value) throws IOException {
+        if (value != null)
+            g.writeStringField(field, value);
+        else
+            g.writeNullField(field);
+    }
+}
@@ -20,13 +20,16 @@ package de.schildbach.pte.service;
 import java.io.IOException;
 import java.util.EnumSet;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
-import de.schildbach.pte.RtProvider;
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.NetworkProvider;
 import de.schildbach.pte.dto.Location;
 import de.schildbach.pte.dto.LocationType;
 import de.schildbach.pte.dto.NearbyLocationsResult;
@@ -37,19 +40,38 @@ import de.schildbach.pte.dto.SuggestLocationsResult;
  */
 @Controller
 public class LocationController {
-    private final RtProvider provider = new RtProvider();
+    private final AsyncProviders providers;
+
+    @Autowired
+    public LocationController(final AsyncProviders providers) {
+        this.providers = providers;
+    }
 
     @RequestMapping(value = "/location/suggest", method = RequestMethod.GET)
     @ResponseBody
-    public SuggestLocationsResult suggest(@RequestParam("q") final String query) throws IOException {
-        return provider.suggestLocations(query);
+    public DeferredResult<SuggestLocationsResult> suggest(
+            @RequestParam(value = "network", required = false, defaultValue = "RT") final NetworkId network,
+            @RequestParam("q") final String query) {
+        return providers.defer(network, new AsyncProviders.Call<SuggestLocationsResult>() {
+            @Override
+            public SuggestLocationsResult call(final NetworkProvider provider) throws IOException {
+                return provider.suggestLocations(query);
+            }
+        });
     }
 
     @RequestMapping(value = "/location/nearby", method = RequestMethod.GET)
     @ResponseBody
-    public NearbyLocationsResult nearby(@RequestParam("lat") final int lat, @RequestParam("lon") final int lon)
-            throws IOException {
+    public DeferredResult<NearbyLocationsResult> nearby(
+            @RequestParam(value = "network", required = false, defaultValue = "RT") final NetworkId network,
+            @RequestParam("lat") final int lat, @RequestParam("lon") final int lon) {
         final Location coord = Location.coord(lat, lon);
-        return provider.queryNearbyLocations(EnumSet.of(LocationType.STATION, LocationType.POI), coord, 5000, 100);
+        return providers.defer(network, new AsyncProviders.Call<NearbyLocationsResult>() {
+            @Override
+            public NearbyLocationsResult call(final NetworkProvider provider) throws IOException {
+                return provider.queryNearbyLocations(EnumSet.of(LocationType.STATION, LocationType.POI), coord, 5000,
+                        100);
+            }
+        });
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.Maps;
+
+import de.schildbach.pte.NetworkId;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Counters and latency histograms per network, for provider calls made by the controllers and for the HTTP requests
+ * the providers make upstream. Everything is lock-free, so recording is cheap enough to do on every call.
+ * 
+ * @author Andreas Schildbach
+ */
+@Component
+public class Metrics {
+    /** Upper bounds of the latency buckets, in seconds. */
+    public static final double[] BUCKETS = { 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30 };
+
+    public enum Outcome {
+        OK, ERROR, TIMEOUT, REJECTED
+    }
+
+    private final ConcurrentMap<NetworkId, NetworkMetrics> networks = Maps.newConcurrentMap();
+
+    public static final class Histogram {
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS.length + 1);
+        private final AtomicLong sumNanos = new AtomicLong();
+
+        public void observe(final long nanos) {
+            final double seconds = nanos / 1e9;
+            int bucket = 0;
+            while (bucket < BUCKETS.length && seconds > BUCKETS[bucket])
+                bucket++;
+            counts.incrementAndGet(bucket);
+            sumNanos.addAndGet(nanos);
+        }
+
+        /** Non-cumulative count of the bucket; the last bucket holds everything above the largest bound. */
+        public long count(final int bucket) {
+            return counts.get(bucket);
+        }
+
+        public double sumSeconds() {
+            return sumNanos.get() / 1e9;
+        }
+    }
+
+    public static final class NetworkMetrics {
+        public final AtomicLong[] calls = new AtomicLong[Outcome.values().length];
+        public final Histogram callDuration = new Histogram();
+        public final AtomicInteger upstreamInFlight = new AtomicInteger();
+        public final ConcurrentMap<String, AtomicLong> upstreamResponses = Maps.newConcurrentMap();
+        public final Histogram upstreamDuration = new Histogram();
+
+        private NetworkMetrics() {
+            for (int i = 0; i < calls.length; i++)
+                calls[i] = new AtomicLong();
+        }
+
+        private void countResponse(final String code) {
+            AtomicLong count = upstreamResponses.get(code);
+            if (count == null) {
+                final AtomicLong newCount = new AtomicLong();
+                count = upstreamResponses.putIfAbsent(code, newCount);
+                if (count == null)
+                    count = newCount;
+            }
+            count.incrementAndGet();
+        }
+    }
+
+    public Map<NetworkId, NetworkMetrics> networks() {
+        return networks;
+    }
+
+    public void recordCall(final NetworkId network, final Outcome outcome, final long nanos) {
+        final NetworkMetrics metrics = network(network);
+        metrics.calls[outcome.ordinal()].incrementAndGet();
+        if (outcome != Outcome.REJECTED)
+            metrics.callDuration.observe(nanos);
+    }
+
+    /**
+     * @return interceptor that records the upstream requests of a provider
+     */
+    public Interceptor interceptor(final NetworkId network) {
+        final NetworkMetrics metrics = network(network);
+        return new Interceptor() {
+            @Override
+            public Response intercept(final Chain chain) throws IOException {
+                // measured up to the response headers, reading the body is left to the provider
+                metrics.upstreamInFlight.incrementAndGet();
+                final long start = System.nanoTime();
+                try {
+                    final Response response = chain.proceed(chain.request());
+                    metrics.countResponse(Integer.toString(response.code()));
+                    return response;
+                } catch (final IOException x) {
+                    metrics.countResponse("io_error");
+                    throw x;
+                } finally {
+                    metrics.upstreamDuration.observe(System.nanoTime() - start);
+                    metrics.upstreamInFlight.decrementAndGet();
+                }
+            }
+        };
+    }
+
+    private NetworkMetrics network(final NetworkId network) {
+        NetworkMetrics metrics = networks.get(network);
+        if (metrics == null) {
+            final NetworkMetrics newMetrics = new NetworkMetrics();
+            metrics = networks.putIfAbsent(network, newMetrics);
+            if (metrics == null)
+                metrics = newMetrics;
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.util.HttpClient;
+
+/**
+ * Operational data in the Prometheus text format, and a health check for load balancers.
+ * 
+ * @author Andreas Schildbach
+ */
+@Controller
+public class MetricsController {
+    private final Metrics metrics;
+    private final AsyncProviders providers;
+    private final ProviderRegistry registry;
+    private final ContextStore contexts;
+
+    @Autowired
+    public MetricsController(final Metrics metrics, final AsyncProviders providers, final ProviderRegistry registry,
+            final ContextStore contexts) {
+        this.metrics = metrics;
+        this.providers = providers;
+        this.registry = registry;
+        this.contexts = contexts;
+    }
+
+    /**
+     * Answers as long as the service can handle requests. Doesn't call any upstream, so it is cheap enough to be
+     * polled often; upstream trouble shows in the metrics instead.
+     */
+    @RequestMapping(value = "/health", method = RequestMethod.GET, produces = "text/plain")
+    @ResponseBody
+    public String health() {
+        return "OK";
+    }
+
+    @RequestMapping(value = "/metrics", method = RequestMethod.GET, produces = "text/plain; version=0.0.4")
+    @ResponseBody
+    public String metrics() {
+        final StringBuilder out = new StringBuilder();
+        final Map<NetworkId, Metrics.NetworkMetrics> networks = metrics.networks();
+
+        type(out, "pte_provider_calls_total", "counter", "Provider calls by outcome");
+        for (final Map.Entry<NetworkId, Metrics.NetworkMetrics> entry : networks.entrySet())
+            for (final Metrics.Outcome outcome : Metrics.Outcome.values())
+                sample(out, "pte_provider_calls_total",
+                        labels(entry.getKey(), "outcome", outcome.name().toLowerCase(Locale.ENGLISH)),
+                        entry.getValue().calls[outcome.ordinal()].get());
+
+        type(out, "pte_provider_call_duration_seconds", "histogram", "Provider call latency, including queueing");
+        for (final Map.Entry<NetworkId, Metrics.NetworkMetrics> entry : networks.entrySet())
+            histogram(out, "pte_provider_call_duration_seconds", entry.getKey(), entry.getValue().callDuration);
+
+        type(out, "pte_upstream_responses_total", "counter", "Upstream HTTP responses by status code");
+        for (final Map.Entry<NetworkId, Metrics.NetworkMetrics> entry : networks.entrySet())
+            for (final Map.Entry<String, AtomicLong> response : entry.getValue().upstreamResponses.entrySet())
+                sample(out, "pte_upstream_responses_total", labels(entry.getKey(), "code", response.getKey()),
+                        response.getValue().get());
+
+        type(out, "pte_upstream_request_duration_seconds", "histogram", "Upstream HTTP latency up to the headers");
+        for (final Map.Entry<NetworkId, Metrics.NetworkMetrics> entry : networks.entrySet())
+            histogram(out, "pte_upstream_request_duration_seconds", entry.getKey(), entry.getValue().upstreamDuration);
+
+        type(out, "pte_upstream_requests_in_flight", "gauge", "Upstream HTTP requests waiting for a response");
+        for (final Map.Entry<NetworkId, Metrics.NetworkMetrics> entry : networks.entrySet())
+            sample(out, "pte_upstream_requests_in_flight", labels(entry.getKey()),
+                    entry.getValue().upstreamInFlight.get());
+
+        final Map<String, Map<NetworkId, Bulkhead>> bulkheads = ImmutableMap.of("single", providers.bulkheads(),
+                "batch", providers.batchBulkheads());
+        type(out, "pte_bulkhead_limit", "gauge", "Adaptive concurrency limit of provider calls");
+        for (final Map.Entry<String, Map<NetworkId, Bulkhead>> kind : bulkheads.entrySet())
+            for (final Map.Entry<NetworkId, Bulkhead> entry : kind.getValue().entrySet())
+                sample(out, "pte_bulkhead_limit", labels(entry.getKey(), "kind", kind.getKey()),
+                        entry.getValue().limit());
+        type(out, "pte_bulkhead_running", "gauge", "Provider calls in flight");
+        for (final Map.Entry<String, Map<NetworkId, Bulkhead>> kind : bulkheads.entrySet())
+            for (final Map.Entry<NetworkId, Bulkhead> entry : kind.getValue().entrySet())
+                sample(out, "pte_bulkhead_running", labels(entry.getKey(), "kind", kind.getKey()),
+                        entry.getValue().running());
+        type(out, "pte_bulkhead_queued", "gauge", "Provider calls waiting for a slot");
+        for (final Map.Entry<String, Map<NetworkId, Bulkhead>> kind : bulkheads.entrySet())
+            for (final Map.Entry<NetworkId, Bulkhead> entry : kind.getValue().entrySet())
+                sample(out, "pte_bulkhead_queued", labels(entry.getKey(), "kind", kind.getKey()),
+                        entry.getValue().queued());
+        type(out, "pte_bulkhead_rejected_total", "counter", "Provider calls turned away");
+        for (final Map.Entry<String, Map<NetworkId, Bulkhead>> kind : bulkheads.entrySet())
+            for (final Map.Entry<NetworkId, Bulkhead> entry : kind.getValue().entrySet())
+                sample(out, "pte_bulkhead_rejected_total", labels(entry.getKey(), "kind", kind.getKey()),
+                        entry.getValue().rejected());
+
+        type(out, "pte_cache_requests_total", "counter", "Cache lookups by result");
+        type(out, "pte_cache_evictions_total", "counter", "Cache entries evicted");
+        type(out, "pte_cache_size", "gauge", "Cache entries");
+        cache(out, "providers", registry.stats(), registry.size());
+        cache(out, "contexts", contexts.stats(), contexts.size());
+
+        type(out, "pte_http_connections", "gauge", "Connections in the shared HTTP connection pool");
+        final int connections = HttpClient.connectionCount();
+        final int idleConnections = HttpClient.idleConnectionCount();
+        sample(out, "pte_http_connections", "{state=\"active\"}", connections - idleConnections);
+        sample(out, "pte_http_connections", "{state=\"idle\"}", idleConnections);
+
+        return out.toString();
+    }
+
+    private static void cache(final StringBuilder out, final String cache, final CacheStats stats, final long size) {
+        sample(out, "pte_cache_requests_total", "{cache=\"" + cache + "\",result=\"hit\"}", stats.hitCount());
+        sample(out, "pte_cache_requests_total", "{cache=\"" + cache + "\",result=\"miss\"}", stats.missCount());
+        sample(out, "pte_cache_evictions_total", "{cache=\"" + cache + "\"}", stats.evictionCount());
+        sample(out, "pte_cache_size", "{cache=\"" + cache + "\"}", size);
+    }
+
+    private static void histogram(final StringBuilder out, final String name, final NetworkId network,
+            final Metrics.Histogram histogram) {
+        long cumulative = 0;
+        for (int i = 0; i < Metrics.BUCKETS.length; i++) {
+            cumulative += histogram.count(i);
+            sample(out, name + "_bucket", labels(network, "le", Double.toString(Metrics.BUCKETS[i])), cumulative);
+        }
+        cumulative += histogram.count(Metrics.BUCKETS.length);
+        sample(out, name + "_bucket", labels(network, "le", "+Inf"), cumulative);
+        out.append(name).append("_sum").append(labels(network)).append(' ').append(histogram.sumSeconds())
+                .append('\n');
+        sample(out, name + "_count", labels(network), cumulative);
+    }
+
+    private static void type(final StringBuilder out, final String name, final String type, final String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(final StringBuilder out, final String name, final String labels, final long value) {
+        out.append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static String labels(final NetworkId network) {
+        return "{network=\"" + network.name().toLowerCase(Locale.ENGLISH) + "\"}";
+    }
+
+    private static String labels(final NetworkId network, final String name, final String value) {
+        return "{network=\"" + network.name().toLowerCase(Locale.ENGLISH) + "\"," + name + "=\"" + value + "\"}";
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Splitter;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import de.schildbach.pte.AbstractNetworkProvider;
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.NetworkProvider;
+
+/**
+ * Providers for all networks, shared by the controllers. A provider is instantiated when its network is first asked
+ * for, and dropped again after being idle for a while or when too many are held.
+ * 
+ * <p>
+ * Providers that need secrets, like an API key, take them from the system property
+ * {@code pte.provider.<network>}, e.g. {@code -Dpte.provider.vao=<authorization>}. Several constructor arguments are
+ * separated by commas. Networks listed in {@code pte.warmup}, separated by commas, are instantiated on startup.
+ * 
+ * @author Andreas Schildbach
+ */
+@Component
+public class ProviderRegistry {
+    private static final int MAX_PROVIDERS = Integer.getInteger("pte.maxProviders", 32);
+    private static final long IDLE_MINUTES = Long.getLong("pte.providerIdleMinutes", 30);
+
+    private static final String PACKAGE = "de.schildbach.pte.";
+    private static final Map<NetworkId, String> CLASS_NAMES = new EnumMap<NetworkId, String>(NetworkId.class);
+
+    static {
+        CLASS_NAMES.put(NetworkId.DB, "BahnProvider");
+        CLASS_NAMES.put(NetworkId.IT, "ItalyProvider");
+        CLASS_NAMES.put(NetworkId.RTACHICAGO, "RtaChicagoProvider");
+        CLASS_NAMES.put(NetworkId.FRANCESOUTHWEST, "FranceSouthWestProvider");
+        CLASS_NAMES.put(NetworkId.FRANCESOUTHEAST, "FranceSouthEastProvider");
+        CLASS_NAMES.put(NetworkId.FRANCENORTHWEST, "FranceNorthWestProvider");
+        CLASS_NAMES.put(NetworkId.FRANCENORTHEAST, "FranceNorthEastProvider");
+    }
+
+    private final Metrics metrics;
+    private final LoadingCache<NetworkId, NetworkProvider> providers = CacheBuilder.newBuilder()
+            .maximumSize(MAX_PROVIDERS).expireAfterAccess(IDLE_MINUTES, TimeUnit.MINUTES).recordStats()
+            .removalListener(new RemovalListener<NetworkId, NetworkProvider>() {
+                @Override
+                public void onRemoval(final RemovalNotification<NetworkId, NetworkProvider> notification) {
+                    log.info("dropping provider for {} ({})", notification.getKey(), notification.getCause());
+                }
+            }).build(new CacheLoader<NetworkId, NetworkProvider>() {
+                @Override
+                public NetworkProvider load(final NetworkId network) {
+                    return newProvider(network);
+                }
+            });
+
+    private static final Logger log = LoggerFactory.getLogger(ProviderRegistry.class);
+
+    @Autowired
+    public ProviderRegistry(final Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        final String warmup = System.getProperty("pte.warmup");
+        if (warmup == null)
+            return;
+        int count = 0;
+        for (final String name : Splitter.on(',').trimResults().omitEmptyStrings().split(warmup)) {
+            if (count++ >= MAX_PROVIDERS) {
+                log.warn("not warming up more than {} providers", MAX_PROVIDERS);
+                break;
+            }
+            try {
+                get(NetworkId.valueOf(name.toUpperCase(Locale.ENGLISH)));
+            } catch (final IllegalArgumentException x) {
+                log.warn("cannot warm up {}: {}", name, x.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException
+     *             if there is no provider for the network or it cannot be instantiated
+     */
+    public NetworkProvider get(final NetworkId network) {
+        try {
+            return providers.get(network);
+        } catch (final ExecutionException x) {
+            throw new RuntimeException(x.getCause());
+        } catch (final UncheckedExecutionException x) {
+            final Throwable cause = x.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw x;
+        }
+    }
+
+    public CacheStats stats() {
+        return providers.stats();
+    }
+
+    public long size() {
+        return providers.size();
+    }
+
+    private NetworkProvider newProvider(final NetworkId network) {
+        String className = CLASS_NAMES.get(network);
+        if (className == null)
+            className = network.name().charAt(0) + network.name().substring(1).toLowerCase(Locale.ENGLISH) + "Provider";
+        final String argsProperty = System.getProperty("pte.provider." + network.name().toLowerCase(Locale.ENGLISH));
+        final String[] args = argsProperty != null
+                ? Splitter.on(',').trimResults().splitToList(argsProperty).toArray(new String[0]) : new String[0];
+
+        try {
+            final Class<?> clazz = Class.forName(PACKAGE + className);
+            final Class<?>[] parameterTypes = new Class<?>[args.length];
+            Arrays.fill(parameterTypes, String.class);
+            final Constructor<?> constructor = clazz.getConstructor(parameterTypes);
+            final NetworkProvider provider = (NetworkProvider) constructor.newInstance((Object[]) args);
+            if (provider instanceof AbstractNetworkProvider)
+                ((AbstractNetworkProvider) provider).setHttpInterceptor(metrics.interceptor(network));
+            log.info("instantiated {} for {}", className, network);
+            return provider;
+        } catch (final ClassNotFoundException x) {
+            throw new IllegalArgumentException("no provider for network " + network);
+        } catch (final NoSuchMethodException x) {
+            throw new IllegalArgumentException("provider for network " + network + " needs configuration: "
+                    + "set pte.provider." + network.name().toLowerCase(Locale.ENGLISH));
+        } catch (final InvocationTargetException x) {
+            throw new RuntimeException(x.getCause());
+        } catch (final ReflectiveOperationException x) {
+            throw new RuntimeException(x);
+        }
+    }
+}
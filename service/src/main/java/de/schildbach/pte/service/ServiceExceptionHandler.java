@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import de.schildbach.pte.exception.SessionExpiredException;
+
+/**
+ * Maps exceptions thrown by all controllers, directly or from deferred results, to response codes.
+ * 
+ * @author Andreas Schildbach
+ */
+@ControllerAdvice
+public class ServiceExceptionHandler {
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public String badRequest(final IllegalArgumentException x) {
+        return x.getMessage();
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> overloaded(final RejectedExecutionException x) {
+        final HttpHeaders headers = new HttpHeaders();
+        final int retryAfterSeconds = x instanceof BulkheadFullException
+                ? ((BulkheadFullException) x).retryAfterSeconds : 1;
+        headers.set("Retry-After", Integer.toString(retryAfterSeconds));
+        return new ResponseEntity<String>("too many concurrent requests", headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(UnknownContextException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    @ResponseBody
+    public String unknownContext(final UnknownContextException x) {
+        return x.getMessage();
+    }
+
+    @ExceptionHandler(SessionExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    @ResponseBody
+    public String sessionExpired(final SessionExpiredException x) {
+        return "upstream session expired";
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    @ResponseBody
+    public String timeout(final TimeoutException x) {
+        return x.getMessage();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Base for converters that write results straight to the response stream, compressed if the client accepts gzip.
+ * Results are never read from requests.
+ * 
+ * @author Andreas Schildbach
+ */
+public abstract class StreamingMessageConverter extends AbstractHttpMessageConverter<Object> {
+    protected StreamingMessageConverter(final MediaType mediaType) {
+        super(mediaType);
+    }
+
+    @Override
+    public boolean canRead(final Class<?> clazz, final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(final Class<? extends Object> clazz, final HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("cannot read " + clazz.getName());
+    }
+
+    @Override
+    protected Long getContentLength(final Object result, final MediaType contentType) {
+        return null;
+    }
+
+    @Override
+    protected final void writeInternal(final Object result, final HttpOutputMessage outputMessage)
+            throws IOException {
+        final HttpServletRequest request = currentRequest();
+        final HttpHeaders headers = outputMessage.getHeaders();
+        headers.add("Vary", "Accept-Encoding");
+        if (request != null && acceptsGzip(request.getHeader("Accept-Encoding"))) {
+            headers.set("Content-Encoding", "gzip");
+            final GZIPOutputStream os = new GZIPOutputStream(outputMessage.getBody(), 8192);
+            write(result, request, os);
+            os.finish();
+        } else {
+            write(result, request, outputMessage.getBody());
+        }
+    }
+
+    /**
+     * Writes the result to the given stream, which must not be closed.
+     */
+    protected abstract void write(Object result, @Nullable HttpServletRequest request, OutputStream os)
+            throws IOException;
+
+    static boolean acceptsGzip(final @Nullable String acceptEncoding) {
+        if (acceptEncoding == null)
+            return false;
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] params = coding.trim().split("\\s*;\\s*");
+            if (!params[0].equalsIgnoreCase("gzip") && !params[0].equalsIgnoreCase("x-gzip"))
+                continue;
+            for (int i = 1; i < params.length; i++)
+                if (params[i].replace(" ", "").matches("q=0(\\.0*)?"))
+                    return false;
+            return true;
+        }
+        return false;
+    }
+
+    private static @Nullable HttpServletRequest currentRequest() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes)
+            return ((ServletRequestAttributes) attributes).getRequest();
+        return null;
+    }
+}
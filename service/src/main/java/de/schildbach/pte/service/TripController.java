@@ -20,15 +20,20 @@ package de.schildbach.pte.service;
 import java.io.IOException;
 import java.util.Date;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.NetworkProvider;
 import de.schildbach.pte.NetworkProvider.Accessibility;
 import de.schildbach.pte.NetworkProvider.WalkSpeed;
-import de.schildbach.pte.RtProvider;
 import de.schildbach.pte.dto.Location;
 import de.schildbach.pte.dto.LocationType;
 import de.schildbach.pte.dto.Product;
@@ -39,20 +44,56 @@ import de.schildbach.pte.dto.QueryTripsResult;
  */
 @Controller
 public class TripController {
-    private final RtProvider provider = new RtProvider();
+    private final AsyncProviders providers;
+    private final ContextStore contexts;
+
+    /** Response header carrying the token for {@code /trip/more}, absent if there are no more trips. */
+    public static final String CONTEXT_HEADER = "X-Trips-Context";
+
+    @Autowired
+    public TripController(final AsyncProviders providers, final ContextStore contexts) {
+        this.providers = providers;
+        this.contexts = contexts;
+    }
 
     @RequestMapping(value = "/trip", method = RequestMethod.GET)
-    @ResponseBody
-    public QueryTripsResult trip(
+    public DeferredResult<ResponseEntity<QueryTripsResult>> trip(
+            @RequestParam(value = "network", required = false, defaultValue = "RT") final NetworkId network,
             @RequestParam(value = "fromType", required = false, defaultValue = "ANY") final LocationType fromType,
             @RequestParam(value = "from", required = false) final String from,
             @RequestParam(value = "fromId", required = false) final String fromId,
             @RequestParam(value = "toType", required = false, defaultValue = "ANY") final LocationType toType,
             @RequestParam(value = "to", required = false) final String to,
-            @RequestParam(value = "toId", required = false) final String toId) throws IOException {
+            @RequestParam(value = "toId", required = false) final String toId) {
         final Location fromLocation = new Location(fromType, fromId, null, from);
         final Location toLocation = new Location(toType, toId, null, to);
-        return provider.queryTrips(fromLocation, null, toLocation, new Date(), true, Product.ALL, null,
-                WalkSpeed.NORMAL, Accessibility.NEUTRAL, null);
+        final Date date = new Date();
+        return providers.defer(network, new AsyncProviders.Call<ResponseEntity<QueryTripsResult>>() {
+            @Override
+            public ResponseEntity<QueryTripsResult> call(final NetworkProvider provider) throws IOException {
+                return withContext(network, provider.queryTrips(fromLocation, null, toLocation, date, true,
+                        Product.ALL, null, WalkSpeed.NORMAL, Accessibility.NEUTRAL, null));
+            }
+        });
+    }
+
+    @RequestMapping(value = "/trip/more", method = RequestMethod.GET)
+    public DeferredResult<ResponseEntity<QueryTripsResult>> more(@RequestParam("context") final String token,
+            @RequestParam(value = "later", required = false, defaultValue = "true") final boolean later) {
+        final ContextStore.Entry entry = contexts.get(token);
+        return providers.defer(entry.network, new AsyncProviders.Call<ResponseEntity<QueryTripsResult>>() {
+            @Override
+            public ResponseEntity<QueryTripsResult> call(final NetworkProvider provider) throws IOException {
+                return withContext(entry.network, provider.queryMoreTrips(entry.context, later));
+            }
+        });
+    }
+
+    private ResponseEntity<QueryTripsResult> withContext(final NetworkId network, final QueryTripsResult result) {
+        final HttpHeaders headers = new HttpHeaders();
+        final String token = contexts.put(network, result.context);
+        if (token != null)
+            headers.set(CONTEXT_HEADER, token);
+        return new ResponseEntity<QueryTripsResult>(result, headers, HttpStatus.OK);
     }
 }
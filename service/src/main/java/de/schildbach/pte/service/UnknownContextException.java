@@ -0,0 +1,30 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+/**
+ * Thrown when a client pages with a context token that is unknown or has expired.
+ * 
+ * @author Andreas Schildbach
+ */
+@SuppressWarnings("serial")
+public class UnknownContextException extends RuntimeException {
+    public UnknownContextException(final String token) {
+        super("unknown or expired context: " + token);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.schildbach.pte.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import de.schildbach.pte.NetworkId;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class BulkheadTest {
+    @Test
+    public void runsCalls() throws Exception {
+        final Bulkhead bulkhead = new Bulkhead(NetworkId.VVO, 4, 4, 1000);
+        final ListenableFuture<String> future = bulkhead.submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return "result";
+            }
+        });
+        assertEquals("result", future.get(1, TimeUnit.SECONDS));
+        assertEquals(4, bulkhead.limit());
+    }
+
+    @Test
+    public void rejectsBeyondLimitAndQueue() throws Exception {
+        final Bulkhead bulkhead = new Bulkhead(NetworkId.VVO, 1, 1, 1000);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<Void> blocking = new Callable<Void>() {
+            @Override
+            public Void call() throws InterruptedException {
+                started.countDown();
+                release.await();
+                return null;
+            }
+        };
+        final ListenableFuture<Void> running = bulkhead.submit(blocking);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        final ListenableFuture<Void> queued = bulkhead.submit(blocking);
+        assertEquals(1, bulkhead.running());
+        assertEquals(1, bulkhead.queued());
+
+        try {
+            bulkhead.submit(blocking);
+            fail();
+        } catch (final BulkheadFullException x) {
+            assertTrue(x.retryAfterSeconds >= 1);
+        }
+        assertEquals(1, bulkhead.rejected());
+
+        release.countDown();
+        running.get(1, TimeUnit.SECONDS);
+        queued.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shrinksOnIoErrors() throws Exception {
+        final Bulkhead bulkhead = new Bulkhead(NetworkId.VVO, 8, 0, 1000);
+        for (int i = 0; i < 5; i++) {
+            try {
+                bulkhead.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws IOException {
+                        throw new IOException();
+                    }
+                }).get(1, TimeUnit.SECONDS);
+                fail();
+            } catch (final ExecutionException x) {
+                assertTrue(x.getCause() instanceof IOException);
+            }
+        }
+        assertTrue(bulkhead.limit() < 8);
+    }
+}
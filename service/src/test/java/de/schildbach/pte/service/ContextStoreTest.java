@@ -0,0 +1,79 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.schildbach.pte.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.dto.QueryTripsContext;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class ContextStoreTest {
+    private final ContextStore store = new ContextStore();
+
+    @Test
+    public void putAndGet() {
+        final QueryTripsContext context = new Context();
+        final String token = store.put(NetworkId.VVO, context);
+        assertNotNull(token);
+        assertEquals(NetworkId.VVO, store.get(token).network);
+        assertSame(context, store.get(token).context);
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    public void distinctTokens() {
+        final QueryTripsContext context = new Context();
+        final String token1 = store.put(NetworkId.VVO, context);
+        final String token2 = store.put(NetworkId.VVO, context);
+        assertEquals(22, token1.length());
+        assertEquals(2, store.size());
+        assertEquals(false, token1.equals(token2));
+    }
+
+    @Test
+    public void noContext() {
+        assertNull(store.put(NetworkId.VVO, null));
+        assertEquals(0, store.size());
+    }
+
+    @Test(expected = UnknownContextException.class)
+    public void unknownToken() {
+        store.get("unknown");
+    }
+
+    private static class Context implements QueryTripsContext {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public boolean canQueryLater() {
+            return true;
+        }
+
+        @Override
+        public boolean canQueryEarlier() {
+            return false;
+        }
+    }
+}
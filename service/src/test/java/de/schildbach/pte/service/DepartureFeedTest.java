@@ -0,0 +1,127 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.schildbach.pte.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.NetworkProvider;
+import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+import de.schildbach.pte.dto.StationDepartures;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class DepartureFeedTest {
+    private static final String STATION_ID = "33000028";
+
+    private final AtomicInteger polls = new AtomicInteger();
+    private DepartureFeed feed;
+
+    @Before
+    public void setUp() {
+        final NetworkProvider provider = (NetworkProvider) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { NetworkProvider.class }, new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if (!method.getName().equals("queryDepartures"))
+                            throw new UnsupportedOperationException(method.getName());
+                        polls.incrementAndGet();
+                        final Location station = new Location(LocationType.STATION, (String) args[0], null,
+                                "Hauptbahnhof");
+                        final Departure departure = new Departure(new Date(1478001600000L), null,
+                                new Line(null, "voe", Product.TRAM, "11"), null,
+                                new Location(LocationType.STATION, "33000037", null, "Postplatz"), null, null);
+                        final QueryDeparturesResult result = new QueryDeparturesResult(null);
+                        result.stationDepartures.add(new StationDepartures(station,
+                                Collections.singletonList(departure), null));
+                        return result;
+                    }
+                });
+        final Metrics metrics = new Metrics();
+        final ProviderRegistry providers = new ProviderRegistry(metrics) {
+            @Override
+            public NetworkProvider get(final NetworkId network) {
+                return provider;
+            }
+        };
+        feed = new DepartureFeed(providers, new AsyncProviders(providers, metrics));
+    }
+
+    @After
+    public void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    public void fullUpdateThenWait() throws Exception {
+        final DeparturesUpdate first = (DeparturesUpdate) results(feed.subscribe(NetworkId.VVO, STATION_ID, 0))
+                .poll(5, TimeUnit.SECONDS);
+        assertTrue(first.full);
+        assertEquals(1, first.added.size());
+        assertEquals(1, polls.get());
+
+        // up to date, so the subscriber has to wait for the next change
+        assertNull(results(feed.subscribe(NetworkId.VVO, STATION_ID, first.version)).poll(100,
+                TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void versionsCarryEpoch() throws Exception {
+        final DeparturesUpdate first = (DeparturesUpdate) results(feed.subscribe(NetworkId.VVO, STATION_ID, 0))
+                .poll(5, TimeUnit.SECONDS);
+        // versions of an earlier board of the same station, which started at 1, can't collide
+        assertTrue(first.version > 1 << 20);
+        final DeparturesUpdate stale = (DeparturesUpdate) results(feed.subscribe(NetworkId.VVO, STATION_ID, 1))
+                .poll(1, TimeUnit.SECONDS);
+        assertTrue(stale.full);
+        assertEquals(first.version, stale.version);
+    }
+
+    private static BlockingQueue<Object> results(final DeferredResult<DeparturesUpdate> result) {
+        final BlockingQueue<Object> queue = new LinkedBlockingQueue<Object>();
+        result.setResultHandler(new DeferredResult.DeferredResultHandler() {
+            @Override
+            public void handleResult(final Object value) {
+                queue.add(value);
+            }
+        });
+        return queue;
+    }
+}
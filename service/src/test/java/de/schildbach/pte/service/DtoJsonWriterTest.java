@@ -0,0 +1,181 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package de.schildbach.pte.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.codehaus.jackson.JsonFactory;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonNode;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.node.ObjectNode;
+import org.junit.Test;
+
+import de.schildbach.pte.AbstractHafasProvider;
+import de.schildbach.pte.NetworkId;
+import de.schildbach.pte.dto.Departure;
+import de.schildbach.pte.dto.Fare;
+import de.schildbach.pte.dto.Line;
+import de.schildbach.pte.dto.LineDestination;
+import de.schildbach.pte.dto.Location;
+import de.schildbach.pte.dto.LocationType;
+import de.schildbach.pte.dto.NearbyLocationsResult;
+import de.schildbach.pte.dto.Point;
+import de.schildbach.pte.dto.Position;
+import de.schildbach.pte.dto.Product;
+import de.schildbach.pte.dto.QueryDeparturesResult;
+import de.schildbach.pte.dto.QueryTripsContext;
+import de.schildbach.pte.dto.QueryTripsResult;
+import de.schildbach.pte.dto.ResultHeader;
+import de.schildbach.pte.dto.StationDepartures;
+import de.schildbach.pte.dto.Stop;
+import de.schildbach.pte.dto.Style;
+import de.schildbach.pte.dto.SuggestLocationsResult;
+import de.schildbach.pte.dto.SuggestedLocation;
+import de.schildbach.pte.dto.Trip;
+
+/**
+ * Most tests compare the output with that of the {@link ObjectMapper} behind
+ * {@code MappingJacksonHttpMessageConverter}, which served these results before.
+ * 
+ * @author Andreas Schildbach
+ */
+public class DtoJsonWriterTest {
+    private static final ResultHeader HEADER = new ResultHeader(NetworkId.VVO, "efa", "10.2", 1440000000000L, null);
+    private static final Location DRESDEN_HBF = new Location(LocationType.STATION, "33000028", 51040562, 13732039,
+            "Dresden", "Hauptbahnhof", EnumSet.of(Product.TRAM));
+    private static final Location POSTPLATZ = new Location(LocationType.STATION, "33000037", 51050409, 13733328,
+            "Dresden", "Postplatz", null);
+    private static final Location ADDRESS = new Location(LocationType.ADDRESS, null, null, "Wallstraße 1");
+    private static final Line LINE = new Line("vvo:11011: :H:j15", "vvo", Product.TRAM, "11",
+            new Style(Style.Shape.RECT, Style.parseColor("#e2001a"), Style.WHITE),
+            EnumSet.of(Line.Attr.WHEEL_CHAIR_ACCESS), null);
+    private static final Date TIME = new Date(1440000000000L);
+
+    @Test
+    public void canWrite() {
+        assertTrue(DtoJsonWriter.canWrite(QueryTripsResult.class));
+        assertTrue(DtoJsonWriter.canWrite(DeparturesBatch.class));
+        assertTrue(DtoJsonWriter.canWrite(DeparturesUpdate.class));
+        assertFalse(DtoJsonWriter.canWrite(HashMap.class));
+        assertFalse(DtoJsonWriter.canWrite(String.class));
+    }
+
+    @Test
+    public void trips() throws IOException {
+        final Stop departureStop = new Stop(DRESDEN_HBF, true, TIME, new Date(TIME.getTime() + 60000),
+                new Position("3"), null);
+        final Stop intermediateStop = new Stop(new Location(LocationType.STATION, "33000001"),
+                new Date(TIME.getTime() + 120000), null, new Date(TIME.getTime() + 150000), null);
+        final Stop arrivalStop = new Stop(POSTPLATZ, false, new Date(TIME.getTime() + 300000), null, null, null, true);
+        final Trip.Public publicLeg = new Trip.Public(LINE, new Location(LocationType.STATION, "33000150"),
+                departureStop, arrivalStop, Arrays.asList(intermediateStop),
+                Arrays.asList(new Point(51040562, 13732039), new Point(51050409, 13733328)), null);
+        final Trip.Individual walk = new Trip.Individual(Trip.Individual.Type.WALK, POSTPLATZ,
+                new Date(TIME.getTime() + 300000), ADDRESS, new Date(TIME.getTime() + 540000), null, 250);
+        final Trip trip = new Trip(null, DRESDEN_HBF, ADDRESS, Arrays.<Trip.Leg> asList(publicLeg, walk),
+                Arrays.asList(new Fare("VVO", Fare.Type.ADULT, Currency.getInstance("EUR"), 2.3f, null, "1")), null,
+                0);
+
+        final QueryTripsContext context = new AbstractHafasProvider.JsonContext(DRESDEN_HBF, ADDRESS, TIME, true,
+                Product.ALL, "later", null);
+        assertMatchesDataBinding(new QueryTripsResult(HEADER, "http://efa.vvo-online.de/", DRESDEN_HBF, null, ADDRESS,
+                context, Arrays.asList(trip)));
+        assertMatchesDataBinding(new QueryTripsResult(null, QueryTripsResult.Status.NO_TRIPS));
+    }
+
+    @Test
+    public void suggestLocations() throws IOException {
+        assertMatchesDataBinding(new SuggestLocationsResult(HEADER,
+                Arrays.asList(new SuggestedLocation(DRESDEN_HBF, 2), new SuggestedLocation(ADDRESS, -1))));
+    }
+
+    @Test
+    public void departures() throws IOException {
+        final QueryDeparturesResult result = new QueryDeparturesResult(HEADER);
+        final Departure departure = new Departure(TIME, null, LINE, new Position("Gleis 2", "A"), POSTPLATZ,
+                new int[] { 1, 2 }, null);
+        result.stationDepartures.add(new StationDepartures(DRESDEN_HBF, Arrays.asList(departure),
+                Arrays.asList(new LineDestination(LINE, POSTPLATZ))));
+        result.stationDepartures
+                .add(new StationDepartures(POSTPLATZ, Collections.<Departure> emptyList(), null));
+
+        assertMatchesDataBinding(result);
+        assertMatchesDataBinding(new QueryDeparturesResult(null, QueryDeparturesResult.Status.SERVICE_DOWN));
+    }
+
+    @Test
+    public void nearbyLocations() throws IOException {
+        assertMatchesDataBinding(new NearbyLocationsResult(HEADER, Arrays.asList(DRESDEN_HBF, POSTPLATZ, ADDRESS)));
+        assertMatchesDataBinding(new NearbyLocationsResult(null, NearbyLocationsResult.Status.INVALID_ID));
+    }
+
+    @Test
+    public void departuresBatch() throws IOException {
+        final QueryDeparturesResult ok = new QueryDeparturesResult(HEADER);
+        ok.stationDepartures.add(new StationDepartures(DRESDEN_HBF, Collections.<Departure> emptyList(), null));
+        final QueryDeparturesResult down = new QueryDeparturesResult(null, QueryDeparturesResult.Status.SERVICE_DOWN);
+        final Map<String, QueryDeparturesResult> results = new LinkedHashMap<String, QueryDeparturesResult>();
+        results.put("33000037", down);
+        results.put("33000028", ok);
+
+        final String json = write(new DeparturesBatch(results));
+        assertTrue(json, json.startsWith("{\"33000037\":{"));
+        final JsonNode tree = new ObjectMapper().readTree(json);
+        assertEquals(2, tree.size());
+        assertEquals(new ObjectMapper().readTree(write(down)), tree.get("33000037"));
+        assertEquals(new ObjectMapper().readTree(write(ok)), tree.get("33000028"));
+    }
+
+    @Test
+    public void unchangedUpdate() throws IOException {
+        assertEquals("{\"version\":42,\"full\":false,\"added\":[],\"removed\":[],\"cancelled\":[],\"changed\":[]}",
+                write(DeparturesUpdate.unchanged(42)));
+    }
+
+    private static void assertMatchesDataBinding(final Object result) throws IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        final JsonNode expected = mapper.readTree(mapper.writeValueAsString(result));
+        // contexts are handed out as tokens instead
+        ((ObjectNode) expected).remove("context");
+        if (!expected.get("header").isNull())
+            ((ObjectNode) expected.get("header")).remove("context");
+        assertEquals(expected, mapper.readTree(write(result)));
+    }
+
+    private static String write(final Object result) throws IOException {
+        final StringWriter writer = new StringWriter();
+        final JsonGenerator generator = new JsonFactory().createJsonGenerator(writer);
+        new DtoJsonWriter(generator, true).write(result);
+        generator.flush();
+        return writer.toString();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2015 the original author or authors.
+ * 
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package de.schildbach.pte.service;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @author Andreas Schildbach
+ */
+public class StreamingMessageConverterTest {
+    @Test
+    public void acceptsGzip() {
+        assertTrue(StreamingMessageConverter.acceptsGzip("gzip"));
+        assertTrue(StreamingMessageConverter.acceptsGzip("deflate, GZIP"));
+        assertTrue(StreamingMessageConverter.acceptsGzip("x-gzip;q=0.5"));
+        assertTrue(StreamingMessageConverter.acceptsGzip("gzip; q=0.01"));
+    }
+
+    @Test
+    public void refusesGzip() {
+        assertFalse(StreamingMessageConverter.acceptsGzip(null));
+        assertFalse(StreamingMessageConverter.acceptsGzip(""));
+        assertFalse(StreamingMessageConverter.acceptsGzip("deflate, br"));
+        assertFalse(StreamingMessageConverter.acceptsGzip("gzip;q=0"));
+        assertFalse(StreamingMessageConverter.acceptsGzip("gzip; q = 0.000"));
+        assertFalse(StreamingMessageConverter.acceptsGzip("gzipped"));
+    }
+}